@@ -1,20 +1,21 @@
 package com.example.api.batch;
 
-import com.example.api.repository.WeeklyLessonsRepository;
+import com.example.api.service.WeeklyLessonCounter;
 import jakarta.annotation.PostConstruct; // 追加
 import lombok.RequiredArgsConstructor;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.DayOfWeek;
-import java.time.LocalDateTime;
-import java.time.temporal.TemporalAdjusters;
 
 @Component
 @RequiredArgsConstructor
 public class WeeklyRankingScheduler {
 
-    private final WeeklyLessonsRepository weeklyLessonsRepository;
+    private static final Logger logger = LoggerFactory.getLogger(WeeklyRankingScheduler.class);
+
+    private final WeeklyLessonCounter weeklyLessonCounter;
 
     /**
      * ★追加: アプリ起動時に1回だけ実行されるメソッド
@@ -32,18 +33,11 @@ public class WeeklyRankingScheduler {
      */
     @Scheduled(cron = "0 0 0 * * SUN") 
     public void resetWeeklyRankings() {
-        System.out.println("⏰ [Scheduler] 週間ランキングのフラグ更新を開始します...");
-
-        LocalDateTime now = LocalDateTime.now();
-        
-        // ★修正: UIに合わせて「今週の日曜日 00:00」を基準にする
-        // これより前のデータは「先週以前」とみなしてフラグを下ろす
-        LocalDateTime thisWeekStart = now.with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY))
-                                         .withHour(0).withMinute(0).withSecond(0).withNano(0);
+        logger.info("週間ランキングの週切り替えを開始します");
 
-        // SQL実行: 日曜0時より古いデータの weekFlag を false (0) に更新
-        weeklyLessonsRepository.updateWeekFlagForOldRecords(thisWeekStart);
+        // 前週以前の行を一括でアーカイブし、今週分のランキングを読み込み直す
+        weeklyLessonCounter.rollover();
 
-        System.out.println("✅ [Scheduler] " + thisWeekStart + " 以前のデータのフラグを0にリセットしました。");
+        logger.info("週間ランキングの週切り替えが完了しました");
     }
-}
\ No newline at end of file
+}
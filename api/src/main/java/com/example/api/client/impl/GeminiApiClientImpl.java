@@ -3,6 +3,7 @@ package com.example.api.client.impl;
 import com.example.api.client.GeminiApiClient;
 import com.example.api.dto.ClaudeQuestionResponse;
 import com.example.api.dto.ClaudeQuestionResponse.Question;
+import com.example.api.service.MetricsService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -38,11 +39,12 @@ public class GeminiApiClientImpl implements GeminiApiClient {
     @Value("${gemini.api.model:gemini-2.0-flash}")
     private String model;
 
-    public GeminiApiClientImpl(ObjectMapper objectMapper) {
+    public GeminiApiClientImpl(ObjectMapper objectMapper, MetricsService metricsService) {
         this.objectMapper = objectMapper;
         this.webClient = WebClient.builder()
             .baseUrl(GEMINI_API_URL)
             .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .filter(metricsService.externalApiFilter(MetricsService.CLIENT_GEMINI))
             .build();
     }
 
@@ -1,6 +1,7 @@
 package com.example.api.client.impl;
 
 import com.example.api.client.GeniusApiClient;
+import com.example.api.service.MetricsService;
 import com.example.api.util.LanguageDetectionUtils;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -35,10 +36,11 @@ public class GeniusApiClientImpl implements GeniusApiClient {
     @Value("${genius.api.key:}")
     private String apiKey;
 
-    public GeniusApiClientImpl(ObjectMapper objectMapper) {
+    public GeniusApiClientImpl(ObjectMapper objectMapper, MetricsService metricsService) {
         this.objectMapper = objectMapper;
         this.webClient = WebClient.builder()
             .baseUrl(GENIUS_API_BASE_URL)
+            .filter(metricsService.externalApiFilter(MetricsService.CLIENT_GENIUS))
             .build();
     }
 
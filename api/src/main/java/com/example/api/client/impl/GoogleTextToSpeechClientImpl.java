@@ -1,6 +1,7 @@
 package com.example.api.client.impl;
 
 import com.example.api.client.TextToSpeechClient;
+import com.example.api.service.MetricsService;
 import com.example.api.service.S3AudioService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -40,9 +41,10 @@ public class GoogleTextToSpeechClientImpl implements TextToSpeechClient {
     @Value("${tts.audio.output.directory:./audio}")
     private String outputDir;
 
-    public GoogleTextToSpeechClientImpl() {
+    public GoogleTextToSpeechClientImpl(MetricsService metricsService) {
         this.webClient = WebClient.builder()
             .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .filter(metricsService.externalApiFilter(MetricsService.CLIENT_TTS))
             .build();
     }
 
@@ -13,6 +13,7 @@ import com.example.api.repository.GenreRepository;
 import com.example.api.repository.SongRepository;
 import com.example.api.service.ArtistService;
 import com.example.api.service.ArtistSyncService;
+import com.example.api.service.MetricsService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -103,14 +104,16 @@ public class SpotifyApiClientImpl implements SpotifyApiClient {
         this.geniusApiClient = geniusApiClient;
     }
 
-    public SpotifyApiClientImpl(ObjectMapper objectMapper) {
+    public SpotifyApiClientImpl(ObjectMapper objectMapper, MetricsService metricsService) {
         this.objectMapper = objectMapper;
         this.authClient = WebClient.builder()
             .baseUrl(SPOTIFY_AUTH_URL)
+            .filter(metricsService.externalApiFilter(MetricsService.CLIENT_SPOTIFY_AUTH))
             .build();
         this.apiClient = WebClient.builder()
             .baseUrl(SPOTIFY_API_URL)
             .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+            .filter(metricsService.externalApiFilter(MetricsService.CLIENT_SPOTIFY))
             .build();
     }
 
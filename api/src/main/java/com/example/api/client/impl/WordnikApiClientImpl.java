@@ -3,6 +3,7 @@ package com.example.api.client.impl;
 import com.example.api.client.GeminiApiClient;
 import com.example.api.client.WordnikApiClient;
 import com.example.api.dto.WordnikWordInfo;
+import com.example.api.service.MetricsService;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -33,12 +34,14 @@ public class WordnikApiClientImpl implements WordnikApiClient {
 
     public WordnikApiClientImpl(
         ObjectMapper objectMapper,
-        GeminiApiClient geminiApiClient
+        GeminiApiClient geminiApiClient,
+        MetricsService metricsService
     ) {
         this.objectMapper = objectMapper;
         this.geminiApiClient = geminiApiClient;
         this.webClient = WebClient.builder()
             .baseUrl(WORDNIK_API_BASE_URL)
+            .filter(metricsService.externalApiFilter(MetricsService.CLIENT_WORDNIK))
             .build();
     }
 
@@ -1,27 +1,91 @@
 package com.example.api.config;
 
 import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cache.CacheManager;
 import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.cache.support.NullValue;
+import org.springframework.cache.transaction.TransactionAwareCacheManagerProxy;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
-import java.util.concurrent.TimeUnit;
+import java.time.Duration;
 
 /**
  * キャッシュ設定
- * Vocabulary検索のキャッシュ用
+ * Vocabulary検索のキャッシュと、更新頻度の低いマスタ（ジャンル・バッジ・アイテム・シーズン）のキャッシュ
+ * Vocabularyのキャッシュは存在しない単語も記録し（ネガティブキャッシュ）、そのエントリは短い有効期限で破棄する
+ * マスタのキャッシュには不変のスナップショットを格納し（CatalogService）、管理画面での更新時に破棄する
+ * それ以外の経路での更新は有効期限で反映する
+ * キャッシュの格納・破棄はトランザクション内ではコミット後に行い、コミット前の破棄後に古い値が再格納されるのを防ぐ
+ * 統計情報はactuatorのmetrics（cache.gets等）から参照できる
  */
 @Configuration
 public class CacheConfig {
 
+    public static final String VOCABULARY_CACHE = "vocabularyCache";
+    public static final String GENRE_CACHE = "genres";
+    public static final String BADGE_CACHE = "badges";
+    public static final String ITEM_CACHE = "items";
+    public static final String SEASON_CACHE = "seasons";
+
+    @Value("${cache.vocabulary.maximum-size:5000}")
+    private long vocabularyMaximumSize;
+
+    @Value("${cache.vocabulary.expire-after-write:30m}")
+    private Duration vocabularyExpireAfterWrite;
+
+    @Value("${cache.vocabulary.negative-expire-after-write:5m}")
+    private Duration vocabularyNegativeExpireAfterWrite;
+
+    @Value("${cache.genres.maximum-size:500}")
+    private long genreMaximumSize;
+
+    @Value("${cache.genres.expire-after-write:1h}")
+    private Duration genreExpireAfterWrite;
+
+    @Value("${cache.badges.maximum-size:200}")
+    private long badgeMaximumSize;
+
+    @Value("${cache.badges.expire-after-write:1h}")
+    private Duration badgeExpireAfterWrite;
+
+    @Value("${cache.items.maximum-size:100}")
+    private long itemMaximumSize;
+
+    @Value("${cache.items.expire-after-write:10m}")
+    private Duration itemExpireAfterWrite;
+
+    @Value("${cache.seasons.expire-after-write:10m}")
+    private Duration seasonExpireAfterWrite;
+
     @Bean
     public CacheManager cacheManager() {
-        CaffeineCacheManager cacheManager = new CaffeineCacheManager("vocabularyCache");
-        cacheManager.setCaffeine(Caffeine.newBuilder()
-                .maximumSize(1000)           // 最大1000単語をキャッシュ
-                .expireAfterWrite(30, TimeUnit.MINUTES)  // 30分で期限切れ
-                .recordStats());             // 統計情報を記録
-        return cacheManager;
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+
+        // Vocabularyのキャッシュ（存在しない単語はNullValueとして保持し、短い有効期限で破棄）
+        cacheManager.registerCustomCache(VOCABULARY_CACHE, Caffeine.newBuilder()
+                .maximumSize(vocabularyMaximumSize)
+                .expireAfter(Expiry.<Object, Object>writing((key, value) -> value == NullValue.INSTANCE
+                        ? vocabularyNegativeExpireAfterWrite
+                        : vocabularyExpireAfterWrite))
+                .recordStats()
+                .build());
+
+        // マスタのキャッシュ（キャッシュごとに件数・有効期限を設定）
+        cacheManager.registerCustomCache(GENRE_CACHE, catalogCache(genreMaximumSize, genreExpireAfterWrite));
+        cacheManager.registerCustomCache(BADGE_CACHE, catalogCache(badgeMaximumSize, badgeExpireAfterWrite));
+        cacheManager.registerCustomCache(ITEM_CACHE, catalogCache(itemMaximumSize, itemExpireAfterWrite));
+        cacheManager.registerCustomCache(SEASON_CACHE, catalogCache(1, seasonExpireAfterWrite));
+        return new TransactionAwareCacheManagerProxy(cacheManager);
+    }
+
+    private com.github.benmanes.caffeine.cache.Cache<Object, Object> catalogCache(long maximumSize, Duration expireAfterWrite) {
+        return Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .recordStats()
+                .build();
     }
 }
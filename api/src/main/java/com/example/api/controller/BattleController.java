@@ -1,7 +1,6 @@
 package com.example.api.controller;
 
 import com.example.api.dto.battle.*;
-import com.example.api.entity.Question;
 import com.example.api.entity.Result;
 import com.example.api.entity.User;
 import com.example.api.repository.ResultRepository;
@@ -121,27 +120,19 @@ public class BattleController {
 
     /**
      * 対戦状態取得エンドポイント
+     * 状態遷移時に作成済みのスナップショットをそのまま返します（再接続時の復元用）
      */
     @GetMapping("/state/{matchId}")
     public ResponseEntity<?> getBattleState(@PathVariable String matchId) {
         try {
-            BattleStateService.BattleState state = battleService.getBattleState(matchId);
+            BattleStateService.BattleSnapshot snapshot = battleStateService.getSnapshot(matchId);
 
-            if (state == null) {
+            if (snapshot == null) {
                 return ResponseEntity.badRequest()
                         .body(createErrorResponse("対戦状態が見つかりません"));
             }
 
-            Map<String, Object> stateInfo = new HashMap<>();
-            stateInfo.put("matchId", matchId);
-            stateInfo.put("status", state.getStatus().name());
-            stateInfo.put("currentRound", state.getCurrentRound() + 1);
-            stateInfo.put("player1Id", state.getPlayer1Id());
-            stateInfo.put("player2Id", state.getPlayer2Id());
-            stateInfo.put("player1Wins", state.getPlayer1Wins());
-            stateInfo.put("player2Wins", state.getPlayer2Wins());
-
-            return ResponseEntity.ok(stateInfo);
+            return ResponseEntity.ok(snapshot.getView());
 
         } catch (Exception e) {
             return ResponseEntity.status(500)
@@ -149,6 +140,41 @@ public class BattleController {
         }
     }
 
+    /**
+     * 取りこぼしたイベントの再送エンドポイント
+     * 指定シーケンス番号より後のイベントを返します
+     * 既に破棄されたイベントがある場合はresyncRequired=trueとなり、スナップショットから復元します
+     *
+     * @param matchId マッチID
+     * @param since クライアントが最後に受け取ったシーケンス番号
+     * @return スナップショットと差分イベント
+     */
+    @GetMapping("/events/{matchId}")
+    public ResponseEntity<?> getBattleEvents(@PathVariable String matchId,
+                                             @RequestParam(defaultValue = "0") long since) {
+        try {
+            BattleStateService.BattleReplay replay = battleStateService.getEventsSince(matchId, since);
+
+            if (replay == null) {
+                return ResponseEntity.badRequest()
+                        .body(createErrorResponse("対戦状態が見つかりません"));
+            }
+
+            Map<String, Object> response = new HashMap<>();
+            response.put("matchId", matchId);
+            response.put("sequence", replay.snapshot().getSequence());
+            response.put("resyncRequired", replay.resyncRequired());
+            response.put("snapshot", replay.snapshot().getView());
+            response.put("events", replay.events());
+
+            return ResponseEntity.ok(response);
+
+        } catch (Exception e) {
+            return ResponseEntity.status(500)
+                    .body(createErrorResponse("イベント取得中にエラーが発生しました: " + e.getMessage()));
+        }
+    }
+
     // ==================== WebSocket Handlers ====================
 
     /**
@@ -339,7 +365,7 @@ public class BattleController {
 
         // ラウンド確定前の問題を保存（正解表示用）
         // 問題タイプに応じた正解を取得（LISTENING→complete_sentence、FILL_IN_BLANK→answer）
-        Question currentQuestion = state.getCurrentQuestion();
+        BattleStateService.BattleQuestion currentQuestion = state.getCurrentQuestion();
         String correctAnswer = BattleStateService.getCorrectAnswer(currentQuestion);
 
         // ラウンド確定
@@ -351,6 +377,7 @@ public class BattleController {
         Map<String, Object> roundResultMessage = new HashMap<>();
         roundResultMessage.put("type", "round_result");
         roundResultMessage.put("result", response);
+        battleStateService.recordEvent(matchId, "round_result", roundResultMessage);
 
         messagingTemplate.convertAndSend("/topic/battle/" + state.getPlayer1Id(), roundResultMessage);
         messagingTemplate.convertAndSend("/topic/battle/" + state.getPlayer2Id(), roundResultMessage);
@@ -458,31 +485,28 @@ public class BattleController {
      * 問題を両プレイヤーに送信
      */
     private void sendQuestionToPlayers(BattleStateService.BattleState state) {
-        Question question = state.getCurrentQuestion();
+        BattleStateService.BattleQuestion question = state.getCurrentQuestion();
         if (question == null) {
             logger.warn("問題がありません: matchId={}", state.getMatchUuid());
             return;
         }
 
-        String songName = question.getSong().getSongname();
-        String artistName = question.getArtist().getArtistName();
-
         // S3キーの場合は署名付きURLに変換（毎回新しいURLを生成、有効期限15分）
-        String audioUrl = s3PresignService.convertToPresignedUrl(question.getAudioUrl());
+        String audioUrl = s3PresignService.convertToPresignedUrl(question.audioUrl());
 
         QuestionResponse response = new QuestionResponse(
-                question.getQuestionId(),
-                question.getText(),
-                question.getQuestionFormat().name(),
+                question.questionId(),
+                question.text(),
+                question.questionFormat().name(),
                 audioUrl,
-                question.getTranslationJa(),
-                songName,
-                artistName,
+                question.translationJa(),
+                question.songName(),
+                question.artistName(),
                 state.getCurrentRound() + 1,
                 state.getQuestions().size(),
                 BattleStateService.ROUND_TIME_LIMIT_SECONDS * 1000L,
                 state.getRoundStartTime().toEpochMilli(),
-                question.getSourceFragment()
+                question.sourceFragment()
         );
 
         Map<String, Object> questionMessage = new HashMap<>();
@@ -493,12 +517,13 @@ public class BattleController {
         questionMessage.put("player2Id", state.getPlayer2Id());
         questionMessage.put("player1Wins", state.getPlayer1Wins());
         questionMessage.put("player2Wins", state.getPlayer2Wins());
+        battleStateService.recordEvent(state.getMatchUuid(), "question", questionMessage);
 
         messagingTemplate.convertAndSend("/topic/battle/" + state.getPlayer1Id(), questionMessage);
         messagingTemplate.convertAndSend("/topic/battle/" + state.getPlayer2Id(), questionMessage);
 
         logger.info("問題送信: matchId={}, round={}, questionId={}",
-                state.getMatchUuid(), state.getCurrentRound() + 1, question.getQuestionId());
+                state.getMatchUuid(), state.getCurrentRound() + 1, question.questionId());
     }
 
     /**
@@ -507,11 +532,11 @@ public class BattleController {
     private RoundResultResponse createRoundResultResponse(BattleStateService.RoundResult roundResult,
                                                           BattleStateService.BattleState state,
                                                           String correctAnswer) {
-    Question currentQuestion = state.getCurrentQuestion();
+    BattleStateService.BattleQuestion currentQuestion = state.getCurrentQuestion();
 
 
         RoundResultResponse response = new RoundResultResponse();
-        response.setQuestionText(currentQuestion != null ? currentQuestion.getText() : "");
+        response.setQuestionText(currentQuestion != null ? currentQuestion.text() : "");
         response.setRoundNumber(roundResult.getRoundNumber());
         response.setQuestionId(roundResult.getQuestionId());
         response.setCorrectAnswer(correctAnswer);
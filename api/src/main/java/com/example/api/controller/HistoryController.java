@@ -27,15 +27,21 @@ public class HistoryController {
 
     /**
      * 対戦履歴一覧を取得
+     * 2ページ目以降は前ページ最後の結果IDをcursorに指定する
      */
     @GetMapping("/battle/{userId}")
     public ResponseEntity<List<BattleHistoryItemResponse>> getBattleHistory(
-            @PathVariable Long userId) {
-        logger.info("対戦履歴一覧取得: userId={}", userId);
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.info("対戦履歴一覧取得: userId={}, cursor={}", userId, cursor);
 
         try {
-            List<BattleHistoryItemResponse> history = historyService.getBattleHistory(userId);
+            List<BattleHistoryItemResponse> history = historyService.getBattleHistory(userId, cursor, limit);
             return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            logger.warn("対戦履歴のカーソルが不正です: userId={}, cursor={}", userId, cursor);
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("対戦履歴取得エラー: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -66,15 +72,21 @@ public class HistoryController {
 
     /**
      * 学習履歴一覧を取得
+     * 2ページ目以降は前ページ最後の履歴IDをcursorに指定する
      */
     @GetMapping("/learning/{userId}")
     public ResponseEntity<List<LearningHistoryItemResponse>> getLearningHistory(
-            @PathVariable Long userId) {
-        logger.info("学習履歴一覧取得: userId={}", userId);
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long cursor,
+            @RequestParam(defaultValue = "20") int limit) {
+        logger.info("学習履歴一覧取得: userId={}, cursor={}", userId, cursor);
 
         try {
-            List<LearningHistoryItemResponse> history = historyService.getLearningHistory(userId);
+            List<LearningHistoryItemResponse> history = historyService.getLearningHistory(userId, cursor, limit);
             return ResponseEntity.ok(history);
+        } catch (IllegalArgumentException e) {
+            logger.warn("学習履歴のカーソルが不正です: userId={}, cursor={}", userId, cursor);
+            return ResponseEntity.badRequest().build();
         } catch (Exception e) {
             logger.error("学習履歴取得エラー: {}", e.getMessage(), e);
             return ResponseEntity.internalServerError().build();
@@ -3,6 +3,7 @@ package com.example.api.controller;
 import com.example.api.entity.UserPaymentMethod;
 import com.example.api.repository.UserPaymentMethodRepository;
 import com.example.api.repository.UserRepository;
+import com.example.api.service.LifeLedger;
 import com.example.api.service.SubscriptionService; // 作成したサービス
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.ResponseEntity;
@@ -26,6 +27,9 @@ public class PaymentController {
     @Autowired
     private SubscriptionService subscriptionService; // ここでサービスを注入
 
+    @Autowired
+    private LifeLedger lifeLedger;
+
     // ... (getMethods, addMethod, updateMethod, deleteMethod は変更なしのため省略) ...
     @GetMapping
     public List<UserPaymentMethod> getMethods(@AuthenticationPrincipal Long userId) {
@@ -72,6 +76,8 @@ public class PaymentController {
                     user.setSubscribeFlag(0);
                     user.setCancellationFlag(0);
                     userRepository.save(user);
+                    // ライフ上限が変わるため台帳を破棄
+                    lifeLedger.evict(userId);
                 }
                 return ResponseEntity.ok(Map.of(
                     "subscribeFlag", user.getSubscribeFlag(),
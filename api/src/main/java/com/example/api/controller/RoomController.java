@@ -3,10 +3,9 @@ package com.example.api.controller;
 import com.example.api.entity.Friend;
 import com.example.api.entity.Room;
 import com.example.api.entity.User;
-import com.example.api.listener.RoomWebSocketEventListener;
 import com.example.api.repository.UserRepository;
 import com.example.api.service.BattleService;
-import com.example.api.service.MatchingQueueService;
+import com.example.api.service.FriendActivityService;
 import com.example.api.service.RoomService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -32,21 +31,18 @@ public class RoomController {
     private final BattleService battleService;
     private final UserRepository userRepository;
     private final SimpMessagingTemplate messagingTemplate;
-    private final RoomWebSocketEventListener webSocketEventListener;
-    private final MatchingQueueService matchingQueueService;
+    private final FriendActivityService friendActivityService;
 
     public RoomController(RoomService roomService,
                          BattleService battleService,
                          UserRepository userRepository,
                          SimpMessagingTemplate messagingTemplate,
-                         RoomWebSocketEventListener webSocketEventListener,
-                         MatchingQueueService matchingQueueService) {
+                         FriendActivityService friendActivityService) {
         this.roomService = roomService;
         this.battleService = battleService;
         this.userRepository = userRepository;
         this.messagingTemplate = messagingTemplate;
-        this.webSocketEventListener = webSocketEventListener;
-        this.matchingQueueService = matchingQueueService;
+        this.friendActivityService = friendActivityService;
     }
 
     // ========== REST API ==========
@@ -294,6 +290,14 @@ public class RoomController {
             List<Friend> friends = roomService.getFriendsForInvitation(userId);
             List<Map<String, Object>> result = new ArrayList<>();
 
+            // 活動状態を一括取得（オンライン・部屋・マッチング・対戦）
+            List<Long> friendUserIds = new ArrayList<>();
+            for (Friend f : friends) {
+                friendUserIds.add(f.getUserLow().getId().equals(userId)
+                        ? f.getUserHigh().getId() : f.getUserLow().getId());
+            }
+            Map<Long, FriendActivityService.Activity> activities = friendActivityService.getActivities(friendUserIds);
+
             for (Friend f : friends) {
                 // 自分ではない方のユーザーを取得
                 User friendUser = f.getUserLow().getId().equals(userId) ? f.getUserHigh() : f.getUserLow();
@@ -305,6 +309,10 @@ public class RoomController {
                 friendInfo.put("username", friendUser.getUsername());
                 friendInfo.put("imageUrl", friendUser.getImageUrl());
 
+                // 既に招待済みかどうか
+                boolean alreadyInvited = f.getInviteFlag() != null && f.getInviteFlag()
+                        && f.getInviteRoomId() != null;
+
                 // プライバシー設定チェック: privacy=2（非公開）の場合は強制オフライン
                 String status;
                 boolean canInvite;
@@ -312,17 +320,14 @@ public class RoomController {
                     status = "offline";
                     canInvite = false;
                 } else {
-                    // ユーザー状態を判定
-                    status = getUserStatus(friendUserId);
-                    // 招待可能かどうかを判定
-                    canInvite = canInviteUser(friendUserId, f);
+                    FriendActivityService.Activity activity = activities.getOrDefault(
+                            friendUserId, FriendActivityService.Activity.OFFLINE);
+                    status = activity.getValue();
+                    // 招待可能: オンラインかつ部屋・マッチング・対戦に参加しておらず、未招待
+                    canInvite = activity.isAvailable() && !alreadyInvited;
                 }
                 friendInfo.put("status", status);
                 friendInfo.put("canInvite", canInvite);
-
-                // 既に招待済みかどうか
-                boolean alreadyInvited = f.getInviteFlag() != null && f.getInviteFlag()
-                        && f.getInviteRoomId() != null;
                 friendInfo.put("alreadyInvited", alreadyInvited);
 
                 result.add(friendInfo);
@@ -335,73 +340,6 @@ public class RoomController {
         }
     }
 
-    /**
-     * ユーザーの状態を判定
-     * @param userId ユーザーID
-     * @return "room_match", "matching", "in_battle", "online", "offline" のいずれか
-     */
-    private String getUserStatus(Long userId) {
-        // オフラインチェック（WebSocket未接続）
-        if (!webSocketEventListener.isUserOnline(userId)) {
-            return "offline";
-        }
-
-        // ルームマッチ参加中チェック（WAITING/READY/PLAYING）
-        Optional<Room> activeRoom = roomService.getActiveRoom(userId);
-        if (activeRoom.isPresent()) {
-            logger.info("ユーザーID {} はルームマッチ参加中", userId);
-            return "room_match";
-        }
-
-        // ランクマッチ待機中または対戦中チェック
-        if (matchingQueueService.isInQueue(userId)) {
-            return "matching";
-        }
-
-        if (battleService.isUserInRankBattle(userId)) {
-            logger.info("ユーザーID {} はランクマッチ対戦中", userId);
-            return "in_battle";
-        }
-
-        return "online";
-    }
-
-    /**
-     * ユーザーを招待可能かどうかを判定
-     * @param friendUserId フレンドのユーザーID
-     * @param friendship フレンド関係
-     * @return 招待可能な場合true
-     */
-    private boolean canInviteUser(Long friendUserId, Friend friendship) {
-        // オフラインの場合は招待不可
-        if (!webSocketEventListener.isUserOnline(friendUserId)) {
-            return false;
-        }
-
-        // 既に招待済みの場合は招待不可
-        if (friendship.getInviteFlag() != null && friendship.getInviteFlag()
-                && friendship.getInviteRoomId() != null) {
-            return false;
-        }
-
-        // アクティブな部屋に参加中の場合は招待不可
-        if (roomService.hasActiveRoom(friendUserId)) {
-            return false;
-        }
-
-        // ランクマッチ待機中は招待不可
-        if (matchingQueueService.isInQueue(friendUserId)) {
-            return false;
-        }
-
-        // ランクマッチ中は招待不可
-        if (battleService.isUserInRankBattle(friendUserId)) {
-            return false;
-        }
-
-        return true;
-    }
-
     /**
      * 招待済みユーザー一覧を取得
      */
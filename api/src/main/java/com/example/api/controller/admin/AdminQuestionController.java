@@ -45,11 +45,16 @@ public class AdminQuestionController {
             @RequestParam(required = false) String artistName,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime addedFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime addedTo,
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String countMode) {
         try {
             return ResponseEntity.ok(adminQuestionService.getQuestions(
                     page, size, idSearch, artistId, questionFormat, language, difficultyLevel, isActive,
-                    questionText, answer, songName, artistName, addedFrom, addedTo, sortDirection));
+                    questionText, answer, songName, artistName, addedFrom, addedTo, sortDirection,
+                    cursor, countMode));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("問題一覧取得エラー", e);
             return ResponseEntity.internalServerError().body(createErrorResponse("問題一覧の取得に失敗しました"));
@@ -0,0 +1,40 @@
+package com.example.api.controller.admin;
+
+import com.example.api.service.admin.AdminSearchIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * 管理画面検索インデックスの管理API
+ */
+@RestController
+@RequestMapping("/api/admin/search-index")
+public class AdminSearchIndexController {
+
+    @Autowired
+    private AdminSearchIndex adminSearchIndex;
+
+    @GetMapping
+    public ResponseEntity<?> getStatus() {
+        return ResponseEntity.ok(adminSearchIndex.getStatus());
+    }
+
+    /**
+     * インデックスの再構築（バックグラウンドで実行）
+     */
+    @PostMapping("/rebuild")
+    public ResponseEntity<?> rebuild() {
+        Map<String, Object> response = new HashMap<>();
+        if (adminSearchIndex.rebuildAsync()) {
+            response.put("message", "検索インデックスの再構築を開始しました");
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+        }
+        response.put("error", "検索インデックスは既に再構築中です");
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+    }
+}
@@ -49,14 +49,19 @@ public class AdminUserController {
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime expiresTo,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime canceledFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime canceledTo,
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String countMode) {
 
         try {
             AdminUserListResponse response = adminUserService.getUsers(
                     page, size, id, userUuid, username, email,
                     banFlag, subscribeFlag, createdFrom, createdTo, offlineFrom, offlineTo,
-                    expiresFrom, expiresTo, canceledFrom, canceledTo, sortDirection);
+                    expiresFrom, expiresTo, canceledFrom, canceledTo, sortDirection,
+                    cursor, countMode);
             return ResponseEntity.ok(response);
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("ユーザー一覧取得エラー", e);
             return ResponseEntity.internalServerError().body(createErrorResponse("ユーザー一覧の取得に失敗しました"));
@@ -39,11 +39,16 @@ public class AdminVocabularyController {
             @RequestParam(required = false) Boolean isActive,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdFrom,
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime createdTo,
-            @RequestParam(defaultValue = "desc") String sortDirection) {
+            @RequestParam(defaultValue = "desc") String sortDirection,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String countMode) {
         try {
             return ResponseEntity.ok(
                     adminVocabularyService.getVocabularies(
-                            page, size, idSearch, word, partOfSpeech, isActive, createdFrom, createdTo, sortDirection));
+                            page, size, idSearch, word, partOfSpeech, isActive, createdFrom, createdTo, sortDirection,
+                            cursor, countMode));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(createErrorResponse(e.getMessage()));
         } catch (Exception e) {
             logger.error("単語一覧取得エラー", e);
             return ResponseEntity.internalServerError().body(createErrorResponse("単語一覧の取得に失敗しました"));
@@ -13,6 +13,7 @@ public class FriendResponse {
     private String userUuid;
     private String imageUrl;
     private LocalDateTime acceptedAt;
+    private boolean online;
 
     public FriendResponse() {
     }
@@ -26,6 +27,11 @@ public class FriendResponse {
         this.acceptedAt = acceptedAt;
     }
 
+    public FriendResponse(Long friendId, Long userId, String username, String userUuid, String imageUrl, LocalDateTime acceptedAt, boolean online) {
+        this(friendId, userId, username, userUuid, imageUrl, acceptedAt);
+        this.online = online;
+    }
+
     public Long getFriendId() {
         return friendId;
     }
@@ -73,4 +79,12 @@ public class FriendResponse {
     public void setAcceptedAt(LocalDateTime acceptedAt) {
         this.acceptedAt = acceptedAt;
     }
+
+    public boolean isOnline() {
+        return online;
+    }
+
+    public void setOnline(boolean online) {
+        this.online = online;
+    }
 }
@@ -13,6 +13,10 @@ public class AdminUserListResponse {
     private int size;
     private long totalElements;
     private int totalPages;
+    // 次ページ取得用カーソル（最終ページの場合null）
+    private String nextCursor;
+    // totalElementsがキャッシュされた概算値かどうか
+    private boolean totalApproximate;
 
     // Constructors
     public AdminUserListResponse() {}
@@ -79,4 +83,8 @@ public class AdminUserListResponse {
     public void setTotalElements(long totalElements) { this.totalElements = totalElements; }
     public int getTotalPages() { return totalPages; }
     public void setTotalPages(int totalPages) { this.totalPages = totalPages; }
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+    public boolean isTotalApproximate() { return totalApproximate; }
+    public void setTotalApproximate(boolean totalApproximate) { this.totalApproximate = totalApproximate; }
 }
@@ -64,6 +64,10 @@ public class AdminVocabularyResponse {
         private int size;
         private long totalElements;
         private int totalPages;
+        // 次ページ取得用カーソル（最終ページの場合null）
+        private String nextCursor;
+        // totalElementsがキャッシュされた概算値かどうか
+        private boolean totalApproximate;
 
         public ListResponse(List<AdminVocabularyResponse> vocabularies, int page, int size, long totalElements, int totalPages) {
             this.vocabularies = vocabularies;
@@ -78,5 +82,9 @@ public class AdminVocabularyResponse {
         public int getSize() { return size; }
         public long getTotalElements() { return totalElements; }
         public int getTotalPages() { return totalPages; }
+        public String getNextCursor() { return nextCursor; }
+        public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+        public boolean isTotalApproximate() { return totalApproximate; }
+        public void setTotalApproximate(boolean totalApproximate) { this.totalApproximate = totalApproximate; }
     }
 }
@@ -0,0 +1,91 @@
+package com.example.api.dto.history;
+
+import com.example.api.entity.Result;
+
+import java.time.LocalDateTime;
+
+/**
+ * 対戦履歴一覧用プロジェクション
+ * 一覧表示に必要な列とサマリー列のみを保持（use_question・result_detailは読み込まない）
+ */
+public class BattleHistoryRow {
+    private final Long resultId;
+    private final Long enemyId;
+    private final String enemyName;
+    private final Boolean result;
+    private final Integer updownRate;
+    private final Integer rateAfterMatch;
+    private final Result.MatchType matchType;
+    private final Result.OutcomeReason outcomeReason;
+    private final LocalDateTime endedAt;
+    private final Integer playerScore;
+    private final Integer enemyScore;
+    private final Boolean isDraw;
+
+    public BattleHistoryRow(Long resultId, Long enemyId, String enemyName, Boolean result,
+                            Integer updownRate, Integer rateAfterMatch,
+                            Result.MatchType matchType, Result.OutcomeReason outcomeReason,
+                            LocalDateTime endedAt, Integer playerScore, Integer enemyScore, Boolean isDraw) {
+        this.resultId = resultId;
+        this.enemyId = enemyId;
+        this.enemyName = enemyName;
+        this.result = result;
+        this.updownRate = updownRate;
+        this.rateAfterMatch = rateAfterMatch;
+        this.matchType = matchType;
+        this.outcomeReason = outcomeReason;
+        this.endedAt = endedAt;
+        this.playerScore = playerScore;
+        this.enemyScore = enemyScore;
+        this.isDraw = isDraw;
+    }
+
+    // Getters
+    public Long getResultId() {
+        return resultId;
+    }
+
+    public Long getEnemyId() {
+        return enemyId;
+    }
+
+    public String getEnemyName() {
+        return enemyName;
+    }
+
+    public Boolean getResult() {
+        return result;
+    }
+
+    public Integer getUpdownRate() {
+        return updownRate;
+    }
+
+    public Integer getRateAfterMatch() {
+        return rateAfterMatch;
+    }
+
+    public Result.MatchType getMatchType() {
+        return matchType;
+    }
+
+    public Result.OutcomeReason getOutcomeReason() {
+        return outcomeReason;
+    }
+
+    public LocalDateTime getEndedAt() {
+        return endedAt;
+    }
+
+    public Integer getPlayerScore() {
+        return playerScore;
+    }
+
+    public Integer getEnemyScore() {
+        return enemyScore;
+    }
+
+    public Boolean getIsDraw() {
+        return isDraw;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.api.entity;
 
+import com.example.api.service.admin.AdminSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -13,6 +14,7 @@ import java.time.LocalDateTime;
  * アーティスト情報を管理するテーブル
  */
 @Entity
+@EntityListeners(AdminSearchIndexListener.class)
 @Table(name = "artist")
 @Where(clause = "is_active = true AND is_deleted = false")
 @Data
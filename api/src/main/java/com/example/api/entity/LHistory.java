@@ -2,15 +2,23 @@ package com.example.api.entity;
 
 import jakarta.persistence.*;
 
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
 @Entity
 @Table(
     name = "l_history",
     indexes = {
-        @Index(name = "idx_l_history_user_id", columnList = "user_id")
+        @Index(name = "idx_l_history_user_id", columnList = "user_id"),
+        @Index(name = "idx_l_history_user_learned_at", columnList = "user_id, learned_at, l_history_id")
     }
 )
 public class LHistory {
 
+    /** learning_atの書式 */
+    public static final DateTimeFormatter LEARNING_AT_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "l_history_id")
@@ -23,6 +31,10 @@ public class LHistory {
     @Column(name = "learning_at", length = 30, nullable = false)
     private String learning_at;
 
+    // 学習日時（並び替え・ページング用）。既存行は起動時にlearning_atから移行する
+    @Column(name = "learned_at")
+    private LocalDateTime learned_at;
+
     // MySQL8のJSON型。アプリ側では文字列で扱う（必要なら後でJsonNode等に変更可）
     @Column(name = "questions", columnDefinition = "json", nullable = false)
     private String questions;
@@ -49,6 +61,9 @@ public class LHistory {
     public String getLearning_at() { return learning_at; }
     public void setLearning_at(String learning_at) { this.learning_at = learning_at; }
 
+    public LocalDateTime getLearned_at() { return learned_at; }
+    public void setLearned_at(LocalDateTime learned_at) { this.learned_at = learned_at; }
+
     public String getQuestions() { return questions; }
     public void setQuestions(String questions) { this.questions = questions; }
 
@@ -63,4 +78,22 @@ public class LHistory {
 
     public String getLearning_lang() { return learning_lang; }
     public void setLearning_lang(String learning_lang) { this.learning_lang = learning_lang; }
+
+    @PrePersist
+    protected void onCreate() {
+        if (learned_at == null) {
+            learned_at = parseLearningAt(learning_at);
+        }
+    }
+
+    private static LocalDateTime parseLearningAt(String learningAt) {
+        if (learningAt != null) {
+            try {
+                return LocalDateTime.parse(learningAt, LEARNING_AT_FORMATTER);
+            } catch (DateTimeParseException e) {
+                // 書式が異なる場合は現在時刻を使用
+            }
+        }
+        return LocalDateTime.now();
+    }
 }
@@ -0,0 +1,142 @@
+package com.example.api.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 送信待ちメールエンティティクラス
+ * データベースのmail_outboxテーブルにマッピングされます
+ * リクエストのトランザクション内で登録し、送信はワーカーが非同期に行います
+ */
+@Entity
+@Table(
+    name = "mail_outbox",
+    indexes = {
+        @Index(name = "idx_mail_outbox_status_next", columnList = "status, next_attempt_at"),
+        @Index(name = "idx_mail_outbox_expires_at", columnList = "expires_at")
+    }
+)
+public class MailOutbox {
+
+    public enum Status { PENDING, SENT, FAILED }
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "mail_id")
+    private Long mailId;
+
+    @Column(name = "to_address", nullable = false, length = 255)
+    private String toAddress;
+
+    @Column(name = "subject", nullable = false, length = 255)
+    private String subject;
+
+    @Column(name = "body", nullable = false, columnDefinition = "TEXT")
+    private String body;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private Status status = Status.PENDING;
+
+    /**
+     * 送信試行回数
+     */
+    @Column(name = "attempts", nullable = false)
+    private Integer attempts = 0;
+
+    /**
+     * 次回送信可能時刻（送信中は処理期限として使用）
+     */
+    @Column(name = "next_attempt_at", nullable = false)
+    private LocalDateTime nextAttemptAt;
+
+    /**
+     * 送信期限（期限を過ぎたメールは送信せず削除する。nullの場合は期限なし）
+     */
+    @Column(name = "expires_at")
+    private LocalDateTime expiresAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Column(name = "sent_at")
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    protected void onCreate() {
+        LocalDateTime now = LocalDateTime.now();
+        if (createdAt == null) {
+            createdAt = now;
+        }
+        if (nextAttemptAt == null) {
+            nextAttemptAt = now;
+        }
+    }
+
+    // ====== コンストラクタ ======
+    public MailOutbox() {
+    }
+
+    public MailOutbox(String toAddress, String subject, String body) {
+        this(toAddress, subject, body, null);
+    }
+
+    public MailOutbox(String toAddress, String subject, String body, LocalDateTime expiresAt) {
+        this.toAddress = toAddress;
+        this.subject = subject;
+        this.body = body;
+        this.expiresAt = expiresAt;
+    }
+
+    // ====== Getter / Setter ======
+    public Long getMailId() {
+        return mailId;
+    }
+
+    public String getToAddress() {
+        return toAddress;
+    }
+
+    public String getSubject() {
+        return subject;
+    }
+
+    public String getBody() {
+        return body;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public void setStatus(Status status) {
+        this.status = status;
+    }
+
+    public Integer getAttempts() {
+        return attempts;
+    }
+
+    public LocalDateTime getNextAttemptAt() {
+        return nextAttemptAt;
+    }
+
+    public LocalDateTime getExpiresAt() {
+        return expiresAt;
+    }
+
+    public String getLastError() {
+        return lastError;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    public LocalDateTime getSentAt() {
+        return sentAt;
+    }
+}
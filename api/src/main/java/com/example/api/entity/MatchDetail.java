@@ -0,0 +1,66 @@
+package com.example.api.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+
+/**
+ * 対戦詳細エンティティクラス
+ * データベースのmatch_detailテーブルにマッピングされます
+ * 出題・ラウンド・対戦形式を1対戦につき1行で保持し、両プレイヤーのResultから共有します
+ * （payloadはformat_versionの形式で符号化され、compressed=trueの場合はgzip圧縮済み）
+ */
+@Entity
+@Table(name = "match_detail")
+public class MatchDetail {
+
+    @Id
+    @Column(name = "match_uuid", length = 36, nullable = false)
+    private String matchUuid;
+
+    /**
+     * 符号化形式のバージョン
+     */
+    @Column(name = "format_version", nullable = false)
+    private Integer formatVersion;
+
+    @Column(name = "compressed", nullable = false)
+    private Boolean compressed;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMBLOB")
+    private byte[] payload;
+
+    /**
+     * 圧縮前のサイズ（バイト）
+     */
+    @Column(name = "raw_size", nullable = false)
+    private Integer rawSize;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        if (createdAt == null) {
+            createdAt = LocalDateTime.now();
+        }
+    }
+
+    // Getters and Setters
+    public String getMatchUuid() { return matchUuid; }
+    public void setMatchUuid(String matchUuid) { this.matchUuid = matchUuid; }
+
+    public Integer getFormatVersion() { return formatVersion; }
+    public void setFormatVersion(Integer formatVersion) { this.formatVersion = formatVersion; }
+
+    public Boolean getCompressed() { return compressed; }
+    public void setCompressed(Boolean compressed) { this.compressed = compressed; }
+
+    public byte[] getPayload() { return payload; }
+    public void setPayload(byte[] payload) { this.payload = payload; }
+
+    public Integer getRawSize() { return rawSize; }
+    public void setRawSize(Integer rawSize) { this.rawSize = rawSize; }
+
+    public LocalDateTime getCreatedAt() { return createdAt; }
+    public void setCreatedAt(LocalDateTime createdAt) { this.createdAt = createdAt; }
+}
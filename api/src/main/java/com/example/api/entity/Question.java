@@ -1,6 +1,7 @@
 package com.example.api.entity;
 
 import com.example.api.enums.QuestionFormat;
+import com.example.api.service.admin.AdminSearchIndexListener;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -14,6 +15,7 @@ import java.time.LocalDateTime;
  * 問題情報を管理するテーブル
  */
 @Entity
+@EntityListeners(AdminSearchIndexListener.class)
 @Table(name = "question")
 @Where(clause = "is_active = true AND is_deleted = false")
 @Data
@@ -11,6 +11,7 @@ import java.time.LocalDateTime;
  * - user_id       FK -> users.id
  * - season        int(3)
  * - rate          int(5) 既定値 1500
+ * - last_change   int    直近の対戦で実際に反映された変動量（下限で切り詰められた分を含む）
  * - updated_at    datetime
  * - created_at    datetime
  */
@@ -51,6 +52,10 @@ public class Rate {
     )
     private Integer rate = 1500;
 
+    /** 直近の対戦で実際に反映された変動量（レート更新のUPDATEで記録） */
+    @Column(name = "last_change")
+    private Integer lastChange;
+
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
@@ -96,6 +101,9 @@ public class Rate {
     public Integer getRate() { return rate; }
     public void setRate(Integer rate) { this.rate = rate; }
 
+    public Integer getLastChange() { return lastChange; }
+    public void setLastChange(Integer lastChange) { this.lastChange = lastChange; }
+
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 
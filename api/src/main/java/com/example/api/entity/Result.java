@@ -14,7 +14,8 @@ import java.util.Map;
     indexes = {
         @Index(name = "idx_result_player", columnList = "player_id"),
         @Index(name = "idx_result_enemy", columnList = "enemy_id"),
-        @Index(name = "idx_result_match_uuid", columnList = "match_uuid")
+        @Index(name = "idx_result_match_uuid", columnList = "match_uuid"),
+        @Index(name = "idx_result_player_ended_at", columnList = "player_id, ended_at, result_id")
     }
 )
 public class Result {
@@ -78,6 +79,18 @@ public class Result {
     @Column(name = "match_uuid", length = 36)
     private String matchUuid;
 
+    /** 自分の勝ち数（対戦確定時に記録、未確定・未移行はnull） */
+    @Column(name = "player_score")
+    private Integer playerScore;
+
+    /** 相手の勝ち数（対戦確定時に記録、未確定・未移行はnull） */
+    @Column(name = "enemy_score")
+    private Integer enemyScore;
+
+    /** 引き分けかどうか（対戦確定時に記録、未確定・未移行はnull） */
+    @Column(name = "is_draw")
+    private Boolean isDraw;
+
     /* ===== lifecycle ===== */
     @PrePersist
     void onCreate() {
@@ -130,4 +143,13 @@ public class Result {
 
     public String getMatchUuid() { return matchUuid; }
     public void setMatchUuid(String matchUuid) { this.matchUuid = matchUuid; }
+
+    public Integer getPlayerScore() { return playerScore; }
+    public void setPlayerScore(Integer playerScore) { this.playerScore = playerScore; }
+
+    public Integer getEnemyScore() { return enemyScore; }
+    public void setEnemyScore(Integer enemyScore) { this.enemyScore = enemyScore; }
+
+    public Boolean getIsDraw() { return isDraw; }
+    public void setIsDraw(Boolean isDraw) { this.isDraw = isDraw; }
 }
@@ -14,7 +14,8 @@ import java.util.Objects;
     indexes = {
         @Index(name = "idx_sessions_refresh_hash", columnList = "refresh_hash", unique = true),
         @Index(name = "idx_sessions_user_id", columnList = "user_id"),
-        @Index(name = "idx_sessions_client_type", columnList = "client_type")
+        @Index(name = "idx_sessions_client_type", columnList = "client_type"),
+        @Index(name = "idx_sessions_expires_at", columnList = "expires_at")
     }
 )
 public class Session {
@@ -2,6 +2,7 @@ package com.example.api.entity;
 
 import java.time.LocalDateTime;
 
+import com.example.api.service.admin.AdminSearchIndexListener;
 import jakarta.persistence.*;
 import org.hibernate.annotations.Where;
 
@@ -9,6 +10,7 @@ import org.hibernate.annotations.Where;
  * Song テーブル Entity（ファイル名・クラス名とも物理名に合わせています）
  */
 @Entity
+@EntityListeners(AdminSearchIndexListener.class)
 @Table(name = "song")
 @Where(clause = "is_active = true AND is_deleted = false")
 public class Song {
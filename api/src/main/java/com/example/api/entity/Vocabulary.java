@@ -1,11 +1,13 @@
 package com.example.api.entity;
 
+import com.example.api.service.admin.AdminSearchIndexListener;
 import jakarta.persistence.*;
 import java.time.LocalDateTime;
 import lombok.*;
 import org.hibernate.annotations.Where;
 
 @Entity
+@EntityListeners(AdminSearchIndexListener.class)
 @Table(name = "vocabulary")
 @Where(clause = "is_active = true AND is_deleted = false")
 @Getter
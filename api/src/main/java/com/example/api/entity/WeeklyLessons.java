@@ -1,8 +1,11 @@
 package com.example.api.entity;
 
 import jakarta.persistence.*;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
 
 /**
  * weeklylessons テーブルのエンティティ
@@ -13,6 +16,7 @@ import java.time.temporal.ChronoUnit;
  * - user_id           FK -> users.id
  * - created_at        datetime
  * - week_flag         boolean  (作成から1週間で false にしたい要件)
+ * - week_start        date     集計週の開始日（日曜日）。ユーザー×週で1行
  * - updated_at        datetime
  */
 @Entity
@@ -21,6 +25,9 @@ import java.time.temporal.ChronoUnit;
     indexes = {
         @Index(name = "idx_weeklylessons_user_id", columnList = "user_id"),
         @Index(name = "idx_weeklylessons_week_flag", columnList = "week_flag")
+    },
+    uniqueConstraints = {
+        @UniqueConstraint(name = "uk_weeklylessons_week_user", columnNames = {"week_start", "user_id"})
     }
 )
 public class WeeklyLessons {
@@ -48,6 +55,10 @@ public class WeeklyLessons {
     @Column(name = "week_flag", nullable = false)
     private Boolean weekFlag = true;
 
+    /** 集計週の開始日（日曜日） */
+    @Column(name = "week_start")
+    private LocalDate weekStart;
+
     @Column(name = "updated_at", nullable = false)
     private LocalDateTime updatedAt;
 
@@ -71,6 +82,7 @@ public class WeeklyLessons {
         updatedAt = now;
         if (lessonsNum == null) lessonsNum = 0;
         if (weekFlag == null) weekFlag = true;
+        if (weekStart == null) weekStart = weekStartOf(createdAt);
     }
 
     @PreUpdate
@@ -85,6 +97,11 @@ public class WeeklyLessons {
         return createdAt != null && createdAt.plusDays(7).isAfter(LocalDateTime.now());
     }
 
+    /** 指定日時が属する集計週の開始日（UIに合わせて日曜始まり） */
+    public static LocalDate weekStartOf(LocalDateTime dateTime) {
+        return dateTime.toLocalDate().with(TemporalAdjusters.previousOrSame(DayOfWeek.SUNDAY));
+    }
+
     /* ====== getter / setter ====== */
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
@@ -101,6 +118,9 @@ public class WeeklyLessons {
     public Boolean getWeekFlag() { return weekFlag; }
     public void setWeekFlag(Boolean weekFlag) { this.weekFlag = weekFlag; }
 
+    public LocalDate getWeekStart() { return weekStart; }
+    public void setWeekStart(LocalDate weekStart) { this.weekStart = weekStart; }
+
     public LocalDateTime getUpdatedAt() { return updatedAt; }
     public void setUpdatedAt(LocalDateTime updatedAt) { this.updatedAt = updatedAt; }
 }
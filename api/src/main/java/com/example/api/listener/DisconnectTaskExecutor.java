@@ -0,0 +1,193 @@
+package com.example.api.listener;
+
+import com.example.api.service.MetricsService;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * WebSocket切断処理用のワーカー
+ * ブローカーのイベントスレッドから切断後処理を切り離し、
+ * ユーザー単位で順序を保証したワーカーで実行します
+ * 未実行のタスクはユーザー・タスク名ごとにまとめ（後から登録した切断のタスクで置き換える）、
+ * 待ち行列にはユーザーごとに1件しか積まないため、タスクを破棄することも登録側を待たせることもありません
+ * 滞留が警告しきい値を超えた場合はログに記録します（滞留数は websocket.disconnect.backlog で参照）
+ * 猶予付きのタスクは再接続時にキャンセルできます
+ */
+@Component
+public class DisconnectTaskExecutor {
+
+    private static final Logger logger = LoggerFactory.getLogger(DisconnectTaskExecutor.class);
+
+    // レーン（単一スレッド）ごとにキューを持ち、同一ユーザーは常に同じレーンで処理する
+    private final ExecutorService[] lanes;
+
+    // 猶予期間の経過を待つタイマー
+    private final ScheduledExecutorService graceTimer;
+
+    // ユーザーID → 猶予期間中の切断処理
+    private final ConcurrentHashMap<Long, PendingTask> pendingTasks = new ConcurrentHashMap<>();
+
+    // ユーザーID → 実行待ちのタスク（タスク名 → タスク。登録順に実行する）
+    // ユーザーが登録されている間はレーンに実行要求が1件だけ積まれている
+    private final ConcurrentHashMap<Long, Map<String, Runnable>> queuedTasks = new ConcurrentHashMap<>();
+
+    private final int backlogWarnSize;
+    private final AtomicBoolean backlogAlarm = new AtomicBoolean();
+    private final MetricsService metricsService;
+
+    /**
+     * 猶予期間中のタスク
+     * pendingTasksに登録されている間のみ有効で、取り除かれた時点でキャンセル扱いとなる
+     */
+    private static final class PendingTask {
+        private volatile ScheduledFuture<?> timer;
+
+        private void cancelTimer() {
+            ScheduledFuture<?> current = timer;
+            if (current != null) {
+                current.cancel(false);
+            }
+        }
+    }
+
+    public DisconnectTaskExecutor(@Value("${websocket.disconnect.worker-lanes:4}") int laneCount,
+                                  @Value("${websocket.disconnect.backlog-warn-size:1000}") int backlogWarnSize,
+                                  MetricsService metricsService) {
+        this.lanes = new ExecutorService[laneCount];
+        for (int i = 0; i < laneCount; i++) {
+            String threadName = "ws-disconnect-" + i;
+            lanes[i] = Executors.newSingleThreadExecutor(runnable -> new Thread(runnable, threadName));
+        }
+        this.graceTimer = Executors.newSingleThreadScheduledExecutor(
+                runnable -> new Thread(runnable, "ws-disconnect-timer"));
+        this.backlogWarnSize = backlogWarnSize;
+        this.metricsService = metricsService;
+        metricsService.registerDisconnectBacklog(this::getBacklogSize);
+    }
+
+    /**
+     * ユーザーのレーンでタスクを即時実行
+     * 同じユーザー・タスク名の未実行のタスクがある場合は置き換える（同じ処理を2回実行しない）
+     * @param userId ユーザーID
+     * @param taskName タスク名（ユーザー内でまとめる単位）
+     * @param task タスク
+     */
+    public void execute(Long userId, String taskName, Runnable task) {
+        boolean[] firstTask = {false};
+        queuedTasks.compute(userId, (id, tasks) -> {
+            if (tasks == null) {
+                tasks = new LinkedHashMap<>();
+                firstTask[0] = true;
+            }
+            if (tasks.put(taskName, task) != null) {
+                metricsService.countDisconnectTaskCoalesced();
+            }
+            return tasks;
+        });
+        if (!firstTask[0]) {
+            // 既にレーンに実行要求が積まれている
+            return;
+        }
+        try {
+            laneFor(userId).execute(() -> runQueued(userId));
+        } catch (RejectedExecutionException e) {
+            // 停止処理中
+            queuedTasks.remove(userId);
+            logger.warn("停止処理中のため切断処理タスクを実行しません: userId={}", userId);
+            return;
+        }
+        int backlog = queuedTasks.size();
+        if (backlog >= backlogWarnSize && backlogAlarm.compareAndSet(false, true)) {
+            logger.warn("切断処理の滞留が警告しきい値を超えました: users={}, threshold={}", backlog, backlogWarnSize);
+        }
+    }
+
+    /**
+     * 猶予期間後にユーザーのレーンでタスクを実行
+     * 既に猶予中のタスクがある場合は置き換える
+     * @param userId ユーザーID
+     * @param taskName タスク名（ユーザー内でまとめる単位）
+     * @param delayMs 猶予期間（ミリ秒）
+     * @param task タスク
+     */
+    public void schedule(Long userId, String taskName, long delayMs, Runnable task) {
+        PendingTask pending = new PendingTask();
+        PendingTask previous = pendingTasks.put(userId, pending);
+        if (previous != null) {
+            previous.cancelTimer();
+        }
+        pending.timer = graceTimer.schedule(() -> {
+            // 登録が残っている（キャンセル・置き換えされていない）場合のみ実行
+            if (pendingTasks.remove(userId, pending)) {
+                execute(userId, taskName, task);
+            }
+        }, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 猶予期間中のタスクをキャンセル（再接続時）
+     * @param userId ユーザーID
+     * @return キャンセルした場合true
+     */
+    public boolean cancelPending(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        PendingTask pending = pendingTasks.remove(userId);
+        if (pending == null) {
+            return false;
+        }
+        pending.cancelTimer();
+        return true;
+    }
+
+    /**
+     * 処理待ちのタスク数（猶予中 + 実行待ちのユーザー数）
+     */
+    public int getBacklogSize() {
+        return pendingTasks.size() + queuedTasks.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        graceTimer.shutdownNow();
+        for (ExecutorService lane : lanes) {
+            lane.shutdown();
+        }
+    }
+
+    /**
+     * ユーザーの実行待ちのタスクをまとめて取り出して実行
+     * 取り出した後に登録されたタスクは次の実行要求で処理される
+     */
+    private void runQueued(Long userId) {
+        Map<String, Runnable> tasks = queuedTasks.remove(userId);
+        if (tasks == null) {
+            return;
+        }
+        if (queuedTasks.size() < backlogWarnSize && backlogAlarm.compareAndSet(true, false)) {
+            logger.info("切断処理の滞留が解消しました: users={}", queuedTasks.size());
+        }
+        tasks.values().forEach(task -> runSafely(userId, task));
+    }
+
+    private void runSafely(Long userId, Runnable task) {
+        try {
+            task.run();
+        } catch (Exception e) {
+            logger.error("切断処理タスクでエラー: userId={}", userId, e);
+        }
+    }
+
+    private ExecutorService laneFor(Long userId) {
+        return lanes[Math.floorMod(Long.hashCode(userId), lanes.length)];
+    }
+}
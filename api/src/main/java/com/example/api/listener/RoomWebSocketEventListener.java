@@ -8,6 +8,7 @@ import com.example.api.repository.UserRepository;
 import com.example.api.service.BattleService;
 import com.example.api.service.BattleStateService;
 import com.example.api.service.MatchingService;
+import com.example.api.service.PresenceService;
 import com.example.api.service.RoomService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,12 +18,10 @@ import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
 import org.springframework.stereotype.Component;
 import org.springframework.web.socket.messaging.SessionConnectEvent;
 import org.springframework.web.socket.messaging.SessionDisconnectEvent;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
@@ -36,7 +35,6 @@ import java.util.concurrent.ConcurrentHashMap;
 public class RoomWebSocketEventListener {
 
     private static final Logger logger = LoggerFactory.getLogger(RoomWebSocketEventListener.class);
-    private static final Duration OFFLINE_TIMEOUT = Duration.ofSeconds(90);
 
     private final RoomService roomService;
     private final BattleService battleService;
@@ -44,10 +42,14 @@ public class RoomWebSocketEventListener {
     private final SimpMessagingTemplate messagingTemplate;
     private final SessionRepository sessionRepository;
     private final MatchingService matchingService;
+    private final PresenceService presenceService;
+    private final DisconnectTaskExecutor disconnectTaskExecutor;
     @Autowired
     private UserRepository userRepository;
-    
-    
+
+    // 切断から敗北・退出処理までの猶予期間（この間に再接続すればキャンセル）
+    @Value("${websocket.disconnect.grace-period-ms:10000}")
+    private long disconnectGracePeriodMs;
 
     // セッションID → ユーザーID のマッピング
     private final ConcurrentHashMap<String, Long> sessionUserMap = new ConcurrentHashMap<>();
@@ -58,21 +60,22 @@ public class RoomWebSocketEventListener {
     // セッションID → クライアント種別
     private final ConcurrentHashMap<String, String> sessionClientTypeMap = new ConcurrentHashMap<>();
 
-    // ユーザーID → 最終アクティブ時刻
-    private final ConcurrentHashMap<Long, Instant> userLastSeenMap = new ConcurrentHashMap<>();
-
     public RoomWebSocketEventListener(RoomService roomService,
                                       BattleService battleService,
                                       BattleStateService battleStateService,
                                       SimpMessagingTemplate messagingTemplate,
                                       SessionRepository sessionRepository,
-                                      MatchingService matchingService) {
+                                      MatchingService matchingService,
+                                      PresenceService presenceService,
+                                      DisconnectTaskExecutor disconnectTaskExecutor) {
         this.roomService = roomService;
         this.battleService = battleService;
         this.battleStateService = battleStateService;
         this.messagingTemplate = messagingTemplate;
         this.sessionRepository = sessionRepository;
         this.matchingService = matchingService;
+        this.presenceService = presenceService;
+        this.disconnectTaskExecutor = disconnectTaskExecutor;
     }
 
     /**
@@ -82,7 +85,10 @@ public class RoomWebSocketEventListener {
         sessionUserMap.put(sessionId, userId);
         userSessionMap.computeIfAbsent(userId, key -> ConcurrentHashMap.newKeySet())
                 .add(sessionId);
-        userLastSeenMap.put(userId, Instant.now());
+        presenceService.markOnline(userId);
+        if (disconnectTaskExecutor.cancelPending(userId)) {
+            logger.info("猶予期間内の再接続により切断処理をキャンセル: userId={}", userId);
+        }
         logger.debug("セッション登録: sessionId={}, userId={}", sessionId, userId);
     }
 
@@ -90,10 +96,7 @@ public class RoomWebSocketEventListener {
      * 最終アクティブ時刻を更新
      */
     public void refreshLastSeen(Long userId) {
-        if (userId == null) {
-            return;
-        }
-        userLastSeenMap.put(userId, Instant.now());
+        presenceService.touch(userId);
     }
 
     /**
@@ -115,15 +118,7 @@ public class RoomWebSocketEventListener {
      * @return オンラインの場合true
      */
     public boolean isUserOnline(Long userId) {
-        if (userId == null) {
-            return false;
-        }
-        Instant lastSeen = userLastSeenMap.get(userId);
-        if (lastSeen == null) {
-            return false;
-        }
-        if (Duration.between(lastSeen, Instant.now()).compareTo(OFFLINE_TIMEOUT) > 0) {
-            removeUserSession(userId);
+        if (!presenceService.isOnline(userId)) {
             return false;
         }
         Set<String> sessions = userSessionMap.get(userId);
@@ -138,7 +133,6 @@ public class RoomWebSocketEventListener {
                 sessionClientTypeMap.remove(sessionId);
             }
         }
-        userLastSeenMap.remove(userId);
     }
 
     private void updateLatestSessionClientType(Long userId, String clientType) {
@@ -215,19 +209,34 @@ public class RoomWebSocketEventListener {
         }
 
         removeUserSession(userId);
+        presenceService.markOffline(userId);
 
-        // マッチングキューから削除（最後のセッションが切断された時のみ実行される）
-        try {
+        logger.info("WebSocket切断検知: sessionId={}, userId={}, clientType={}",
+                sessionId, userId, clientType);
+
+        // 以降の処理はイベントスレッドを塞がないようワーカーで実行する
+        // マッチングキューからの削除は即時（最後のセッションが切断された時のみ実行される）
+        disconnectTaskExecutor.execute(userId, "leave-queue", () -> {
             boolean removed = matchingService.leaveQueue(userId);
             if (removed) {
                 logger.info("マッチングキューから削除: userId={}", userId);
             }
-        } catch (Exception e) {
-            logger.error("マッチングキュー削除時にエラー: userId={}", userId, e);
-        }
+        });
 
-        logger.info("WebSocket切断検知: sessionId={}, userId={}, clientType={}",
-                sessionId, userId, clientType);
+        // ルーム・対戦の切断処理は猶予期間後に実行（再接続時はキャンセル）
+        disconnectTaskExecutor.schedule(userId, "disconnect", disconnectGracePeriodMs,
+                () -> processDisconnectedUser(userId));
+    }
+
+    /**
+     * 猶予期間を過ぎても再接続しなかったユーザーのルーム・対戦を処理
+     */
+    private void processDisconnectedUser(Long userId) {
+        Set<String> sessions = userSessionMap.get(userId);
+        if (sessions != null && !sessions.isEmpty()) {
+            logger.info("再接続済みのため切断処理をスキップ: userId={}", userId);
+            return;
+        }
 
         try {
             // ユーザーのアクティブなルームを確認
@@ -262,17 +271,12 @@ public class RoomWebSocketEventListener {
     }
 
     /**
-     * 一定時間アクティブでないユーザーをオフライン扱いにする
+     * プレゼンスのタイムアウトでオフラインになったユーザーのセッション情報を破棄
      */
-    @Scheduled(fixedRate = 30000)
-    public void removeInactiveUsers() {
-        Instant now = Instant.now();
-        for (Map.Entry<Long, Instant> entry : userLastSeenMap.entrySet()) {
-            if (Duration.between(entry.getValue(), now).compareTo(OFFLINE_TIMEOUT) > 0) {
-                Long userId = entry.getKey();
-                removeUserSession(userId);
-                logger.info("タイムアウトによりオフライン判定: userId={}", userId);
-            }
+    @EventListener
+    public void handlePresenceChanged(PresenceService.PresenceChangedEvent event) {
+        if (!event.online() && "timeout".equals(event.reason())) {
+            removeUserSession(event.userId());
         }
     }
 
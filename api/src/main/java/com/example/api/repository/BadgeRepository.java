@@ -15,7 +15,7 @@ import java.util.Optional;
 public interface BadgeRepository extends JpaRepository<Badge, Long>, JpaSpecificationExecutor<Badge> {
 
     /**
-     * バッジ名で検索
+     * バッジ名で検索（マスタキャッシュを使用する場合はCatalogServiceを使用）
      */
     Optional<Badge> findByBadgeName(String badgeName);
 
@@ -17,6 +17,7 @@ public interface GenreRepository extends JpaRepository<Genre, Long>, JpaSpecific
 
     /**
      * ジャンル名で検索を行います。
+     * マスタキャッシュを使用する場合はCatalogService#findGenreByNameを使用してください。
      * @param name ジャンル名
      * @return 該当するジャンル（存在しない場合はEmpty）
      */
@@ -6,5 +6,8 @@ import java.util.Optional;
 import org.springframework.data.jpa.repository.JpaRepository;
 
 public interface ItemRepository extends JpaRepository<Item, Integer> {
+    /**
+     * 指定ステータスのアイテムを取得（マスタキャッシュを使用する場合はCatalogService#findItemを使用）
+     */
     Optional<Item> findByItemIdAndStatus(Integer itemId, ItemStatus status);
 }
@@ -1,11 +1,14 @@
 package com.example.api.repository;
 
 import com.example.api.entity.LHistory;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 /**
@@ -17,18 +20,63 @@ public interface LHistoryRepository extends JpaRepository<LHistory, Long> {
     /**
      * ユーザーIDで学習履歴を検索
      */
-    @Query(value = "SELECT * FROM l_history WHERE user_id = :userId ORDER BY learning_at DESC", nativeQuery = true)
+    @Query(value = "SELECT * FROM l_history WHERE user_id = :userId ORDER BY learned_at DESC, l_history_id DESC", nativeQuery = true)
     List<LHistory> findByUserId(@Param("userId") Long userId);
 
     /**
      * ユーザーIDで最新の学習履歴を取得
      */
-    @Query(value = "SELECT * FROM l_history WHERE user_id = :userId ORDER BY learning_at DESC LIMIT 1", nativeQuery = true)
+    @Query(value = "SELECT * FROM l_history WHERE user_id = :userId ORDER BY learned_at DESC, l_history_id DESC LIMIT 1", nativeQuery = true)
     LHistory findLatestByUserId(@Param("userId") Long userId);
 
     /**
-     * ユーザーIDで学習履歴を新しい順に上位20件取得（履歴表示用）
+     * ユーザーIDで学習履歴を新しい順に取得（履歴表示の先頭ページ）
+     * (user_id, learned_at, l_history_id)インデックスを使用
+     * @param userId ユーザーID
+     * @param pageable 取得件数（先頭ページのみ使用）
      */
-    @Query(value = "SELECT * FROM l_history WHERE user_id = :userId ORDER BY learning_at DESC LIMIT 20", nativeQuery = true)
-    List<LHistory> findTop20ByUserIdOrderByLearningAtDesc(@Param("userId") Long userId);
+    @Query("SELECT h FROM LHistory h WHERE h.user_id = :userId " +
+           "ORDER BY h.learned_at DESC, h.l_history_id DESC")
+    List<LHistory> findRecentByUserId(@Param("userId") Long userId, Pageable pageable);
+
+    /**
+     * 指定した履歴より古い学習履歴を新しい順に取得（カーソルページング）
+     * learned_atが未設定（移行前）の行は降順で最後に並ぶため、学習日時のある行の後に続けて返す
+     * @param userId ユーザーID
+     * @param learnedAt カーソル位置の学習日時
+     * @param historyId カーソル位置の履歴ID（同時刻の並び順に使用）
+     * @param pageable 取得件数（先頭ページのみ使用）
+     */
+    @Query("SELECT h FROM LHistory h WHERE h.user_id = :userId " +
+           "AND (h.learned_at < :learnedAt OR h.learned_at IS NULL " +
+           "OR (h.learned_at = :learnedAt AND h.l_history_id < :historyId)) " +
+           "ORDER BY h.learned_at DESC, h.l_history_id DESC")
+    List<LHistory> findRecentByUserIdBefore(@Param("userId") Long userId,
+                                            @Param("learnedAt") LocalDateTime learnedAt,
+                                            @Param("historyId") Long historyId,
+                                            Pageable pageable);
+
+    /**
+     * learned_atが未設定の履歴より古い学習履歴を取得（カーソル位置の行が移行前の場合）
+     * 未設定の行は学習日時のある行より後に並ぶため、未設定の行のみを履歴IDの降順で返す
+     * @param userId ユーザーID
+     * @param historyId カーソル位置の履歴ID
+     * @param pageable 取得件数（先頭ページのみ使用）
+     */
+    @Query("SELECT h FROM LHistory h WHERE h.user_id = :userId " +
+           "AND h.learned_at IS NULL AND h.l_history_id < :historyId " +
+           "ORDER BY h.l_history_id DESC")
+    List<LHistory> findRecentWithoutLearnedAtBefore(@Param("userId") Long userId,
+                                                    @Param("historyId") Long historyId,
+                                                    Pageable pageable);
+
+    /**
+     * learned_atが未設定の行をlearning_atから移行（1回の更新件数を制限）
+     * @param limit 更新件数の上限
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query(value = "UPDATE l_history SET learned_at = COALESCE(STR_TO_DATE(learning_at, '%Y-%m-%d %H:%i:%s'), NOW()) " +
+                   "WHERE learned_at IS NULL LIMIT :limit", nativeQuery = true)
+    int backfillLearnedAt(@Param("limit") int limit);
 }
@@ -0,0 +1,98 @@
+package com.example.api.repository;
+
+import com.example.api.entity.MailOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 送信待ちメールリポジトリインターフェース
+ * 送信待ちメールエンティティのデータベース操作を提供します
+ */
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+    /**
+     * 送信可能な送信待ちメールのIDを取得（送信期限切れは除く）
+     * @param now 現在時刻
+     * @param pageable 取得件数（先頭ページのみ使用）
+     * @return メールIDのリスト（登録順）
+     */
+    @Query("SELECT m.mailId FROM MailOutbox m WHERE m.status = com.example.api.entity.MailOutbox.Status.PENDING " +
+           "AND m.nextAttemptAt <= :now AND (m.expiresAt IS NULL OR m.expiresAt > :now) ORDER BY m.mailId")
+    List<Long> findDueIds(@Param("now") LocalDateTime now, Pageable pageable);
+
+    /**
+     * 送信処理の担当を確保（条件付き更新）
+     * 処理期限まで他のワーカーから取得されないようにし、試行回数を加算する
+     * @param mailId メールID
+     * @param now 現在時刻
+     * @param leaseUntil 処理期限（期限までに完了しない場合は再度送信対象になる）
+     * @return 更新された行数（1=確保成功、0=他のワーカーが確保済み）
+     */
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.nextAttemptAt = :leaseUntil, m.attempts = m.attempts + 1 " +
+           "WHERE m.mailId = :mailId AND m.status = com.example.api.entity.MailOutbox.Status.PENDING " +
+           "AND m.nextAttemptAt <= :now AND (m.expiresAt IS NULL OR m.expiresAt > :now)")
+    int claim(@Param("mailId") Long mailId, @Param("now") LocalDateTime now, @Param("leaseUntil") LocalDateTime leaseUntil);
+
+    /**
+     * 送信完了として記録
+     * @param mailId メールID
+     * @param now 送信時刻
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = com.example.api.entity.MailOutbox.Status.SENT, m.sentAt = :now, " +
+           "m.lastError = null WHERE m.mailId = :mailId")
+    int markSent(@Param("mailId") Long mailId, @Param("now") LocalDateTime now);
+
+    /**
+     * 送信失敗を記録
+     * @param mailId メールID
+     * @param status 更新後のステータス（再試行する場合PENDING、打ち切る場合FAILED）
+     * @param nextAttemptAt 次回送信可能時刻
+     * @param lastError エラー内容
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query("UPDATE MailOutbox m SET m.status = :status, m.nextAttemptAt = :nextAttemptAt, m.lastError = :lastError " +
+           "WHERE m.mailId = :mailId")
+    int markFailed(@Param("mailId") Long mailId,
+                   @Param("status") MailOutbox.Status status,
+                   @Param("nextAttemptAt") LocalDateTime nextAttemptAt,
+                   @Param("lastError") String lastError);
+
+    /**
+     * ステータスごとの件数
+     * @param status ステータス
+     * @return 件数
+     */
+    long countByStatus(MailOutbox.Status status);
+
+    /**
+     * 保持期間を過ぎた送信済み・打ち切り済みのメールを削除（1回の削除件数を制限）
+     * @param cutoff この時刻より前に登録されたメールを削除
+     * @param limit 削除件数の上限
+     * @return 削除された行数
+     */
+    @Modifying
+    @Query(value = "DELETE FROM mail_outbox WHERE status IN ('SENT', 'FAILED') AND created_at < :cutoff LIMIT :limit",
+           nativeQuery = true)
+    int deleteFinishedBefore(@Param("cutoff") LocalDateTime cutoff, @Param("limit") int limit);
+
+    /**
+     * 送信期限を過ぎたメールを状態に関わらず削除（1回の削除件数を制限）
+     * @param now 現在時刻
+     * @param limit 削除件数の上限
+     * @return 削除された行数
+     */
+    @Modifying
+    @Query(value = "DELETE FROM mail_outbox WHERE expires_at < :now LIMIT :limit", nativeQuery = true)
+    int deleteExpired(@Param("now") LocalDateTime now, @Param("limit") int limit);
+}
@@ -0,0 +1,13 @@
+package com.example.api.repository;
+
+import com.example.api.entity.MatchDetail;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 対戦詳細リポジトリインターフェース
+ * 対戦詳細エンティティのデータベース操作を提供します
+ */
+@Repository
+public interface MatchDetailRepository extends JpaRepository<MatchDetail, String> {
+}
@@ -1,13 +1,17 @@
 package com.example.api.repository;
 
+import com.example.api.config.CacheConfig;
 import com.example.api.entity.Rate;
 import com.example.api.entity.User;
+import org.springframework.cache.annotation.Cacheable;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +31,47 @@ public interface RateRepository extends JpaRepository<Rate, Long> {
     List<Rate> findFriendRankingBySeason(@Param("season") Integer season, @Param("userIds") List<Long> userIds, Pageable pageable);
 
     // ★追加: 存在するシーズン番号リスト
+    @Cacheable(cacheNames = CacheConfig.SEASON_CACHE, key = "'all'")
     @Query("SELECT DISTINCT r.season FROM Rate r ORDER BY r.season ASC")
     List<Integer> findDistinctSeasons();
-}
\ No newline at end of file
+
+    // レート更新用
+    @Query("SELECT r FROM Rate r WHERE r.season = :season AND r.user.id IN :userIds")
+    List<Rate> findBySeasonAndUserIds(@Param("season") Integer season, @Param("userIds") List<Long> userIds);
+
+    /**
+     * 2ユーザー分のレート行を未作成の場合のみ作成（既存行は変更しない）
+     * デッドロックを避けるため、userId1 < userId2 の順で指定すること
+     * @return 作成された行数
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO rate (user_id, season, rate, created_at, updated_at) " +
+                   "VALUES (:userId1, :season, :initialRate, :now, :now), (:userId2, :season, :initialRate, :now, :now)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("userId1") Long userId1,
+                       @Param("userId2") Long userId2,
+                       @Param("season") Integer season,
+                       @Param("initialRate") int initialRate,
+                       @Param("now") LocalDateTime now);
+
+    /**
+     * 2ユーザー分のレート変動を1回のUPDATEで原子的に加算（下限付き）
+     * 読み取り値ではなく差分を加算するため、同時に終了した対戦の更新が失われない
+     * 実際に反映された変動量（下限で切り詰めた後）をlast_changeに記録する
+     * （SETの右辺はいずれも更新前の行で評価されるよう、last_changeを先に代入する）
+     * @return 更新された行数（2=成功）
+     */
+    @Modifying(clearAutomatically = true, flushAutomatically = true)
+    @Query("UPDATE Rate r SET " +
+           "r.lastChange = greatest(:minRate, r.rate + CASE WHEN r.user.id = :userId1 THEN :delta1 ELSE :delta2 END) - r.rate, " +
+           "r.rate = greatest(:minRate, r.rate + CASE WHEN r.user.id = :userId1 THEN :delta1 ELSE :delta2 END), " +
+           "r.updatedAt = :now " +
+           "WHERE r.season = :season AND r.user.id IN (:userId1, :userId2)")
+    int applyDeltas(@Param("season") Integer season,
+                    @Param("userId1") Long userId1,
+                    @Param("delta1") int delta1,
+                    @Param("userId2") Long userId2,
+                    @Param("delta2") int delta2,
+                    @Param("minRate") int minRate,
+                    @Param("now") LocalDateTime now);
+}
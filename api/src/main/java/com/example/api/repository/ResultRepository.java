@@ -1,5 +1,6 @@
 package com.example.api.repository;
 
+import com.example.api.dto.history.BattleHistoryRow;
 import com.example.api.entity.Result;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -7,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -47,6 +50,13 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
      */
     List<Result> findAllByMatchUuid(String matchUuid);
 
+    /**
+     * 複数のマッチUUIDの結果を一括検索（結果の一括反映用）
+     * @param matchUuids マッチUUIDリスト
+     * @return 結果のリスト
+     */
+    List<Result> findAllByMatchUuidIn(Collection<String> matchUuids);
+
     /**
      * マッチUUIDで両方のプレイヤーの結果を検索（User情報をfetch join）
      * LazyInitializationException回避のため、player/enemyを一括取得
@@ -95,13 +105,56 @@ public interface ResultRepository extends JpaRepository<Result, Long> {
     List<Result> findByPlayerIdAndMatchType(Long playerId, Result.MatchType matchType);
 
     /**
-     * プレイヤーIDで結果を新しい順に上位N件検索（履歴表示用）
+     * プレイヤーIDで対戦履歴一覧を新しい順に取得（履歴表示用）
+     * 一覧に必要な列とサマリー列のみを取得し、JSON列は読み込まない
      * @param playerId プレイヤーID
-     * @param pageable ページング情報（PageRequest.of(0, 20)等）
-     * @return 結果のリスト（新しい順）
+     * @param pageable 取得件数（先頭ページのみ使用）
+     * @return 対戦履歴一覧（新しい順）
+     */
+    @Query("SELECT new com.example.api.dto.history.BattleHistoryRow(r.id, e.id, e.username, r.result, " +
+           "r.updownRate, r.rateAfterMatch, r.matchType, r.outcomeReason, r.endedAt, " +
+           "r.playerScore, r.enemyScore, r.isDraw) " +
+           "FROM Result r JOIN r.enemy e WHERE r.player.id = :playerId " +
+           "ORDER BY r.endedAt DESC, r.id DESC")
+    List<BattleHistoryRow> findHistoryRows(@Param("playerId") Long playerId, Pageable pageable);
+
+    /**
+     * 指定した結果より古い対戦履歴一覧を新しい順に取得（カーソルページング）
+     * @param playerId プレイヤーID
+     * @param endedAt カーソル位置の終了日時
+     * @param resultId カーソル位置の結果ID（同時刻の並び順に使用）
+     * @param pageable 取得件数（先頭ページのみ使用）
+     * @return 対戦履歴一覧（新しい順）
+     */
+    @Query("SELECT new com.example.api.dto.history.BattleHistoryRow(r.id, e.id, e.username, r.result, " +
+           "r.updownRate, r.rateAfterMatch, r.matchType, r.outcomeReason, r.endedAt, " +
+           "r.playerScore, r.enemyScore, r.isDraw) " +
+           "FROM Result r JOIN r.enemy e WHERE r.player.id = :playerId " +
+           "AND (r.endedAt < :endedAt OR (r.endedAt = :endedAt AND r.id < :resultId)) " +
+           "ORDER BY r.endedAt DESC, r.id DESC")
+    List<BattleHistoryRow> findHistoryRowsBefore(@Param("playerId") Long playerId,
+                                                 @Param("endedAt") LocalDateTime endedAt,
+                                                 @Param("resultId") Long resultId,
+                                                 Pageable pageable);
+
+    /**
+     * カーソル位置の終了日時を取得
+     * @param resultId 結果ID
+     * @param playerId プレイヤーID（他人の結果はカーソルに使用できない）
+     * @return 終了日時
+     */
+    @Query("SELECT r.endedAt FROM Result r WHERE r.id = :resultId AND r.player.id = :playerId")
+    Optional<LocalDateTime> findEndedAtForPlayer(@Param("resultId") Long resultId, @Param("playerId") Long playerId);
+
+    /**
+     * サマリー列が未記録で、結果詳細がある結果のIDを取得（サマリー移行用）
+     * @param afterId このIDより大きいものを取得
+     * @param pageable 取得件数（先頭ページのみ使用）
+     * @return 結果IDのリスト（昇順）
      */
-    @Query("SELECT r FROM Result r JOIN FETCH r.player JOIN FETCH r.enemy WHERE r.player.id = :playerId ORDER BY r.endedAt DESC")
-    List<Result> findByPlayerIdWithUsersOrderByEndedAtDesc(@Param("playerId") Long playerId, Pageable pageable);
+    @Query("SELECT r.id FROM Result r WHERE r.id > :afterId AND r.playerScore IS NULL " +
+           "AND r.resultDetail IS NOT NULL ORDER BY r.id")
+    List<Long> findUnsummarizedIds(@Param("afterId") Long afterId, Pageable pageable);
 
     /**
      * 結果IDで取得（User情報をfetch join）
@@ -6,6 +6,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -70,4 +71,12 @@ public interface RoomRepository extends JpaRepository<Room, Long> {
      */
     @Query("SELECT CASE WHEN COUNT(r) > 0 THEN true ELSE false END FROM Room r WHERE (r.host_id = :userId OR r.guest_id = :userId) AND r.status IN ('WAITING', 'READY', 'PLAYING')")
     boolean existsActiveRoomByUserId(@Param("userId") Long userId);
+
+    /**
+     * 指定ユーザーのうち、アクティブな部屋にホストまたはゲストとして参加中の部屋のメンバーを一括取得
+     * @param userIds ユーザーIDリスト
+     * @return [ホストID, ゲストID] のリスト
+     */
+    @Query("SELECT r.host_id, r.guest_id FROM Room r WHERE (r.host_id IN :userIds OR r.guest_id IN :userIds) AND r.status IN ('WAITING', 'READY', 'PLAYING')")
+    List<Object[]> findActiveRoomMembers(@Param("userIds") Collection<Long> userIds);
 }
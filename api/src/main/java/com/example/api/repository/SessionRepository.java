@@ -2,12 +2,14 @@ package com.example.api.repository;
 
 import com.example.api.entity.Session;
 import com.example.api.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -37,6 +39,13 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     @Query("SELECT s FROM Session s WHERE s.refreshHash = :refreshHash AND s.revokedFlag = false AND s.expiresAt > :now")
     Optional<Session> findValidSessionByRefreshHash(@Param("refreshHash") String refreshHash, @Param("now") LocalDateTime now);
 
+    /**
+     * リフレッシュトークンハッシュでセッションを検索（有効期限・無効化状態を問わない）
+     * @param refreshHash リフレッシュトークンハッシュ
+     * @return セッション（存在する場合）
+     */
+    Optional<Session> findByRefreshHash(String refreshHash);
+
     /**
      * ユーザーで全てのセッションを取得
      * @param user ユーザーエンティティ
@@ -60,14 +69,6 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
      */
     List<Session> findByClientType(String clientType);
 
-    /**
-     * 期限切れのセッションを削除
-     * @param now 現在時刻
-     */
-    @Modifying
-    @Query("DELETE FROM Session s WHERE s.expiresAt < :now")
-    void deleteExpiredSessions(@Param("now") LocalDateTime now);
-
     /**
      * ユーザーの全セッションを無効化
      * @param user ユーザーエンティティ
@@ -77,12 +78,20 @@ public interface SessionRepository extends JpaRepository<Session, Long> {
     void revokeAllUserSessions(@Param("user") User user);
 
     /**
-     * 期限切れセッションを持つユーザーを取得
+     * 期限切れセッションのIDとユーザーIDを取得（バッチ削除用）
      * @param now 現在時刻
-     * @return 期限切れセッションを持つユーザーのリスト（重複なし）
+     * @param pageable 取得件数（先頭ページのみ使用）
+     * @return [セッションID, ユーザーID] のリスト（セッションID昇順）
      */
-    @Query("SELECT DISTINCT s.user FROM Session s WHERE s.expiresAt < :now")
-    List<User> findUsersWithExpiredSessions(@Param("now") LocalDateTime now);
-}
-
+    @Query("SELECT s.sessionId, s.user.id FROM Session s WHERE s.expiresAt < :now ORDER BY s.sessionId")
+    List<Object[]> findExpiredSessionRefs(@Param("now") LocalDateTime now, Pageable pageable);
 
+    /**
+     * セッションIDを指定して一括削除
+     * @param sessionIds セッションIDのリスト
+     * @return 削除件数
+     */
+    @Modifying
+    @Query("DELETE FROM Session s WHERE s.sessionId IN :sessionIds")
+    int deleteBySessionIdIn(@Param("sessionIds") Collection<Long> sessionIds);
+}
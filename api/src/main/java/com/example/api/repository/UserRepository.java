@@ -8,6 +8,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.Optional;
 
 /**
@@ -60,16 +61,25 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     boolean existsByUserUuid(String userUuid);
 
     /**
-     * ライフを1消費（原子的操作）
-     * life >= 1 の場合のみ消費し、二重消費やマイナスを防止
+     * ライフを消費（条件付き更新）
+     * 読み取り時点のライフ・回復基準時刻から変わっていない場合のみ更新し、二重消費や他の更新の上書きを防止
      * @param userId ユーザーID
-     * @param newRecoveredAt 新しい回復基準時刻
-     * @return 更新された行数（1=成功、0=life不足）
+     * @param expectedLife 読み取り時点のライフ
+     * @param expectedRecoveredAt 読み取り時点の回復基準時刻（未設定の場合null）
+     * @param newLife 消費後のライフ
+     * @param newRecoveredAt 消費後の回復基準時刻
+     * @return 更新された行数（1=成功、0=状態が変化していた）
      */
-    @Modifying
-    @Query("UPDATE User u SET u.life = u.life - 1, u.lifeLastRecoveredAt = :newRecoveredAt " +
-           "WHERE u.id = :userId AND u.life >= 1 AND u.deleteFlag = false")
-    int consumeLife(@Param("userId") Long userId, @Param("newRecoveredAt") LocalDateTime newRecoveredAt);
+    @Modifying(clearAutomatically = true)
+    @Query("UPDATE User u SET u.life = :newLife, u.lifeLastRecoveredAt = :newRecoveredAt " +
+           "WHERE u.id = :userId AND u.life = :expectedLife AND u.deleteFlag = false " +
+           "AND (u.lifeLastRecoveredAt = :expectedRecoveredAt " +
+           "OR (u.lifeLastRecoveredAt IS NULL AND :expectedRecoveredAt IS NULL))")
+    int consumeLife(@Param("userId") Long userId,
+                    @Param("expectedLife") int expectedLife,
+                    @Param("expectedRecoveredAt") LocalDateTime expectedRecoveredAt,
+                    @Param("newLife") int newLife,
+                    @Param("newRecoveredAt") LocalDateTime newRecoveredAt);
 
     /**
      * ライフと回復時刻を更新（回復計算結果の反映用）
@@ -84,4 +94,15 @@ public interface UserRepository extends JpaRepository<User, Long>, JpaSpecificat
     int updateLifeAndRecoveredAt(@Param("userId") Long userId,
                                   @Param("newLife") int newLife,
                                   @Param("newRecoveredAt") LocalDateTime newRecoveredAt);
+
+    /**
+     * 有効なセッションが残っていないユーザーの offlineAt を一括更新
+     * @param userIds 対象ユーザーIDのリスト
+     * @param now 現在時刻
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query("UPDATE User u SET u.offlineAt = :now WHERE u.id IN :userIds " +
+           "AND NOT EXISTS (SELECT 1 FROM Session s WHERE s.user = u AND s.revokedFlag = false AND s.expiresAt > :now)")
+    int markOfflineIfNoValidSessions(@Param("userIds") Collection<Long> userIds, @Param("now") LocalDateTime now);
 }
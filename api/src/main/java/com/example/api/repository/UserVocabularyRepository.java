@@ -3,11 +3,13 @@ package com.example.api.repository;
 import com.example.api.entity.User;
 import com.example.api.entity.UserVocabulary;
 import com.example.api.entity.Vocabulary;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +43,12 @@ public interface UserVocabularyRepository extends JpaRepository<UserVocabulary,
      */
     Optional<UserVocabulary> findByUserAndVocabulary(User user, Vocabulary vocabulary);
 
+    /**
+     * 指定したVocabulary IDのうち、ユーザーが登録済みのものを取得（一括登録の重複除外用）
+     */
+    @Query("SELECT uv.vocabulary.vocabId FROM UserVocabulary uv WHERE uv.user.id = :userId AND uv.vocabulary.vocabId IN :vocabIds")
+    List<Integer> findRegisteredVocabIds(@Param("userId") Long userId, @Param("vocabIds") Collection<Integer> vocabIds);
+
     /**
      * ユーザーIDとVocabulary IDの組み合わせが存在するかチェック
      */
@@ -64,4 +72,16 @@ public interface UserVocabularyRepository extends JpaRepository<UserVocabulary,
      */
     @Query("SELECT COUNT(uv) FROM UserVocabulary uv WHERE uv.user.id = :userId")
     long countByUserId(@Param("userId") Long userId);
+
+    /**
+     * 登録ユーザー数の多い順に単語IDを取得（キャッシュのウォームアップ用）
+     */
+    @Query("SELECT uv.vocabulary.vocabId FROM UserVocabulary uv GROUP BY uv.vocabulary.vocabId ORDER BY COUNT(uv) DESC")
+    List<Integer> findMostRegisteredVocabIds(Pageable pageable);
+
+    /**
+     * いずれかのユーザーに登録されている単語の種類数をカウント（キャッシュ件数の目安）
+     */
+    @Query("SELECT COUNT(DISTINCT uv.vocabulary.vocabId) FROM UserVocabulary uv")
+    long countDistinctVocabIds();
 }
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -21,6 +22,11 @@ public interface VocabularyRepository extends JpaRepository<Vocabulary, Integer>
      */
     Optional<Vocabulary> findFirstByWordOrderByVocabIdAsc(String word);
 
+    /**
+     * 複数の単語をまとめて検索（一括登録用）
+     */
+    List<Vocabulary> findByWordIn(Collection<String> words);
+
     /**
      * 単語が既に存在するか確認
      */
@@ -7,9 +7,9 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
-import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.domain.Pageable;
 
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
@@ -29,28 +29,115 @@ public interface WeeklyLessonsRepository extends JpaRepository<WeeklyLessons, Lo
     List<WeeklyLessons> findByWeekFlagOrderByLessonsNumDesc(Integer weekFlag, Pageable pageable);
     List<WeeklyLessons> findByWeekFlagTrueOrderByLessonsNumDesc(Pageable pageable);
 
-    // ★バッチ処理用: 古いデータのフラグを下ろす
+    /**
+     * 学習回数を1加算（ユーザー×週の行が無い場合は作成）
+     * 一意制約 (week_start, user_id) による1文のUPSERTで、同時実行でも加算を取りこぼさない
+     * @param userId ユーザーID
+     * @param weekStart 集計週の開始日
+     * @param now 現在時刻
+     * @return 影響行数（MySQLの仕様で作成時1、更新時2）
+     */
     @Modifying
-    @Transactional
-    @Query("UPDATE WeeklyLessons w SET w.weekFlag = false WHERE w.createdAt < :cutoffDate AND w.weekFlag = true")
-    void updateWeekFlagForOldRecords(@Param("cutoffDate") LocalDateTime cutoffDate);
-
-    // ★ランキング用: weekFlag=true のレコードのみ集計
-    @Query("SELECT u, SUM(w.lessonsNum) as total " +
-           "FROM WeeklyLessons w " +
-           "JOIN w.user u " + 
-           "WHERE w.weekFlag = true " +
-           "GROUP BY u " +
-           "ORDER BY total DESC")
-    List<Object[]> findCurrentWeeklyRanking(Pageable pageable);
-
-    @Query("SELECT u, SUM(w.lessonsNum) as total " +
-           "FROM WeeklyLessons w " +
-           "JOIN w.user u " + 
-           "WHERE w.weekFlag = true " +
-           "AND u.id IN :userIds " +
-           "GROUP BY u " +
-           "ORDER BY total DESC")
-    List<Object[]> findCurrentFriendWeeklyRanking(@Param("userIds") List<Long> userIds,
-                                                  Pageable pageable);
-}
\ No newline at end of file
+    @Query(value = "INSERT INTO weeklylessons (user_id, lessonsnum, week_start, week_flag, created_at, updated_at) " +
+                   "VALUES (:userId, 1, :weekStart, true, :now, :now) " +
+                   "ON DUPLICATE KEY UPDATE lessonsnum = lessonsnum + 1, updated_at = :now",
+           nativeQuery = true)
+    int incrementLessons(@Param("userId") Long userId,
+                         @Param("weekStart") LocalDate weekStart,
+                         @Param("now") LocalDateTime now);
+
+    /**
+     * ユーザーの指定週の学習回数を取得（加算直後に同じトランザクション内で加算後の値を読む）
+     * @param userId ユーザーID
+     * @param weekStart 集計週の開始日
+     * @return 学習回数
+     */
+    @Query(value = "SELECT lessonsnum FROM weeklylessons WHERE user_id = :userId AND week_start = :weekStart",
+           nativeQuery = true)
+    Long findLessons(@Param("userId") Long userId, @Param("weekStart") LocalDate weekStart);
+
+    /**
+     * 指定週の学習回数を取得（集計なし、ランキングの読み込み用）
+     * @param weekStart 集計週の開始日
+     * @return [ユーザーID, 学習回数] のリスト
+     */
+    @Query("SELECT w.user.id, w.lessonsNum FROM WeeklyLessons w WHERE w.weekStart = :weekStart")
+    List<Object[]> findCountsByWeekStart(@Param("weekStart") LocalDate weekStart);
+
+    /**
+     * 集計週の開始日が未設定の行の学習回数を、同じユーザー×週で開始日設定済みの行に加算（既存データの移行用）
+     * 加算した行はdeleteLegacyMergedIntoWeekで削除する
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query(value = "UPDATE weeklylessons t JOIN (" +
+                   "SELECT user_id, DATE(created_at) - INTERVAL (DAYOFWEEK(created_at) - 1) DAY AS legacy_week, " +
+                   "SUM(lessonsnum) AS total FROM weeklylessons WHERE week_start IS NULL " +
+                   "GROUP BY user_id, legacy_week) l " +
+                   "ON t.user_id = l.user_id AND t.week_start = l.legacy_week " +
+                   "SET t.lessonsnum = t.lessonsnum + l.total",
+           nativeQuery = true)
+    int mergeLegacyIntoWeek();
+
+    /**
+     * mergeLegacyIntoWeekで加算済みの、開始日が未設定の行を削除（既存データの移行用）
+     * @return 削除された行数
+     */
+    @Modifying
+    @Query(value = "DELETE n FROM weeklylessons n JOIN weeklylessons t " +
+                   "ON t.user_id = n.user_id " +
+                   "AND t.week_start = DATE(n.created_at) - INTERVAL (DAYOFWEEK(n.created_at) - 1) DAY " +
+                   "WHERE n.week_start IS NULL",
+           nativeQuery = true)
+    int deleteLegacyMergedIntoWeek();
+
+    /**
+     * 開始日が未設定で同じユーザー×週の行が複数ある場合、IDの最も小さい行に学習回数の合計を設定（既存データの移行用）
+     * 残りの行はdeleteLegacyDuplicatesで削除する
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query(value = "UPDATE weeklylessons k JOIN (" +
+                   "SELECT MIN(weeklylessons_id) AS keep_id, SUM(lessonsnum) AS total FROM weeklylessons " +
+                   "WHERE week_start IS NULL " +
+                   "GROUP BY user_id, DATE(created_at) - INTERVAL (DAYOFWEEK(created_at) - 1) DAY " +
+                   "HAVING COUNT(*) > 1) d " +
+                   "ON k.weeklylessons_id = d.keep_id " +
+                   "SET k.lessonsnum = d.total",
+           nativeQuery = true)
+    int mergeLegacyDuplicates();
+
+    /**
+     * mergeLegacyDuplicatesで合計済みの重複行（IDの最も小さい行以外）を削除（既存データの移行用）
+     * @return 削除された行数
+     */
+    @Modifying
+    @Query(value = "DELETE d FROM weeklylessons d JOIN weeklylessons k " +
+                   "ON k.user_id = d.user_id AND k.week_start IS NULL " +
+                   "AND DATE(k.created_at) - INTERVAL (DAYOFWEEK(k.created_at) - 1) DAY " +
+                   "= DATE(d.created_at) - INTERVAL (DAYOFWEEK(d.created_at) - 1) DAY " +
+                   "AND k.weeklylessons_id < d.weeklylessons_id " +
+                   "WHERE d.week_start IS NULL",
+           nativeQuery = true)
+    int deleteLegacyDuplicates();
+
+    /**
+     * 集計週の開始日が未設定の行に作成日時から開始日（日曜日）を設定（既存データの移行用）
+     * 同じユーザー×週の行は事前にmergeLegacyIntoWeek・mergeLegacyDuplicatesで1行にまとめておく（一意制約違反になるため）
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query(value = "UPDATE weeklylessons SET week_start = DATE(created_at) - INTERVAL (DAYOFWEEK(created_at) - 1) DAY " +
+                   "WHERE week_start IS NULL",
+           nativeQuery = true)
+    int backfillWeekStart();
+
+    /**
+     * 前週以前の行を一括でアーカイブ（週切り替え用）
+     * @param currentWeekStart 今週の開始日
+     * @return 更新された行数
+     */
+    @Modifying
+    @Query("UPDATE WeeklyLessons w SET w.weekFlag = false WHERE w.weekFlag = true AND w.weekStart < :currentWeekStart")
+    int archiveBefore(@Param("currentWeekStart") LocalDate currentWeekStart);
+}
@@ -18,7 +18,7 @@ import java.util.stream.Collectors;
 
 /**
  * 管理者IP制限フィルター
- * /api/admin/** と /admin/** へのアクセスを許可されたIPのみに制限します
+ * /api/admin/** と /admin/**、health以外の /actuator/**（メトリクス・prometheus）へのアクセスを許可されたIPのみに制限します
  */
 @Component
 public class AdminIpAllowlistFilter extends OncePerRequestFilter {
@@ -75,7 +75,8 @@ public class AdminIpAllowlistFilter extends OncePerRequestFilter {
      * @return 管理者エンドポイントの場合true
      */
     private boolean isAdminEndpoint(String uri) {
-        return uri.startsWith("/api/admin/") || uri.startsWith("/admin/");
+        return uri.startsWith("/api/admin/") || uri.startsWith("/admin/")
+                || (uri.startsWith("/actuator/") && !uri.equals("/actuator/health") && !uri.startsWith("/actuator/health/"));
     }
 
     /**
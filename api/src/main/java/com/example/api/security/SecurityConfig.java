@@ -84,7 +84,7 @@ public class SecurityConfig {
                         .requestMatchers("/app/**").permitAll() // STOMP送信先
                         .requestMatchers("/topic/**").permitAll() // STOMPブロードキャスト
                         .requestMatchers("/queue/**").permitAll() // STOMPキュー
-                        .requestMatchers("/actuator/**").permitAll()
+                        .requestMatchers("/actuator/health", "/actuator/health/**").permitAll()
                         .requestMatchers("/hello").permitAll()
                         .requestMatchers("/samples/**").permitAll()
                         .requestMatchers("/api/dev/**").permitAll() // 開発用エンドポイント
@@ -102,6 +102,8 @@ public class SecurityConfig {
                         // 管理者専用エンドポイント（ADMIN権限必要）
                         .requestMatchers("/api/admin/**").hasRole("ADMIN")
                         .requestMatchers("/admin/**").hasRole("ADMIN")
+                        // health以外のactuator（メトリクス等）は管理者のみ
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         // その他のエンドポイントは認証が必要
                         .anyRequest().authenticated()
                 )
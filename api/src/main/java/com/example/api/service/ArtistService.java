@@ -73,6 +73,9 @@ public class ArtistService {
     @Autowired
     private GenreRepository genreRepository;
 
+    @Autowired
+    private CatalogService catalogService;
+
     public List<SpotifyArtistDto> searchArtists(String query, int limit) {
         return spotifyApiClient.searchArtists(query, limit);
     }
@@ -113,8 +116,8 @@ public class ArtistService {
     private Artist createArtist(LikeArtistRequest.ArtistInfo artistInfo, List<Long> genreIds) {
         Long primaryGenreId = genreIds.get(0);
         
-        // IDからジャンルエンティティを取得
-        Genre genre = genreRepository.findById(primaryGenreId)
+        // IDからジャンルを取得（関連付けには参照のみを使用）
+        CatalogService.GenreSnapshot genre = catalogService.findGenreById(primaryGenreId)
                 .orElseThrow(() -> new RuntimeException("ジャンルが見つかりません: ID=" + primaryGenreId));
 
         // Artistエンティティ作成
@@ -122,14 +125,14 @@ public class ArtistService {
         newArtist.setArtistName(artistInfo.getName());
         newArtist.setArtistApiId(artistInfo.getSpotifyId());
         newArtist.setImageUrl(artistInfo.getImageUrl());
-        newArtist.setGenre(genre); // ジャンルをセット
+        newArtist.setGenre(genreRepository.getReferenceById(genre.genreId())); // ジャンルをセット
         newArtist.setIsActive(true);
         newArtist.setIsDeleted(false);
         
         // save()を実行すると自動的にIDが採番され、newArtistオブジェクトにセットされる
         Artist savedArtist = artistRepository.save(newArtist);
         
-        logger.info("新規アーティスト作成: name={}, genre={}", artistInfo.getName(), genre.getName());
+        logger.info("新規アーティスト作成: name={}, genre={}", artistInfo.getName(), genre.name());
 
         return savedArtist;
     }
@@ -140,8 +143,7 @@ public class ArtistService {
         }
         LocalDateTime now = LocalDateTime.now();
         for (Long genreId : genreIds) {
-            Genre genre = genreRepository.findById(genreId)
-                .orElseThrow(() -> new RuntimeException("ジャンルが見つかりません: ID=" + genreId));
+            Genre genre = genreReference(genreId);
             if (!artistGenreRepository.existsByArtistAndGenre(artist, genre)) {
                 ArtistGenre artistGenre = new ArtistGenre();
                 artistGenre.setArtist(artist);
@@ -156,12 +158,19 @@ public class ArtistService {
         if (artist.getGenre() != null || genreIds == null || genreIds.isEmpty()) {
             return;
         }
-        Genre primaryGenre = genreRepository.findById(genreIds.get(0))
-            .orElseThrow(() -> new RuntimeException("ジャンルが見つかりません: ID=" + genreIds.get(0)));
-        artist.setGenre(primaryGenre);
+        artist.setGenre(genreReference(genreIds.get(0)));
         artistRepository.save(artist);
     }
 
+    /**
+     * 存在を確認したジャンルの参照を取得（マスタキャッシュで確認し、エンティティは読み込まない）
+     */
+    private Genre genreReference(Long genreId) {
+        CatalogService.GenreSnapshot genre = catalogService.findGenreById(genreId)
+                .orElseThrow(() -> new RuntimeException("ジャンルが見つかりません: ID=" + genreId));
+        return genreRepository.getReferenceById(genre.genreId());
+    }
+
     private List<Long> determineGenreIds(List<String> genres) {
         List<String> resolvedGenres = genres == null ? List.of() : genres;
         if (resolvedGenres.isEmpty()) {
@@ -213,9 +222,8 @@ public class ArtistService {
      * 指定されたジャンル名で検索し、存在しなければ新規作成してIDを返す
      */
     private Long findGenreIdByNameOrAutoCreate(String targetName) {
-        return genreRepository.findByName(targetName)
-                // ★修正: getId() -> getGenreId()
-                .map(Genre::getGenreId)
+        return catalogService.findGenreByName(targetName)
+                .map(CatalogService.GenreSnapshot::genreId)
                 .orElseGet(() -> createNewGenre(targetName));
     }
 
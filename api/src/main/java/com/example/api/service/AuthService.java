@@ -10,21 +10,23 @@ import com.example.api.util.SeasonCalculator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.beans.factory.annotation.Value;
-import org.springframework.mail.MailException;
-import org.springframework.mail.SimpleMailMessage;
-import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.nio.charset.StandardCharsets;
 import java.security.MessageDigest;
 import java.security.NoSuchAlgorithmException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import java.util.regex.Pattern;
 
@@ -37,6 +39,12 @@ public class AuthService {
 
     private static final Logger logger = LoggerFactory.getLogger(AuthService.class);
 
+    /** 期限切れセッション削除の1バッチあたりの件数 */
+    private static final int SESSION_CLEANUP_BATCH_SIZE = 500;
+
+    /** 期限切れセッション削除の1回あたりの最大バッチ数（残りは次回実行で削除） */
+    private static final int SESSION_CLEANUP_MAX_BATCHES = 1000;
+
     @Autowired
     private UserRepository userRepository;
 
@@ -47,7 +55,7 @@ public class AuthService {
     private RateRepository rateRepository;
 
     @Autowired
-    private WeeklyLessonsRepository weeklyLessonsRepository;
+    private WeeklyLessonCounter weeklyLessonCounter;
 
     @Autowired
     private PasswordResetTokenRepository passwordResetTokenRepository;
@@ -62,10 +70,16 @@ public class AuthService {
     private SeasonCalculator seasonCalculator;
 
     @Autowired
-    private JavaMailSender mailSender;
+    private MailOutboxService mailOutboxService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
 
-    @Value("${spring.mail.username:noreply@example.com}")
-    private String fromEmail;
+    @Autowired
+    private RevokedRefreshTokenCache revokedRefreshTokenCache;
+
+    @Autowired
+    private MetricsService metricsService;
 
     private final BCryptPasswordEncoder passwordEncoder = new BCryptPasswordEncoder();
 
@@ -159,7 +173,7 @@ public class AuthService {
         rateRepository.save(rate);
 
         WeeklyLessons weeklyLessons = new WeeklyLessons(user);
-        weeklyLessonsRepository.save(weeklyLessons);
+        weeklyLessonCounter.register(weeklyLessons);
 
         logger.info("新規ユーザー登録: ID {}", user.getId());
 
@@ -233,15 +247,18 @@ public class AuthService {
         }
 
         String refreshHash = hashWithSHA256(refreshToken);
-        Optional<Session> sessionOpt = sessionRepository.findValidSessionsByUser(user, LocalDateTime.now())
-                .stream()
-                .filter(session -> refreshHash.equals(session.getRefreshHash()))
-                .findFirst();
+        if (revokedRefreshTokenCache.isRevoked(refreshHash)) {
+            logger.warn("リフレッシュ失敗: 無効化済みのトークンが再利用されました UserID {}", userId);
+            throw new IllegalArgumentException("セッションが無効です");
+        }
 
-        Session session = sessionOpt.orElseThrow(() -> {
-            logger.warn("リフレッシュ失敗: セッションが無効または存在しません UserID {}", userId);
-            return new IllegalArgumentException("セッションが無効です");
-        });
+        // リフレッシュトークンハッシュのユニークインデックスで直接検索
+        Session session = sessionRepository.findValidSessionByRefreshHash(refreshHash, LocalDateTime.now())
+                .filter(s -> userId.equals(s.getUser().getId()))
+                .orElseThrow(() -> {
+                    logger.warn("リフレッシュ失敗: セッションが無効または存在しません UserID {}", userId);
+                    return new IllegalArgumentException("セッションが無効です");
+                });
 
         String newAccessToken = jwtUtil.generateAccessToken(user.getId(), user.getMailaddress());
 
@@ -269,18 +286,16 @@ public class AuthService {
         try {
             String refreshHash = hashWithSHA256(refreshToken);
             Long userId = jwtUtil.getUserIdFromToken(refreshToken);
-            User user = userRepository.getReferenceById(userId);
 
-            sessionRepository.findValidSessionsByUser(user, LocalDateTime.now().plusYears(1))
-                    .stream()
-                    .filter(s -> refreshHash.equals(s.getRefreshHash()))
-                    .findFirst()
+            sessionRepository.findByRefreshHash(refreshHash)
+                    .filter(session -> userId.equals(session.getUser().getId()))
                     .ifPresent(session -> {
                         sessionRepository.delete(session);
                         logger.info("ログアウト(セッション削除): UserID {}", userId);
                     });
+            revokedRefreshTokenCache.markRevoked(refreshHash);
 
-            updateOfflineAtIfNoActiveSessions(user);
+            markOfflineIfNoValidSessions(userId);
 
         } catch (Exception e) {
             logger.warn("ログアウト処理中にエラー（無視します）: {}", e.getMessage());
@@ -297,7 +312,7 @@ public class AuthService {
             throw new IllegalArgumentException("ユーザーが見つかりません");
         }
         sessionRepository.revokeAllUserSessions(user);
-        updateOfflineAtIfNoActiveSessions(user);
+        markOfflineIfNoValidSessions(user.getId());
     }
 
     /**
@@ -313,39 +328,68 @@ public class AuthService {
 
     /**
      * 期限切れセッションのクリーンアップ（1時間ごとに自動実行）
+     * 一定件数ずつ短いトランザクションで削除し、ロックを長時間保持しない
+     * 削除したセッションのユーザーのうち、有効なセッションが残っていないユーザーの offlineAt を一括更新する
+     * バッチ数・削除件数・offlineAt を更新したユーザー数はバッチごとにメトリクス（session.cleanup.*）に記録する
      */
-    @Transactional
     @Scheduled(fixedRate = 3600000)
     public void cleanupExpiredSessions() {
         LocalDateTime now = LocalDateTime.now();
+        long start = System.currentTimeMillis();
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+        int batches = 0;
+        int deletedSessions = 0;
+        int offlineUsers = 0;
+        while (batches < SESSION_CLEANUP_MAX_BATCHES) {
+            int[] result = transactionTemplate.execute(status -> cleanupExpiredSessionBatch(now));
+            if (result == null || result[0] == 0) {
+                break;
+            }
+            batches++;
+            deletedSessions += result[0];
+            offlineUsers += result[1];
+            metricsService.countSessionCleanupBatch(result[0], result[1]);
+            logger.debug("期限切れセッション削除の進捗: batch={}, deletedSessions={}, offlineUsers={}",
+                    batches, deletedSessions, offlineUsers);
+            if (result[0] < SESSION_CLEANUP_BATCH_SIZE) {
+                break;
+            }
+        }
 
-        // 期限切れセッションを持つユーザーを事前に取得（効率化）
-        List<User> affectedUsers = sessionRepository.findUsersWithExpiredSessions(now);
-
-        // 期限切れセッションを削除
-        sessionRepository.deleteExpiredSessions(now);
-        logger.info("期限切れセッションを削除しました: 影響を受けたユーザー数={}", affectedUsers.size());
+        logger.info("期限切れセッションを削除しました: batches={}, deletedSessions={}, offlineUsers={}, elapsedMs={}",
+                batches, deletedSessions, offlineUsers, System.currentTimeMillis() - start);
+    }
 
-        // 影響を受けたユーザーの offlineAt を更新
-        for (User user : affectedUsers) {
-            updateOfflineAtIfNoActiveSessions(user);
+    /**
+     * 期限切れセッションを1バッチ分削除し、影響を受けたユーザーの offlineAt を更新
+     * @return [削除件数, offlineAt を更新したユーザー数]
+     */
+    private int[] cleanupExpiredSessionBatch(LocalDateTime now) {
+        List<Object[]> refs = sessionRepository.findExpiredSessionRefs(now, PageRequest.of(0, SESSION_CLEANUP_BATCH_SIZE));
+        if (refs.isEmpty()) {
+            return new int[]{0, 0};
         }
+        List<Long> sessionIds = new ArrayList<>(refs.size());
+        Set<Long> userIds = new HashSet<>();
+        for (Object[] ref : refs) {
+            sessionIds.add((Long) ref[0]);
+            userIds.add((Long) ref[1]);
+        }
+        int deleted = sessionRepository.deleteBySessionIdIn(sessionIds);
+        int offline = userRepository.markOfflineIfNoValidSessions(userIds, now);
+        return new int[]{deleted, offline};
     }
 
     /**
      * ユーザーの offlineAt を更新（有効なセッションが存在しない場合のみ）
      */
-    private void updateOfflineAtIfNoActiveSessions(User user) {
+    private void markOfflineIfNoValidSessions(Long userId) {
         LocalDateTime now = LocalDateTime.now();
-        List<Session> validSessions = sessionRepository.findValidSessionsByUser(user, now);
-
-        if (validSessions.isEmpty()) {
-            user.setOfflineAt(now);
-            userRepository.save(user);
-            logger.info("ユーザーの offlineAt を更新: userId={}, offlineAt={}", user.getId(), now);
+        if (userRepository.markOfflineIfNoValidSessions(List.of(userId), now) > 0) {
+            logger.info("ユーザーの offlineAt を更新: userId={}, offlineAt={}", userId, now);
         } else {
-            logger.debug("有効なセッションが存在するため、offlineAt は更新しません: userId={}, activeSessions={}",
-                    user.getId(), validSessions.size());
+            logger.debug("有効なセッションが存在するため、offlineAt は更新しません: userId={}", userId);
         }
     }
 
@@ -386,26 +430,19 @@ public class AuthService {
         );
         passwordResetTokenRepository.save(resetToken);
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(email);
-            message.setSubject("【MelodyConnect】パスワードリセット");
-            message.setText(
-                    "パスワードリセットのリクエストを受け付けました。\n" +
-                    "以下のコードをアプリに入力して、新しいパスワードを設定してください。\n\n" +
-                    "リセットコード: " + tokenStr + "\n\n" +
-                    "※このコードの有効期限は1時間です。\n" +
-                    "※心当たりがない場合はこのメールを無視してください。"
-            );
-            
-            mailSender.send(message);
-            logger.info("リセットメール送信完了: {}", email);
-            
-        } catch (MailException e) {
-            logger.error("メール送信失敗: {}", e.getMessage(), e);
-            throw new RuntimeException("メールの送信に失敗しました。しばらく待ってから再試行してください。");
-        }
+        // 送信はコミット後にバックグラウンドで行う
+        mailOutboxService.enqueue(
+                email,
+                "【MelodyConnect】パスワードリセット",
+                "パスワードリセットのリクエストを受け付けました。\n" +
+                "以下のコードをアプリに入力して、新しいパスワードを設定してください。\n\n" +
+                "リセットコード: " + tokenStr + "\n\n" +
+                "※このコードの有効期限は1時間です。\n" +
+                "※心当たりがない場合はこのメールを無視してください。",
+                // コードの有効期限を過ぎて再送しない
+                resetToken.getExpiryDate()
+        );
+        logger.info("リセットメールを送信キューに登録: {}", email);
     }
 
     /**
@@ -470,26 +507,19 @@ public class AuthService {
         );
         emailChangeTokenRepository.save(token);
 
-        try {
-            SimpleMailMessage message = new SimpleMailMessage();
-            message.setFrom(fromEmail);
-            message.setTo(user.getMailaddress());
-            message.setSubject("【MelodyConnect】メールアドレス変更");
-            message.setText(
-                    "メールアドレス変更のリクエストを受け付けました。\n" +
-                    "以下のコードをアプリに入力して、新しいメールアドレスを設定してください。\n\n" +
-                    "変更コード: " + tokenStr + "\n\n" +
-                    "※このコードの有効期限は1時間です。\n" +
-                    "※心当たりがない場合はこのメールを無視してください。"
-            );
-
-            mailSender.send(message);
-            logger.info("メールアドレス変更メール送信完了: {}", user.getMailaddress());
-
-        } catch (MailException e) {
-            logger.error("メール送信失敗: {}", e.getMessage(), e);
-            throw new RuntimeException("メールの送信に失敗しました。しばらく待ってから再試行してください。");
-        }
+        // 送信はコミット後にバックグラウンドで行う
+        mailOutboxService.enqueue(
+                user.getMailaddress(),
+                "【MelodyConnect】メールアドレス変更",
+                "メールアドレス変更のリクエストを受け付けました。\n" +
+                "以下のコードをアプリに入力して、新しいメールアドレスを設定してください。\n\n" +
+                "変更コード: " + tokenStr + "\n\n" +
+                "※このコードの有効期限は1時間です。\n" +
+                "※心当たりがない場合はこのメールを無視してください。",
+                // コードの有効期限を過ぎて再送しない
+                token.getExpiryDate()
+        );
+        logger.info("メールアドレス変更メールを送信キューに登録: {}", user.getMailaddress());
     }
 
     /**
@@ -1,6 +1,5 @@
 package com.example.api.service;
 
-import com.example.api.entity.Badge;
 import com.example.api.entity.GotBadge;
 import com.example.api.entity.User;
 import com.example.api.repository.BadgeRepository;
@@ -22,6 +21,7 @@ public class BadgeGrantService {
 
     private static final Logger logger = LoggerFactory.getLogger(BadgeGrantService.class);
 
+    private final CatalogService catalogService;
     private final BadgeRepository badgeRepository;
     private final GotBadgeRepository gotBadgeRepository;
     private final UserRepository userRepository;
@@ -36,25 +36,25 @@ public class BadgeGrantService {
         if (user == null) return;
 
         // 1. バッジマスタからバッジ情報を取得
-        Optional<Badge> badgeOpt = badgeRepository.findByBadgeName(badgeName);
+        Optional<CatalogService.BadgeSnapshot> badgeOpt = catalogService.findBadgeByName(badgeName);
         
         if (badgeOpt.isEmpty()) {
             logger.warn("バッジが見つかりません: {}", badgeName);
             return;
         }
-        Badge badge = badgeOpt.get();
+        CatalogService.BadgeSnapshot badge = badgeOpt.get();
 
         // 2. すでに持っているかチェック
         List<GotBadge> myBadges = gotBadgeRepository.findByUser(user);
         boolean alreadyHas = myBadges.stream()
-                .anyMatch(gb -> gb.getBadge().getId().equals(badge.getId()));
+                .anyMatch(gb -> gb.getBadge().getId().equals(badge.badgeId()));
 
         if (alreadyHas) return;
 
         // 3. 持っていなければ付与
         GotBadge newBadge = new GotBadge();
         newBadge.setUser(user);
-        newBadge.setBadge(badge);
+        newBadge.setBadge(badgeRepository.getReferenceById(badge.badgeId()));
         newBadge.setAcquired_at(LocalDateTime.now());
         
         gotBadgeRepository.save(newBadge);
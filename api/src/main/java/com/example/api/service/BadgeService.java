@@ -1,10 +1,8 @@
 package com.example.api.service;
 
 import com.example.api.dto.BadgeDto;
-import com.example.api.entity.Badge;
 import com.example.api.entity.GotBadge;
 import com.example.api.entity.User;
-import com.example.api.repository.BadgeRepository;
 import com.example.api.repository.GotBadgeRepository;
 import com.example.api.repository.UserRepository;
 
@@ -24,7 +22,7 @@ import java.util.stream.Collectors;
 @RequiredArgsConstructor
 public class BadgeService {
 
-    private final BadgeRepository badgeRepository;
+    private final CatalogService catalogService;
     private final GotBadgeRepository gotBadgeRepository;
     @Autowired
     private UserRepository userRepository;
@@ -34,17 +32,17 @@ public class BadgeService {
     public List<BadgeDto> getUserBadges(Long userId, String modeStr) {
         
         // 1. バッジマスタ取得 (モードによって切り替え)
-        List<Badge> activeBadges;
+        List<CatalogService.BadgeSnapshot> activeBadges;
 
         // 文字列(modeStr) を 数値(modeInt) に変換
         Integer modeInt = convertModeToInt(modeStr);
 
         if (modeInt == null) {
             // "all" または変換できない場合は全件取得
-            activeBadges = badgeRepository.findByIsActiveTrueAndIsDeletedFalse();
+            activeBadges = catalogService.findActiveBadges();
         } else {
             // 指定されたモード(数値)でフィルタリング
-            activeBadges = badgeRepository.findByModeAndIsActiveTrueAndIsDeletedFalse(modeInt);
+            activeBadges = catalogService.findActiveBadgesByMode(modeInt);
         }
 
         User user = userRepository.findById(userId)
@@ -59,17 +57,17 @@ public class BadgeService {
 
         List<BadgeDto> dtos = new ArrayList<>();
 
-        for (Badge badge : activeBadges) {
-            GotBadge acquired = myBadgeMap.get(badge.getId());
+        for (CatalogService.BadgeSnapshot badge : activeBadges) {
+            GotBadge acquired = myBadgeMap.get(badge.badgeId());
             boolean isEarned = (acquired != null);
 
             // 表示用情報を決定
-            BadgeUiInfo ui = determineUiInfo(badge.getBadgeName());
+            BadgeUiInfo ui = determineUiInfo(badge.badgeName());
 
             dtos.add(BadgeDto.builder()
-                    .badgeId(badge.getId())
-                    .title(badge.getBadgeName())
-                    .description(badge.getAcquisitionCondition())
+                    .badgeId(badge.badgeId())
+                    .title(badge.badgeName())
+                    .description(badge.acquisitionCondition())
                     .category(ui.category)
                     .iconKey(ui.iconKey)
                     .colorCode(ui.colorCode)
@@ -0,0 +1,112 @@
+package com.example.api.service;
+
+import com.example.api.entity.Result;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 対戦結果のサマリー（プレイヤー視点のスコアと引き分けフラグ）
+ * 対戦確定時にResultのサマリー列へ記録し、履歴一覧ではresult_detailを読まずに表示する
+ *
+ * @param playerScore 自分の勝ち数
+ * @param enemyScore 相手の勝ち数
+ * @param draw 引き分けかどうか
+ */
+public record BattleResultSummary(int playerScore, int enemyScore, boolean draw) {
+
+    private static final Logger logger = LoggerFactory.getLogger(BattleResultSummary.class);
+
+    /**
+     * サマリー列から作成（未記録の場合はresult_detailから計算）
+     */
+    public static BattleResultSummary of(Result result) {
+        if (result.getPlayerScore() != null && result.getEnemyScore() != null && result.getIsDraw() != null) {
+            return new BattleResultSummary(result.getPlayerScore(), result.getEnemyScore(), result.getIsDraw());
+        }
+        return calculate(result);
+    }
+
+    /**
+     * サマリー列の値から作成（未記録の場合は0対0として扱う）
+     */
+    public static BattleResultSummary of(Integer playerScore, Integer enemyScore, Boolean isDraw,
+                                         Result.OutcomeReason outcomeReason) {
+        int player = playerScore != null ? playerScore : 0;
+        int enemy = enemyScore != null ? enemyScore : 0;
+        boolean draw = isDraw != null ? isDraw : isDrawByScore(player, enemy, outcomeReason);
+        return new BattleResultSummary(player, enemy, draw);
+    }
+
+    /**
+     * result_detailからスコアと引き分けを計算
+     * myWins/opponentWinsがあればそれを使用し、旧データはroundsの勝者から数える
+     */
+    public static BattleResultSummary calculate(Result result) {
+        int playerScore = 0;
+        int enemyScore = 0;
+
+        Map<String, Object> resultDetail = result.getResultDetail();
+        if (resultDetail != null) {
+            try {
+                // myWins/opponentWinsから直接スコアを取得（降参・切断時も正しく表示）
+                if (resultDetail.containsKey("myWins") && resultDetail.containsKey("opponentWins")) {
+                    playerScore = resultDetail.get("myWins") != null
+                        ? ((Number) resultDetail.get("myWins")).intValue() : 0;
+                    enemyScore = resultDetail.get("opponentWins") != null
+                        ? ((Number) resultDetail.get("opponentWins")).intValue() : 0;
+                } else if (resultDetail.containsKey("rounds")) {
+                    // 旧データ互換: roundsからカウント
+                    @SuppressWarnings("unchecked")
+                    List<Map<String, Object>> rounds = (List<Map<String, Object>>) resultDetail.get("rounds");
+                    Long playerId = result.getPlayer().getId();
+
+                    for (Map<String, Object> round : rounds) {
+                        Object winnerIdObj = round.get("winnerId");
+                        if (winnerIdObj != null) {
+                            Long winnerId = winnerIdObj instanceof Number
+                                ? ((Number) winnerIdObj).longValue()
+                                : Long.parseLong(winnerIdObj.toString());
+                            if (winnerId.equals(playerId)) {
+                                playerScore++;
+                            } else if (winnerId > 0) {
+                                enemyScore++;
+                            }
+                        }
+                    }
+                }
+            } catch (Exception e) {
+                logger.warn("スコア計算エラー: {}", e.getMessage());
+            }
+        }
+
+        // 引き分け判定（resultDetailのisDrawフラグ、またはスコアから判定）
+        boolean draw;
+        if (resultDetail != null && resultDetail.containsKey("isDraw")) {
+            draw = Boolean.TRUE.equals(resultDetail.get("isDraw"));
+        } else {
+            draw = isDrawByScore(playerScore, enemyScore, result.getOutcomeReason());
+        }
+        return new BattleResultSummary(playerScore, enemyScore, draw);
+    }
+
+    /**
+     * サマリー列に書き込む
+     */
+    public void applyTo(Result result) {
+        result.setPlayerScore(playerScore);
+        result.setEnemyScore(enemyScore);
+        result.setIsDraw(draw);
+    }
+
+    /**
+     * フォールバック: スコアが同点で、降参・切断でない場合は引き分け
+     */
+    private static boolean isDrawByScore(int playerScore, int enemyScore, Result.OutcomeReason outcomeReason) {
+        return playerScore == enemyScore &&
+            outcomeReason != Result.OutcomeReason.surrender &&
+            outcomeReason != Result.OutcomeReason.disconnect;
+    }
+}
@@ -0,0 +1,617 @@
+package com.example.api.service;
+
+import com.example.api.entity.MatchDetail;
+import com.example.api.entity.Result;
+import com.example.api.repository.MatchDetailRepository;
+import com.example.api.repository.ResultRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 対戦結果の書き込みを遅延実行するサービス（ライトビハインド）
+ * 結果はまずローカルの追記専用ジャーナルに書き込んで永続化し、
+ * その後バックグラウンドでまとめてResultテーブルへ反映します
+ * ジャーナルへの書き込みはコミット直前（失敗したらロールバック）、fsyncはコミット後（レート行のロック解放後）に
+ * 複数のコミットでまとめて行います
+ * ジャーナルは一定サイズでセグメントを切り替え、全件反映済みになったセグメントから削除します
+ * 反映は冪等（matchUuid単位で値を上書き）なので、再起動時のジャーナル再生で重複しても問題ありません
+ * 反映に繰り返し失敗する結果はバッチを分割して特定し、デッドレターファイルへ退避します（後続の結果を止めない）
+ */
+@Service
+public class BattleResultWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(BattleResultWriter.class);
+
+    /** 旧形式（単一ファイル）のジャーナル。起動時に再生して反映後に削除する */
+    private static final String JOURNAL_FILE_NAME = "battle-results.journal";
+    private static final Pattern SEGMENT_FILE_NAME = Pattern.compile("battle-results-(\\d+)\\.journal");
+    private static final String DEAD_LETTER_FILE_NAME = "battle-results.deadletter";
+
+    /** 1回のDB反映でまとめて処理する対戦数 */
+    private static final int FLUSH_BATCH_SIZE = 50;
+
+    private final ResultRepository resultRepository;
+    private final MatchDetailRepository matchDetailRepository;
+    private final MatchDetailService matchDetailService;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectMapper objectMapper;
+    private final Path journalDirectory;
+    private final Path deadLetterPath;
+    private final int maxAttempts;
+    private final long segmentBytes;
+    private final long deadLetterRetentionMillis;
+
+    private final LinkedBlockingDeque<ResultWrite> queue = new LinkedBlockingDeque<>();
+    // DB未反映の結果（ジャーナル書き込み済み〜反映完了まで。コミット待ちの分も含む）
+    private final Map<String, ResultWrite> pendingWrites = new ConcurrentHashMap<>();
+    // デッドレターへ退避した結果（再終了処理によるレートの二重反映を防ぐため、保持期間の間だけ保持する）
+    private final Map<String, DeadLetter> deadLetteredWrites = new ConcurrentHashMap<>();
+    // 結果ごとの反映失敗回数（flushLock内でのみ参照）
+    private final Map<ResultWrite, Integer> failedAttempts = new IdentityHashMap<>();
+    // 結果ごとの書き込み先セグメント（journalLock内でのみ参照）
+    private final Map<ResultWrite, Segment> segmentsByWrite = new IdentityHashMap<>();
+    private final Object journalLock = new Object();
+    private final Object syncLock = new Object();
+    private final Object flushLock = new Object();
+    private FileChannel journal;
+    private Segment activeSegment;
+    private long nextSegmentNumber;
+    // これまでにジャーナルへ書き込んだバイト数の累計（journalLock内で更新）と、そのうちfsync済みの分
+    private long writtenBytes;
+    private final AtomicLong syncedBytes = new AtomicLong();
+
+    /**
+     * ジャーナルの1ファイル分
+     * 切り替え済み（sealed）で未解決の結果がなくなったセグメントは削除する
+     */
+    private static final class Segment {
+        private final Path path;
+        private int unresolved;
+        private boolean sealed;
+
+        private Segment(Path path) {
+            this.path = path;
+        }
+    }
+
+    private record DeadLetter(ResultWrite write, long deadLetteredAt) {
+    }
+
+    /**
+     * プレイヤー1人分の結果
+     * resultDetailは旧形式（JSON列）のジャーナルを再生する場合のみ設定される
+     */
+    public record PlayerResultWrite(Long playerId, Boolean result, Integer updownRate,
+                                    Integer rateAfterMatch, Integer playerScore, Integer enemyScore,
+                                    Boolean draw, Map<String, Object> resultDetail) {
+
+        public PlayerResultWrite(Long playerId, Boolean result, Integer updownRate, Integer rateAfterMatch,
+                                 BattleResultSummary summary) {
+            this(playerId, result, updownRate, rateAfterMatch,
+                    summary.playerScore(), summary.enemyScore(), summary.draw(), null);
+        }
+    }
+
+    /**
+     * 1対戦分の結果（両プレイヤー分）
+     * 出題・ラウンド・対戦形式はdetailとして1対戦につき1行で保存する
+     * useQuestion / resultFormatは旧形式（JSON列）のジャーナルを再生する場合のみ設定される
+     */
+    public record ResultWrite(String matchUuid, MatchDetailService.Detail detail,
+                              Map<String, Object> useQuestion, Map<String, Object> resultFormat,
+                              Result.OutcomeReason outcomeReason, LocalDateTime endedAt,
+                              List<PlayerResultWrite> players) {
+
+        public ResultWrite(String matchUuid, MatchDetailService.Detail detail,
+                           Result.OutcomeReason outcomeReason, LocalDateTime endedAt,
+                           List<PlayerResultWrite> players) {
+            this(matchUuid, detail, null, null, outcomeReason, endedAt, players);
+        }
+    }
+
+    public BattleResultWriter(ResultRepository resultRepository,
+                              MatchDetailRepository matchDetailRepository,
+                              MatchDetailService matchDetailService,
+                              PlatformTransactionManager transactionManager,
+                              ObjectMapper objectMapper,
+                              @Value("${battle.result.journal-directory:./journal}") String journalDirectory,
+                              @Value("${battle.result.max-attempts:5}") int maxAttempts,
+                              @Value("${battle.result.journal-segment-bytes:8388608}") long segmentBytes,
+                              @Value("${battle.result.dead-letter-retention-minutes:60}") long deadLetterRetentionMinutes) {
+        this.resultRepository = resultRepository;
+        this.matchDetailRepository = matchDetailRepository;
+        this.matchDetailService = matchDetailService;
+        // 呼び出し元のトランザクション（finalizeBattle等）に巻き込まれないよう独立したトランザクションで反映する
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.objectMapper = objectMapper;
+        this.journalDirectory = Paths.get(journalDirectory);
+        this.deadLetterPath = this.journalDirectory.resolve(DEAD_LETTER_FILE_NAME);
+        this.maxAttempts = maxAttempts;
+        this.segmentBytes = segmentBytes;
+        this.deadLetterRetentionMillis = TimeUnit.MINUTES.toMillis(deadLetterRetentionMinutes);
+    }
+
+    /**
+     * ジャーナルを開き、未反映の結果があれば再投入する
+     */
+    @PostConstruct
+    public void init() throws IOException {
+        Files.createDirectories(journalDirectory);
+        List<Path> journals = new ArrayList<>();
+        Path legacyJournal = journalDirectory.resolve(JOURNAL_FILE_NAME);
+        if (Files.exists(legacyJournal)) {
+            journals.add(legacyJournal);
+        }
+        try (Stream<Path> files = Files.list(journalDirectory)) {
+            files.filter(path -> segmentNumber(path) >= 0)
+                    .sorted(Comparator.comparingLong(BattleResultWriter::segmentNumber))
+                    .forEach(journals::add);
+        }
+
+        int recovered = 0;
+        for (Path path : journals) {
+            nextSegmentNumber = Math.max(nextSegmentNumber, segmentNumber(path) + 1);
+            Segment segment = new Segment(path);
+            segment.sealed = true;
+            for (String line : Files.readAllLines(path, StandardCharsets.UTF_8)) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                try {
+                    ResultWrite write = objectMapper.readValue(line, ResultWrite.class);
+                    queue.add(write);
+                    pendingWrites.put(write.matchUuid(), write);
+                    segmentsByWrite.put(write, segment);
+                    segment.unresolved++;
+                    recovered++;
+                } catch (IOException e) {
+                    // 書き込み途中で停止した行は読み飛ばす
+                    logger.warn("ジャーナルの破損行をスキップ: file={}, {}", path.getFileName(), e.getMessage());
+                }
+            }
+            if (segment.unresolved == 0) {
+                deleteSegment(segment);
+            }
+        }
+        if (recovered > 0) {
+            logger.info("未反映の対戦結果をジャーナルから復元: count={}, files={}", recovered, journals.size());
+        }
+        journal = openSegment();
+    }
+
+    /**
+     * セグメントのファイル名から番号を取得
+     * @return セグメント番号（セグメントでない場合-1）
+     */
+    private static long segmentNumber(Path path) {
+        Matcher matcher = SEGMENT_FILE_NAME.matcher(path.getFileName().toString());
+        return matcher.matches() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    /**
+     * 新しいセグメントを作成して書き込み先にする（journalLock内、または初期化時に呼ぶ）
+     */
+    private FileChannel openSegment() throws IOException {
+        Path path = journalDirectory.resolve("battle-results-" + nextSegmentNumber + ".journal");
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        nextSegmentNumber++;
+        activeSegment = new Segment(path);
+        return channel;
+    }
+
+    /**
+     * 対戦結果の書き込みを登録
+     * トランザクション内で呼ばれた場合はコミット直前にジャーナルへ書き込み（失敗した場合はロールバックさせる）、
+     * コミット後にfsyncして反映キューへ登録する
+     * fsyncをコミット後に行うのは、終了処理のトランザクションが保持するレート行のロックをディスク待ちの間保持しないため
+     * （書き込み済みの行はOSのページキャッシュにあるため、プロセスが停止しても失われない）
+     * @param write 対戦結果
+     * @throws UncheckedIOException ジャーナルに書き込めなかった場合
+     */
+    public void submit(ResultWrite write) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                private long journaledBytes;
+
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    journaledBytes = appendJournal(write);
+                }
+
+                @Override
+                public void afterCommit() {
+                    syncJournal(journaledBytes);
+                    queue.add(write);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        resolve(write);
+                        logger.warn("トランザクションがコミットされなかったため対戦結果を破棄: matchUuid={}", write.matchUuid());
+                    }
+                }
+            });
+        } else {
+            syncJournal(appendJournal(write));
+            queue.add(write);
+        }
+    }
+
+    /**
+     * 指定した対戦の結果がDB未反映かどうか
+     */
+    public boolean isPending(String matchUuid) {
+        return pendingWrites.containsKey(matchUuid);
+    }
+
+    /**
+     * DBに反映されていない結果を取得（反映待ち、またはデッドレターへ退避済み）
+     * @return 未反映の結果（反映済み・未登録の場合null）
+     */
+    public ResultWrite getUnappliedWrite(String matchUuid) {
+        ResultWrite write = pendingWrites.get(matchUuid);
+        if (write != null) {
+            return write;
+        }
+        DeadLetter deadLetter = deadLetteredWrites.get(matchUuid);
+        return deadLetter != null ? deadLetter.write() : null;
+    }
+
+    /**
+     * 未反映の件数
+     */
+    public int getBacklogSize() {
+        return queue.size();
+    }
+
+    /**
+     * 溜まっている結果をまとめてDBへ反映
+     */
+    @Scheduled(fixedDelayString = "${battle.result.flush-interval-ms:1000}")
+    public void flush() {
+        synchronized (flushLock) {
+            drainQueue();
+            compactJournal();
+            expireDeadLetters();
+        }
+    }
+
+    private void drainQueue() {
+        while (true) {
+            List<ResultWrite> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+            queue.drainTo(batch, FLUSH_BATCH_SIZE);
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(batch));
+                batch.forEach(this::markApplied);
+            } catch (Exception e) {
+                if (isTransientFailure(e)) {
+                    // DB接続障害は結果自体の問題ではないため、失敗回数に数えず次回再試行
+                    logger.error("対戦結果のDB反映に失敗しました。次回再試行します: count={}", batch.size(), e);
+                    requeue(batch);
+                    return;
+                }
+                logger.error("対戦結果のDB反映に失敗しました。1件ずつ再試行します: count={}", batch.size(), e);
+                if (!retryIndividually(batch)) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 失敗したバッチを1件ずつ反映し、失敗した結果を特定する
+     * 失敗回数が上限に達した結果はデッドレターへ退避し、それ以外は先頭に戻して次回再試行する
+     * @return 再試行する結果がなく、後続のバッチを続けて処理してよい場合true
+     */
+    private boolean retryIndividually(List<ResultWrite> batch) {
+        List<ResultWrite> retry = new ArrayList<>();
+        for (int i = 0; i < batch.size(); i++) {
+            ResultWrite write = batch.get(i);
+            try {
+                transactionTemplate.executeWithoutResult(status -> apply(List.of(write)));
+                markApplied(write);
+            } catch (Exception e) {
+                if (isTransientFailure(e)) {
+                    logger.error("対戦結果のDB反映に失敗しました。次回再試行します: count={}", batch.size() - i, e);
+                    retry.addAll(batch.subList(i, batch.size()));
+                    break;
+                }
+                int attempts = failedAttempts.merge(write, 1, Integer::sum);
+                if (attempts >= maxAttempts) {
+                    deadLetter(write, e);
+                } else {
+                    logger.warn("対戦結果のDB反映に失敗: matchUuid={}, attempts={}/{}",
+                            write.matchUuid(), attempts, maxAttempts, e);
+                    retry.add(write);
+                }
+            }
+        }
+        requeue(retry);
+        return retry.isEmpty();
+    }
+
+    /**
+     * 結果をキューの先頭に戻す（順序を保つ）
+     */
+    private void requeue(List<ResultWrite> writes) {
+        for (int i = writes.size() - 1; i >= 0; i--) {
+            queue.addFirst(writes.get(i));
+        }
+    }
+
+    /**
+     * DB接続障害など、結果の内容によらない一時的な失敗かどうか
+     */
+    private static boolean isTransientFailure(Throwable e) {
+        return e instanceof TransientDataAccessException
+                || e instanceof RecoverableDataAccessException
+                || e instanceof DataAccessResourceFailureException
+                || e instanceof CannotCreateTransactionException;
+    }
+
+    private void markApplied(ResultWrite write) {
+        failedAttempts.remove(write);
+        resolve(write);
+    }
+
+    /**
+     * 結果を未反映から外し、書き込み先のセグメントが切り替え済みで全件解決していれば削除する
+     */
+    private void resolve(ResultWrite write) {
+        pendingWrites.remove(write.matchUuid(), write);
+        synchronized (journalLock) {
+            Segment segment = segmentsByWrite.remove(write);
+            if (segment != null && --segment.unresolved == 0 && segment.sealed) {
+                deleteSegment(segment);
+            }
+        }
+    }
+
+    private void deleteSegment(Segment segment) {
+        try {
+            Files.deleteIfExists(segment.path);
+        } catch (IOException e) {
+            logger.warn("ジャーナルの削除に失敗: file={}", segment.path, e);
+        }
+    }
+
+    /**
+     * 反映できない結果をデッドレターファイルへ退避（手動で調査・再投入する）
+     */
+    private void deadLetter(ResultWrite write, Exception cause) {
+        logger.error("対戦結果の反映を{}回失敗したためデッドレターへ退避: matchUuid={}, file={}",
+                maxAttempts, write.matchUuid(), deadLetterPath, cause);
+        failedAttempts.remove(write);
+        deadLetteredWrites.put(write.matchUuid(), new DeadLetter(write, System.currentTimeMillis()));
+        try {
+            Files.writeString(deadLetterPath, objectMapper.writeValueAsString(write) + "\n", StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            // ジャーナルからは消さず、再起動時に再生させる
+            logger.error("デッドレターへの書き込みに失敗: matchUuid={}", write.matchUuid(), e);
+            pendingWrites.remove(write.matchUuid(), write);
+            return;
+        }
+        resolve(write);
+    }
+
+    /**
+     * 保持期間を過ぎたデッドレターをメモリから外す（ファイルには残る）
+     * 対戦状態は終了処理の完了時に削除されるため、再終了処理の防止に必要なのは終了直後の再試行の間だけ
+     */
+    private void expireDeadLetters() {
+        long cutoff = System.currentTimeMillis() - deadLetterRetentionMillis;
+        deadLetteredWrites.values().removeIf(deadLetter -> deadLetter.deadLetteredAt() < cutoff);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flush();
+        try {
+            if (journal != null) {
+                journal.close();
+            }
+        } catch (IOException e) {
+            logger.warn("ジャーナルのクローズに失敗", e);
+        }
+    }
+
+    /**
+     * ジャーナルに追記して未反映として登録（fsyncと反映キューへの登録は呼び出し元で行う）
+     * @return 追記後の書き込みバイト数の累計（syncJournalに渡す）
+     * @throws UncheckedIOException 書き込みに失敗した場合
+     */
+    private long appendJournal(ResultWrite write) {
+        byte[] line;
+        try {
+            line = (objectMapper.writeValueAsString(write) + "\n").getBytes(StandardCharsets.UTF_8);
+        } catch (IOException e) {
+            throw new UncheckedIOException("対戦結果のシリアライズに失敗しました: matchUuid=" + write.matchUuid(), e);
+        }
+        synchronized (journalLock) {
+            long start = -1;
+            try {
+                start = journal.size();
+                ByteBuffer buffer = ByteBuffer.wrap(line);
+                while (buffer.hasRemaining()) {
+                    journal.write(buffer);
+                }
+            } catch (IOException e) {
+                // 書きかけの行に後続の行が連結されないよう書き込み前の長さに戻す
+                if (start >= 0) {
+                    try {
+                        journal.truncate(start);
+                    } catch (IOException ignored) {
+                        // 再生時に破損行として読み飛ばされる
+                    }
+                }
+                throw new UncheckedIOException("対戦結果のジャーナル書き込みに失敗しました: matchUuid=" + write.matchUuid(), e);
+            }
+            writtenBytes += line.length;
+            activeSegment.unresolved++;
+            segmentsByWrite.put(write, activeSegment);
+            pendingWrites.put(write.matchUuid(), write);
+            return writtenBytes;
+        }
+    }
+
+    /**
+     * 指定した位置までのジャーナルをfsyncする
+     * 待っている間に書き込まれた分もまとめて永続化し、他のコミットが既に永続化済みであれば何もしない
+     */
+    private void syncJournal(long upTo) {
+        synchronized (syncLock) {
+            if (syncedBytes.get() >= upTo) {
+                return;
+            }
+            FileChannel channel;
+            long written;
+            synchronized (journalLock) {
+                channel = journal;
+                written = writtenBytes;
+            }
+            try {
+                channel.force(false);
+            } catch (ClosedChannelException e) {
+                // セグメントの切り替え時にfsync済み
+            } catch (IOException e) {
+                // 書き込み自体は完了しているため、メモリ上のキューから反映する
+                logger.error("対戦結果のジャーナルのfsyncに失敗", e);
+                return;
+            }
+            syncedBytes.accumulateAndGet(written, Math::max);
+        }
+    }
+
+    private void apply(List<ResultWrite> batch) {
+        long start = System.nanoTime();
+        List<String> matchUuids = batch.stream()
+                .map(ResultWrite::matchUuid)
+                .distinct()
+                .collect(Collectors.toList());
+
+        Map<String, List<Result>> resultsByMatch = resultRepository.findAllByMatchUuidIn(matchUuids).stream()
+                .collect(Collectors.groupingBy(Result::getMatchUuid));
+
+        List<Result> updated = new ArrayList<>();
+        Map<String, MatchDetail> details = new LinkedHashMap<>();
+        long rawBytes = 0;
+        long storedBytes = 0;
+        for (ResultWrite write : batch) {
+            List<Result> results = resultsByMatch.getOrDefault(write.matchUuid(), Collections.emptyList());
+            if (results.isEmpty()) {
+                // 反映済みとして扱うと結果が失われるため失敗させる（繰り返し失敗した場合はデッドレターへ退避）
+                throw new IllegalStateException("反映対象のResultレコードがありません: matchUuid=" + write.matchUuid());
+            }
+            if (write.detail() != null) {
+                // 出題・ラウンドは両プレイヤーで共有する1行に保存（同じ対戦は後の書き込みで上書き）
+                MatchDetail detail = matchDetailService.encode(write.matchUuid(), write.detail());
+                details.put(write.matchUuid(), detail);
+                rawBytes += detail.getRawSize();
+                storedBytes += detail.getPayload().length;
+            }
+            for (Result result : results) {
+                Long playerId = result.getPlayer().getId();
+                for (PlayerResultWrite player : write.players()) {
+                    if (player.playerId().equals(playerId)) {
+                        result.setResult(player.result());
+                        result.setUpdownRate(player.updownRate());
+                        result.setRateAfterMatch(player.rateAfterMatch());
+                        result.setResultDetail(player.resultDetail());
+                        result.setUseQuestion(write.useQuestion());
+                        result.setResultFormat(write.resultFormat());
+                        result.setOutcomeReason(write.outcomeReason());
+                        result.setEndedAt(write.endedAt());
+                        // 履歴一覧用のサマリー列を確定時に1回だけ記録
+                        if (player.playerScore() != null && player.enemyScore() != null && player.draw() != null) {
+                            new BattleResultSummary(player.playerScore(), player.enemyScore(), player.draw())
+                                    .applyTo(result);
+                        } else {
+                            BattleResultSummary.calculate(result).applyTo(result);
+                        }
+                        updated.add(result);
+                    }
+                }
+            }
+        }
+        if (!details.isEmpty()) {
+            matchDetailRepository.saveAll(details.values());
+        }
+        resultRepository.saveAll(updated);
+        logger.info("対戦結果をDBへ反映: matches={}, rows={}, detailRawBytes={}, detailStoredBytes={}, elapsedMs={}",
+                batch.size(), updated.size(), rawBytes, storedBytes, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    /**
+     * 書き込み中のセグメントを整理する
+     * 未解決の結果がなければ切り詰めて再利用し、上限サイズを超えていれば新しいセグメントへ切り替える
+     * （切り替えたセグメントは全件解決した時点で削除されるため、負荷が続いてもジャーナルは増え続けない）
+     */
+    private void compactJournal() {
+        synchronized (journalLock) {
+            try {
+                long size = journal.size();
+                if (activeSegment.unresolved == 0) {
+                    if (size > 0) {
+                        journal.truncate(0);
+                        journal.force(false);
+                    }
+                } else if (size >= segmentBytes) {
+                    Segment sealed = activeSegment;
+                    FileChannel previous = journal;
+                    journal = openSegment();
+                    sealed.sealed = true;
+                    previous.force(false);
+                    previous.close();
+                    syncedBytes.accumulateAndGet(writtenBytes, Math::max);
+                    logger.info("ジャーナルのセグメントを切り替え: sealed={}, bytes={}, unresolved={}",
+                            sealed.path.getFileName(), size, sealed.unresolved);
+                }
+            } catch (IOException e) {
+                logger.warn("ジャーナルの整理に失敗", e);
+            }
+        }
+    }
+}
@@ -21,6 +21,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -35,12 +37,6 @@ public class BattleService {
 
     private static final Logger logger = LoggerFactory.getLogger(BattleService.class);
 
-    /** ELOレーティングのK係数（変動幅を決定） */
-    private static final double ELO_K_FACTOR = 32.0;
-
-    /** レートの下限 */
-    private static final int MIN_RATE = 100;
-
     /** 問題数（ランクマッチ） */
     private static final int QUESTION_COUNT = 10;
 
@@ -68,6 +64,15 @@ public class BattleService {
     @Autowired
     private RoomService roomService;
 
+    @Autowired
+    private BattleResultWriter battleResultWriter;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private MetricsService metricsService;
+
     /**
      * 対戦結果DTO（リザルト画面用）
      */
@@ -237,18 +242,14 @@ public class BattleService {
             selectedQuestions = selectedQuestions.subList(0, QUESTION_COUNT);
         }
 
-        for (Question question : selectedQuestions) {
-            if (question.getSong() != null) {
-                question.getSong().getSongname();
-            }
-            if (question.getArtist() != null) {
-                question.getArtist().getArtistName();
-            }
-        }
+        // 対戦中に必要な項目だけを取り出す（楽曲・アーティスト名はトランザクション内で読み込む）
+        List<BattleStateService.BattleQuestion> battleQuestions = selectedQuestions.stream()
+                .map(BattleStateService.BattleQuestion::from)
+                .toList();
 
         logger.info("対戦初期化: matchUuid={}, questions={}", matchUuid, selectedQuestions.size());
 
-        return battleStateService.createBattle(matchUuid, player1Id, player2Id, language, selectedQuestions);
+        return battleStateService.createBattle(matchUuid, player1Id, player2Id, language, battleQuestions);
     }
 
     /**
@@ -296,20 +297,16 @@ public class BattleService {
             selectedQuestions = selectedQuestions.subList(0, questionCount);
         }
 
-        for (Question question : selectedQuestions) {
-            if (question.getSong() != null) {
-                question.getSong().getSongname();
-            }
-            if (question.getArtist() != null) {
-                question.getArtist().getArtistName();
-            }
-        }
+        // 対戦中に必要な項目だけを取り出す（楽曲・アーティスト名はトランザクション内で読み込む）
+        List<BattleStateService.BattleQuestion> battleQuestions = selectedQuestions.stream()
+                .map(BattleStateService.BattleQuestion::from)
+                .toList();
 
         logger.info("ルームマッチ対戦初期化: matchUuid={}, roomId={}, winsToVictory={}, questions={}",
                 matchUuid, roomId, winsToVictory, selectedQuestions.size());
 
         return battleStateService.createRoomBattle(matchUuid, player1Id, player2Id, language,
-                selectedQuestions, winsToVictory, roomId);
+                battleQuestions, winsToVictory, roomId);
     }
 
     /**
@@ -474,7 +471,13 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
      * @return 対戦が続行可能な場合のラウンド結果、終了した場合はnull
      */
     public BattleStateService.RoundResult processRound(String matchUuid) {
+        BattleStateService.BattleState state = battleStateService.getBattle(matchUuid);
+        Instant roundStartTime = state != null ? state.getRoundStartTime() : null;
+
         BattleStateService.RoundResult result = battleStateService.finalizeRound(matchUuid);
+        if (result != null && roundStartTime != null) {
+            metricsService.recordRoundDuration(Duration.between(roundStartTime, Instant.now()));
+        }
         boolean continues = battleStateService.advanceToNextRound(matchUuid);
 
         if (!continues) {
@@ -496,12 +499,19 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
             throw new IllegalArgumentException("対戦が見つかりません: " + matchUuid);
         }
 
-        // 冪等性チェック：既にFINISHED状態で、DBに結果が保存済みならスキップ
+        // 冪等性チェック：既にFINISHED状態で、DBに結果が保存済み（または反映待ち）ならスキップ
         if (state.getStatus() == BattleStateService.Status.FINISHED) {
+            // 反映できていない結果がある場合は終了処理済み（レートは更新済み）のため、再終了処理しない
+            BattleResultDto unapplied = findUnappliedResult(matchUuid);
+            if (unapplied != null) {
+                battleStateService.removeBattle(matchUuid);
+                return unapplied;
+            }
             List<Result> existingResults = resultRepository.findAllByMatchUuid(matchUuid);
-            // 結果が保存済みかチェック（resultDetailが設定されている = 終了処理済み）
+            // 結果が保存済みかチェック（サマリー列、または旧形式のresultDetailが設定されている = 終了処理済み）
             boolean alreadyFinalized = existingResults.stream()
-                    .anyMatch(r -> r.getResultDetail() != null && !r.getResultDetail().isEmpty());
+                    .anyMatch(r -> r.getPlayerScore() != null
+                            || (r.getResultDetail() != null && !r.getResultDetail().isEmpty()));
 
             if (alreadyFinalized) {
                 logger.warn("対戦は既に終了処理済み: matchUuid={}", matchUuid);
@@ -511,6 +521,8 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
             }
         }
 
+        long finalizeStart = System.nanoTime();
+
         // 状態を終了に
         battleStateService.finishBattle(matchUuid);
 
@@ -538,43 +550,29 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
         int loserNewRate = 0;
         boolean isRoomMatch = state.isRoomMatch();
 
-        User winnerUser = userRepository.findById(winnerId).orElseThrow();
-        User loserUser = userRepository.findById(loserId).orElseThrow();
         Integer currentSeason = seasonCalculator.getCurrentSeason();
-
-        Rate winnerRate = rateRepository.findByUserAndSeason(winnerUser, currentSeason)
-                .orElseGet(() -> new Rate(winnerUser, currentSeason));
-        Rate loserRate = rateRepository.findByUserAndSeason(loserUser, currentSeason)
-                .orElseGet(() -> new Rate(loserUser, currentSeason));
-
-        int winnerOldRate = winnerRate.getRate();
-        int loserOldRate = loserRate.getRate();
-
-        if (isRoomMatch) {
-            // ルームマッチの場合はレート変動なし
-            winnerNewRate = winnerOldRate;
-            loserNewRate = loserOldRate;
-            logger.info("ルームマッチのためレート変動なし: winner={}, loser={}", winnerId, loserId);
-        } else if (isDraw) {
-            // 引き分けの場合はレート変動なし
+        int winnerOldRate;
+        int loserOldRate;
+
+        if (isRoomMatch || isDraw) {
+            // ルームマッチ・引き分けの場合はレート変動なし
+            Map<Long, Integer> currentRates = ratingService.getCurrentRates(winnerId, loserId, currentSeason);
+            winnerOldRate = currentRates.getOrDefault(winnerId, RatingService.INITIAL_RATE);
+            loserOldRate = currentRates.getOrDefault(loserId, RatingService.INITIAL_RATE);
             winnerNewRate = winnerOldRate;
             loserNewRate = loserOldRate;
+            if (isRoomMatch) {
+                logger.info("ルームマッチのためレート変動なし: winner={}, loser={}", winnerId, loserId);
+            }
         } else {
-            // ELOレーティング計算（ランクマッチのみ）
-            double expectedWinner = calculateExpectedScore(winnerOldRate, loserOldRate);
-            double expectedLoser = calculateExpectedScore(loserOldRate, winnerOldRate);
-
-            winnerRateChange = calculateRatingChange(expectedWinner, 1.0); // 勝利 = 1.0
-            loserRateChange = calculateRatingChange(expectedLoser, 0.0);   // 敗北 = 0.0
-
-            winnerNewRate = Math.max(MIN_RATE, winnerOldRate + winnerRateChange);
-            loserNewRate = Math.max(MIN_RATE, loserOldRate + loserRateChange);
-
-            // レート更新
-            winnerRate.setRate(winnerNewRate);
-            loserRate.setRate(loserNewRate);
-            rateRepository.save(winnerRate);
-            rateRepository.save(loserRate);
+            // ELOレーティング計算・更新（ランクマッチのみ。差分を原子的に加算）
+            RatingService.RatingOutcome outcome = ratingService.applyMatchResult(winnerId, loserId, currentSeason);
+            winnerOldRate = outcome.winnerOldRate();
+            loserOldRate = outcome.loserOldRate();
+            winnerRateChange = outcome.winnerRateChange();
+            loserRateChange = outcome.loserRateChange();
+            winnerNewRate = outcome.winnerNewRate();
+            loserNewRate = outcome.loserNewRate();
         }
 
         if (!isRoomMatch) {
@@ -593,7 +591,7 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
         matchUuid, roundResponses.size());
 
 
-        // Result更新（既存の2レコードを更新）
+        // Result更新（既存の2レコードをコミット後に非同期で更新）
         updateResultRecords(matchUuid, state, winnerId, loserId, isDraw,
                 winnerRateChange, loserRateChange, winnerNewRate, loserNewRate,
                 roundSummaries, outcomeReason);
@@ -608,6 +606,8 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
         // メモリから状態削除
         battleStateService.removeBattle(matchUuid);
 
+        metricsService.recordFinalize(outcomeReason != null ? outcomeReason.name() : null, finalizeStart);
+
         return new BattleResultDto(
                matchUuid, winnerId, loserId, isDraw,
                 winnerScore, loserScore,
@@ -617,20 +617,6 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
         );
     }
 
-    /**
-     * ELO期待勝率を計算
-     */
-    private double calculateExpectedScore(int playerRating, int opponentRating) {
-        return 1.0 / (1.0 + Math.pow(10, (opponentRating - playerRating) / 400.0));
-    }
-
-    /**
-     * ELOレーティング変動を計算
-     */
-    private int calculateRatingChange(double expectedScore, double actualScore) {
-        return (int) Math.round(ELO_K_FACTOR * (actualScore - expectedScore));
-    }
-
     /**
      * ラウンドサマリーを作成
      */
@@ -673,23 +659,20 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
         Result.OutcomeReason outcomeReason,
         Long loserId
 ) {
-    Map<Integer, Question> questionMap = state.getQuestions().stream()
-        .collect(Collectors.toMap(Question::getQuestionId, q -> q));
-
     List<RoundResultResponse> responses = new ArrayList<>();
 
     // 既存ラウンドがある場合は通常通り（+ questionText追加）
     Set<Integer> playedQuestionIds = new HashSet<>();
     if (!state.getRoundResults().isEmpty()) {
         for (BattleStateService.RoundResult rr : state.getRoundResults()) {
-            Question q = questionMap.get(rr.getQuestionId());
+            BattleStateService.BattleQuestion q = state.getQuestion(rr.getQuestionId());
             String correctAnswer = BattleStateService.getCorrectAnswer(q);
 
             RoundResultResponse r = new RoundResultResponse();
             r.setRoundNumber(rr.getRoundNumber());
             r.setQuestionId(rr.getQuestionId());
             r.setCorrectAnswer(correctAnswer);
-            r.setQuestionText(q != null ? q.getText() : null);
+            r.setQuestionText(q != null ? q.text() : null);
             r.setRoundWinnerId(rr.getWinnerId());
             r.setNoCount(rr.isNoCount());
             r.setNoCountReason(rr.getNoCountReason());
@@ -761,15 +744,15 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
         String p2Msg = buildFallbackAnswer(outcomeReason, state.getPlayer2Id(), loserId);
 
         int round = startRound;
-        for (Question q : state.getQuestions()) {
-            if (playedQuestionIds != null && playedQuestionIds.contains(q.getQuestionId())) {
+        for (BattleStateService.BattleQuestion q : state.getQuestions()) {
+            if (playedQuestionIds != null && playedQuestionIds.contains(q.questionId())) {
                 continue;
             }
 
             RoundResultResponse r = new RoundResultResponse();
-            r.setQuestionText(q.getText());
+            r.setQuestionText(q.text());
             r.setRoundNumber(round++);
-            r.setQuestionId(q.getQuestionId());
+            r.setQuestionId(q.questionId());
             r.setCorrectAnswer(BattleStateService.getCorrectAnswer(q));
             r.setRoundWinnerId(null);
             r.setNoCount(true);
@@ -794,7 +777,8 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
 
 
     /**
-     * Resultレコードを更新
+     * Resultレコードの更新内容を作成し、ライトビハインドで書き込む
+     * DBへの反映はBattleResultWriterがまとめて行う
      */
     private void updateResultRecords(String matchUuid, BattleStateService.BattleState state,
                                      Long winnerId, Long loserId, boolean isDraw,
@@ -802,90 +786,103 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
                                      int winnerNewRate, int loserNewRate,
                                      List<RoundSummary> roundSummaries,
                                      Result.OutcomeReason outcomeReason) {
-        List<Result> results = resultRepository.findAllByMatchUuid(matchUuid);
-
-        // 問題情報をJSON用に変換
-        List<Map<String, Object>> questionData = state.getQuestions().stream()
-                .map(q -> {
-                    Map<String, Object> qMap = new HashMap<>();
-                    qMap.put("questionId", q.getQuestionId());
-                    qMap.put("text", q.getText());
-                    qMap.put("answer", q.getAnswer());
-                    qMap.put("questionFormat", q.getQuestionFormat().name());
-                    // リスニング問題用にcompleteSentenceも保存
-                    if (q.getCompleteSentence() != null) {
-                        qMap.put("completeSentence", q.getCompleteSentence());
-                    }
-                    return qMap;
-                })
+        // 出題・ラウンド・対戦形式は両プレイヤーで共有する対戦詳細として保存
+        List<MatchDetailService.QuestionEntry> questions = state.getQuestions().stream()
+                .map(q -> new MatchDetailService.QuestionEntry(
+                        q.questionId(), q.text(), q.answer(), q.questionFormat().name(), q.completeSentence()))
                 .collect(Collectors.toList());
 
-        Map<String, Object> useQuestion = new HashMap<>();
-        useQuestion.put("questions", questionData);
-
-        // ラウンド詳細をJSON用に変換
-        List<Map<String, Object>> roundDetailData = roundSummaries.stream()
-                .map(rs -> {
-                    Map<String, Object> rdMap = new HashMap<>();
-                    rdMap.put("roundNumber", rs.getRoundNumber());
-                    rdMap.put("questionId", rs.getQuestionId());
-                    rdMap.put("winnerId", rs.getRoundWinnerId());
-                    rdMap.put("isNoCount", rs.isNoCount());
-                    rdMap.put("noCountReason", rs.getNoCountReason());
-                    rdMap.put("playerInfo", rs.getPlayerInfo().entrySet().stream()
-                            .collect(Collectors.toMap(
-                                    e -> e.getKey().toString(),
-                                    e -> {
-                                        Map<String, Object> piMap = new HashMap<>();
-                                        piMap.put("isCorrect", e.getValue().isCorrect());
-                                        piMap.put("responseTimeMs", e.getValue().getResponseTimeMs());
-                                        piMap.put("answer", e.getValue().getAnswer());
-                                        return piMap;
-                                    }
-                            )));
-                    return rdMap;
-                })
+        List<MatchDetailService.RoundEntry> rounds = roundSummaries.stream()
+                .map(rs -> new MatchDetailService.RoundEntry(
+                        rs.getRoundNumber(),
+                        rs.getQuestionId(),
+                        rs.getRoundWinnerId(),
+                        rs.isNoCount(),
+                        rs.getNoCountReason(),
+                        rs.getPlayerInfo().entrySet().stream()
+                                .map(e -> new MatchDetailService.AnswerEntry(
+                                        e.getKey(),
+                                        e.getValue().getAnswer(),
+                                        e.getValue().isCorrect(),
+                                        e.getValue().getResponseTimeMs()))
+                                .collect(Collectors.toList())))
                 .collect(Collectors.toList());
 
         // 対戦形式情報（動的な先取数を使用）
-        Map<String, Object> resultFormat = new HashMap<>();
-        resultFormat.put("format", state.isRoomMatch() ? "Room" : "Rank");
-        resultFormat.put("winsRequired", state.getWinsToVictory());
-        resultFormat.put("maxRounds", state.getMaxRounds());
-        resultFormat.put("isRoomMatch", state.isRoomMatch());
-        if (state.isRoomMatch() && state.getRoomId() != null) {
-            resultFormat.put("roomId", state.getRoomId());
-        }
+        MatchDetailService.Format format = new MatchDetailService.Format(
+                state.isRoomMatch() ? "Room" : "Rank",
+                state.getWinsToVictory(),
+                state.getMaxRounds(),
+                state.isRoomMatch(),
+                state.isRoomMatch() ? state.getRoomId() : null);
+
+        MatchDetailService.Detail detail = new MatchDetailService.Detail(questions, rounds, format);
 
         LocalDateTime endedAt = LocalDateTime.now();
 
-        for (Result result : results) {
-            Long playerId = result.getPlayer().getId();
+        List<BattleResultWriter.PlayerResultWrite> players = new ArrayList<>();
+        for (Long playerId : List.of(state.getPlayer1Id(), state.getPlayer2Id())) {
             boolean isWinner = playerId.equals(winnerId);
+            boolean isPlayer1 = playerId.equals(state.getPlayer1Id());
+
+            // プレイヤー視点のスコア
+            BattleResultSummary summary = new BattleResultSummary(
+                    isPlayer1 ? state.getPlayer1Wins() : state.getPlayer2Wins(),
+                    isPlayer1 ? state.getPlayer2Wins() : state.getPlayer1Wins(),
+                    isDraw);
+
+            players.add(new BattleResultWriter.PlayerResultWrite(
+                    playerId,
+                    isDraw ? false : isWinner,
+                    isWinner ? winnerRateChange : loserRateChange,
+                    isWinner ? winnerNewRate : loserNewRate,
+                    summary
+            ));
+        }
 
-            result.setResult(isDraw ? false : isWinner);
-            result.setUpdownRate(isWinner ? winnerRateChange : loserRateChange);
-            result.setRateAfterMatch(isWinner ? winnerNewRate : loserNewRate);
-            result.setUseQuestion(useQuestion);
-            result.setOutcomeReason(outcomeReason);
-            result.setEndedAt(endedAt);
-
-            // resultDetailにプレイヤー視点の詳細を追加
-            Map<String, Object> resultDetail = new HashMap<>();
-            resultDetail.put("rounds", roundDetailData);
-            resultDetail.put("myWins", playerId.equals(state.getPlayer1Id()) ?
-                    state.getPlayer1Wins() : state.getPlayer2Wins());
-            resultDetail.put("opponentWins", playerId.equals(state.getPlayer1Id()) ?
-                    state.getPlayer2Wins() : state.getPlayer1Wins());
-            resultDetail.put("isDraw", isDraw);
-            result.setResultDetail(resultDetail);
-
-            result.setResultFormat(resultFormat);
-
-            resultRepository.save(result);
+        battleResultWriter.submit(new BattleResultWriter.ResultWrite(
+                matchUuid, detail, outcomeReason, endedAt, players));
+
+        logger.info("Result更新登録: matchUuid={}", matchUuid);
+    }
+
+    /**
+     * DB未反映の結果を取得（冪等性対応）
+     * 反映待ち・デッドレター退避済みの結果があれば、リクエストスレッドで反映を待たずに登録済みの書き込み内容から結果を作成する
+     * @return 未反映の結果がある場合はその結果、反映済み・未登録の場合null
+     */
+    private BattleResultDto findUnappliedResult(String matchUuid) {
+        BattleResultWriter.ResultWrite write = battleResultWriter.getUnappliedWrite(matchUuid);
+        if (write == null) {
+            return null;
         }
+        logger.info("対戦結果がDB未反映のため登録済みの内容から結果を返却: matchUuid={}", matchUuid);
+
+        List<BattleResultWriter.PlayerResultWrite> players = write.players();
+        BattleResultWriter.PlayerResultWrite winner = players.stream()
+                .filter(p -> Boolean.TRUE.equals(p.result()))
+                .findFirst()
+                .orElse(players.get(0));
+        BattleResultWriter.PlayerResultWrite loser = players.stream()
+                .filter(p -> p != winner)
+                .findFirst()
+                .orElse(winner);
+        boolean isDraw = players.stream().noneMatch(p -> Boolean.TRUE.equals(p.result()));
 
-        logger.info("Result更新完了: matchUuid={}", matchUuid);
+        return new BattleResultDto(
+                matchUuid,
+                winner.playerId(),
+                loser.playerId(),
+                isDraw,
+                winner.playerScore() != null ? winner.playerScore() : 0,
+                winner.enemyScore() != null ? winner.enemyScore() : 0,
+                winner.updownRate() != null ? winner.updownRate() : 0,
+                loser.updownRate() != null ? loser.updownRate() : 0,
+                winner.rateAfterMatch() != null ? winner.rateAfterMatch() : 0,
+                loser.rateAfterMatch() != null ? loser.rateAfterMatch() : 0,
+                Collections.emptyList(),
+                write.outcomeReason()
+        );
     }
 
     /**
@@ -906,10 +903,9 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
 
         boolean isDraw = results.stream().noneMatch(Result::getResult);
 
-        @SuppressWarnings("unchecked")
-        Map<String, Object> winnerDetail = winnerResult.getResultDetail();
-        int winnerScore = winnerDetail != null ? ((Number) winnerDetail.getOrDefault("myWins", 0)).intValue() : 0;
-        int loserScore = winnerDetail != null ? ((Number) winnerDetail.getOrDefault("opponentWins", 0)).intValue() : 0;
+        BattleResultSummary winnerSummary = BattleResultSummary.of(winnerResult);
+        int winnerScore = winnerSummary.playerScore();
+        int loserScore = winnerSummary.enemyScore();
 
         // レート情報を取得
         User winnerUser = winnerResult.getPlayer();
@@ -932,7 +928,7 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
                 loserResult.getUpdownRate(),
                 winnerRate.getRate(),
                 loserRate.getRate(),
-                Collections.emptyList(), // 詳細はresultDetailに保存済み
+                Collections.emptyList(), // 詳細はmatch_detailに保存済み
                 winnerResult.getOutcomeReason()
         );
     }
@@ -979,14 +975,18 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
      * ラウンド結果待ちでタイムアウトした対戦のmatchUuidリストを取得
      */
     public java.util.List<String> getTimedOutRoundResultMatches() {
-        return battleStateService.getTimedOutRoundResultMatches();
+        java.util.List<String> timedOut = battleStateService.getTimedOutRoundResultMatches();
+        metricsService.countTimeouts(MetricsService.TimeoutPhase.ROUND_RESULT, timedOut.size());
+        return timedOut;
     }
 
     /**
      * 回答フェーズでタイムアウトした対戦のmatchUuidリストを取得
      */
     public java.util.List<String> getTimedOutAnswerPhaseMatches() {
-        return battleStateService.getTimedOutAnswerPhaseMatches();
+        java.util.List<String> timedOut = battleStateService.getTimedOutAnswerPhaseMatches();
+        metricsService.countTimeouts(MetricsService.TimeoutPhase.ANSWER_PHASE, timedOut.size());
+        return timedOut;
     }
 
     /**
@@ -998,6 +998,10 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
 
         // 状態が見つからない場合（既に終了処理済み）、DBから結果を取得して返す
         if (state == null) {
+            BattleResultDto unapplied = findUnappliedResult(matchUuid);
+            if (unapplied != null) {
+                return unapplied;
+            }
             List<Result> existingResults = resultRepository.findAllByMatchUuid(matchUuid);
             if (!existingResults.isEmpty()) {
                 logger.info("降参処理: 対戦は既に終了済み matchUuid={}", matchUuid);
@@ -1008,6 +1012,10 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
 
         // 既にFINISHED状態の場合も同様に処理
         if (state.getStatus() == BattleStateService.Status.FINISHED) {
+            BattleResultDto unapplied = findUnappliedResult(matchUuid);
+            if (unapplied != null) {
+                return unapplied;
+            }
             List<Result> existingResults = resultRepository.findAllByMatchUuid(matchUuid);
             if (!existingResults.isEmpty()) {
                 logger.info("降参処理: 対戦は既にFINISHED状態 matchUuid={}", matchUuid);
@@ -1075,21 +1083,16 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
         try {
             Long player1Id = state.getPlayer1Id();
             Long player2Id = state.getPlayer2Id();
-            List<Question> questions = state.getQuestions();
             List<BattleStateService.RoundResult> roundResults = state.getRoundResults();
 
-            // questionIdでQuestionをマップ化
-            Map<Integer, Question> questionMap = questions.stream()
-                    .collect(Collectors.toMap(Question::getQuestionId, q -> q));
-
             int player1Registered = 0;
             int player2Registered = 0;
 
             for (BattleStateService.RoundResult rr : roundResults) {
-                Question question = questionMap.get(rr.getQuestionId());
+                BattleStateService.BattleQuestion question = state.getQuestion(rr.getQuestionId());
                 if (question == null) continue;
 
-                QuestionFormat format = question.getQuestionFormat();
+                QuestionFormat format = question.questionFormat();
                 String correctAnswer = BattleStateService.getCorrectAnswer(question);
 
                 // Player1の登録処理
@@ -1123,14 +1126,14 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
      *
      * @return 登録が行われた場合true
      */
-    private boolean registerVocabularyForPlayer(Long userId, Question question,
+    private boolean registerVocabularyForPlayer(Long userId, BattleStateService.BattleQuestion question,
                                                  QuestionFormat format,
                                                  BattleStateService.PlayerAnswer playerAnswer,
                                                  String correctAnswer) {
         try {
             if (QuestionFormat.FILL_IN_THE_BLANK.equals(format)) {
                 // FILL_IN_THE_BLANK: 全ての問題のanswerを登録（非同期）
-                userVocabularyService.registerFillInBlankAnswerAsync(userId, question.getAnswer());
+                userVocabularyService.registerFillInBlankAnswerAsync(userId, question.answer());
                 return true;
             } else if (QuestionFormat.LISTENING.equals(format) && !playerAnswer.isCorrect()) {
                 // LISTENING: 不正解の場合、間違えた単語を登録（非同期）
@@ -1195,6 +1198,7 @@ public BattleStartResponseDto startBattleWithUserInfo(String matchId) {
             }
         }
 
+        metricsService.countDisconnectForfeit();
         return finalizeBattle(matchUuid, Result.OutcomeReason.disconnect);
     }
     private String buildFallbackAnswer(Result.OutcomeReason reason, Long playerId, Long loserId) {
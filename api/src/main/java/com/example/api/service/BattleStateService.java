@@ -2,6 +2,8 @@ package com.example.api.service;
 
 import com.example.api.entity.Question;
 import com.example.api.enums.QuestionFormat;
+import com.example.api.util.AnswerGradingUtils;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
@@ -9,6 +11,7 @@ import org.springframework.stereotype.Service;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Predicate;
 
 /**
  * 対戦状態管理サービス
@@ -31,6 +34,12 @@ public class BattleStateService {
     /** 対戦状態を保持するMap（matchUuid -> BattleState） */
     private final Map<String, BattleState> activeBattles = new ConcurrentHashMap<>();
 
+    // 二次インデックス（ユーザーID → ランクマッチのmatchUuid、ルームID → ルームマッチのmatchUuid）
+    // 同じユーザー・ルームの対戦が一時的に重なっても互いの登録を上書きしないよう、matchUuidの集合（登録順）で保持する
+    // 対戦状態の登録後に追加し、終了・削除時にその対戦のmatchUuidだけを取り除く
+    private final ConcurrentHashMap<Long, Set<String>> rankMatchesByUserId = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Set<String>> roomMatchesByRoomId = new ConcurrentHashMap<>();
+
     /**
      * 対戦状態のEnum
      */
@@ -99,6 +108,166 @@ public class BattleStateService {
     /** ラウンド結果表示後の次ラウンドへの遷移待ち時間（秒） */
     public static final int ROUND_RESULT_TIMEOUT_SECONDS = 10;
 
+    /** 再接続時の差分再送用に保持するイベント数（対戦ごと） */
+    public static final int EVENT_LOG_CAPACITY = 32;
+
+    /** スナップショット・イベントに含めるDTOをMap/Listの木構造に変換するためのマッパー */
+    private static final ObjectMapper VIEW_MAPPER = new ObjectMapper();
+
+    /**
+     * 値を変更できない木構造にコピーする
+     * DTOはJSONと同じ形のMapに変換し、Map・Listは中身ごと変更不可のコピーにする
+     * （送信後に呼び出し元がメッセージやDTOを書き換えても、保持しているスナップショット・イベントは変わらない）
+     */
+    static Object freeze(Object value) {
+        if (value == null || value instanceof String || value instanceof Number
+                || value instanceof Boolean || value instanceof Character) {
+            return value;
+        }
+        if (value instanceof Map<?, ?> map) {
+            return freezeMap(map);
+        }
+        if (value instanceof Collection<?> collection) {
+            List<Object> copy = new ArrayList<>(collection.size());
+            for (Object element : collection) {
+                copy.add(freeze(element));
+            }
+            return Collections.unmodifiableList(copy);
+        }
+        if (value instanceof Enum<?> e) {
+            return e.name();
+        }
+        return freeze(VIEW_MAPPER.convertValue(value, Object.class));
+    }
+
+    private static Map<String, Object> freezeMap(Map<?, ?> map) {
+        // null値を含むためMap.copyOfは使わない
+        Map<String, Object> copy = new LinkedHashMap<>();
+        map.forEach((key, value) -> copy.put(String.valueOf(key), freeze(value)));
+        return Collections.unmodifiableMap(copy);
+    }
+
+    /**
+     * 対戦状態のスナップショット（不変）
+     * 状態遷移のたびに作り直し、再接続時はそのまま返す
+     */
+    public static class BattleSnapshot {
+        private final long sequence;
+        private final Map<String, Object> view;
+
+        BattleSnapshot(long sequence, Map<String, Object> view) {
+            this.sequence = sequence;
+            this.view = freezeMap(view);
+        }
+
+        public long getSequence() { return sequence; }
+        public Map<String, Object> getView() { return view; }
+    }
+
+    /**
+     * クライアントに送信した対戦イベント
+     * @param sequence シーケンス番号
+     * @param type イベント種別（question / round_result など）
+     * @param payload 送信したメッセージ（記録時点の内容を変更不可のコピーで保持）
+     * @param occurredAt 発生時刻（エポックミリ秒）
+     */
+    public record BattleEvent(long sequence, String type, Map<String, Object> payload, long occurredAt) {
+        public BattleEvent {
+            payload = freezeMap(payload);
+        }
+    }
+
+    /**
+     * 差分再送の結果
+     * @param snapshot 最新のスナップショット
+     * @param events 指定シーケンス以降のイベント
+     * @param resyncRequired 取りこぼしたイベントが既に破棄されている場合true（スナップショットから復元する）
+     */
+    public record BattleReplay(BattleSnapshot snapshot, List<BattleEvent> events, boolean resyncRequired) {
+    }
+
+    /**
+     * 対戦ごとのイベントリングバッファ
+     * 容量を超えたイベントは古いものから破棄する（所有するBattleStateのロック内で操作する）
+     */
+    static class BattleEventLog {
+        private final BattleEvent[] buffer;
+        private int next;
+        private int size;
+        private long evictedUpTo; // 破棄済みイベントの最大シーケンス
+
+        BattleEventLog(int capacity) {
+            this.buffer = new BattleEvent[capacity];
+        }
+
+        void append(BattleEvent event) {
+            if (size == buffer.length) {
+                evictedUpTo = buffer[next].sequence();
+            } else {
+                size++;
+            }
+            buffer[next] = event;
+            next = (next + 1) % buffer.length;
+        }
+
+        List<BattleEvent> since(long sequence) {
+            List<BattleEvent> events = new ArrayList<>();
+            int start = (next - size + buffer.length) % buffer.length;
+            for (int i = 0; i < size; i++) {
+                BattleEvent event = buffer[(start + i) % buffer.length];
+                if (event.sequence() > sequence) {
+                    events.add(event);
+                }
+            }
+            return events;
+        }
+
+        boolean hasEvicted(long sequence) {
+            return sequence < evictedUpTo;
+        }
+    }
+
+    /**
+     * 対戦用の問題（不変）
+     * 対戦開始時にQuestionエンティティから必要な項目だけを取り出して保持する
+     * （対戦中はJPAセッション外のため、エンティティや遅延読み込みのプロキシを保持しない）
+     * @param correctAnswer 問題タイプに応じた正解（LISTENING→complete_sentence、それ以外→answer）
+     * @param normalizedAnswer 判定用に正規化済みの正解
+     */
+    public record BattleQuestion(Integer questionId, String text, String answer, String completeSentence,
+                                 QuestionFormat questionFormat, String audioUrl, String translationJa,
+                                 String sourceFragment, String songName, String artistName,
+                                 String correctAnswer, String normalizedAnswer) {
+
+        /**
+         * Questionエンティティから作成（Song/Artistの読み込みのためトランザクション内で呼び出す）
+         */
+        public static BattleQuestion from(Question question) {
+            String correctAnswer = correctAnswerOf(
+                    question.getQuestionFormat(), question.getAnswer(), question.getCompleteSentence());
+            return new BattleQuestion(
+                    question.getQuestionId(),
+                    question.getText(),
+                    question.getAnswer(),
+                    question.getCompleteSentence(),
+                    question.getQuestionFormat(),
+                    question.getAudioUrl(),
+                    question.getTranslationJa(),
+                    question.getSourceFragment(),
+                    question.getSong() != null ? question.getSong().getSongname() : null,
+                    question.getArtist() != null ? question.getArtist().getArtistName() : null,
+                    correctAnswer,
+                    AnswerGradingUtils.normalize(correctAnswer));
+        }
+
+        /**
+         * 回答の正誤判定（全角半角・大文字小文字・記号・空白の違いを無視）
+         */
+        public boolean isCorrect(String userAnswer) {
+            return AnswerGradingUtils.matches(normalizedAnswer, userAnswer);
+        }
+    }
+
     /**
      * 対戦状態クラス
      */
@@ -107,7 +276,8 @@ public class BattleStateService {
         private final Long player1Id;
         private final Long player2Id;
         private final String language;
-        private final List<Question> questions;
+        private final List<BattleQuestion> questions;
+        private final Map<Integer, BattleQuestion> questionsById;
         private final List<RoundResult> roundResults;
         private final int winsToVictory;     // 勝利に必要な勝ち数（動的設定可能）
         private final int maxRounds;          // 最大ラウンド数（動的設定可能）
@@ -130,11 +300,17 @@ public class BattleStateService {
         private boolean player2NextReady;
         private Instant roundResultStartTime; // ラウンド結果表示開始時刻
 
+        // 再接続用のスナップショットとイベント履歴
+        private long sequence;
+        private volatile BattleSnapshot snapshot;
+        private Object currentQuestionView;  // 最後に送信した問題（変更不可のコピー）
+        private final BattleEventLog eventLog = new BattleEventLog(EVENT_LOG_CAPACITY);
+
         /**
          * ランクマッチ用コンストラクタ（既存互換）
          */
         public BattleState(String matchUuid, Long player1Id, Long player2Id,
-                          String language, List<Question> questions) {
+                          String language, List<BattleQuestion> questions) {
             this(matchUuid, player1Id, player2Id, language, questions, WINS_TO_VICTORY, MAX_ROUNDS, false, null);
         }
 
@@ -142,13 +318,18 @@ public class BattleStateService {
          * ルームマッチ用コンストラクタ（先取数を動的に設定）
          */
         public BattleState(String matchUuid, Long player1Id, Long player2Id,
-                          String language, List<Question> questions,
+                          String language, List<BattleQuestion> questions,
                           int winsToVictory, int maxRounds, boolean isRoomMatch, Long roomId) {
             this.matchUuid = matchUuid;
             this.player1Id = player1Id;
             this.player2Id = player2Id;
             this.language = language;
-            this.questions = new ArrayList<>(questions);
+            this.questions = List.copyOf(questions);
+            Map<Integer, BattleQuestion> byId = new HashMap<>();
+            for (BattleQuestion question : this.questions) {
+                byId.putIfAbsent(question.questionId(), question);
+            }
+            this.questionsById = Map.copyOf(byId);
             this.roundResults = new ArrayList<>();
             this.winsToVictory = winsToVictory;
             this.maxRounds = maxRounds;
@@ -159,6 +340,7 @@ public class BattleStateService {
             this.player1Wins = 0;
             this.player2Wins = 0;
             this.createdAt = Instant.now();
+            this.snapshot = buildSnapshot();
         }
 
         // Getters
@@ -166,7 +348,8 @@ public class BattleStateService {
         public Long getPlayer1Id() { return player1Id; }
         public Long getPlayer2Id() { return player2Id; }
         public String getLanguage() { return language; }
-        public List<Question> getQuestions() { return Collections.unmodifiableList(questions); }
+        public List<BattleQuestion> getQuestions() { return questions; }
+        public BattleQuestion getQuestion(Integer questionId) { return questionId != null ? questionsById.get(questionId) : null; }
         public List<RoundResult> getRoundResults() { return Collections.unmodifiableList(roundResults); }
         public Status getStatus() { return status; }
         public int getCurrentRound() { return currentRound; }
@@ -180,6 +363,7 @@ public class BattleStateService {
         public boolean isRoomMatch() { return isRoomMatch; }
         public Long getRoomId() { return roomId; }
         public Instant getCreatedAt() { return createdAt; }
+        public BattleSnapshot getSnapshot() { return snapshot; }
 
         // Setters（パッケージプライベート）
         void setStatus(Status status) { this.status = status; }
@@ -228,10 +412,68 @@ public class BattleStateService {
             this.roundResultStartTime = null;
         }
 
+        /**
+         * スナップショットを作り直す（状態が変わるたびにシーケンス番号を進める）
+         * シーケンス・イベント履歴・スナップショットは対戦ごとのロック（このインスタンス）で保護する
+         */
+        synchronized void refreshSnapshot() {
+            sequence++;
+            this.snapshot = buildSnapshot();
+        }
+
+        /**
+         * 送信したイベントを記録し、スナップショットを更新
+         * メッセージにもシーケンス番号を付与し、クライアントが再接続時に指定できるようにする
+         */
+        synchronized void appendEvent(String type, Map<String, Object> payload) {
+            sequence++;
+            payload.put("sequence", sequence);
+            BattleEvent event = new BattleEvent(sequence, type, payload, System.currentTimeMillis());
+            if ("question".equals(type)) {
+                this.currentQuestionView = event.payload().get("question");
+            }
+            eventLog.append(event);
+            this.snapshot = buildSnapshot();
+        }
+
+        /**
+         * 指定シーケンス以降のイベントと、その時点のスナップショットを同じロック内で取得する
+         */
+        synchronized BattleReplay replaySince(long sinceSequence) {
+            boolean resyncRequired = eventLog.hasEvicted(sinceSequence);
+            List<BattleEvent> events = resyncRequired
+                    ? Collections.emptyList()
+                    : List.copyOf(eventLog.since(sinceSequence));
+            return new BattleReplay(snapshot, events, resyncRequired);
+        }
+
+        private BattleSnapshot buildSnapshot() {
+            Map<String, Object> view = new HashMap<>();
+            view.put("matchId", matchUuid);
+            view.put("sequence", sequence);
+            view.put("status", status.name());
+            view.put("currentRound", currentRound + 1);
+            view.put("totalRounds", questions.size());
+            view.put("maxRounds", maxRounds);
+            view.put("winsToVictory", winsToVictory);
+            view.put("isRoomMatch", isRoomMatch);
+            view.put("player1Id", player1Id);
+            view.put("player2Id", player2Id);
+            view.put("player1Wins", player1Wins);
+            view.put("player2Wins", player2Wins);
+            view.put("roundResultPending", roundResultStartTime != null);
+            if (roundStartTime != null) {
+                view.put("roundStartTimestamp", roundStartTime.toEpochMilli());
+                view.put("roundDeadline", roundStartTime.toEpochMilli() + ROUND_TIME_LIMIT_SECONDS * 1000L);
+            }
+            view.put("question", currentQuestionView);
+            return new BattleSnapshot(sequence, view);
+        }
+
         /**
          * 現在の問題を取得
          */
-        public Question getCurrentQuestion() {
+        public BattleQuestion getCurrentQuestion() {
             if (currentRound < questions.size()) {
                 return questions.get(currentRound);
             }
@@ -281,14 +523,14 @@ public class BattleStateService {
      * 新しい対戦状態を作成（ランクマッチ用）
      */
     public BattleState createBattle(String matchUuid, Long player1Id, Long player2Id,
-                                    String language, List<Question> questions) {
-        if (activeBattles.containsKey(matchUuid)) {
+                                    String language, List<BattleQuestion> questions) {
+        BattleState state = new BattleState(matchUuid, player1Id, player2Id, language, questions);
+        BattleState existing = activeBattles.putIfAbsent(matchUuid, state);
+        if (existing != null) {
             logger.warn("対戦状態が既に存在: matchUuid={}", matchUuid);
-            return activeBattles.get(matchUuid);
+            return existing;
         }
-
-        BattleState state = new BattleState(matchUuid, player1Id, player2Id, language, questions);
-        activeBattles.put(matchUuid, state);
+        index(state);
         logger.info("対戦状態作成: matchUuid={}, player1={}, player2={}, questions={}",
                 matchUuid, player1Id, player2Id, questions.size());
         return state;
@@ -306,19 +548,19 @@ public class BattleStateService {
      * @return 作成された対戦状態
      */
     public BattleState createRoomBattle(String matchUuid, Long player1Id, Long player2Id,
-                                         String language, List<Question> questions,
+                                         String language, List<BattleQuestion> questions,
                                          int winsToVictory, Long roomId) {
-        if (activeBattles.containsKey(matchUuid)) {
-            logger.warn("対戦状態が既に存在: matchUuid={}", matchUuid);
-            return activeBattles.get(matchUuid);
-        }
-
         // 最大ラウンド数 = 先取数 + 5
         int maxRounds = winsToVictory + 5;
 
         BattleState state = new BattleState(matchUuid, player1Id, player2Id, language, questions,
                 winsToVictory, maxRounds, true, roomId);
-        activeBattles.put(matchUuid, state);
+        BattleState existing = activeBattles.putIfAbsent(matchUuid, state);
+        if (existing != null) {
+            logger.warn("対戦状態が既に存在: matchUuid={}", matchUuid);
+            return existing;
+        }
+        index(state);
         logger.info("ルームマッチ対戦状態作成: matchUuid={}, player1={}, player2={}, winsToVictory={}, maxRounds={}, roomId={}, questions={}",
                 matchUuid, player1Id, player2Id, winsToVictory, maxRounds, roomId, questions.size());
         return state;
@@ -335,52 +577,111 @@ public class BattleStateService {
      * 指定ユーザーがランクマッチの対戦中かどうか
      */
     public boolean isUserInRankBattle(Long userId) {
-        if (userId == null) {
-            return false;
-        }
-        for (BattleState state : activeBattles.values()) {
-            if (state.isParticipant(userId) && !state.isRoomMatch()
-                    && state.getStatus() != Status.FINISHED) {
-                return true;
-            }
-        }
-        return false;
+        return getMatchUuidByUserId(userId) != null;
     }
 
     /**
      * ユーザーIDからランクマッチのマッチUUIDを取得
      * @param userId ユーザーID
-     * @return マッチUUID（見つからなければnull）
+     * @return マッチUUID（複数ある場合は最後に作成された対戦、見つからなければnull）
      */
     public String getMatchUuidByUserId(Long userId) {
         if (userId == null) return null;
 
-        for (Map.Entry<String, BattleState> entry : activeBattles.entrySet()) {
-            BattleState state = entry.getValue();
-            if (state.isParticipant(userId) && !state.isRoomMatch()
-                    && state.getStatus() != Status.FINISHED) {
-                return entry.getKey();
-            }
-        }
-        return null;
+        return latestMatch(rankMatchesByUserId.get(userId), state -> state.isParticipant(userId)
+                && !state.isRoomMatch() && state.getStatus() != Status.FINISHED);
     }
 
     /**
      * ルームIDからマッチUUIDを取得
      * @param roomId ルームID
-     * @return マッチUUID（見つからなければnull）
+     * @return マッチUUID（複数ある場合は最後に作成された対戦、見つからなければnull）
      */
     public String getMatchUuidByRoomId(Long roomId) {
         if (roomId == null) return null;
 
-        for (Map.Entry<String, BattleState> entry : activeBattles.entrySet()) {
-            BattleState state = entry.getValue();
-            if (state.isRoomMatch() && roomId.equals(state.getRoomId())
-                    && state.getStatus() == Status.IN_PROGRESS) {
-                return entry.getKey();
+        return latestMatch(roomMatchesByRoomId.get(roomId), state -> state.isRoomMatch()
+                && roomId.equals(state.getRoomId()) && state.getStatus() == Status.IN_PROGRESS);
+    }
+
+    /**
+     * インデックスに登録されたmatchUuidのうち、条件を満たす最後に登録された対戦を返す
+     */
+    private String latestMatch(Set<String> matchUuids, Predicate<BattleState> condition) {
+        if (matchUuids == null) {
+            return null;
+        }
+        String latest = null;
+        for (String matchUuid : matchUuids) {
+            BattleState state = activeBattles.get(matchUuid);
+            if (state != null && condition.test(state)) {
+                latest = matchUuid;
+            }
+        }
+        return latest;
+    }
+
+    /**
+     * 二次インデックスに登録（対戦状態をactiveBattlesに登録した後に呼び出す）
+     * 登録中に並行して削除・終了された場合は、登録した分を取り除く
+     */
+    private void index(BattleState state) {
+        if (state.isRoomMatch()) {
+            if (state.getRoomId() != null) {
+                addIndex(roomMatchesByRoomId, state.getRoomId(), state.getMatchUuid());
             }
+        } else {
+            addIndex(rankMatchesByUserId, state.getPlayer1Id(), state.getMatchUuid());
+            addIndex(rankMatchesByUserId, state.getPlayer2Id(), state.getMatchUuid());
+        }
+        if (activeBattles.get(state.getMatchUuid()) != state || state.getStatus() == Status.FINISHED) {
+            unindex(state);
         }
-        return null;
+    }
+
+    /**
+     * 二次インデックスから削除（この対戦のmatchUuidのみ。同じユーザー・ルームの他の対戦の登録は残す）
+     */
+    private void unindex(BattleState state) {
+        if (state.isRoomMatch()) {
+            if (state.getRoomId() != null) {
+                removeIndex(roomMatchesByRoomId, state.getRoomId(), state.getMatchUuid());
+            }
+        } else {
+            removeIndex(rankMatchesByUserId, state.getPlayer1Id(), state.getMatchUuid());
+            removeIndex(rankMatchesByUserId, state.getPlayer2Id(), state.getMatchUuid());
+        }
+    }
+
+    // 集合は変更不可のコピーで差し替え（compute内で行い、検索はロックなしで読む）
+    private static void addIndex(ConcurrentHashMap<Long, Set<String>> index, Long key, String matchUuid) {
+        index.compute(key, (k, matchUuids) -> {
+            Set<String> updated = matchUuids != null ? new LinkedHashSet<>(matchUuids) : new LinkedHashSet<>();
+            updated.add(matchUuid);
+            return Collections.unmodifiableSet(updated);
+        });
+    }
+
+    private static void removeIndex(ConcurrentHashMap<Long, Set<String>> index, Long key, String matchUuid) {
+        index.computeIfPresent(key, (k, matchUuids) -> {
+            if (!matchUuids.contains(matchUuid)) {
+                return matchUuids;
+            }
+            Set<String> updated = new LinkedHashSet<>(matchUuids);
+            updated.remove(matchUuid);
+            return updated.isEmpty() ? null : Collections.unmodifiableSet(updated);
+        });
+    }
+
+    /**
+     * インデックスに登録されているユーザー数・ルーム数（整合性確認用）
+     */
+    int getIndexedUserCount() {
+        return rankMatchesByUserId.size();
+    }
+
+    int getIndexedRoomCount() {
+        return roomMatchesByRoomId.size();
     }
 
     /**
@@ -399,6 +700,7 @@ public class BattleStateService {
         state.setStatus(Status.IN_PROGRESS);
         state.setCurrentRound(0);
         state.setRoundStartTime(Instant.now());
+        state.refreshSnapshot();
         logger.info("対戦開始: matchUuid={}", matchUuid);
         return state;
     }
@@ -419,7 +721,7 @@ public class BattleStateService {
             throw new IllegalArgumentException("参加者ではありません: " + userId);
         }
 
-        Question currentQuestion = state.getCurrentQuestion();
+        BattleQuestion currentQuestion = state.getCurrentQuestion();
         if (currentQuestion == null) {
             throw new IllegalStateException("現在の問題がありません");
         }
@@ -435,10 +737,9 @@ public class BattleStateService {
             return false;
         }
 
-        // 正誤判定（大文字小文字を無視）
+        // 正誤判定（全角半角・大文字小文字・記号・空白の違いを無視）
         // LISTENING問題はcomplete_sentenceを参照、FILL_IN_THE_BLANK問題はanswerを参照
-        String correctAnswer = getCorrectAnswer(currentQuestion);
-        boolean isCorrect = correctAnswer.equalsIgnoreCase(answer.trim());
+        boolean isCorrect = currentQuestion.isCorrect(answer);
 
         PlayerAnswer playerAnswer = new PlayerAnswer(userId, answer, now, isCorrect, responseTimeMs);
 
@@ -473,7 +774,7 @@ public class BattleStateService {
             throw new IllegalArgumentException("対戦が見つかりません: " + matchUuid);
         }
 
-        Question currentQuestion = state.getCurrentQuestion();
+        BattleQuestion currentQuestion = state.getCurrentQuestion();
         PlayerAnswer p1Answer = state.getCurrentPlayer1Answer();
         PlayerAnswer p2Answer = state.getCurrentPlayer2Answer();
 
@@ -533,7 +834,7 @@ public class BattleStateService {
         // ラウンド結果を記録
         RoundResult result = new RoundResult(
                 state.getCurrentRound() + 1, // 1-indexed for display
-                currentQuestion.getQuestionId(),
+                currentQuestion.questionId(),
                 p1Answer,
                 p2Answer,
                 winnerId,
@@ -545,6 +846,7 @@ public class BattleStateService {
         // ラウンド結果表示開始時刻を記録（10秒タイムアウト用）
         state.setRoundResultStartTime(Instant.now());
         state.clearNextReadyState();
+        state.refreshSnapshot();
 
         logger.info("ラウンド確定: matchUuid={}, round={}, winner={}, noCount={}",
                 matchUuid, state.getCurrentRound() + 1, winnerId, noCountReason);
@@ -601,6 +903,8 @@ public class BattleStateService {
         // 勝者確定チェック
         if (state.isMatchDecided()) {
             state.setStatus(Status.FINISHED);
+            state.refreshSnapshot();
+            unindex(state);
             logger.info("対戦終了: matchUuid={}, player1Wins={}, player2Wins={}, winner={}",
                     matchUuid, state.getPlayer1Wins(), state.getPlayer2Wins(), state.getWinnerId());
             return false;
@@ -612,6 +916,7 @@ public class BattleStateService {
         // 次ラウンドへ
         state.setCurrentRound(state.getCurrentRound() + 1);
         state.setRoundStartTime(Instant.now());
+        state.refreshSnapshot();
 
         logger.info("次ラウンド開始: matchUuid={}, round={}",
                 matchUuid, state.getCurrentRound() + 1);
@@ -627,14 +932,59 @@ public class BattleStateService {
             return null;
         }
         state.setStatus(Status.FINISHED);
+        state.refreshSnapshot();
+        unindex(state);
         return state;
     }
 
+    /**
+     * クライアントに送信するイベントを記録（再接続時の差分再送用）
+     * 送信前に呼び出すこと（payloadにシーケンス番号が付与される）
+     * 対戦ごとのロックで記録するため、他の対戦の状態遷移を待たせない
+     * @param matchUuid マッチID
+     * @param type イベント種別
+     * @param payload 送信したメッセージ
+     */
+    public void recordEvent(String matchUuid, String type, Map<String, Object> payload) {
+        BattleState state = activeBattles.get(matchUuid);
+        if (state == null) {
+            return;
+        }
+        state.appendEvent(type, payload);
+    }
+
+    /**
+     * 最新のスナップショットを取得
+     * @param matchUuid マッチID
+     * @return スナップショット（対戦が存在しない場合null）
+     */
+    public BattleSnapshot getSnapshot(String matchUuid) {
+        BattleState state = activeBattles.get(matchUuid);
+        return state != null ? state.getSnapshot() : null;
+    }
+
+    /**
+     * 指定シーケンス以降のイベントを取得（再接続時の差分再送）
+     * @param matchUuid マッチID
+     * @param sinceSequence クライアントが最後に受け取ったシーケンス番号
+     * @return 差分再送の結果（対戦が存在しない場合null）
+     */
+    public BattleReplay getEventsSince(String matchUuid, long sinceSequence) {
+        BattleState state = activeBattles.get(matchUuid);
+        if (state == null) {
+            return null;
+        }
+        return state.replaySince(sinceSequence);
+    }
+
     /**
      * 対戦状態を削除（結果保存後に呼び出す）
      */
     public void removeBattle(String matchUuid) {
-        activeBattles.remove(matchUuid);
+        BattleState state = activeBattles.remove(matchUuid);
+        if (state != null) {
+            unindex(state);
+        }
         logger.info("対戦状態削除: matchUuid={}", matchUuid);
     }
 
@@ -653,6 +1003,17 @@ public class BattleStateService {
         return activeBattles.size();
     }
 
+    /**
+     * 状態別の対戦数を取得
+     */
+    public Map<Status, Integer> getActiveBattleCountByStatus() {
+        Map<Status, Integer> counts = new EnumMap<>(Status.class);
+        for (BattleState state : activeBattles.values()) {
+            counts.merge(state.getStatus(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
     /**
      * ラウンド結果待ちでタイムアウトした対戦のmatchUuidリストを取得
      * 10秒経過しているが、まだ両者が「次へ」を押していない対戦
@@ -714,8 +1075,8 @@ public class BattleStateService {
             BattleState state = entry.getValue();
             if (state.getStatus() == Status.WAITING_FOR_PLAYERS && !state.isRoomMatch()) {
                 long elapsedSeconds = java.time.Duration.between(state.getCreatedAt(), now).getSeconds();
-                if (elapsedSeconds > maxWaitSeconds) {
-                    activeBattles.remove(entry.getKey());
+                if (elapsedSeconds > maxWaitSeconds && activeBattles.remove(entry.getKey(), state)) {
+                    unindex(state);
                     removed.add(entry.getKey());
                     logger.info("古いWAITING_FOR_PLAYERSバトル状態を削除: matchUuid={}, elapsed={}s",
                             entry.getKey(), elapsedSeconds);
@@ -730,22 +1091,21 @@ public class BattleStateService {
      * LISTENING問題: complete_sentenceカラム
      * FILL_IN_THE_BLANK問題: answerカラム
      */
-    public static String getCorrectAnswer(Question question) {
-        if (question == null) {
-            return "";
-        }
+    public static String getCorrectAnswer(BattleQuestion question) {
+        return question != null ? question.correctAnswer() : "";
+    }
 
-        if (question.getQuestionFormat() == QuestionFormat.LISTENING) {
+    private static String correctAnswerOf(QuestionFormat format, String answer, String completeSentence) {
+        if (format == QuestionFormat.LISTENING) {
             // LISTENING問題はcomplete_sentenceを使用
-            String completeSentence = question.getCompleteSentence();
             if (completeSentence != null && !completeSentence.isEmpty()) {
                 return completeSentence;
             }
             // fallback: complete_sentenceがない場合はanswerを使用
-            return question.getAnswer() != null ? question.getAnswer() : "";
+            return answer != null ? answer : "";
         } else {
             // FILL_IN_THE_BLANK問題はanswerを使用
-            return question.getAnswer() != null ? question.getAnswer() : "";
+            return answer != null ? answer : "";
         }
     }
 }
@@ -0,0 +1,117 @@
+package com.example.api.service;
+
+import com.example.api.config.CacheConfig;
+import com.example.api.entity.Badge;
+import com.example.api.entity.Genre;
+import com.example.api.entity.Item;
+import com.example.api.entity.ItemStatus;
+import com.example.api.repository.BadgeRepository;
+import com.example.api.repository.GenreRepository;
+import com.example.api.repository.ItemRepository;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * マスタ（ジャンル・バッジ・アイテム）の参照サービス
+ * マスタのキャッシュにはJPAエンティティではなく不変のスナップショットを格納します
+ * （キャッシュしたエンティティは全リクエストで共有されるため、呼び出し元の変更がキャッシュに残るのを防ぐ）
+ * 関連付けに使う場合は、スナップショットのIDからリポジトリのgetReferenceByIdで参照を取得してください
+ * 管理画面での更新用にはキャッシュを経由せずリポジトリから取得してください
+ */
+@Service
+public class CatalogService {
+
+    /**
+     * ジャンルのスナップショット
+     */
+    public record GenreSnapshot(Long genreId, String name) {
+        static GenreSnapshot of(Genre genre) {
+            return new GenreSnapshot(genre.getGenreId(), genre.getName());
+        }
+    }
+
+    /**
+     * バッジのスナップショット
+     */
+    public record BadgeSnapshot(Long badgeId, String badgeName, String acquisitionCondition,
+                                String imageUrl, Integer mode) {
+        static BadgeSnapshot of(Badge badge) {
+            return new BadgeSnapshot(badge.getId(), badge.getBadgeName(), badge.getAcquisitionCondition(),
+                    badge.getImageUrl(), badge.getMode());
+        }
+    }
+
+    /**
+     * アイテムのスナップショット
+     */
+    public record ItemSnapshot(Integer itemId, String name, String description, Integer healAmount, Integer price) {
+        static ItemSnapshot of(Item item) {
+            return new ItemSnapshot(item.getItemId(), item.getName(), item.getDescription(),
+                    item.getHealAmount(), item.getPrice());
+        }
+    }
+
+    private final GenreRepository genreRepository;
+    private final BadgeRepository badgeRepository;
+    private final ItemRepository itemRepository;
+
+    public CatalogService(GenreRepository genreRepository,
+                          BadgeRepository badgeRepository,
+                          ItemRepository itemRepository) {
+        this.genreRepository = genreRepository;
+        this.badgeRepository = badgeRepository;
+        this.itemRepository = itemRepository;
+    }
+
+    /**
+     * ジャンル名で検索（存在しない結果はキャッシュしない）
+     */
+    @Cacheable(cacheNames = CacheConfig.GENRE_CACHE, key = "'name:' + #p0", unless = "#result == null")
+    public Optional<GenreSnapshot> findGenreByName(String name) {
+        return genreRepository.findByName(name).map(GenreSnapshot::of);
+    }
+
+    /**
+     * ジャンルIDで検索（存在しない結果はキャッシュしない）
+     */
+    @Cacheable(cacheNames = CacheConfig.GENRE_CACHE, key = "'id:' + #p0", unless = "#result == null")
+    public Optional<GenreSnapshot> findGenreById(Long genreId) {
+        return genreRepository.findById(genreId).map(GenreSnapshot::of);
+    }
+
+    /**
+     * バッジ名で検索（存在しない結果はキャッシュしない）
+     */
+    @Cacheable(cacheNames = CacheConfig.BADGE_CACHE, key = "'name:' + #p0", unless = "#result == null")
+    public Optional<BadgeSnapshot> findBadgeByName(String badgeName) {
+        return badgeRepository.findByBadgeName(badgeName).map(BadgeSnapshot::of);
+    }
+
+    /**
+     * 有効かつ削除されていないバッジを全件取得
+     */
+    @Cacheable(cacheNames = CacheConfig.BADGE_CACHE, key = "'active'")
+    public List<BadgeSnapshot> findActiveBadges() {
+        return badgeRepository.findByIsActiveTrueAndIsDeletedFalse().stream().map(BadgeSnapshot::of).toList();
+    }
+
+    /**
+     * 有効かつ削除されていないバッジをモード指定で取得
+     */
+    @Cacheable(cacheNames = CacheConfig.BADGE_CACHE, key = "'mode:' + #p0")
+    public List<BadgeSnapshot> findActiveBadgesByMode(Integer mode) {
+        return badgeRepository.findByModeAndIsActiveTrueAndIsDeletedFalse(mode).stream()
+                .map(BadgeSnapshot::of).toList();
+    }
+
+    /**
+     * 指定ステータスのアイテムを取得（存在しない結果はキャッシュしない）
+     */
+    @Cacheable(cacheNames = CacheConfig.ITEM_CACHE, key = "#p0 + ':' + #p1", unless = "#result == null")
+    public Optional<ItemSnapshot> findItem(Integer itemId, ItemStatus status) {
+        return itemRepository.findByItemIdAndStatus(itemId, status).map(ItemSnapshot::of);
+    }
+}
@@ -0,0 +1,109 @@
+package com.example.api.service;
+
+import com.example.api.repository.RoomRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+
+/**
+ * フレンドの活動状態を一括で判定するサービス
+ * オンライン状態・マッチング待機・ランクマッチ対戦中はメモリ上の状態から判定し、
+ * ルームマッチ参加中のみDBを1回だけ検索します（フレンド数に関わらずクエリは最大1回）
+ */
+@Service
+public class FriendActivityService {
+
+    private final PresenceService presenceService;
+    private final MatchingQueueService matchingQueueService;
+    private final BattleStateService battleStateService;
+    private final RoomRepository roomRepository;
+
+    /**
+     * 活動状態
+     */
+    public enum Activity {
+        OFFLINE("offline"),
+        ROOM_MATCH("room_match"),
+        MATCHING("matching"),
+        IN_BATTLE("in_battle"),
+        ONLINE("online");
+
+        private final String value;
+
+        Activity(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        /** 招待可能な状態かどうか（オンラインで、部屋・マッチング・対戦のいずれにも参加していない） */
+        public boolean isAvailable() {
+            return this == ONLINE;
+        }
+    }
+
+    public FriendActivityService(PresenceService presenceService,
+                                 MatchingQueueService matchingQueueService,
+                                 BattleStateService battleStateService,
+                                 RoomRepository roomRepository) {
+        this.presenceService = presenceService;
+        this.matchingQueueService = matchingQueueService;
+        this.battleStateService = battleStateService;
+        this.roomRepository = roomRepository;
+    }
+
+    /**
+     * 複数ユーザーの活動状態を一括取得
+     * 判定の優先順位: オフライン → ルームマッチ参加中 → マッチング待機中 → ランクマッチ対戦中 → オンライン
+     * @param userIds ユーザーIDリスト
+     * @return ユーザーID → 活動状態
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Activity> getActivities(Collection<Long> userIds) {
+        Map<Long, Activity> activities = new HashMap<>();
+        if (userIds == null || userIds.isEmpty()) {
+            return activities;
+        }
+
+        Set<Long> onlineUserIds = presenceService.getOnlineUserIds(userIds);
+        Set<Long> inRoomUserIds = findUsersInActiveRooms(onlineUserIds);
+
+        for (Long userId : userIds) {
+            Activity activity;
+            if (!onlineUserIds.contains(userId)) {
+                activity = Activity.OFFLINE;
+            } else if (inRoomUserIds.contains(userId)) {
+                activity = Activity.ROOM_MATCH;
+            } else if (matchingQueueService.isInQueue(userId)) {
+                activity = Activity.MATCHING;
+            } else if (battleStateService.isUserInRankBattle(userId)) {
+                activity = Activity.IN_BATTLE;
+            } else {
+                activity = Activity.ONLINE;
+            }
+            activities.put(userId, activity);
+        }
+        return activities;
+    }
+
+    /**
+     * アクティブな部屋（WAITING/READY/PLAYING）に参加中のユーザーを1回の検索で取得
+     */
+    private Set<Long> findUsersInActiveRooms(Set<Long> userIds) {
+        if (userIds.isEmpty()) {
+            return Set.of();
+        }
+        Set<Long> inRoom = new HashSet<>();
+        for (Object[] members : roomRepository.findActiveRoomMembers(userIds)) {
+            for (Object member : members) {
+                if (member != null && userIds.contains((Long) member)) {
+                    inRoom.add((Long) member);
+                }
+            }
+        }
+        return inRoom;
+    }
+}
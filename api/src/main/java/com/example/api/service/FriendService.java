@@ -39,6 +39,9 @@ public class FriendService {
     @Autowired
     private SimpMessagingTemplate messagingTemplate;
 
+    @Autowired
+    private PresenceService presenceService;
+
     /**
      * UUIDでユーザーを検索
      * @param userUuid ユーザーUUID
@@ -271,11 +274,18 @@ public class FriendService {
 
         List<Friend> friends = friendRepository.findFriendsByUser(user);
 
+        // オンライン状態を一括取得
+        Set<Long> onlineUserIds = presenceService.getOnlineUserIds(friends.stream()
+                .map(friend -> otherUser(friend, userId).getId())
+                .collect(Collectors.toList()));
+
         return friends.stream().map(friend -> {
             // 自分以外のユーザーを取得
-            User friendUser = friend.getUserLow().getId().equals(userId)
-                    ? friend.getUserHigh()
-                    : friend.getUserLow();
+            User friendUser = otherUser(friend, userId);
+
+            // privacy=2（非公開）の場合は常にオフライン表示
+            boolean online = onlineUserIds.contains(friendUser.getId())
+                    && friendUser.getPrivacy() != 2;
 
             return new FriendResponse(
                     friend.getId(),
@@ -283,7 +293,8 @@ public class FriendService {
                     friendUser.getUsername(),
                     friendUser.getUserUuid(),
                     friendUser.getImageUrl(),
-                    friend.getAcceptedAt()
+                    friend.getAcceptedAt(),
+                    online
             );
         }).collect(Collectors.toList());
     }
@@ -373,6 +384,15 @@ public class FriendService {
         );
     }
 
+    /**
+     * フレンド関係のうち自分以外のユーザーを取得
+     */
+    private User otherUser(Friend friend, Long userId) {
+        return friend.getUserLow().getId().equals(userId)
+                ? friend.getUserHigh()
+                : friend.getUserLow();
+    }
+
     /**
      * WebSocketでフレンド申請通知を送信
      * @param targetUserId 通知先ユーザーID
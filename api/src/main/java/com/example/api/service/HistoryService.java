@@ -11,15 +11,23 @@ import com.example.api.repository.ResultRepository;
 import com.example.api.repository.UserRepository;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.stream.Collectors;
 
 /**
@@ -32,6 +40,15 @@ public class HistoryService {
     private static final Logger logger = LoggerFactory.getLogger(HistoryService.class);
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm");
 
+    /** 履歴一覧の既定の取得件数 */
+    private static final int DEFAULT_PAGE_SIZE = 20;
+
+    /** 履歴一覧の最大取得件数 */
+    private static final int MAX_PAGE_SIZE = 100;
+
+    /** learned_at移行時の1回あたりの更新件数 */
+    private static final int BACKFILL_BATCH_SIZE = 1000;
+
     @Autowired
     private ResultRepository resultRepository;
 
@@ -47,6 +64,18 @@ public class HistoryService {
     @Autowired
     private ObjectMapper objectMapper;
 
+    @Autowired
+    private MatchDetailService matchDetailService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "learned-at-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
     // ========== 対戦履歴 ==========
 
     /**
@@ -54,12 +83,31 @@ public class HistoryService {
      */
     @Transactional(readOnly = true)
     public List<BattleHistoryItemResponse> getBattleHistory(Long userId) {
-        logger.info("対戦履歴取得: userId={}", userId);
+        return getBattleHistory(userId, null, DEFAULT_PAGE_SIZE);
+    }
 
-        List<Result> results = resultRepository.findByPlayerIdWithUsersOrderByEndedAtDesc(
-                userId, PageRequest.of(0, 20));
+    /**
+     * 対戦履歴一覧を取得（カーソルページング）
+     * サマリー列から表示するため、結果詳細（JSON）は読み込まない
+     * @param userId ユーザーID
+     * @param cursor 前ページ最後の結果ID（nullの場合は先頭ページ）
+     * @param limit 取得件数（1〜100）
+     */
+    @Transactional(readOnly = true)
+    public List<BattleHistoryItemResponse> getBattleHistory(Long userId, Long cursor, int limit) {
+        logger.info("対戦履歴取得: userId={}, cursor={}, limit={}", userId, cursor, limit);
+
+        PageRequest page = PageRequest.of(0, clampPageSize(limit));
+        List<BattleHistoryRow> rows;
+        if (cursor == null) {
+            rows = resultRepository.findHistoryRows(userId, page);
+        } else {
+            LocalDateTime endedAt = resultRepository.findEndedAtForPlayer(cursor, userId)
+                    .orElseThrow(() -> new IllegalArgumentException("不正なカーソルです: " + cursor));
+            rows = resultRepository.findHistoryRowsBefore(userId, endedAt, cursor, page);
+        }
 
-        return results.stream()
+        return rows.stream()
                 .map(this::convertToBattleHistoryItem)
                 .collect(Collectors.toList());
     }
@@ -79,43 +127,39 @@ public class HistoryService {
         return convertToBattleHistoryDetail(result);
     }
 
-    private BattleHistoryItemResponse convertToBattleHistoryItem(Result result) {
-        // スコア計算
-        int[] scores = calculateScores(result);
-
-        // 引き分け判定（resultDetailから取得、またはスコアから判定）
-        boolean isDraw = checkIsDraw(result, scores);
+    private BattleHistoryItemResponse convertToBattleHistoryItem(BattleHistoryRow row) {
+        // スコア・引き分けはサマリー列から取得
+        BattleResultSummary summary = BattleResultSummary.of(
+                row.getPlayerScore(), row.getEnemyScore(), row.getIsDraw(), row.getOutcomeReason());
 
         // レート情報（ランク戦のみ）
         Integer rateChange = null;
         Integer rateAtEnd = null;
-        if (result.getMatchType() == Result.MatchType.rank) {
-            rateChange = result.getUpdownRate();
-            rateAtEnd = result.getRateAfterMatch();
+        if (row.getMatchType() == Result.MatchType.rank) {
+            rateChange = row.getUpdownRate();
+            rateAtEnd = row.getRateAfterMatch();
         }
 
         return BattleHistoryItemResponse.builder()
-                .resultId(result.getId())
-                .enemyName(result.getEnemy().getUsername())
-                .enemyId(result.getEnemy().getId().intValue())
-                .playerScore(scores[0])
-                .enemyScore(scores[1])
-                .isWin(!isDraw && result.getResult())
-                .isDraw(isDraw)
-                .matchType(result.getMatchType() == Result.MatchType.rank ? "ランク" : "ルーム")
-                .endedAt(result.getEndedAt().format(DATE_FORMATTER))
+                .resultId(row.getResultId())
+                .enemyName(row.getEnemyName())
+                .enemyId(row.getEnemyId().intValue())
+                .playerScore(summary.playerScore())
+                .enemyScore(summary.enemyScore())
+                .isWin(!summary.draw() && row.getResult())
+                .isDraw(summary.draw())
+                .matchType(row.getMatchType() == Result.MatchType.rank ? "ランク" : "ルーム")
+                .endedAt(row.getEndedAt().format(DATE_FORMATTER))
                 .rateAfterMatch(rateChange)
                 .rateAtEnd(rateAtEnd)
-                .outcomeReason(result.getOutcomeReason() != null ? result.getOutcomeReason().name() : "normal")
+                .outcomeReason(row.getOutcomeReason() != null ? row.getOutcomeReason().name() : "normal")
                 .build();
     }
 
     private BattleHistoryDetailResponse convertToBattleHistoryDetail(Result result) {
-        // スコア計算
-        int[] scores = calculateScores(result);
-
-        // 引き分け判定（resultDetailから取得、またはスコアから判定）
-        boolean isDraw = checkIsDraw(result, scores);
+        // スコア・引き分け（サマリー列が未記録の場合はresultDetailから計算）
+        BattleResultSummary summary = BattleResultSummary.of(result);
+        boolean isDraw = summary.draw();
 
         // レート情報（ランク戦のみ）
         Integer rateChange = null;
@@ -132,8 +176,8 @@ public class HistoryService {
                 .resultId(result.getId())
                 .enemyName(result.getEnemy().getUsername())
                 .enemyId(result.getEnemy().getId().intValue())
-                .playerScore(scores[0])
-                .enemyScore(scores[1])
+                .playerScore(summary.playerScore())
+                .enemyScore(summary.enemyScore())
                 .isWin(!isDraw && result.getResult())
                 .isDraw(isDraw)
                 .matchType(result.getMatchType() == Result.MatchType.rank ? "ランク" : "ルーム")
@@ -146,95 +190,22 @@ public class HistoryService {
                 .build();
     }
 
-    private int[] calculateScores(Result result) {
-        int playerScore = 0;
-        int enemyScore = 0;
-
-        Map<String, Object> resultDetail = result.getResultDetail();
-        if (resultDetail != null) {
-            try {
-                // myWins/opponentWinsから直接スコアを取得（降参・切断時も正しく表示）
-                if (resultDetail.containsKey("myWins") && resultDetail.containsKey("opponentWins")) {
-                    playerScore = resultDetail.get("myWins") != null
-                        ? ((Number) resultDetail.get("myWins")).intValue() : 0;
-                    enemyScore = resultDetail.get("opponentWins") != null
-                        ? ((Number) resultDetail.get("opponentWins")).intValue() : 0;
-                } else if (resultDetail.containsKey("rounds")) {
-                    // 旧データ互換: roundsからカウント
-                    @SuppressWarnings("unchecked")
-                    List<Map<String, Object>> rounds = (List<Map<String, Object>>) resultDetail.get("rounds");
-                    Long playerId = result.getPlayer().getId();
-
-                    for (Map<String, Object> round : rounds) {
-                        Object winnerIdObj = round.get("winnerId");
-                        if (winnerIdObj != null) {
-                            Long winnerId = winnerIdObj instanceof Number
-                                ? ((Number) winnerIdObj).longValue()
-                                : Long.parseLong(winnerIdObj.toString());
-                            if (winnerId.equals(playerId)) {
-                                playerScore++;
-                            } else if (winnerId > 0) {
-                                enemyScore++;
-                            }
-                        }
-                    }
-                }
-            } catch (Exception e) {
-                logger.warn("スコア計算エラー: {}", e.getMessage());
-            }
-        }
-
-        return new int[]{playerScore, enemyScore};
-    }
-
-    /**
-     * 引き分けかどうかを判定
-     * resultDetailのisDrawフラグ、またはスコアが同点かどうかで判定
-     */
-    private boolean checkIsDraw(Result result, int[] scores) {
-        Map<String, Object> resultDetail = result.getResultDetail();
-        if (resultDetail != null && resultDetail.containsKey("isDraw")) {
-            return Boolean.TRUE.equals(resultDetail.get("isDraw"));
-        }
-        // フォールバック: スコアが同点で、降参・切断でない場合は引き分け
-        if (scores[0] == scores[1] &&
-            result.getOutcomeReason() != Result.OutcomeReason.surrender &&
-            result.getOutcomeReason() != Result.OutcomeReason.disconnect) {
-            return true;
-        }
-        return false;
-    }
-
     private List<BattleHistoryDetailResponse.RoundDetail> extractRoundDetails(Result result, Result.OutcomeReason outcomeReason) {
         List<BattleHistoryDetailResponse.RoundDetail> rounds = new ArrayList<>();
 
-        Map<String, Object> resultDetail = result.getResultDetail();
-        Map<String, Object> useQuestion = result.getUseQuestion();
-
         // 降参・切断の場合は全問題を表示
         boolean isSurrenderOrDisconnect = outcomeReason == Result.OutcomeReason.surrender ||
                                            outcomeReason == Result.OutcomeReason.disconnect;
 
-        // 問題リストを取得
-        List<Map<String, Object>> questions = new ArrayList<>();
-        if (useQuestion != null && useQuestion.containsKey("questions")) {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> qs = (List<Map<String, Object>>) useQuestion.get("questions");
-            questions = qs;
-        }
-
-        // ラウンドデータを取得
-        List<Map<String, Object>> roundsData = new ArrayList<>();
-        if (resultDetail != null && resultDetail.containsKey("rounds")) {
-            @SuppressWarnings("unchecked")
-            List<Map<String, Object>> rds = (List<Map<String, Object>>) resultDetail.get("rounds");
-            roundsData = rds;
-        }
-
         Long playerId = result.getPlayer().getId();
         Long enemyId = result.getEnemy().getId();
 
         try {
+            // 問題リスト・ラウンドデータを取得（match_detail、または旧形式のJSON列）
+            MatchDetailService.Detail detail = matchDetailService.load(result);
+            List<MatchDetailService.QuestionEntry> questions = detail.questions();
+            List<MatchDetailService.RoundEntry> roundsData = detail.rounds();
+
             // 降参・切断の場合は全問題を、通常の場合はプレイされたラウンドのみを表示
             int totalRounds = isSurrenderOrDisconnect ? questions.size() : roundsData.size();
 
@@ -246,21 +217,19 @@ public class HistoryService {
                 String correctAnswer = "";
 
                 if (i < questions.size()) {
-                    Map<String, Object> q = questions.get(i);
-                    questionId = q.get("questionId") != null
-                        ? ((Number) q.get("questionId")).intValue()
-                        : null;
-                    questionText = (String) q.getOrDefault("text", "");
-                    questionFormat = (String) q.getOrDefault("questionFormat", "");
+                    MatchDetailService.QuestionEntry q = questions.get(i);
+                    questionId = q.questionId();
+                    questionText = q.text();
+                    questionFormat = q.questionFormat();
                     // リスニング問題はcompleteSentenceを正解として使用
                     if ("LISTENING".equalsIgnoreCase(questionFormat)) {
-                        correctAnswer = (String) q.getOrDefault("completeSentence", "");
+                        correctAnswer = q.completeSentence() != null ? q.completeSentence() : "";
                         if (correctAnswer.isEmpty()) {
                             // フォールバック: completeSentenceがない場合はanswerを使用
-                            correctAnswer = (String) q.getOrDefault("answer", "");
+                            correctAnswer = q.answer();
                         }
                     } else {
-                        correctAnswer = (String) q.getOrDefault("answer", "");
+                        correctAnswer = q.answer();
                     }
                 }
 
@@ -275,59 +244,23 @@ public class HistoryService {
                 String status = "played";
 
                 if (roundWasPlayed) {
-                    Map<String, Object> roundData = roundsData.get(i);
+                    MatchDetailService.RoundEntry roundData = roundsData.get(i);
 
                     // 回答情報を取得
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> answers = (Map<String, Object>) roundData.getOrDefault("answers", new HashMap<>());
-
-                    // playerInfoからも回答を取得（新フォーマット対応）
-                    @SuppressWarnings("unchecked")
-                    Map<String, Object> playerInfo = (Map<String, Object>) roundData.getOrDefault("playerInfo", new HashMap<>());
-
-                    // answersから回答を取得
-                    for (Map.Entry<String, Object> entry : answers.entrySet()) {
-                        String odString = entry.getKey();
-                        Long odId = Long.parseLong(odString);
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> answerData = (Map<String, Object>) entry.getValue();
-
-                        String answer = (String) answerData.getOrDefault("answer", "");
-                        boolean isCorrect = Boolean.TRUE.equals(answerData.get("isCorrect"));
-
-                        if (odId.equals(playerId)) {
-                            playerAnswer = answer;
-                            isPlayerCorrect = isCorrect;
-                        } else if (odId.equals(enemyId)) {
-                            enemyAnswer = answer;
-                            isEnemyCorrect = isCorrect;
-                        }
+                    MatchDetailService.AnswerEntry playerEntry = roundData.answerOf(playerId);
+                    if (playerEntry != null) {
+                        playerAnswer = playerEntry.answer() != null ? playerEntry.answer() : "";
+                        isPlayerCorrect = playerEntry.correct();
                     }
-
-                    // playerInfoから回答を取得（フォールバック）
-                    if (playerAnswer.isEmpty() && !playerInfo.isEmpty()) {
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> p1Info = (Map<String, Object>) playerInfo.get(playerId.toString());
-                        if (p1Info != null) {
-                            Object ans = p1Info.get("answer");
-                            playerAnswer = ans != null ? ans.toString() : "";
-                            isPlayerCorrect = Boolean.TRUE.equals(p1Info.get("isCorrect"));
-                        }
-                        @SuppressWarnings("unchecked")
-                        Map<String, Object> p2Info = (Map<String, Object>) playerInfo.get(enemyId.toString());
-                        if (p2Info != null) {
-                            Object ans = p2Info.get("answer");
-                            enemyAnswer = ans != null ? ans.toString() : "";
-                            isEnemyCorrect = Boolean.TRUE.equals(p2Info.get("isCorrect"));
-                        }
+                    MatchDetailService.AnswerEntry enemyEntry = roundData.answerOf(enemyId);
+                    if (enemyEntry != null) {
+                        enemyAnswer = enemyEntry.answer() != null ? enemyEntry.answer() : "";
+                        isEnemyCorrect = enemyEntry.correct();
                     }
 
                     // 勝者判定
-                    Object winnerIdObj = roundData.get("winnerId");
-                    if (winnerIdObj != null) {
-                        Long winnerId = winnerIdObj instanceof Number
-                            ? ((Number) winnerIdObj).longValue()
-                            : Long.parseLong(winnerIdObj.toString());
+                    Long winnerId = roundData.winnerId();
+                    if (winnerId != null) {
                         if (winnerId.equals(playerId)) {
                             roundWinner = "player";
                         } else if (winnerId.equals(enemyId)) {
@@ -370,15 +303,83 @@ public class HistoryService {
      */
     @Transactional(readOnly = true)
     public List<LearningHistoryItemResponse> getLearningHistory(Long userId) {
-        logger.info("学習履歴取得: userId={}", userId);
+        return getLearningHistory(userId, null, DEFAULT_PAGE_SIZE);
+    }
 
-        List<LHistory> histories = lHistoryRepository.findTop20ByUserIdOrderByLearningAtDesc(userId);
+    /**
+     * 学習履歴一覧を取得（カーソルページング）
+     * @param userId ユーザーID
+     * @param cursor 前ページ最後の履歴ID（nullの場合は先頭ページ）
+     * @param limit 取得件数（1〜100）
+     */
+    @Transactional(readOnly = true)
+    public List<LearningHistoryItemResponse> getLearningHistory(Long userId, Long cursor, int limit) {
+        logger.info("学習履歴取得: userId={}, cursor={}, limit={}", userId, cursor, limit);
+
+        PageRequest page = PageRequest.of(0, clampPageSize(limit));
+        List<LHistory> histories;
+        if (cursor == null) {
+            histories = lHistoryRepository.findRecentByUserId(userId, page);
+        } else {
+            LHistory last = lHistoryRepository.findById(cursor)
+                    .filter(h -> userId.equals(h.getUser_id()))
+                    .orElseThrow(() -> new IllegalArgumentException("不正なカーソルです: " + cursor));
+            histories = last.getLearned_at() != null
+                    ? lHistoryRepository.findRecentByUserIdBefore(
+                            userId, last.getLearned_at(), last.getL_history_id(), page)
+                    // 移行前の行は学習日時で比較できないため、履歴IDの順で続きを取得
+                    : lHistoryRepository.findRecentWithoutLearnedAtBefore(userId, last.getL_history_id(), page);
+        }
 
         return histories.stream()
                 .map(this::convertToLearningHistoryItem)
                 .collect(Collectors.toList());
     }
 
+    /**
+     * 起動完了後にバックグラウンドで学習日時を移行
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillLearnedAtOnStartup() {
+        backfillExecutor.execute(() -> {
+            try {
+                backfillLearnedAt();
+            } catch (Exception e) {
+                logger.error("学習履歴の学習日時の移行に失敗", e);
+            }
+        });
+    }
+
+    /**
+     * 既存の学習履歴のlearned_atをlearning_atから移行
+     * 1トランザクションあたりの更新件数を制限し、ロック時間を短く保つ
+     * @return 移行した件数
+     */
+    public int backfillLearnedAt() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        long start = System.currentTimeMillis();
+        int total = 0;
+        int updated;
+        do {
+            updated = transactionTemplate.execute(status -> lHistoryRepository.backfillLearnedAt(BACKFILL_BATCH_SIZE));
+            total += updated;
+        } while (updated == BACKFILL_BATCH_SIZE && !Thread.currentThread().isInterrupted());
+
+        if (total > 0) {
+            logger.info("学習履歴の学習日時を移行: updated={}, elapsedMs={}", total, System.currentTimeMillis() - start);
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+
+    private int clampPageSize(int limit) {
+        return Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
     /**
      * 学習履歴詳細を取得
      */
@@ -447,11 +448,15 @@ public class HistoryService {
                     new TypeReference<List<Integer>>() {}
                 );
 
-                // 問題情報を一括取得
-                Map<Integer, Question> questionMap = new HashMap<>();
-                for (Integer qId : questionIds) {
-                    questionRepository.findById(qId).ifPresent(q -> questionMap.put(qId, q));
+                // 問題情報を一括取得（問題数に関わらずクエリ1回）
+                Set<Integer> idsToLoad = new HashSet<>(questionIds);
+                for (Map<String, Object> answer : answers) {
+                    if (answer.get("questionId") != null) {
+                        idsToLoad.add(((Number) answer.get("questionId")).intValue());
+                    }
                 }
+                Map<Integer, Question> questionMap = questionRepository.findAllById(idsToLoad).stream()
+                        .collect(Collectors.toMap(Question::getQuestionId, q -> q));
 
                 for (Map<String, Object> answer : answers) {
                     Integer questionId = answer.get("questionId") != null
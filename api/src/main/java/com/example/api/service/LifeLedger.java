@@ -0,0 +1,153 @@
+package com.example.api.service;
+
+import com.example.api.entity.User;
+import com.example.api.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * ライフ台帳（メモリキャッシュ）
+ * DBに保存されたライフ値・回復基準時刻をユーザー単位でシャードに保持します
+ * 現在のライフは保存値から都度計算するため、参照時にDBへの書き込みは発生しません
+ * DBへの反映は消費時の条件付きUPDATEのみで、反映後に台帳を更新します
+ */
+@Service
+public class LifeLedger {
+
+    private static final Logger logger = LoggerFactory.getLogger(LifeLedger.class);
+
+    /** シャード数（2のべき乗） */
+    private static final int SHARD_COUNT = 16;
+
+    /** 最終参照からこの時間が経過したエントリを破棄（ミリ秒） */
+    private static final long IDLE_TIMEOUT_MS = 10 * 60_000L;
+
+    /** 読み込みからこの時間が経過したエントリは再読み込み（他経路の更新の取りこぼし対策、ミリ秒） */
+    private static final long MAX_AGE_MS = 5 * 60_000L;
+
+    private final UserRepository userRepository;
+
+    @SuppressWarnings("unchecked")
+    private final ConcurrentHashMap<Long, Entry>[] shards = new ConcurrentHashMap[SHARD_COUNT];
+
+    /**
+     * DBに保存されているライフ状態
+     * @param life 保存されているライフ値（回復計算前）
+     * @param lastRecoveredAt 回復基準時刻（未設定の場合null）
+     * @param premium サブスク特典の対象かどうか
+     */
+    public record LifeState(int life, LocalDateTime lastRecoveredAt, boolean premium) {
+    }
+
+    private static final class Entry {
+        private final LifeState state;
+        private final long loadedAtMillis;
+        private volatile long lastAccessMillis;
+
+        private Entry(LifeState state, long now) {
+            this.state = state;
+            this.loadedAtMillis = now;
+            this.lastAccessMillis = now;
+        }
+    }
+
+    public LifeLedger(UserRepository userRepository) {
+        this.userRepository = userRepository;
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new ConcurrentHashMap<>();
+        }
+    }
+
+    /**
+     * ライフ状態を取得（未キャッシュの場合はDBから読み込む）
+     * @param userId ユーザーID
+     * @return 保存されているライフ状態
+     */
+    public LifeState get(Long userId) {
+        ConcurrentHashMap<Long, Entry> shard = shardFor(userId);
+        long now = System.currentTimeMillis();
+        Entry entry = shard.get(userId);
+        if (entry != null && now - entry.loadedAtMillis <= MAX_AGE_MS) {
+            entry.lastAccessMillis = now;
+            return entry.state;
+        }
+        return load(userId);
+    }
+
+    /**
+     * DBから読み込み直して台帳を更新
+     * @param userId ユーザーID
+     * @return 保存されているライフ状態
+     */
+    public LifeState load(Long userId) {
+        User user = userRepository.findById(userId)
+                .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + userId));
+        LifeState state = new LifeState(user.getLife(), user.getLifeLastRecoveredAt(), user.getSubscribeFlag() == 1);
+        shardFor(userId).put(userId, new Entry(state, System.currentTimeMillis()));
+        return state;
+    }
+
+    /**
+     * DBへ反映した状態で台帳を更新
+     * トランザクション内の場合はコミット後に反映する（ロールバック時は台帳を変更しない）
+     * @param userId ユーザーID
+     * @param state 反映後のライフ状態
+     */
+    public void update(Long userId, LifeState state) {
+        afterCommit(() -> shardFor(userId).put(userId, new Entry(state, System.currentTimeMillis())));
+    }
+
+    /**
+     * 台帳から破棄（ライフやサブスク状態を別経路で更新した場合）
+     * トランザクション内の場合はコミット後にも再度破棄する
+     * @param userId ユーザーID
+     */
+    public void evict(Long userId) {
+        shardFor(userId).remove(userId);
+        afterCommit(() -> shardFor(userId).remove(userId));
+    }
+
+    /**
+     * 一定時間参照されていないエントリを破棄
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void evictIdle() {
+        long now = System.currentTimeMillis();
+        int removed = 0;
+        for (ConcurrentHashMap<Long, Entry> shard : shards) {
+            for (var it = shard.values().iterator(); it.hasNext(); ) {
+                if (now - it.next().lastAccessMillis > IDLE_TIMEOUT_MS) {
+                    it.remove();
+                    removed++;
+                }
+            }
+        }
+        if (removed > 0) {
+            logger.debug("ライフ台帳の未使用エントリを破棄: count={}", removed);
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private ConcurrentHashMap<Long, Entry> shardFor(Long userId) {
+        return shards[Long.hashCode(userId) & (SHARD_COUNT - 1)];
+    }
+}
@@ -3,11 +3,9 @@ package com.example.api.service;
 import com.example.api.dto.LifeStatusResponse;
 import com.example.api.dto.RecoveryItemResponse;
 import com.example.api.dto.UseItemResponse;
-import com.example.api.entity.Item;
 import com.example.api.entity.ItemStatus;
 import com.example.api.entity.User;
 import com.example.api.entity.UserItem;
-import com.example.api.repository.ItemRepository;
 import com.example.api.repository.UserItemRepository;
 import com.example.api.repository.UserRepository;
 import org.slf4j.Logger;
@@ -18,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.Duration;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 /**
  * ライフ（スタミナ）サービス
@@ -41,11 +40,14 @@ public class LifeService {
     private UserRepository userRepository;
 
     @Autowired
-    private ItemRepository itemRepository;
+    private CatalogService catalogService;
 
     @Autowired
     private UserItemRepository userItemRepository;
 
+    @Autowired
+    private LifeLedger lifeLedger;
+
     /** 回復アイテムのID（固定） */
     private static final int RECOVERY_ITEM_ID = 1;
 
@@ -72,34 +74,22 @@ public class LifeService {
      */
     public int getMaxLife(User user) {
         // [修正] subscribeFlagが1なら特典適用 (解約済みでも期限内なら1なのでOK)
-        return (user.getSubscribeFlag() == 1) ? MAX_LIFE_SUBSCRIBER : MAX_LIFE_NORMAL;
+        return getMaxLife(user.getSubscribeFlag() == 1);
+    }
+
+    private int getMaxLife(boolean premium) {
+        return premium ? MAX_LIFE_SUBSCRIBER : MAX_LIFE_NORMAL;
     }
 
     /**
      * ライフ状態を取得（回復計算込み）
+     * 台帳の保存値から計算するのみで、DBへの書き込みは行わない
      * @param userId ユーザーID
      * @return ライフ状態レスポンス
      */
-    @Transactional
     public LifeStatusResponse getLifeStatus(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + userId));
-
-        // 回復計算を実行
-        applyRecovery(user);
-
-        int maxLife = getMaxLife(user);
-        long nextRecoveryInSeconds = calculateNextRecoveryInSeconds(user, maxLife);
-
-        // [修正] プレミアム判定
-        boolean isPremium = (user.getSubscribeFlag() == 1);
-
-        return new LifeStatusResponse(
-                user.getLife(),
-                maxLife,
-                nextRecoveryInSeconds,
-                isPremium
-        );
+        LifeLedger.LifeState state = lifeLedger.get(userId);
+        return toResponse(recovered(state, now()));
     }
 
     /**
@@ -109,76 +99,48 @@ public class LifeService {
      */
     @Transactional
     public boolean consumeLife(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + userId));
-
-        // まず回復計算を実行
-        applyRecovery(user);
+        ConsumeResult result = consumeWithRetry(userId, now());
 
-        // 回復後のライフをDBに反映
-        userRepository.save(user);
-
-        // ライフが0の場合は消費不可
-        if (user.getLife() <= 0) {
-            logger.info("ライフ不足: userId={}, life={}", userId, user.getLife());
+        if (result == ConsumeResult.INSUFFICIENT) {
+            logger.info("ライフ不足: userId={}", userId);
             return false;
         }
-
-        // 原子的にライフを消費
-        int updatedRows = userRepository.consumeLife(userId, user.getLifeLastRecoveredAt());
-
-        if (updatedRows == 0) {
+        if (result == ConsumeResult.CONFLICT) {
             // 同時実行により消費できなかった場合
             logger.warn("ライフ消費失敗（同時実行）: userId={}", userId);
             return false;
         }
 
-        logger.info("ライフ消費成功: userId={}, 残りlife={}", userId, user.getLife() - 1);
+        logger.info("ライフ消費成功: userId={}", userId);
         return true;
     }
 
     /**
      * マッチ成立時に2人分のライフを同時に消費
+     * どちらかが消費できない場合は例外を送出し、両者の消費をロールバックする
      * @param user1Id プレイヤー1のID
      * @param user2Id プレイヤー2のID
      */
     @Transactional
     public void consumeLifeForMatch(Long user1Id, Long user2Id) {
-        User user1 = userRepository.findById(user1Id)
-                .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + user1Id));
-        User user2 = userRepository.findById(user2Id)
-                .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + user2Id));
-
-        applyRecovery(user1);
-        applyRecovery(user2);
-
-        userRepository.save(user1);
-        userRepository.save(user2);
-
+        LocalDateTime now = now();
         java.util.Set<Long> insufficientUserIds = new java.util.HashSet<>();
-        if (user1.getLife() <= 0) {
-            insufficientUserIds.add(user1Id);
-        }
-        if (user2.getLife() <= 0) {
-            insufficientUserIds.add(user2Id);
-        }
+        boolean conflict = false;
 
-        if (!insufficientUserIds.isEmpty()) {
-            logger.info("ライフ不足によりマッチ消費失敗: userIds={}", insufficientUserIds);
-            throw new LifeConsumeException(insufficientUserIds);
+        for (Long userId : java.util.List.of(user1Id, user2Id)) {
+            ConsumeResult result = consumeWithRetry(userId, now);
+            if (result != ConsumeResult.CONSUMED) {
+                insufficientUserIds.add(userId);
+                conflict |= result == ConsumeResult.CONFLICT;
+            }
         }
 
-        int updatedRowsUser1 = userRepository.consumeLife(user1Id, user1.getLifeLastRecoveredAt());
-        int updatedRowsUser2 = userRepository.consumeLife(user2Id, user2.getLifeLastRecoveredAt());
-
-        if (updatedRowsUser1 == 0 || updatedRowsUser2 == 0) {
-            if (updatedRowsUser1 == 0) {
-                insufficientUserIds.add(user1Id);
-            }
-            if (updatedRowsUser2 == 0) {
-                insufficientUserIds.add(user2Id);
+        if (!insufficientUserIds.isEmpty()) {
+            if (conflict) {
+                logger.warn("ライフ消費失敗（同時実行）: userIds={}", insufficientUserIds);
+            } else {
+                logger.info("ライフ不足によりマッチ消費失敗: userIds={}", insufficientUserIds);
             }
-            logger.warn("ライフ消費失敗（同時実行）: userIds={}", insufficientUserIds);
             throw new LifeConsumeException(insufficientUserIds);
         }
 
@@ -190,80 +152,125 @@ public class LifeService {
      * @param userId ユーザーID
      * @return ライフ状態レスポンス
      */
-    @Transactional(readOnly = true)
     public LifeStatusResponse getLifeStatusAfterConsume(Long userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + userId));
-
-        int maxLife = getMaxLife(user);
-        long nextRecoveryInSeconds = calculateNextRecoveryInSeconds(user, maxLife);
+        return getLifeStatus(userId);
+    }
 
-        // [修正] プレミアム判定
-        boolean isPremium = (user.getSubscribeFlag() == 1);
+    /**
+     * 消費結果
+     */
+    private enum ConsumeResult {
+        CONSUMED,
+        INSUFFICIENT,
+        /** DBの値が台帳と異なっていた */
+        CONFLICT
+    }
 
-        return new LifeStatusResponse(
-                user.getLife(),
-                maxLife,
-                nextRecoveryInSeconds,
-                isPremium
-        );
+    /**
+     * ライフを1消費（台帳の値が古かった場合はDBから読み直して1回だけ再試行）
+     */
+    private ConsumeResult consumeWithRetry(Long userId, LocalDateTime now) {
+        ConsumeResult result = tryConsume(userId, lifeLedger.get(userId), now);
+        if (result == ConsumeResult.CONFLICT) {
+            result = tryConsume(userId, lifeLedger.load(userId), now);
+        }
+        return result;
     }
 
     /**
-     * 回復計算を適用（Lazy回復）
-     * @param user ユーザー
+     * 保存値からの回復計算と消費を1回の条件付きUPDATEで反映
+     * @param stored 台帳の保存値（条件として使用）
      */
-    private void applyRecovery(User user) {
-        LocalDateTime now = LocalDateTime.now();
-        LocalDateTime lastRecoveredAt = user.getLifeLastRecoveredAt();
+    private ConsumeResult tryConsume(Long userId, LifeLedger.LifeState stored, LocalDateTime now) {
+        LifeLedger.LifeState current = recovered(stored, now);
+        if (current.life() <= 0) {
+            return ConsumeResult.INSUFFICIENT;
+        }
 
-        // 初回アクセス時（NULLの場合）は現在時刻をセット
-        if (lastRecoveredAt == null) {
-            user.setLifeLastRecoveredAt(now);
-            logger.info("初回ライフ回復時刻設定: userId={}", user.getId());
-            return;
+        LifeLedger.LifeState consumed =
+                new LifeLedger.LifeState(current.life() - 1, current.lastRecoveredAt(), current.premium());
+        int updatedRows = userRepository.consumeLife(userId,
+                stored.life(), stored.lastRecoveredAt(),
+                consumed.life(), consumed.lastRecoveredAt());
+        if (updatedRows == 0) {
+            return ConsumeResult.CONFLICT;
         }
 
-        int maxLife = getMaxLife(user);
+        lifeLedger.update(userId, consumed);
+        return ConsumeResult.CONSUMED;
+    }
 
-        // 既に上限の場合は回復不要
-        if (user.getLife() >= maxLife) {
-            // 上限の場合は回復時刻を現在に更新
-            user.setLifeLastRecoveredAt(now);
-            return;
+    /**
+     * 回復計算を適用した状態を返す（Lazy回復、DBには書き込まない）
+     * @param state 保存されているライフ状態
+     * @param now 現在時刻
+     * @return 回復後のライフ状態
+     */
+    private LifeLedger.LifeState recovered(LifeLedger.LifeState state, LocalDateTime now) {
+        LocalDateTime lastRecoveredAt = state.lastRecoveredAt();
+
+        // 初回（NULLの場合）または既に上限の場合は回復基準時刻を現在とする
+        if (lastRecoveredAt == null || state.life() >= getMaxLife(state.premium())) {
+            return new LifeLedger.LifeState(state.life(), now, state.premium());
         }
 
         // 経過時間から回復数を計算
         long elapsedSeconds = Duration.between(lastRecoveredAt, now).getSeconds();
         int recoveryCount = (int) (elapsedSeconds / RECOVERY_INTERVAL_SECONDS);
+        if (recoveryCount <= 0) {
+            return state;
+        }
 
-        if (recoveryCount > 0) {
-            int newLife = Math.min(user.getLife() + recoveryCount, maxLife);
-            int actualRecovery = newLife - user.getLife();
+        int newLife = Math.min(state.life() + recoveryCount, getMaxLife(state.premium()));
+        int actualRecovery = newLife - state.life();
 
-            // 回復時刻を更新（実際に回復した分だけ進める）
-            LocalDateTime newRecoveredAt = lastRecoveredAt.plusSeconds(actualRecovery * RECOVERY_INTERVAL_SECONDS);
+        // 回復時刻を更新（実際に回復した分だけ進める）
+        return new LifeLedger.LifeState(newLife,
+                lastRecoveredAt.plusSeconds(actualRecovery * RECOVERY_INTERVAL_SECONDS), state.premium());
+    }
 
-            user.setLife(newLife);
-            user.setLifeLastRecoveredAt(newRecoveredAt);
+    private LifeStatusResponse toResponse(LifeLedger.LifeState state) {
+        int maxLife = getMaxLife(state.premium());
+        return new LifeStatusResponse(
+                state.life(),
+                maxLife,
+                calculateNextRecoveryInSeconds(state.life(), state.lastRecoveredAt(), maxLife),
+                state.premium()
+        );
+    }
 
-            logger.info("ライフ回復: userId={}, 回復数={}, 新life={}", user.getId(), actualRecovery, newLife);
-        }
+    /**
+     * 現在時刻（DBの回復基準時刻と比較できるよう秒単位に丸める）
+     */
+    private LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
     }
 
     /**
-     * 次回回復までの残り秒数を計算
+     * 回復計算を適用（Lazy回復）
      * @param user ユーザー
+     */
+    private void applyRecovery(User user) {
+        LifeLedger.LifeState state = recovered(
+                new LifeLedger.LifeState(user.getLife(), user.getLifeLastRecoveredAt(), user.getSubscribeFlag() == 1),
+                now());
+        user.setLife(state.life());
+        user.setLifeLastRecoveredAt(state.lastRecoveredAt());
+    }
+
+    /**
+     * 次回回復までの残り秒数を計算
+     * @param life 現在のライフ
+     * @param lastRecoveredAt 回復基準時刻
      * @param maxLife ライフ上限
      * @return 残り秒数（上限の場合は0）
      */
-    private long calculateNextRecoveryInSeconds(User user, int maxLife) {
+    private long calculateNextRecoveryInSeconds(int life, LocalDateTime lastRecoveredAt, int maxLife) {
         // 上限に達している場合は0
-        if (user.getLife() >= maxLife) {
+        if (life >= maxLife) {
             return 0;
         }
 
-        LocalDateTime lastRecoveredAt = user.getLifeLastRecoveredAt();
         if (lastRecoveredAt == null) {
             return RECOVERY_INTERVAL_SECONDS;
         }
@@ -292,6 +299,7 @@ public class LifeService {
                     userId, user.getLife(), maxLife);
             user.setLife(maxLife);
             userRepository.save(user);
+            lifeLedger.evict(userId);
         }
     }
 
@@ -307,7 +315,7 @@ public class LifeService {
                 .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + userId));
 
         // 回復アイテム（itemId=1）を取得
-        Item item = itemRepository.findByItemIdAndStatus(RECOVERY_ITEM_ID, ItemStatus.ACTIVE)
+        CatalogService.ItemSnapshot item = catalogService.findItem(RECOVERY_ITEM_ID, ItemStatus.ACTIVE)
                 .orElseThrow(() -> new IllegalArgumentException("回復アイテムが見つかりません"));
 
         // ユーザーの所持数を取得
@@ -318,10 +326,10 @@ public class LifeService {
         logger.info("回復アイテム情報取得: userId={}, itemId={}, quantity={}", userId, RECOVERY_ITEM_ID, quantity);
 
         return new RecoveryItemResponse(
-                item.getItemId(),
-                item.getName(),
-                item.getDescription(),
-                item.getHealAmount(),
+                item.itemId(),
+                item.name(),
+                item.description(),
+                item.healAmount(),
                 quantity
         );
     }
@@ -338,9 +346,10 @@ public class LifeService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("ユーザーが見つかりません: " + userId));
 
-        // 回復計算を適用
+        // 回復計算を適用（エンティティ経由で更新するため台帳は破棄する）
         applyRecovery(user);
         userRepository.save(user);
+        lifeLedger.evict(userId);
 
         // ライフが0でない場合はエラー
         if (user.getLife() > 0) {
@@ -349,7 +358,7 @@ public class LifeService {
         }
 
         // アイテム取得
-        Item item = itemRepository.findByItemIdAndStatus(itemId, ItemStatus.ACTIVE)
+        CatalogService.ItemSnapshot item = catalogService.findItem(itemId, ItemStatus.ACTIVE)
                 .orElseThrow(() -> new IllegalArgumentException("アイテムが見つかりません: " + itemId));
 
         // ユーザーの所持数を確認
@@ -367,13 +376,13 @@ public class LifeService {
 
         // ライフ回復（上限を超えない）
         int maxLife = getMaxLife(user);
-        int newLife = Math.min(user.getLife() + item.getHealAmount(), maxLife);
+        int newLife = Math.min(user.getLife() + item.healAmount(), maxLife);
         user.setLife(newLife);
         user.setLifeLastRecoveredAt(LocalDateTime.now());
         userRepository.save(user);
 
         logger.info("ライフ回復アイテム使用成功: userId={}, itemId={}, healAmount={}, newLife={}, remainingQuantity={}",
-                userId, itemId, item.getHealAmount(), newLife, userItem.getQuantity());
+                userId, itemId, item.healAmount(), newLife, userItem.getQuantity());
 
         return new UseItemResponse(true, "ライフを回復しました", newLife, userItem.getQuantity());
     }
@@ -0,0 +1,435 @@
+package com.example.api.service;
+
+import com.example.api.entity.MailOutbox;
+import com.example.api.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * メール送信キューサービス（アウトボックス）
+ * 送信内容はリクエストのトランザクション内でmail_outboxテーブルに登録し、
+ * ワーカーがバックグラウンドでSMTP送信します（リクエストスレッドはSMTPの応答を待ちません）
+ * 送信に失敗したメールは指数バックオフで再試行し、上限回数に達したものはFAILEDとして残します
+ * 送信期限付きのメール（認証コード等）は期限を過ぎて再試行せず、期限切れ後に削除します
+ * 送信済み・打ち切り済みのメールも保持期間の経過後に削除します（本文に認証コードを含むため）
+ * 件数はMicrometerに登録します（mail.outbox.queue: 状態別の件数、mail.outbox.deliveries: 送信結果別の件数、
+ * mail.outbox.purged: 削除理由別の件数）
+ */
+@Service
+public class MailOutboxService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MailOutboxService.class);
+
+    /** 再試行の初回待機時間（秒） */
+    private static final long RETRY_BASE_SECONDS = 30;
+
+    /** 再試行の最大待機時間（秒） */
+    private static final long RETRY_MAX_SECONDS = 3600;
+
+    /** 送信処理の期限（期限までに完了しない場合は再度送信対象になる、秒） */
+    private static final long LEASE_SECONDS = 300;
+
+    private static final int LAST_ERROR_MAX_LENGTH = 500;
+
+    /** 削除処理で1トランザクションあたりに削除する件数 */
+    private static final int PURGE_BATCH_SIZE = 1000;
+
+    private final MailOutboxRepository mailOutboxRepository;
+    private final JavaMailSender mailSender;
+    private final TransactionTemplate transactionTemplate;
+    private final String fromEmail;
+    private final int workers;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final long retentionHours;
+
+    private final ExecutorService dispatcher;
+    private final ExecutorService workerPool;
+    private final AtomicBoolean dispatchRequested = new AtomicBoolean(false);
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private final Counter sentCounter;
+    private final Counter retriedCounter;
+    private final Counter failedCounter;
+    private final Counter expiredPurgedCounter;
+    private final Counter finishedPurgedCounter;
+    // ゲージ用の件数（定期的にDBから更新する）
+    private final AtomicLong pendingCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+
+    /**
+     * 送信キューの状態
+     * @param pending 送信待ち件数（再試行待ちを含む）
+     * @param failed 再試行上限に達した件数
+     * @param inFlight 送信処理中の件数
+     * @param sentTotal 起動後の送信成功件数
+     * @param retriedTotal 起動後の再試行登録件数
+     * @param failedTotal 起動後の送信打ち切り件数
+     */
+    public record MailOutboxStats(long pending, long failed, int inFlight,
+                                  long sentTotal, long retriedTotal, long failedTotal) {
+    }
+
+    public MailOutboxService(MailOutboxRepository mailOutboxRepository,
+                             JavaMailSender mailSender,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${spring.mail.username:noreply@example.com}") String fromEmail,
+                             @Value("${mail.outbox.workers:2}") int workers,
+                             @Value("${mail.outbox.batch-size:20}") int batchSize,
+                             @Value("${mail.outbox.max-attempts:8}") int maxAttempts,
+                             @Value("${mail.outbox.retention-hours:24}") long retentionHours) {
+        this.mailOutboxRepository = mailOutboxRepository;
+        this.mailSender = mailSender;
+        // 送信結果の記録は呼び出し元のトランザクションと独立させる
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.fromEmail = fromEmail;
+        this.workers = Math.max(1, workers);
+        this.batchSize = Math.max(1, batchSize);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.retentionHours = Math.max(1, retentionHours);
+
+        this.dispatcher = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "mail-outbox-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.workerPool = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread thread = new Thread(r, "mail-outbox-worker-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        this.sentCounter = deliveryCounter(meterRegistry, "sent");
+        this.retriedCounter = deliveryCounter(meterRegistry, "retried");
+        this.failedCounter = deliveryCounter(meterRegistry, "failed");
+        this.expiredPurgedCounter = purgedCounter(meterRegistry, "expired");
+        this.finishedPurgedCounter = purgedCounter(meterRegistry, "finished");
+        Gauge.builder("mail.outbox.queue", pendingCount, AtomicLong::get)
+                .description("状態別の送信キューの件数（pending: 再試行待ちを含む送信待ち）")
+                .tag("status", "pending")
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.queue", inFlight, AtomicInteger::get)
+                .description("状態別の送信キューの件数（in_flight: 送信処理中）")
+                .tag("status", "in_flight")
+                .register(meterRegistry);
+        Gauge.builder("mail.outbox.queue", failedCount, AtomicLong::get)
+                .description("状態別の送信キューの件数（failed: 再試行上限・送信期限で打ち切り）")
+                .tag("status", "failed")
+                .register(meterRegistry);
+    }
+
+    private static Counter deliveryCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("mail.outbox.deliveries")
+                .description("送信結果別のメール件数（retried: 再試行を登録した失敗）")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+
+    private static Counter purgedCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("mail.outbox.purged")
+                .description("削除理由別のメール件数")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+
+    /**
+     * メールを送信キューに登録
+     * 呼び出し元のトランザクション内で登録し、コミット後に送信を開始する（ロールバック時は送信しない）
+     * @param to 宛先
+     * @param subject 件名
+     * @param text 本文
+     */
+    public void enqueue(String to, String subject, String text) {
+        enqueue(to, subject, text, null);
+    }
+
+    /**
+     * 送信期限付きでメールを送信キューに登録
+     * 期限を過ぎたメールは送信・再試行しない（認証コード等、期限後に届いても使えないメール用）
+     * @param to 宛先
+     * @param subject 件名
+     * @param text 本文
+     * @param expiresAt 送信期限（nullの場合は期限なし）
+     */
+    public void enqueue(String to, String subject, String text, LocalDateTime expiresAt) {
+        MailOutbox mail = mailOutboxRepository.save(new MailOutbox(to, subject, text, expiresAt));
+        logger.debug("メールを送信キューに登録: mailId={}, to={}", mail.getMailId(), to);
+
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    requestDispatch();
+                }
+            });
+        } else {
+            requestDispatch();
+        }
+    }
+
+    /**
+     * 送信可能なメールを定期的に確認（再試行待ちのメールや、登録直後の通知を取りこぼした場合の補完）
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.poll-interval-ms:5000}")
+    public void poll() {
+        requestDispatch();
+    }
+
+    /**
+     * 送信処理を要求（実行中・実行待ちの場合は重複して登録しない）
+     */
+    private void requestDispatch() {
+        if (dispatchRequested.compareAndSet(false, true)) {
+            dispatcher.execute(() -> {
+                dispatchRequested.set(false);
+                try {
+                    dispatch();
+                } catch (RuntimeException e) {
+                    logger.error("メール送信キューの処理でエラー: {}", e.getMessage(), e);
+                }
+            });
+        }
+    }
+
+    /**
+     * 送信可能なメールを確保し、ワーカーに分配
+     * 1ワーカーあたりbatchSize件をまとめて送信し、SMTP接続を使い回す
+     */
+    private void dispatch() {
+        int capacity = workers * batchSize - inFlight.get();
+        if (capacity <= 0) {
+            return;
+        }
+        List<MailOutbox> claimed = claimDue(LocalDateTime.now(), capacity);
+        if (claimed.isEmpty()) {
+            return;
+        }
+
+        inFlight.addAndGet(claimed.size());
+        for (int from = 0; from < claimed.size(); from += batchSize) {
+            List<MailOutbox> chunk = claimed.subList(from, Math.min(from + batchSize, claimed.size()));
+            workerPool.execute(() -> {
+                try {
+                    sendChunk(chunk);
+                } finally {
+                    inFlight.addAndGet(-chunk.size());
+                }
+            });
+        }
+        logger.debug("メール送信をワーカーに分配: count={}", claimed.size());
+    }
+
+    /**
+     * 送信可能なメールの担当を確保
+     * 確保したメールは処理期限（LEASE_SECONDS）まで他のワーカーから取得されず、期限を過ぎると再度送信対象になる
+     * @param now 現在時刻
+     * @param limit 確保する件数の上限
+     * @return 確保したメール（試行回数は今回を含む）
+     */
+    List<MailOutbox> claimDue(LocalDateTime now, int limit) {
+        List<MailOutbox> claimed = transactionTemplate.execute(status -> {
+            List<Long> dueIds = mailOutboxRepository.findDueIds(now, PageRequest.of(0, limit));
+            LocalDateTime leaseUntil = now.plusSeconds(LEASE_SECONDS);
+            List<Long> claimedIds = new ArrayList<>(dueIds.size());
+            for (Long mailId : dueIds) {
+                if (mailOutboxRepository.claim(mailId, now, leaseUntil) == 1) {
+                    claimedIds.add(mailId);
+                }
+            }
+            return claimedIds.isEmpty() ? List.of() : mailOutboxRepository.findAllById(claimedIds);
+        });
+        return claimed != null ? claimed : List.of();
+    }
+
+    /**
+     * メールをまとめて送信し、結果を記録
+     */
+    void sendChunk(List<MailOutbox> chunk) {
+        Map<SimpleMailMessage, MailOutbox> messages = new LinkedHashMap<>();
+        for (MailOutbox mail : chunk) {
+            SimpleMailMessage message = new SimpleMailMessage();
+            message.setFrom(fromEmail);
+            message.setTo(mail.getToAddress());
+            message.setSubject(mail.getSubject());
+            message.setText(mail.getBody());
+            messages.put(message, mail);
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        Exception chunkFailure = null;
+        try {
+            // 複数件を1回で渡すと同一のSMTP接続で送信される
+            mailSender.send(messages.keySet().toArray(new SimpleMailMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+            if (failures.isEmpty()) {
+                chunkFailure = e;
+            }
+        } catch (MailException e) {
+            // 接続・認証エラー等は全件失敗として扱う
+            chunkFailure = e;
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        for (Map.Entry<SimpleMailMessage, MailOutbox> entry : messages.entrySet()) {
+            MailOutbox mail = entry.getValue();
+            Exception failure = chunkFailure != null ? chunkFailure : failures.get(entry.getKey());
+            try {
+                if (failure == null) {
+                    transactionTemplate.executeWithoutResult(status -> mailOutboxRepository.markSent(mail.getMailId(), now));
+                    sentCounter.increment();
+                    logger.info("メール送信完了: mailId={}, to={}", mail.getMailId(), mail.getToAddress());
+                } else {
+                    recordFailure(mail, failure, now);
+                }
+            } catch (RuntimeException e) {
+                // 記録に失敗した場合は処理期限の経過後に再送される
+                logger.error("メール送信結果の記録に失敗: mailId={}, error={}", mail.getMailId(), e.getMessage(), e);
+            }
+        }
+    }
+
+    private void recordFailure(MailOutbox mail, Exception failure, LocalDateTime now) {
+        // 確保時に加算済みのため、attemptsは今回を含む試行回数
+        int attempts = mail.getAttempts();
+        String error = truncate(failure.getMessage());
+        LocalDateTime nextAttemptAt = now.plusSeconds(retryDelaySeconds(attempts));
+        boolean expired = mail.getExpiresAt() != null && !nextAttemptAt.isBefore(mail.getExpiresAt());
+        if (attempts >= maxAttempts || expired) {
+            transactionTemplate.executeWithoutResult(status ->
+                    mailOutboxRepository.markFailed(mail.getMailId(), MailOutbox.Status.FAILED, now, error));
+            failedCounter.increment();
+            logger.error("メール送信を打ち切り: mailId={}, to={}, attempts={}, expired={}, error={}",
+                    mail.getMailId(), mail.getToAddress(), attempts, expired, error);
+        } else {
+            transactionTemplate.executeWithoutResult(status ->
+                    mailOutboxRepository.markFailed(mail.getMailId(), MailOutbox.Status.PENDING, nextAttemptAt, error));
+            retriedCounter.increment();
+            logger.warn("メール送信失敗（再試行予定）: mailId={}, attempts={}, nextAttemptAt={}, error={}",
+                    mail.getMailId(), attempts, nextAttemptAt, error);
+        }
+    }
+
+    /**
+     * 再試行までの待機時間（指数バックオフ）
+     * @param attempts これまでの試行回数（1以上）
+     */
+    private long retryDelaySeconds(int attempts) {
+        int exponent = Math.min(attempts - 1, 20);
+        return Math.min(RETRY_MAX_SECONDS, RETRY_BASE_SECONDS << exponent);
+    }
+
+    private String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() > LAST_ERROR_MAX_LENGTH ? message.substring(0, LAST_ERROR_MAX_LENGTH) : message;
+    }
+
+    /**
+     * 送信キューの状態を取得
+     * @return 送信キューの状態
+     */
+    public MailOutboxStats getStats() {
+        return new MailOutboxStats(
+                mailOutboxRepository.countByStatus(MailOutbox.Status.PENDING),
+                mailOutboxRepository.countByStatus(MailOutbox.Status.FAILED),
+                inFlight.get(),
+                (long) sentCounter.count(),
+                (long) retriedCounter.count(),
+                (long) failedCounter.count());
+    }
+
+    /**
+     * 送信待ち・打ち切り済みの件数のゲージを更新
+     */
+    @Scheduled(fixedDelayString = "${metrics.gauge-refresh-ms:5000}")
+    public void refreshGauges() {
+        pendingCount.set(mailOutboxRepository.countByStatus(MailOutbox.Status.PENDING));
+        failedCount.set(mailOutboxRepository.countByStatus(MailOutbox.Status.FAILED));
+    }
+
+    /**
+     * 送信期限切れのメールと、保持期間を過ぎた送信済み・打ち切り済みのメールを削除
+     * 1トランザクションあたりの削除件数を制限し、ロック時間を短く保つ
+     * @return 削除した件数
+     */
+    @Scheduled(fixedDelayString = "${mail.outbox.purge-interval-ms:600000}")
+    public int purge() {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime cutoff = now.minusHours(retentionHours);
+        int expired = 0;
+        int deleted;
+        do {
+            deleted = transactionTemplate.execute(status -> mailOutboxRepository.deleteExpired(now, PURGE_BATCH_SIZE));
+            expired += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        int finished = 0;
+        do {
+            deleted = transactionTemplate.execute(status -> mailOutboxRepository.deleteFinishedBefore(cutoff, PURGE_BATCH_SIZE));
+            finished += deleted;
+        } while (deleted == PURGE_BATCH_SIZE);
+        expiredPurgedCounter.increment(expired);
+        finishedPurgedCounter.increment(finished);
+
+        if (expired > 0 || finished > 0) {
+            logger.info("送信キューのメールを削除: expired={}, finished={}, retentionHours={}", expired, finished, retentionHours);
+        }
+        return expired + finished;
+    }
+
+    /**
+     * 送信待ちが残っている場合に状態をログ出力
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void logBacklog() {
+        MailOutboxStats stats = getStats();
+        if (stats.pending() > 0 || stats.inFlight() > 0) {
+            logger.info("メール送信キュー: pending={}, inFlight={}, failed={}, sentTotal={}, retriedTotal={}, failedTotal={}",
+                    stats.pending(), stats.inFlight(), stats.failed(),
+                    stats.sentTotal(), stats.retriedTotal(), stats.failedTotal());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        dispatcher.shutdown();
+        workerPool.shutdown();
+        // 送信中のメールは処理期限の経過後に再送されるため、待機は短時間に留める
+        if (!workerPool.awaitTermination(10, TimeUnit.SECONDS)) {
+            logger.warn("メール送信ワーカーの停止待ちがタイムアウトしました: inFlight={}", inFlight.get());
+        }
+    }
+}
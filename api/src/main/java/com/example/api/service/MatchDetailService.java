@@ -0,0 +1,292 @@
+package com.example.api.service;
+
+import com.example.api.entity.MatchDetail;
+import com.example.api.entity.Result;
+import com.example.api.repository.MatchDetailRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.*;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 対戦詳細サービス
+ * 出題・ラウンド・対戦形式を型付きの形式で扱い、1対戦につき1行（match_detail）に符号化して保存します
+ * 旧形式（Resultのuse_question / result_detail / result_formatのJSON列）の読み込みにも対応します
+ */
+@Service
+public class MatchDetailService {
+
+    private static final Logger logger = LoggerFactory.getLogger(MatchDetailService.class);
+
+    /** 現在の符号化形式のバージョン */
+    public static final int CURRENT_FORMAT_VERSION = 1;
+
+    private final MatchDetailRepository matchDetailRepository;
+    private final ObjectMapper objectMapper;
+    private final boolean compress;
+
+    /**
+     * 対戦詳細（形式バージョン1）
+     * @param questions 出題順の問題
+     * @param rounds プレイされたラウンド
+     * @param format 対戦形式（旧形式で未保存の場合null）
+     */
+    public record Detail(List<QuestionEntry> questions, List<RoundEntry> rounds, Format format) {
+        public Detail {
+            questions = questions != null ? List.copyOf(questions) : List.of();
+            rounds = rounds != null ? List.copyOf(rounds) : List.of();
+        }
+    }
+
+    /**
+     * 出題された問題
+     */
+    public record QuestionEntry(Integer questionId, String text, String answer,
+                                String questionFormat, String completeSentence) {
+    }
+
+    /**
+     * ラウンド結果
+     * @param winnerId ラウンド勝者（引き分け・ノーカウントの場合null）
+     * @param answers プレイヤーごとの回答
+     */
+    public record RoundEntry(int roundNumber, Integer questionId, Long winnerId, boolean noCount,
+                             String noCountReason, List<AnswerEntry> answers) {
+        public RoundEntry {
+            answers = answers != null ? List.copyOf(answers) : List.of();
+        }
+
+        /**
+         * 指定ユーザーの回答を取得
+         */
+        public AnswerEntry answerOf(Long userId) {
+            for (AnswerEntry answer : answers) {
+                if (answer.userId().equals(userId)) {
+                    return answer;
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * プレイヤーの回答
+     */
+    public record AnswerEntry(Long userId, String answer, boolean correct, long responseTimeMs) {
+    }
+
+    /**
+     * 対戦形式
+     */
+    public record Format(String format, int winsRequired, int maxRounds, boolean roomMatch, Long roomId) {
+    }
+
+    public MatchDetailService(MatchDetailRepository matchDetailRepository,
+                              ObjectMapper objectMapper,
+                              @Value("${battle.detail.compress:true}") boolean compress) {
+        this.matchDetailRepository = matchDetailRepository;
+        this.objectMapper = objectMapper;
+        this.compress = compress;
+    }
+
+    /**
+     * 対戦詳細を符号化したエンティティを作成（保存は呼び出し元で行う）
+     * @param matchUuid マッチUUID
+     * @param detail 対戦詳細
+     * @return 対戦詳細エンティティ
+     */
+    public MatchDetail encode(String matchUuid, Detail detail) {
+        byte[] raw;
+        try {
+            raw = objectMapper.writeValueAsBytes(detail);
+        } catch (IOException e) {
+            throw new UncheckedIOException("対戦詳細の符号化に失敗しました: matchUuid=" + matchUuid, e);
+        }
+        MatchDetail entity = new MatchDetail();
+        entity.setMatchUuid(matchUuid);
+        entity.setFormatVersion(CURRENT_FORMAT_VERSION);
+        entity.setCompressed(compress);
+        entity.setPayload(compress ? gzip(raw) : raw);
+        entity.setRawSize(raw.length);
+        return entity;
+    }
+
+    /**
+     * 対戦詳細を復号
+     * @param entity 対戦詳細エンティティ
+     * @return 対戦詳細
+     */
+    public Detail decode(MatchDetail entity) {
+        if (entity.getFormatVersion() == null || entity.getFormatVersion() != CURRENT_FORMAT_VERSION) {
+            throw new IllegalStateException("未対応の対戦詳細形式です: version=" + entity.getFormatVersion());
+        }
+        try (InputStream in = Boolean.TRUE.equals(entity.getCompressed())
+                ? new GZIPInputStream(new ByteArrayInputStream(entity.getPayload()))
+                : new ByteArrayInputStream(entity.getPayload())) {
+            return objectMapper.readValue(in, Detail.class);
+        } catch (IOException e) {
+            throw new UncheckedIOException("対戦詳細の復号に失敗しました: matchUuid=" + entity.getMatchUuid(), e);
+        }
+    }
+
+    /**
+     * 結果に対応する対戦詳細を取得
+     * match_detailに保存されていればそれを、なければ旧形式のJSON列から読み込む
+     * @param result 対戦結果
+     * @return 対戦詳細
+     */
+    public Detail load(Result result) {
+        if (result.getMatchUuid() != null) {
+            Optional<MatchDetail> stored = matchDetailRepository.findById(result.getMatchUuid());
+            if (stored.isPresent()) {
+                return decode(stored.get());
+            }
+        }
+        return fromLegacy(result.getUseQuestion(), result.getResultDetail(), result.getResultFormat());
+    }
+
+    /**
+     * 旧形式のJSON列から対戦詳細を作成
+     * ラウンドの回答はanswers（旧々形式）を優先し、回答が空の場合はplayerInfoから補完する
+     */
+    public Detail fromLegacy(Map<String, Object> useQuestion, Map<String, Object> resultDetail,
+                             Map<String, Object> resultFormat) {
+        List<QuestionEntry> questions = new ArrayList<>();
+        if (useQuestion != null && useQuestion.get("questions") instanceof List<?> qs) {
+            for (Object item : qs) {
+                if (item instanceof Map<?, ?> q) {
+                    questions.add(new QuestionEntry(
+                            toInteger(q.get("questionId")),
+                            toStringOrEmpty(q.get("text")),
+                            toStringOrEmpty(q.get("answer")),
+                            toStringOrEmpty(q.get("questionFormat")),
+                            q.get("completeSentence") != null ? q.get("completeSentence").toString() : null));
+                }
+            }
+        }
+
+        List<RoundEntry> rounds = new ArrayList<>();
+        if (resultDetail != null && resultDetail.get("rounds") instanceof List<?> rds) {
+            int index = 0;
+            for (Object item : rds) {
+                index++;
+                if (!(item instanceof Map<?, ?> round)) {
+                    continue;
+                }
+                Integer roundNumber = toInteger(round.get("roundNumber"));
+                Long winnerId = toLong(round.get("winnerId"));
+                rounds.add(new RoundEntry(
+                        roundNumber != null ? roundNumber : index,
+                        toInteger(round.get("questionId")),
+                        winnerId != null && winnerId > 0 ? winnerId : null,
+                        Boolean.TRUE.equals(round.get("isNoCount")),
+                        round.get("noCountReason") != null ? round.get("noCountReason").toString() : null,
+                        legacyAnswers(round)));
+            }
+        }
+
+        Format format = null;
+        if (resultFormat != null && !resultFormat.isEmpty()) {
+            Integer winsRequired = toInteger(resultFormat.get("winsRequired"));
+            Integer maxRounds = toInteger(resultFormat.get("maxRounds"));
+            format = new Format(
+                    toStringOrEmpty(resultFormat.get("format")),
+                    winsRequired != null ? winsRequired : 0,
+                    maxRounds != null ? maxRounds : 0,
+                    Boolean.TRUE.equals(resultFormat.get("isRoomMatch")),
+                    toLong(resultFormat.get("roomId")));
+        }
+        return new Detail(questions, rounds, format);
+    }
+
+    private List<AnswerEntry> legacyAnswers(Map<?, ?> round) {
+        Map<Long, AnswerEntry> answers = new LinkedHashMap<>();
+        if (round.get("answers") instanceof Map<?, ?> answerMap) {
+            putLegacyAnswers(answers, answerMap);
+        }
+        if (round.get("playerInfo") instanceof Map<?, ?> playerInfo) {
+            putLegacyAnswers(answers, playerInfo);
+        }
+        return new ArrayList<>(answers.values());
+    }
+
+    /**
+     * ユーザーID文字列 → 回答情報のマップを追加（既に回答がある場合は上書きしない）
+     */
+    private void putLegacyAnswers(Map<Long, AnswerEntry> answers, Map<?, ?> source) {
+        for (Map.Entry<?, ?> entry : source.entrySet()) {
+            if (!(entry.getValue() instanceof Map<?, ?> data)) {
+                continue;
+            }
+            Long userId;
+            try {
+                userId = Long.parseLong(entry.getKey().toString());
+            } catch (NumberFormatException e) {
+                logger.debug("旧形式の回答のユーザーIDが不正: {}", entry.getKey());
+                continue;
+            }
+            AnswerEntry existing = answers.get(userId);
+            if (existing != null && !existing.answer().isEmpty()) {
+                continue;
+            }
+            Long responseTimeMs = toLong(data.get("responseTimeMs"));
+            answers.put(userId, new AnswerEntry(
+                    userId,
+                    toStringOrEmpty(data.get("answer")),
+                    Boolean.TRUE.equals(data.get("isCorrect")),
+                    responseTimeMs != null ? responseTimeMs : 0L));
+        }
+    }
+
+    private static byte[] gzip(byte[] raw) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(raw);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    private static Integer toInteger(Object value) {
+        if (value instanceof Number number) {
+            return number.intValue();
+        }
+        if (value != null) {
+            try {
+                return Integer.parseInt(value.toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static Long toLong(Object value) {
+        if (value instanceof Number number) {
+            return number.longValue();
+        }
+        if (value != null) {
+            try {
+                return Long.parseLong(value.toString());
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private static String toStringOrEmpty(Object value) {
+        return value != null ? value.toString() : "";
+    }
+}
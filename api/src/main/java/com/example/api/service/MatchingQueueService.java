@@ -201,18 +201,22 @@ public class MatchingQueueService {
         return timedOutUsers;
     }
 
+    /**
+     * 言語別の待機人数を取得
+     */
+    public synchronized Map<String, Integer> getQueueSizes() {
+        Map<String, Integer> sizes = new HashMap<>();
+        languageQueues.forEach((lang, players) -> sizes.put(lang, players.size()));
+        return sizes;
+    }
+
     /**
      * 全体のキュー統計情報を取得（デバッグ用）
      */
     public Map<String, Object> getQueueStats() {
         Map<String, Object> stats = new HashMap<>();
         stats.put("totalPlayers", activeUsers.size());
-
-        Map<String, Integer> languageStats = new HashMap<>();
-        languageQueues.forEach((lang, players) -> {
-            languageStats.put(lang, players.size());
-        });
-        stats.put("byLanguage", languageStats);
+        stats.put("byLanguage", getQueueSizes());
 
         return stats;
     }
@@ -14,6 +14,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.time.LocalDateTime;
 import java.util.*;
 
 /**
@@ -43,6 +45,9 @@ public class MatchingService {
     @Autowired
     private LifeService lifeService;
 
+    @Autowired
+    private MetricsService metricsService;
+
     /**
      * キュー参加結果
      */
@@ -287,6 +292,10 @@ public class MatchingService {
                 queueService.removeFromQueue(player1.getUserId());
                 queueService.removeFromQueue(bestMatch.getUserId());
 
+                LocalDateTime now = LocalDateTime.now();
+                metricsService.recordTimeToMatch(Duration.between(player1.getJoinedAt(), now));
+                metricsService.recordTimeToMatch(Duration.between(bestMatch.getJoinedAt(), now));
+
                 // マッチIDを生成
                 String matchId = UUID.randomUUID().toString();
 
@@ -339,7 +348,9 @@ public class MatchingService {
      * @return 削除されたユーザーIDのリスト
      */
     public List<Long> removeTimedOutPlayers() {
-        return queueService.removeTimedOutPlayers();
+        List<Long> timedOutUsers = queueService.removeTimedOutPlayers();
+        metricsService.countTimeouts(MetricsService.TimeoutPhase.MATCHING_QUEUE, timedOutUsers.size());
+        return timedOutUsers;
     }
 
     /**
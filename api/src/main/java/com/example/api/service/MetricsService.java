@@ -0,0 +1,248 @@
+package com.example.api.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.MultiGauge;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * アプリケーションメトリクス
+ * マッチング・対戦・外部APIのメトリクスをMicrometerに登録します（actuatorの/metrics、prometheusから参照）
+ * ホットパスからは事前に登録したメーターを記録するだけにし、キュー長・対戦数のゲージは定期的にまとめて更新します
+ */
+@Service
+public class MetricsService {
+
+    /** 外部APIクライアント名（タグ値） */
+    public static final String CLIENT_SPOTIFY = "spotify";
+    public static final String CLIENT_SPOTIFY_AUTH = "spotify-auth";
+    public static final String CLIENT_GENIUS = "genius";
+    public static final String CLIENT_GEMINI = "gemini";
+    public static final String CLIENT_WORDNIK = "wordnik";
+    public static final String CLIENT_TTS = "tts";
+
+    /** タイムアウトの種類（タグ値） */
+    public enum TimeoutPhase {
+        MATCHING_QUEUE,   // マッチング待機（15分）
+        ANSWER_PHASE,     // 回答フェーズ
+        ROUND_RESULT      // ラウンド結果待ち
+    }
+
+    /** 外部API呼び出しの結果（タグ値） */
+    private enum Outcome {
+        SUCCESS, CLIENT_ERROR, SERVER_ERROR, IO_ERROR
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final MatchingQueueService matchingQueueService;
+    private final BattleStateService battleStateService;
+
+    private final Timer timeToMatch;
+    private final Timer roundDuration;
+    private final Counter disconnectForfeits;
+    private final Counter disconnectTasksCoalesced;
+    private final Counter sessionCleanupBatches;
+    private final Counter sessionCleanupDeleted;
+    private final Counter sessionCleanupOfflineUsers;
+    private final Map<TimeoutPhase, Counter> timeouts = new EnumMap<>(TimeoutPhase.class);
+    private final Map<String, Timer> finalizeTimers = new ConcurrentHashMap<>();
+
+    private final MultiGauge queueSizeGauge;
+    private final MultiGauge activeBattleGauge;
+    // 一度でもキューに現れた言語（空になった後も0として出力する）
+    private final Set<String> knownLanguages = ConcurrentHashMap.newKeySet();
+
+    public MetricsService(MeterRegistry meterRegistry,
+                          MatchingQueueService matchingQueueService,
+                          BattleStateService battleStateService) {
+        this.meterRegistry = meterRegistry;
+        this.matchingQueueService = matchingQueueService;
+        this.battleStateService = battleStateService;
+
+        this.timeToMatch = Timer.builder("battle.matching.wait")
+                .description("マッチング待機開始から成立までの時間")
+                .register(meterRegistry);
+        this.roundDuration = Timer.builder("battle.round.duration")
+                .description("ラウンド開始から確定までの時間")
+                .register(meterRegistry);
+        this.disconnectForfeits = Counter.builder("battle.disconnect.forfeits")
+                .description("切断による不戦敗の件数")
+                .register(meterRegistry);
+        this.disconnectTasksCoalesced = Counter.builder("websocket.disconnect.tasks.coalesced")
+                .description("同じユーザーの未実行のタスクを置き換えてまとめた切断処理タスクの件数")
+                .register(meterRegistry);
+        this.sessionCleanupBatches = Counter.builder("session.cleanup.batches")
+                .description("期限切れセッション削除のバッチ数")
+                .register(meterRegistry);
+        this.sessionCleanupDeleted = Counter.builder("session.cleanup.deleted")
+                .description("削除した期限切れセッションの件数")
+                .register(meterRegistry);
+        this.sessionCleanupOfflineUsers = Counter.builder("session.cleanup.offline.users")
+                .description("期限切れセッションの削除でoffline_atを更新したユーザー数")
+                .register(meterRegistry);
+        for (TimeoutPhase phase : TimeoutPhase.values()) {
+            timeouts.put(phase, Counter.builder("battle.timeouts")
+                    .description("タイムアウトの件数")
+                    .tag("phase", phase.name().toLowerCase(Locale.ROOT))
+                    .register(meterRegistry));
+        }
+
+        this.queueSizeGauge = MultiGauge.builder("battle.matching.queue.size")
+                .description("言語別のマッチング待機人数")
+                .register(meterRegistry);
+        this.activeBattleGauge = MultiGauge.builder("battle.active")
+                .description("状態別の対戦数")
+                .register(meterRegistry);
+        refreshGauges();
+    }
+
+    /**
+     * マッチング成立までの待機時間を記録
+     */
+    public void recordTimeToMatch(Duration waited) {
+        timeToMatch.record(waited);
+    }
+
+    /**
+     * ラウンドの所要時間を記録
+     */
+    public void recordRoundDuration(Duration duration) {
+        roundDuration.record(duration);
+    }
+
+    /**
+     * 対戦終了処理の所要時間を記録
+     * @param outcomeReason 終了理由（タグ値）
+     * @param startNanos 開始時刻（System.nanoTime()）
+     */
+    public void recordFinalize(String outcomeReason, long startNanos) {
+        finalizeTimers.computeIfAbsent(outcomeReason != null ? outcomeReason : "unknown",
+                reason -> Timer.builder("battle.finalize")
+                        .description("対戦終了処理（レート更新・結果保存の登録）の所要時間")
+                        .tag("outcome_reason", reason)
+                        .register(meterRegistry))
+                .record(System.nanoTime() - startNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * タイムアウトを記録
+     */
+    public void countTimeouts(TimeoutPhase phase, int count) {
+        if (count > 0) {
+            timeouts.get(phase).increment(count);
+        }
+    }
+
+    /**
+     * 切断による不戦敗を記録
+     */
+    public void countDisconnectForfeit() {
+        disconnectForfeits.increment();
+    }
+
+    /**
+     * 未実行のタスクを置き換えてまとめた切断処理タスクを記録
+     */
+    public void countDisconnectTaskCoalesced() {
+        disconnectTasksCoalesced.increment();
+    }
+
+    /**
+     * 期限切れセッション削除の1バッチ分を記録
+     * @param deletedSessions 削除したセッション数
+     * @param offlineUsers offline_atを更新したユーザー数
+     */
+    public void countSessionCleanupBatch(int deletedSessions, int offlineUsers) {
+        sessionCleanupBatches.increment();
+        sessionCleanupDeleted.increment(deletedSessions);
+        sessionCleanupOfflineUsers.increment(offlineUsers);
+    }
+
+    /**
+     * 切断処理の滞留数のゲージを登録
+     * @param backlog 滞留数（猶予中 + 実行待ちのユーザー数）
+     */
+    public void registerDisconnectBacklog(Supplier<Number> backlog) {
+        Gauge.builder("websocket.disconnect.backlog", backlog)
+                .description("切断処理の滞留数（猶予中 + 実行待ちのユーザー数）")
+                .strongReference(true)
+                .register(meterRegistry);
+    }
+
+    /**
+     * 外部API呼び出しの所要時間とエラーを記録するWebClientフィルタ
+     * 応答ヘッダ受信までを計測し、4xx/5xx/通信エラーはexternal.api.errorsにも加算する
+     * @param client クライアント名（タグ値）
+     */
+    public ExchangeFilterFunction externalApiFilter(String client) {
+        Map<Outcome, Timer> timers = new EnumMap<>(Outcome.class);
+        Map<Outcome, Counter> errors = new EnumMap<>(Outcome.class);
+        for (Outcome outcome : Outcome.values()) {
+            String tag = outcome.name().toLowerCase(Locale.ROOT);
+            timers.put(outcome, Timer.builder("external.api.requests")
+                    .description("外部API呼び出しの所要時間")
+                    .tags(Tags.of("client", client, "outcome", tag))
+                    .register(meterRegistry));
+            if (outcome != Outcome.SUCCESS) {
+                errors.put(outcome, Counter.builder("external.api.errors")
+                        .description("外部API呼び出しのエラー件数")
+                        .tags(Tags.of("client", client, "outcome", tag))
+                        .register(meterRegistry));
+            }
+        }
+
+        return (request, next) -> {
+            long start = System.nanoTime();
+            return next.exchange(request)
+                    .doOnSuccess(response -> {
+                        if (response == null) {
+                            return;
+                        }
+                        Outcome outcome = response.statusCode().is5xxServerError() ? Outcome.SERVER_ERROR
+                                : response.statusCode().isError() ? Outcome.CLIENT_ERROR
+                                : Outcome.SUCCESS;
+                        timers.get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        if (outcome != Outcome.SUCCESS) {
+                            errors.get(outcome).increment();
+                        }
+                    })
+                    .doOnError(e -> {
+                        timers.get(Outcome.IO_ERROR).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                        errors.get(Outcome.IO_ERROR).increment();
+                    });
+        };
+    }
+
+    /**
+     * キュー長・対戦数のゲージを更新
+     */
+    @Scheduled(fixedDelayString = "${metrics.gauge-refresh-ms:5000}")
+    public void refreshGauges() {
+        Map<String, Integer> queueSizes = matchingQueueService.getQueueSizes();
+        knownLanguages.addAll(queueSizes.keySet());
+        List<MultiGauge.Row<?>> queueRows = new ArrayList<>();
+        for (String language : knownLanguages) {
+            queueRows.add(MultiGauge.Row.of(Tags.of("language", language), queueSizes.getOrDefault(language, 0)));
+        }
+        queueSizeGauge.register(queueRows, true);
+
+        Map<BattleStateService.Status, Integer> battleCounts = battleStateService.getActiveBattleCountByStatus();
+        List<MultiGauge.Row<?>> battleRows = new ArrayList<>();
+        for (BattleStateService.Status status : BattleStateService.Status.values()) {
+            battleRows.add(MultiGauge.Row.of(Tags.of("status", status.name().toLowerCase(Locale.ROOT)),
+                    battleCounts.getOrDefault(status, 0)));
+        }
+        activeBattleGauge.register(battleRows, true);
+    }
+}
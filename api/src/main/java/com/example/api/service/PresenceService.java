@@ -0,0 +1,262 @@
+package com.example.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * プレゼンス（オンライン状態）管理サービス
+ * ハートビートによる最終アクティブ時刻をシャード単位で管理し、
+ * 期限切れユーザーのみを時間バケットから取り出してオフライン判定します
+ */
+@Service
+public class PresenceService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceService.class);
+
+    /** ハートビートが途絶えてからオフライン扱いにするまでの時間（ミリ秒） */
+    public static final long OFFLINE_TIMEOUT_MS = 90_000L;
+
+    /** 期限バケットの幅（ミリ秒）。スイープ間隔と揃える */
+    private static final long BUCKET_WIDTH_MS = 5_000L;
+
+    /** シャード数（2のべき乗） */
+    private static final int SHARD_COUNT = 16;
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final Shard[] shards = new Shard[SHARD_COUNT];
+
+    /**
+     * プレゼンス変化イベント（オンライン ⇔ オフライン）
+     * @param userId ユーザーID
+     * @param online オンラインになった場合true
+     * @param reason 変化理由（connect / disconnect / timeout）
+     */
+    public record PresenceChangedEvent(Long userId, boolean online, String reason) {
+    }
+
+    /**
+     * ユーザーごとのプレゼンス情報
+     * lastSeenMillisはハートビートでロックなしに更新される
+     */
+    private static final class PresenceEntry {
+        private volatile long lastSeenMillis;
+        private long scheduledBucket; // シャードのロック下でのみ参照・更新
+
+        private PresenceEntry(long lastSeenMillis) {
+            this.lastSeenMillis = lastSeenMillis;
+        }
+    }
+
+    /**
+     * シャード：最終アクティブ時刻と期限バケットを保持
+     */
+    private static final class Shard {
+        private final ConcurrentHashMap<Long, PresenceEntry> entries = new ConcurrentHashMap<>();
+        // バケット番号 → そのバケットで期限を迎えるユーザーID
+        private final TreeMap<Long, Set<Long>> expiryBuckets = new TreeMap<>();
+
+        private void schedule(Long userId, PresenceEntry entry, long bucket) {
+            entry.scheduledBucket = bucket;
+            expiryBuckets.computeIfAbsent(bucket, key -> new HashSet<>()).add(userId);
+        }
+
+        private void unschedule(Long userId, PresenceEntry entry) {
+            Set<Long> bucketUsers = expiryBuckets.get(entry.scheduledBucket);
+            if (bucketUsers != null) {
+                bucketUsers.remove(userId);
+                if (bucketUsers.isEmpty()) {
+                    expiryBuckets.remove(entry.scheduledBucket);
+                }
+            }
+        }
+    }
+
+    public PresenceService(ApplicationEventPublisher eventPublisher) {
+        this.eventPublisher = eventPublisher;
+        for (int i = 0; i < SHARD_COUNT; i++) {
+            shards[i] = new Shard();
+        }
+    }
+
+    /**
+     * ユーザーをオンラインとして登録（WebSocket接続時）
+     * @param userId ユーザーID
+     */
+    public void markOnline(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        Shard shard = shardFor(userId);
+        boolean becameOnline;
+        synchronized (shard) {
+            PresenceEntry entry = shard.entries.get(userId);
+            becameOnline = entry == null;
+            if (entry == null) {
+                entry = new PresenceEntry(now);
+                shard.entries.put(userId, entry);
+                shard.schedule(userId, entry, bucketOf(now + OFFLINE_TIMEOUT_MS));
+            } else {
+                entry.lastSeenMillis = now;
+            }
+        }
+        if (becameOnline) {
+            publish(userId, true, "connect");
+        }
+    }
+
+    /**
+     * 最終アクティブ時刻を更新（ハートビート受信時）
+     * 登録済みユーザーのみ対象。期限バケットの移動はスイープ時に遅延して行う
+     * @param userId ユーザーID
+     */
+    public void touch(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        PresenceEntry entry = shardFor(userId).entries.get(userId);
+        if (entry != null) {
+            entry.lastSeenMillis = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * ユーザーをオフラインにする（最後のセッション切断時）
+     * @param userId ユーザーID
+     */
+    public void markOffline(Long userId) {
+        if (userId == null) {
+            return;
+        }
+        if (remove(userId)) {
+            publish(userId, false, "disconnect");
+        }
+    }
+
+    /**
+     * ユーザーがオンラインかどうか
+     * @param userId ユーザーID
+     * @return オンラインの場合true
+     */
+    public boolean isOnline(Long userId) {
+        if (userId == null) {
+            return false;
+        }
+        return isAlive(shardFor(userId).entries.get(userId), System.currentTimeMillis());
+    }
+
+    /**
+     * 複数ユーザーのうちオンラインのユーザーIDを一括取得
+     * @param userIds ユーザーIDリスト
+     * @return オンラインのユーザーID
+     */
+    public Set<Long> getOnlineUserIds(Collection<Long> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return Collections.emptySet();
+        }
+        long now = System.currentTimeMillis();
+        Set<Long> online = new HashSet<>();
+        for (Long userId : userIds) {
+            if (userId != null && isAlive(shardFor(userId).entries.get(userId), now)) {
+                online.add(userId);
+            }
+        }
+        return online;
+    }
+
+    /**
+     * オンラインユーザー数を取得
+     */
+    public int getOnlineCount() {
+        int count = 0;
+        for (Shard shard : shards) {
+            count += shard.entries.size();
+        }
+        return count;
+    }
+
+    /**
+     * 期限を迎えたバケットのユーザーのみを確認し、タイムアウトしたユーザーをオフラインにする
+     * ハートビートで延命されていたユーザーは新しい期限のバケットへ再登録する
+     */
+    @Scheduled(fixedRate = BUCKET_WIDTH_MS)
+    public void sweepExpired() {
+        long now = System.currentTimeMillis();
+        long currentBucket = Math.floorDiv(now, BUCKET_WIDTH_MS);
+        List<Long> expired = new ArrayList<>();
+
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                NavigableMap<Long, Set<Long>> due = shard.expiryBuckets.headMap(currentBucket, true);
+                if (due.isEmpty()) {
+                    continue;
+                }
+                List<Map.Entry<Long, Set<Long>>> dueBuckets = new ArrayList<>(due.entrySet());
+                due.clear();
+
+                for (Map.Entry<Long, Set<Long>> bucket : dueBuckets) {
+                    for (Long userId : bucket.getValue()) {
+                        PresenceEntry entry = shard.entries.get(userId);
+                        if (entry == null || entry.scheduledBucket != bucket.getKey()) {
+                            continue;
+                        }
+                        long deadline = entry.lastSeenMillis + OFFLINE_TIMEOUT_MS;
+                        if (deadline <= now) {
+                            shard.entries.remove(userId);
+                            expired.add(userId);
+                        } else {
+                            shard.schedule(userId, entry, bucketOf(deadline));
+                        }
+                    }
+                }
+            }
+        }
+
+        for (Long userId : expired) {
+            logger.info("タイムアウトによりオフライン判定: userId={}", userId);
+            publish(userId, false, "timeout");
+        }
+    }
+
+    private boolean remove(Long userId) {
+        Shard shard = shardFor(userId);
+        synchronized (shard) {
+            PresenceEntry entry = shard.entries.remove(userId);
+            if (entry == null) {
+                return false;
+            }
+            shard.unschedule(userId, entry);
+            return true;
+        }
+    }
+
+    private boolean isAlive(PresenceEntry entry, long now) {
+        return entry != null && now - entry.lastSeenMillis <= OFFLINE_TIMEOUT_MS;
+    }
+
+    private void publish(Long userId, boolean online, String reason) {
+        try {
+            eventPublisher.publishEvent(new PresenceChangedEvent(userId, online, reason));
+        } catch (Exception e) {
+            logger.warn("プレゼンス変化イベントの通知に失敗: userId={}, online={}", userId, online, e);
+        }
+    }
+
+    private Shard shardFor(Long userId) {
+        return shards[Long.hashCode(userId) & (SHARD_COUNT - 1)];
+    }
+
+    /**
+     * 期限時刻を含むバケット番号（切り上げ）
+     * バケット番号 × 幅 が期限以上になるため、スイープ時点で期限前のユーザーを取り出すことはない
+     */
+    private static long bucketOf(long deadlineMillis) {
+        return Math.floorDiv(deadlineMillis + BUCKET_WIDTH_MS - 1, BUCKET_WIDTH_MS);
+    }
+}
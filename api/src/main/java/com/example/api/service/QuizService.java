@@ -11,13 +11,12 @@ import com.example.api.repository.QuestionRepository;
 import com.example.api.repository.SongRepository;
 import com.example.api.repository.ArtistRepository;
 import com.example.api.repository.UserRepository;
-import com.example.api.repository.WeeklyLessonsRepository;
 import com.example.api.entity.User;
-import com.example.api.entity.WeeklyLessons;
 import com.example.api.client.SpotifyApiClient;
 
 import com.example.api.entity.LikeArtist;
 import com.example.api.enums.QuestionFormat;
+import com.example.api.util.AnswerGradingUtils;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -27,8 +26,8 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.time.format.DateTimeFormatter;
 import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 /**
@@ -80,7 +79,7 @@ public class QuizService {
     private UserRepository userRepository;
 
     @Autowired
-    private WeeklyLessonsRepository weeklyLessonsRepository;
+    private WeeklyLessonCounter weeklyLessonCounter;
 
         /**
      * Songからアーティスト名を取得するヘルパーメソッド
@@ -199,9 +198,20 @@ public class QuizService {
             int correctCount = 0;
             List<QuizCompleteResponse.QuestionResult> questionResults = new ArrayList<>();
 
+            // 回答された問題をまとめて取得
+            Set<Integer> questionIds = request.getAnswers().stream()
+                .map(QuizCompleteRequest.AnswerResult::getQuestionId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+            Map<Integer, Question> questionsById = questionRepository.findAllById(questionIds).stream()
+                .collect(Collectors.toMap(Question::getQuestionId, Function.identity()));
+
+            // 単語登録はクイズ単位で1回にまとめる
+            List<String> fillInBlankAnswers = new ArrayList<>();
+            List<UserVocabularyService.ListeningMistake> listeningMistakes = new ArrayList<>();
+
             for (QuizCompleteRequest.AnswerResult answer : request.getAnswers()) {
-                Question q = questionRepository.findById(answer.getQuestionId())
-                    .orElse(null);
+                Question q = questionsById.get(answer.getQuestionId());
 
                 if (q != null) {
                     // ★ 正解判定: リスニング問題はcompleteSentenceと比較
@@ -212,20 +222,16 @@ public class QuizService {
                         correctAnswer = q.getAnswer();
                     }
                     
-                    boolean isCorrect = correctAnswer.trim().equalsIgnoreCase(answer.getUserAnswer().trim());
+                    // 全角半角・大文字小文字・記号・空白の違いを無視して判定
+                    boolean isCorrect = AnswerGradingUtils.isCorrect(correctAnswer, answer.getUserAnswer());
                     if (isCorrect) correctCount++;
 
-                    // ★ UserVocabularyに非同期で登録（レスポンスを高速化）
                     if (com.example.api.enums.QuestionFormat.FILL_IN_THE_BLANK.equals(q.getQuestionFormat())) {
                         // FILL_IN_BLANK: 全ての問題のanswerを登録
-                        userVocabularyService.registerFillInBlankAnswerAsync(request.getUserId(), q.getAnswer());
+                        fillInBlankAnswers.add(q.getAnswer());
                     } else if (com.example.api.enums.QuestionFormat.LISTENING.equals(q.getQuestionFormat()) && !isCorrect) {
                         // LISTENING: 不正解の場合、間違えた単語を登録
-                        userVocabularyService.registerListeningMistakesAsync(
-                            request.getUserId(),
-                            answer.getUserAnswer(),
-                            correctAnswer
-                        );
+                        listeningMistakes.add(new UserVocabularyService.ListeningMistake(answer.getUserAnswer(), correctAnswer));
                     }
 
                     questionResults.add(QuizCompleteResponse.QuestionResult.builder()
@@ -240,6 +246,13 @@ public class QuizService {
                 }
             }
 
+            // ★ UserVocabularyに非同期で登録（レスポンスを高速化）
+            UserVocabularyService.QuizVocabularyJob vocabularyJob = new UserVocabularyService.QuizVocabularyJob(
+                request.getUserId(), fillInBlankAnswers, listeningMistakes);
+            if (!vocabularyJob.isEmpty()) {
+                userVocabularyService.registerQuizVocabularyAsync(vocabularyJob);
+            }
+
             // 3. 結果をl_historyに更新
             updateQuizResult(history, request.getAnswers(), correctCount);
 
@@ -252,18 +265,9 @@ public class QuizService {
                 userRepository.save(user);
                 logger.info("User.totalPlay を更新: userId={}, newTotalPlay={}", user.getId(), user.getTotalPlay());
 
-                // WeeklyLessons.lessonsNum を +1
-                WeeklyLessons weeklyLessons = weeklyLessonsRepository
-                    .findByUserAndWeekFlag(user, true)
-                    .stream()
-                    .findFirst()
-                    .orElseGet(() -> {
-                        WeeklyLessons newWl = new WeeklyLessons(user);
-                        return weeklyLessonsRepository.save(newWl);
-                    });
-                weeklyLessons.setLessonsNum(weeklyLessons.getLessonsNum() + 1);
-                weeklyLessonsRepository.save(weeklyLessons);
-                logger.info("WeeklyLessons.lessonsNum を更新: userId={}, newLessonsNum={}", user.getId(), weeklyLessons.getLessonsNum());
+                // WeeklyLessons.lessonsNum を +1（ユーザー×週の行を1文で加算）
+                weeklyLessonCounter.increment(user.getId());
+                logger.info("WeeklyLessons.lessonsNum を更新: userId={}", user.getId());
             } else {
                 logger.info("リタイアのためカウント増加をスキップ: userId={}", request.getUserId());
             }
@@ -443,7 +447,9 @@ public class QuizService {
         try {
             LHistory history = new LHistory();
             history.setUser_id(request.getUserId());
-            history.setLearning_at(LocalDateTime.now().format(DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss")));
+            LocalDateTime now = LocalDateTime.now();
+            history.setLearned_at(now);
+            history.setLearning_at(now.format(LHistory.LEARNING_AT_FORMATTER));
             history.setLearning_lang(request.getLanguage());
 
             // 問題IDリストをJSON化
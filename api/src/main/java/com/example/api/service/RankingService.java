@@ -5,7 +5,6 @@ import com.example.api.entity.Rate;
 import com.example.api.entity.User;
 import com.example.api.repository.FriendRepository;
 import com.example.api.repository.RateRepository;
-import com.example.api.repository.WeeklyLessonsRepository;
 import com.example.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.PageRequest;
@@ -16,16 +15,19 @@ import org.springframework.transaction.annotation.Transactional;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class RankingService {
 
     private final RateRepository rateRepository;
-    private final WeeklyLessonsRepository weeklyLessonsRepository;
+    private final WeeklyLessonCounter weeklyLessonCounter;
     private final FriendRepository friendRepository;
     private final UserRepository userRepository;
     private final BadgeGrantService badgeGrantService;
@@ -75,36 +77,41 @@ public class RankingService {
                 .build();
     }
 
-    // ★修正: weekFlag=true のレコードだけを集計してランキング化
+    // ★修正: 今週の学習回数カウンター（メモリ上の順位）からランキング化
     @Transactional(readOnly = true)
     public RankingDto.WeeklyResponse getWeeklyRanking(LocalDateTime weekStart, int limit, Long currentUserId, boolean friendsOnly) {
 
         Set<Long> friendIds = friendRepository.findFriendUserIds(currentUserId);
-        Pageable pageable = PageRequest.of(0, limit);
 
-        List<Object[]> results;
+        List<WeeklyLessonCounter.Entry> results;
 
         if (friendsOnly) {
             List<Long> targetIds = new ArrayList<>(friendIds);
             targetIds.add(currentUserId);
-            // weekFlag=true を検索
-            results = weeklyLessonsRepository.findCurrentFriendWeeklyRanking(targetIds, pageable);
+            results = weeklyLessonCounter.getRanking(targetIds, limit);
         } else {
-            // weekFlag=true を検索
-            results = weeklyLessonsRepository.findCurrentWeeklyRanking(pageable);
+            results = weeklyLessonCounter.getTop(limit);
         }
 
+        // 表示に必要なユーザー情報をまとめて取得
+        Map<Long, User> users = userRepository.findAllById(
+                        results.stream().map(WeeklyLessonCounter.Entry::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
+
         List<RankingDto.Entry> entries = new ArrayList<>();
         int rank = 1;
 
-        for (Object[] row : results) {
-            User user = (User) row[0];
-            Long totalLessons = (Long) row[1];
+        for (WeeklyLessonCounter.Entry row : results) {
+            User user = users.get(row.userId());
+            if (user == null) {
+                continue;
+            }
 
             entries.add(RankingDto.Entry.builder()
                     .rank(rank++)
                     .name(user.getUsername())
-                    .count(totalLessons != null ? totalLessons : 0)
+                    .count(row.lessons())
                     .isMe(user.getId().equals(currentUserId))
                     .isFriend(friendIds.contains(user.getId()))
                     .avatarUrl(user.getImageUrl())
@@ -0,0 +1,112 @@
+package com.example.api.service;
+
+import com.example.api.entity.Rate;
+import com.example.api.repository.RateRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * レーティングサービス
+ * ELOレートの計算と、差分加算による原子的なレート更新を行います
+ */
+@Service
+public class RatingService {
+
+    /** ELOレーティングのK係数（変動幅を決定） */
+    private static final double ELO_K_FACTOR = 32.0;
+
+    /** レートの下限 */
+    public static final int MIN_RATE = 100;
+
+    /** 初期レート */
+    public static final int INITIAL_RATE = 1500;
+
+    private final RateRepository rateRepository;
+
+    /**
+     * レート更新結果
+     */
+    public record RatingOutcome(int winnerOldRate, int loserOldRate,
+                                int winnerRateChange, int loserRateChange,
+                                int winnerNewRate, int loserNewRate) {
+    }
+
+    public RatingService(RateRepository rateRepository) {
+        this.rateRepository = rateRepository;
+    }
+
+    /**
+     * 勝敗結果をレートに反映（ランクマッチの勝敗決着時）
+     * 変動量は読み取った時点のレートから計算し、DBには差分のみを1回のUPDATEで加算する（行ロックの読み取りは行わない）
+     * 返す更新前・更新後のレートと変動量は、UPDATEで実際に反映された値（last_change）から求めるため常に整合する
+     * @param winnerId 勝者ID
+     * @param loserId 敗者ID
+     * @param season シーズン
+     * @return レート更新結果
+     */
+    @Transactional
+    public RatingOutcome applyMatchResult(Long winnerId, Long loserId, Integer season) {
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, Integer> readRates = loadRates(season, winnerId, loserId);
+        if (readRates.size() < 2) {
+            // 初めてのシーズンのみ行を作成
+            // 勝敗が逆の対戦と同時に作成しても行ロックの順序が逆転しないよう、ユーザーIDの昇順で挿入する
+            rateRepository.insertIfAbsent(Math.min(winnerId, loserId), Math.max(winnerId, loserId),
+                    season, INITIAL_RATE, now);
+        }
+        int winnerReadRate = readRates.getOrDefault(winnerId, INITIAL_RATE);
+        int loserReadRate = readRates.getOrDefault(loserId, INITIAL_RATE);
+
+        int winnerDelta = calculateRatingChange(calculateExpectedScore(winnerReadRate, loserReadRate), 1.0); // 勝利 = 1.0
+        int loserDelta = calculateRatingChange(calculateExpectedScore(loserReadRate, winnerReadRate), 0.0);  // 敗北 = 0.0
+
+        int updated = rateRepository.applyDeltas(season, winnerId, winnerDelta, loserId, loserDelta, MIN_RATE, now);
+        if (updated != 2) {
+            throw new IllegalStateException("レート更新対象が不足しています: updated=" + updated);
+        }
+
+        // 自トランザクションで更新した行のため、コミットまで他の対戦の変動は含まれない
+        Map<Long, Rate> applied = rateRepository.findBySeasonAndUserIds(season, List.of(winnerId, loserId)).stream()
+                .collect(Collectors.toMap(r -> r.getUser().getId(), r -> r));
+        Rate winnerRate = applied.get(winnerId);
+        Rate loserRate = applied.get(loserId);
+
+        return new RatingOutcome(
+                winnerRate.getRate() - winnerRate.getLastChange(), loserRate.getRate() - loserRate.getLastChange(),
+                winnerRate.getLastChange(), loserRate.getLastChange(),
+                winnerRate.getRate(), loserRate.getRate());
+    }
+
+    /**
+     * 2ユーザーの現在レートを取得（レート変動なしの場合に使用。未登録は初期値）
+     * @return ユーザーID → レート
+     */
+    @Transactional(readOnly = true)
+    public Map<Long, Integer> getCurrentRates(Long userId1, Long userId2, Integer season) {
+        return loadRates(season, userId1, userId2);
+    }
+
+    private Map<Long, Integer> loadRates(Integer season, Long userId1, Long userId2) {
+        List<Rate> rates = rateRepository.findBySeasonAndUserIds(season, List.of(userId1, userId2));
+        return rates.stream().collect(Collectors.toMap(r -> r.getUser().getId(), Rate::getRate));
+    }
+
+    /**
+     * ELO期待勝率を計算
+     */
+    private double calculateExpectedScore(int playerRating, int opponentRating) {
+        return 1.0 / (1.0 + Math.pow(10, (opponentRating - playerRating) / 400.0));
+    }
+
+    /**
+     * ELOレーティング変動を計算
+     */
+    private int calculateRatingChange(double expectedScore, double actualScore) {
+        return (int) Math.round(ELO_K_FACTOR * (actualScore - expectedScore));
+    }
+}
@@ -0,0 +1,99 @@
+package com.example.api.service;
+
+import com.example.api.entity.Result;
+import com.example.api.repository.ResultRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 対戦結果サマリー列の移行サービス
+ * サマリー列（player_score / enemy_score / is_draw）追加前の結果について、
+ * result_detailから計算した値を起動完了後にバックグラウンドで書き込みます
+ * 移行済みの行は対象外になるため、全件移行後は1回の検索のみで終了します
+ */
+@Service
+public class ResultSummaryBackfillService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResultSummaryBackfillService.class);
+
+    /** 1トランザクションで移行する件数 */
+    private static final int BATCH_SIZE = 200;
+
+    private final ResultRepository resultRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ExecutorService backfillExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "result-summary-backfill");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ResultSummaryBackfillService(ResultRepository resultRepository,
+                                        PlatformTransactionManager transactionManager) {
+        this.resultRepository = resultRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 起動完了後にバックグラウンドで移行
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        backfillExecutor.execute(() -> {
+            try {
+                backfill();
+            } catch (Exception e) {
+                logger.error("対戦結果サマリーの移行に失敗", e);
+            }
+        });
+    }
+
+    /**
+     * サマリー列が未記録の結果を移行
+     * @return 移行した件数
+     */
+    public int backfill() {
+        long start = System.currentTimeMillis();
+        long lastId = 0L;
+        int total = 0;
+        while (!Thread.currentThread().isInterrupted()) {
+            long afterId = lastId;
+            List<Long> ids = transactionTemplate.execute(status ->
+                    resultRepository.findUnsummarizedIds(afterId, PageRequest.of(0, BATCH_SIZE)));
+            if (ids.isEmpty()) {
+                break;
+            }
+            transactionTemplate.executeWithoutResult(status -> {
+                List<Result> results = resultRepository.findAllById(ids);
+                for (Result result : results) {
+                    BattleResultSummary.calculate(result).applyTo(result);
+                }
+                resultRepository.saveAll(results);
+            });
+            total += ids.size();
+            lastId = ids.get(ids.size() - 1);
+            logger.debug("対戦結果サマリーを移行中: migrated={}, lastId={}", total, lastId);
+        }
+
+        if (total > 0) {
+            logger.info("対戦結果サマリーの移行完了: migrated={}, elapsedMs={}", total, System.currentTimeMillis() - start);
+        }
+        return total;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        backfillExecutor.shutdownNow();
+    }
+}
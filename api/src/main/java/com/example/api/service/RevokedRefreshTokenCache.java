@@ -0,0 +1,84 @@
+package com.example.api.service;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 無効化済みリフレッシュトークンの短期キャッシュ
+ * ログアウト等で無効化したトークンのハッシュを一定時間保持し、再利用（リプレイ）をDB照会なしで検知します
+ * DB上のセッション状態が正であり、このキャッシュは照会の省略と検知ログのためにのみ使用します
+ */
+@Component
+public class RevokedRefreshTokenCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(RevokedRefreshTokenCache.class);
+
+    /** 保持時間（ミリ秒） */
+    private static final long TTL_MS = 30 * 60_000L;
+
+    /** 最大保持件数（超えた場合は追加しない） */
+    private static final int MAX_ENTRIES = 100_000;
+
+    // リフレッシュトークンハッシュ → 失効時刻（ミリ秒）
+    private final ConcurrentHashMap<String, Long> revoked = new ConcurrentHashMap<>();
+
+    /**
+     * 無効化したトークンハッシュを登録
+     * トランザクション内の場合はコミット後に登録する（ロールバック時は登録しない）
+     * @param refreshHash リフレッシュトークンハッシュ
+     */
+    public void markRevoked(String refreshHash) {
+        Runnable register = () -> {
+            if (revoked.size() < MAX_ENTRIES) {
+                revoked.put(refreshHash, System.currentTimeMillis() + TTL_MS);
+            }
+        };
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    register.run();
+                }
+            });
+        } else {
+            register.run();
+        }
+    }
+
+    /**
+     * 無効化済みのトークンハッシュかどうか
+     * @param refreshHash リフレッシュトークンハッシュ
+     * @return 保持期間内に無効化されたハッシュの場合true
+     */
+    public boolean isRevoked(String refreshHash) {
+        Long expiresAt = revoked.get(refreshHash);
+        if (expiresAt == null) {
+            return false;
+        }
+        if (expiresAt < System.currentTimeMillis()) {
+            revoked.remove(refreshHash, expiresAt);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 保持期間を過ぎたエントリを破棄
+     */
+    @Scheduled(fixedRate = 60_000)
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        int before = revoked.size();
+        revoked.values().removeIf(expiresAt -> expiresAt < now);
+        int removed = before - revoked.size();
+        if (removed > 0) {
+            logger.debug("無効化済みリフレッシュトークンの期限切れエントリを破棄: count={}", removed);
+        }
+    }
+}
@@ -26,6 +26,9 @@ public class ShopService {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private CatalogService catalogService;
+
     @Autowired
     private UserItemRepository userItemRepository;
 
@@ -41,7 +44,7 @@ public class ShopService {
             throw new IllegalArgumentException("quantity must be positive.");
         }
 
-        Item item = itemRepository.findByItemIdAndStatus(request.getItemId(), ItemStatus.ACTIVE)
+        CatalogService.ItemSnapshot itemSnapshot = catalogService.findItem(request.getItemId(), ItemStatus.ACTIVE)
                 .orElseThrow(() -> new IllegalArgumentException(
                         "item not found or inactive: " + request.getItemId()));
 
@@ -54,6 +57,7 @@ public class ShopService {
         User user = userRepository.findById(userId)
                 .orElseThrow(() -> new IllegalArgumentException("user not found: " + userId));
 
+        Item item = itemRepository.getReferenceById(itemSnapshot.itemId());
         Optional<UserItem> existingUserItem = userItemRepository.findByUserAndItem(user, item);
 
         UserItem userItem;
@@ -23,9 +23,15 @@ public class SubscriptionService {
     @Autowired
     private ItemRepository itemRepository;
 
+    @Autowired
+    private CatalogService catalogService;
+
     @Autowired
     private UserItemRepository userItemRepository;
 
+    @Autowired
+    private LifeLedger lifeLedger;
+
     // 回復アイテムのID（データベースのitemテーブルにこのIDが存在する必要があります）
     private static final int RECOVERY_ITEM_ID = 1;
     // 付与する個数
@@ -52,6 +58,8 @@ public class SubscriptionService {
         user.setExpiresAt(baseTime.plusDays(31));
         
         userRepository.save(user);
+        // ライフ上限が変わるため台帳を破棄
+        lifeLedger.evict(user.getId());
         System.out.println("ユーザー情報を更新しました。期限: " + user.getExpiresAt());
 
         // 2. 特典アイテム付与
@@ -65,10 +73,12 @@ public class SubscriptionService {
      */
     private void grantRecoveryItem(User user) {
         // アイテムマスタから取得
-        Item recoveryItem = itemRepository.findByItemIdAndStatus(RECOVERY_ITEM_ID, ItemStatus.ACTIVE)
+        CatalogService.ItemSnapshot recoveryItemSnapshot = catalogService.findItem(RECOVERY_ITEM_ID, ItemStatus.ACTIVE)
                 .orElseThrow(() -> new RuntimeException(
                         "致命的エラー: アイテム(ID:" + RECOVERY_ITEM_ID + ")がDBに存在しません。itemテーブルを確認してください。"));
 
+        Item recoveryItem = itemRepository.getReferenceById(recoveryItemSnapshot.itemId());
+
         // ユーザーの所持情報を検索
         Optional<UserItem> existingUserItem = userItemRepository.findByUserAndItem(user, recoveryItem);
 
@@ -8,18 +8,20 @@ import com.example.api.entity.Vocabulary;
 import com.example.api.repository.UserRepository;
 import com.example.api.repository.UserVocabularyRepository;
 import com.example.api.repository.VocabularyRepository;
+import com.example.api.util.AnswerGradingUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.cache.annotation.Cacheable;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.scheduling.annotation.Async;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import java.util.ArrayList;
-import java.util.List;
-import java.util.Optional;
-import java.util.Set;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.regex.Pattern;
 
 /**
  * UserVocabulary管理サービス
@@ -45,6 +47,25 @@ public class UserVocabularyService {
     @Autowired
     private VocabularyService vocabularyService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private VocabularyLookupService vocabularyLookupService;
+
+    /** 一括登録時のJDBCバッチサイズ */
+    private static final int INSERT_BATCH_SIZE = 50;
+
+    private static final String INSERT_USER_VOCABULARY_SQL =
+        "INSERT INTO user_vocabulary (user_id, vocab_id, first_learned_at, learned_word_flag, favorite_flag) " +
+        "VALUES (?, ?, ?, false, false)";
+
+    /** 単語帳に登録する単語（英字のみ） */
+    private static final Pattern ENGLISH_WORD = Pattern.compile("[a-z]+");
+
     /**
      * 除外する一般的な単語（学習価値が低い）
      * 冠詞、代名詞、前置詞、助動詞、接続詞、基本動詞など
@@ -230,29 +251,102 @@ public class UserVocabularyService {
     public List<String> registerListeningMistakes(Long userId, String userAnswer, String correctAnswer) {
         logger.info("リスニング問題の間違いを分析: userId={}", userId);
         
-        List<String> registeredWords = new ArrayList<>();
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) {
+            logger.warn("ユーザーが見つかりません: userId={}", userId);
+            return List.of();
+        }
 
-        // 単語に分割
-        String[] userWords = normalizeAndSplit(userAnswer);
-        String[] correctWords = normalizeAndSplit(correctAnswer);
+        List<String> registeredWords = registerWords(user,
+            new LinkedHashSet<>(findListeningMistakeWords(userAnswer, correctAnswer)), true);
 
-        // 間違えた単語を特定
-        for (int i = 0; i < correctWords.length; i++) {
-            String correctWord = correctWords[i];
+        logger.info("リスニングで間違えた単語を登録: count={}, words={}", registeredWords.size(), registeredWords);
+        return registeredWords;
+    }
 
-            // ユーザーの回答に該当する位置の単語が存在しないか、異なる場合
-            boolean isIncorrect = i >= userWords.length || !userWords[i].equalsIgnoreCase(correctWord);
+    /**
+     * リスニング問題で間違えた単語を抽出（一般的な単語・1文字の単語は除外）
+     *
+     * @param userAnswer ユーザーの回答
+     * @param correctAnswer 正解
+     * @return 間違えた単語のリスト（正規化済み）
+     */
+    private List<String> findListeningMistakeWords(String userAnswer, String correctAnswer) {
+        List<String> mistakes = new ArrayList<>();
 
-            if (isIncorrect && !isCommonWord(correctWord) && correctWord.length() > 1) {
-                boolean registered = registerWordToUserVocabulary(userId, correctWord, true);
-                if (registered) {
-                    registeredWords.add(correctWord);
-                }
+        // 単語単位の差分で、回答と対応しなかった正解の単語を特定
+        for (String correctWord : AnswerGradingUtils.findMissedTokens(userAnswer, correctAnswer)) {
+            if (ENGLISH_WORD.matcher(correctWord).matches() && !isCommonWord(correctWord) && correctWord.length() > 1) {
+                mistakes.add(correctWord);
             }
         }
+        return mistakes;
+    }
 
-        logger.info("リスニングで間違えた単語を登録: count={}, words={}", registeredWords.size(), registeredWords);
-        return registeredWords;
+    /**
+     * リスニング問題の回答（間違えた単語の抽出元）
+     */
+    public record ListeningMistake(String userAnswer, String correctAnswer) {
+    }
+
+    /**
+     * クイズ1回分の単語登録内容
+     * @param userId ユーザーID
+     * @param fillInBlankAnswers FILL_IN_BLANK問題の答え
+     * @param listeningMistakes 不正解だったリスニング問題の回答
+     */
+    public record QuizVocabularyJob(Long userId, List<String> fillInBlankAnswers,
+                                    List<ListeningMistake> listeningMistakes) {
+        public boolean isEmpty() {
+            return fillInBlankAnswers.isEmpty() && listeningMistakes.isEmpty();
+        }
+    }
+
+    /**
+     * クイズ1回分の単語をまとめて非同期で登録
+     * QuizServiceから問題ごとではなくクイズ単位で1回だけ呼ばれる
+     */
+    @Async("vocabularyTaskExecutor")
+    public void registerQuizVocabularyAsync(QuizVocabularyJob job) {
+        registerQuizVocabulary(job);
+    }
+
+    /**
+     * クイズ1回分の単語をまとめて登録（ユーザーの取得は1回のみ）
+     * Wordnik APIの呼び出しを含むため、全体を1つのトランザクションにはしない
+     *
+     * @param job 登録内容
+     * @return 登録された単語数
+     */
+    public int registerQuizVocabulary(QuizVocabularyJob job) {
+        User user = userRepository.findById(job.userId()).orElse(null);
+        if (user == null) {
+            logger.warn("ユーザーが見つかりません: userId={}", job.userId());
+            return 0;
+        }
+
+        Set<String> fillInBlankWords = new LinkedHashSet<>();
+        for (String word : job.fillInBlankAnswers()) {
+            if (word == null || word.trim().isEmpty()) {
+                continue;
+            }
+            String normalizedWord = word.toLowerCase().trim();
+            if (!isCommonWord(normalizedWord)) {
+                fillInBlankWords.add(normalizedWord);
+            }
+        }
+        Set<String> listeningWords = new LinkedHashSet<>();
+        for (ListeningMistake mistake : job.listeningMistakes()) {
+            listeningWords.addAll(findListeningMistakeWords(mistake.userAnswer(), mistake.correctAnswer()));
+        }
+        listeningWords.removeAll(fillInBlankWords);
+
+        int registered = registerWords(user, fillInBlankWords, false).size()
+            + registerWords(user, listeningWords, true).size();
+
+        logger.info("クイズの単語を登録: userId={}, fillInBlank={}, listeningMistakes={}, registered={}",
+                job.userId(), job.fillInBlankAnswers().size(), job.listeningMistakes().size(), registered);
+        return registered;
     }
 
     /**
@@ -266,66 +360,91 @@ public class UserVocabularyService {
     @Transactional
     public boolean registerWordToUserVocabulary(Long userId, String word, boolean fetchFromWordnik) {
         String normalizedWord = word.toLowerCase().trim();
-        
+
+        // 1. ユーザーを取得
+        User user = userRepository.findById(userId)
+            .orElse(null);
+
+        if (user == null) {
+            logger.warn("ユーザーが見つかりません: userId={}", userId);
+            return false;
+        }
+
+        return !registerWords(user, Set.of(normalizedWord), fetchFromWordnik).isEmpty();
+    }
+
+    /**
+     * 複数の単語をまとめてUserVocabularyに登録
+     * 単語→Vocabularyの解決はキャッシュとIN検索1回、登録済みの除外は1クエリ、登録はJDBCバッチで行う
+     *
+     * @param user ユーザー
+     * @param normalizedWords 登録する単語（正規化済み）
+     * @param fetchFromWordnik Vocabularyに存在しない場合Wordnik APIから取得するか
+     * @return 新たに登録された単語のリスト
+     */
+    public List<String> registerWords(User user, Set<String> normalizedWords, boolean fetchFromWordnik) {
+        if (normalizedWords.isEmpty()) {
+            return List.of();
+        }
+        Long userId = user.getId();
+        long start = System.currentTimeMillis();
+
         try {
-            // 1. ユーザーを取得
-            User user = userRepository.findById(userId)
-                .orElse(null);
-            
-            if (user == null) {
-                logger.warn("ユーザーが見つかりません: userId={}", userId);
-                return false;
-            }
+            // 1. Vocabularyを取得（キャッシュ → IN検索）
+            Map<String, Vocabulary> vocabularies = vocabularyLookupService.findAll(normalizedWords);
 
-            // 2. Vocabularyを取得または作成（キャッシュ使用）
-            Vocabulary vocabulary = findVocabularyByWordCached(normalizedWord);
-
-            if (vocabulary == null) {
-                if (fetchFromWordnik) {
-                    // Wordnik APIから情報を取得して新規作成
-                    vocabulary = createVocabularyFromWordnik(normalizedWord);
-                    if (vocabulary == null) {
-                        logger.warn("Vocabularyの作成に失敗: word={}", normalizedWord);
-                        return false;
-                    }
-                } else {
-                    // Vocabularyが存在しない場合はスキップ
-                    logger.debug("Vocabularyが存在しないためスキップ: word={}", normalizedWord);
-                    return false;
+            // 2. 存在しない単語はWordnik APIから作成（指定時のみ、トランザクション外で実行）
+            for (String word : normalizedWords) {
+                if (vocabularies.containsKey(word)) {
+                    continue;
+                }
+                if (!fetchFromWordnik) {
+                    logger.debug("Vocabularyが存在しないためスキップ: word={}", word);
+                    continue;
                 }
+                Vocabulary created = createVocabularyFromWordnik(word);
+                if (created == null) {
+                    logger.warn("Vocabularyの作成に失敗: word={}", word);
+                    continue;
+                }
+                vocabularies.put(word, created);
             }
-
-            // 3. 既にUserVocabularyに登録済みかチェック
-            if (userVocabularyRepository.existsByUserIdAndVocabId(userId, vocabulary.getVocabId())) {
-                logger.debug("既に登録済みのためスキップ: userId={}, word={}", userId, normalizedWord);
-                return false;
+            if (vocabularies.isEmpty()) {
+                return List.of();
             }
 
-            // 4. UserVocabularyに登録
-            UserVocabulary userVocabulary = new UserVocabulary();
-            userVocabulary.setUser(user);
-            userVocabulary.setVocabulary(vocabulary);
-            userVocabulary.setLearnedWordFlag(false);
-            userVocabulary.setFavoriteFlag(false);
+            Map<Integer, String> wordsByVocabId = new LinkedHashMap<>();
+            vocabularies.forEach((word, vocabulary) -> wordsByVocabId.putIfAbsent(vocabulary.getVocabId(), word));
 
-            userVocabularyRepository.save(userVocabulary);
-            logger.info("UserVocabularyに登録: userId={}, word={}", userId, normalizedWord);
-            return true;
+            // 3. 登録済みを除外し、残りをバッチ登録
+            List<String> registered = transactionTemplate.execute(status -> {
+                Set<Integer> newVocabIds = new LinkedHashSet<>(wordsByVocabId.keySet());
+                newVocabIds.removeAll(userVocabularyRepository.findRegisteredVocabIds(userId, wordsByVocabId.keySet()));
+                if (newVocabIds.isEmpty()) {
+                    return List.<String>of();
+                }
+
+                Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+                jdbcTemplate.batchUpdate(INSERT_USER_VOCABULARY_SQL, new ArrayList<>(newVocabIds), INSERT_BATCH_SIZE,
+                    (ps, vocabId) -> {
+                        ps.setLong(1, userId);
+                        ps.setInt(2, vocabId);
+                        ps.setTimestamp(3, now);
+                    });
+                return newVocabIds.stream().map(wordsByVocabId::get).toList();
+            });
+
+            logger.info("UserVocabularyに一括登録: userId={}, requested={}, resolved={}, registered={}, elapsedMs={}",
+                userId, normalizedWords.size(), vocabularies.size(), registered.size(),
+                System.currentTimeMillis() - start);
+            return registered;
 
         } catch (Exception e) {
-            logger.error("UserVocabulary登録中にエラー: userId={}, word={}", userId, normalizedWord, e);
-            return false;
+            logger.error("UserVocabulary一括登録中にエラー: userId={}, words={}", userId, normalizedWords, e);
+            return List.of();
         }
     }
 
-    /**
-     * Vocabularyをキャッシュから取得（キャッシュミス時はDBから取得）
-     */
-    @Cacheable(value = "vocabularyCache", key = "#word", unless = "#result == null")
-    public Vocabulary findVocabularyByWordCached(String word) {
-        return vocabularyRepository.findFirstByWordOrderByVocabIdAsc(word).orElse(null);
-    }
-
     /**
      * Wordnik APIから単語情報を取得してVocabularyを作成
      */
@@ -335,6 +454,7 @@ public class UserVocabularyService {
             Vocabulary existing = vocabularyRepository.findFirstByWordOrderByVocabIdAsc(word).orElse(null);
             if (existing != null) {
                 logger.debug("Vocabulary作成前の再チェックで既存レコードを発見: word={}", word);
+                vocabularyLookupService.put(existing);
                 return existing;
             }
 
@@ -354,7 +474,9 @@ public class UserVocabularyService {
             }
 
             // VocabularyServiceの独立トランザクションで保存（制約違反が起きても当トランザクションは汚染されない）
-            return vocabularyService.saveVocabularyFromWordInfo(word, wordInfo);
+            Vocabulary created = vocabularyService.saveVocabularyFromWordInfo(word, wordInfo);
+            vocabularyLookupService.put(created);
+            return created;
 
         } catch (Exception e) {
             logger.error("Vocabulary作成中にエラー: word={}", word, e);
@@ -362,20 +484,6 @@ public class UserVocabularyService {
         }
     }
 
-    /**
-     * テキストを正規化して単語に分割
-     */
-    private String[] normalizeAndSplit(String text) {
-        if (text == null || text.isEmpty()) {
-            return new String[0];
-        }
-        // 句読点を除去し、小文字に変換して分割
-        return text.toLowerCase()
-            .replaceAll("[^a-zA-Z\\s]", "")
-            .trim()
-            .split("\\s+");
-    }
-
     /**
      * 一般的な単語かどうかをチェック
      */
@@ -0,0 +1,208 @@
+package com.example.api.service;
+
+import com.example.api.config.CacheConfig;
+import com.example.api.entity.Vocabulary;
+import com.example.api.repository.UserVocabularyRepository;
+import com.example.api.repository.VocabularyRepository;
+import com.example.api.util.CollationUtils;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * 単語→Vocabularyの検索サービス
+ * vocabularyCacheを直接操作し、存在しない単語もネガティブキャッシュとして記録します
+ * DBの照合順序（utf8mb4_0900_ai_ci）は大文字・小文字やアクセントを区別しないため、
+ * キャッシュのキーとDBの行との対応付けは照合順序で畳み込んだ単語で行います
+ * 起動完了後に登録ユーザー数の多い単語をキャッシュへ読み込みます
+ * ヒット・ミス・破棄の件数はactuatorのmetrics（cache.gets / cache.evictions、name=vocabularyCache）から参照できます
+ */
+@Service
+public class VocabularyLookupService {
+
+    private static final Logger logger = LoggerFactory.getLogger(VocabularyLookupService.class);
+
+    /** IN検索1回あたりの単語数 */
+    private static final int LOOKUP_BATCH_SIZE = 500;
+
+    private final VocabularyRepository vocabularyRepository;
+    private final UserVocabularyRepository userVocabularyRepository;
+    private final CacheManager cacheManager;
+    private final TransactionTemplate transactionTemplate;
+    private final int warmUpSize;
+    private final long maximumSize;
+
+    private final ExecutorService warmUpExecutor = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "vocabulary-cache-warm-up");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public VocabularyLookupService(VocabularyRepository vocabularyRepository,
+                                   UserVocabularyRepository userVocabularyRepository,
+                                   CacheManager cacheManager,
+                                   PlatformTransactionManager transactionManager,
+                                   @Value("${cache.vocabulary.warm-up-size:2000}") int warmUpSize,
+                                   @Value("${cache.vocabulary.maximum-size:5000}") long maximumSize) {
+        this.vocabularyRepository = vocabularyRepository;
+        this.userVocabularyRepository = userVocabularyRepository;
+        this.cacheManager = cacheManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.warmUpSize = warmUpSize;
+        this.maximumSize = maximumSize;
+    }
+
+    /**
+     * 単語のVocabularyを取得
+     * @param word 単語（正規化済み）
+     * @return Vocabulary（存在しない場合null）
+     */
+    public Vocabulary find(String word) {
+        return findAll(List.of(word)).get(word);
+    }
+
+    /**
+     * 複数の単語のVocabularyをまとめて取得
+     * キャッシュに無い単語のみIN検索し、見つからなかった単語はネガティブキャッシュに記録する
+     * DBが照合順序で一致させた行（"hello"に対する"Hello"など）も、要求された単語の結果として返す
+     * @param words 単語（正規化済み）
+     * @return 単語（要求された表記） → Vocabulary（存在しない単語は含まない）
+     */
+    public Map<String, Vocabulary> findAll(Collection<String> words) {
+        Map<String, Vocabulary> resolved = new HashMap<>();
+        Cache cache = cache();
+        // キャッシュのキー → 要求された単語（照合順序で同じ単語になる表記をまとめる）
+        Map<String, List<String>> misses = new LinkedHashMap<>();
+        for (String word : words) {
+            String key = cacheKey(word);
+            Cache.ValueWrapper cached = cache != null ? cache.get(key) : null;
+            if (cached == null) {
+                misses.computeIfAbsent(key, k -> new ArrayList<>()).add(word);
+            } else if (cached.get() instanceof Vocabulary vocabulary) {
+                resolved.put(word, vocabulary);
+            }
+        }
+        if (misses.isEmpty()) {
+            return resolved;
+        }
+
+        List<String> pending = misses.values().stream().flatMap(List::stream).toList();
+        Map<String, Vocabulary> found = new HashMap<>();
+        for (int from = 0; from < pending.size(); from += LOOKUP_BATCH_SIZE) {
+            List<String> chunk = pending.subList(from, Math.min(from + LOOKUP_BATCH_SIZE, pending.size()));
+            for (Vocabulary vocabulary : vocabularyRepository.findByWordIn(chunk)) {
+                found.put(cacheKey(vocabulary.getWord()), vocabulary);
+            }
+        }
+        misses.forEach((key, requested) -> {
+            Vocabulary vocabulary = found.get(key);
+            if (vocabulary != null) {
+                requested.forEach(word -> resolved.put(word, vocabulary));
+            }
+            // 照合順序を再現できない単語は、DBが一致させた行と対応付けられない場合があるためネガティブキャッシュしない
+            if (cache != null && (vocabulary != null || CollationUtils.isFoldable(key))) {
+                cache.put(key, vocabulary);
+            }
+        });
+        return resolved;
+    }
+
+    /**
+     * 作成・更新したVocabularyをキャッシュに格納（ネガティブキャッシュを上書き）
+     */
+    public void put(Vocabulary vocabulary) {
+        Cache cache = cache();
+        if (cache != null && vocabulary != null && vocabulary.getWord() != null) {
+            cache.put(cacheKey(vocabulary.getWord()), vocabulary);
+        }
+    }
+
+    /**
+     * 単語のキャッシュを破棄
+     */
+    public void evict(String word) {
+        Cache cache = cache();
+        if (cache != null) {
+            cache.evict(cacheKey(word));
+        }
+    }
+
+    /**
+     * 起動完了後にバックグラウンドでウォームアップ
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUpOnStartup() {
+        if (warmUpSize <= 0) {
+            return;
+        }
+        warmUpExecutor.execute(() -> {
+            try {
+                warmUp();
+            } catch (Exception e) {
+                logger.error("Vocabularyキャッシュのウォームアップに失敗", e);
+            }
+        });
+    }
+
+    /**
+     * 登録ユーザー数の多い単語をキャッシュに読み込む
+     * @return 読み込んだ件数
+     */
+    public int warmUp() {
+        Cache cache = cache();
+        if (cache == null) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+        int limit = (int) Math.min(warmUpSize, maximumSize);
+
+        List<Vocabulary> vocabularies = transactionTemplate.execute(status -> {
+            List<Integer> vocabIds = userVocabularyRepository.findMostRegisteredVocabIds(PageRequest.of(0, limit));
+            return vocabIds.isEmpty() ? List.<Vocabulary>of() : vocabularyRepository.findAllById(vocabIds);
+        });
+        for (Vocabulary vocabulary : vocabularies) {
+            cache.putIfAbsent(cacheKey(vocabulary.getWord()), vocabulary);
+        }
+
+        long workingSet = transactionTemplate.execute(status -> userVocabularyRepository.countDistinctVocabIds());
+        logger.info("Vocabularyキャッシュをウォームアップ: loaded={}, workingSet={}, maximumSize={}, elapsedMs={}",
+                vocabularies.size(), workingSet, maximumSize, System.currentTimeMillis() - start);
+        if (workingSet > maximumSize) {
+            logger.warn("登録単語の種類数がVocabularyキャッシュの上限を超えています（cache.vocabulary.maximum-sizeの見直しを推奨）: workingSet={}, maximumSize={}",
+                    workingSet, maximumSize);
+        }
+        return vocabularies.size();
+    }
+
+    /**
+     * キャッシュのキー
+     * 照合順序で畳み込める単語は畳み込んだ単語（照合順序で等しい表記は同じキーになる）、それ以外はそのままの単語
+     */
+    private static String cacheKey(String word) {
+        String folded = CollationUtils.normalize(word);
+        return CollationUtils.isFoldable(folded) ? folded : word;
+    }
+
+    private Cache cache() {
+        return cacheManager.getCache(CacheConfig.VOCABULARY_CACHE);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        warmUpExecutor.shutdownNow();
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.api.service;
+
+import com.example.api.entity.WeeklyLessons;
+import com.example.api.repository.WeeklyLessonsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * 週間学習回数カウンター
+ * weeklylessonsテーブルをユーザー×週の集計済みカウンターとして加算更新し、
+ * 今週分の学習回数をメモリ上に順位順で保持します（ランキング参照時に集計を行いません）
+ * メモリへは加算分ではなく加算後の値を反映し、読み込み直しと同時に届いた値は読み込み結果と大きい方を採用します
+ * （学習回数は週の中で減らないため、反映の順序に関わらず取りこぼし・二重加算が起きません）
+ */
+@Service
+public class WeeklyLessonCounter {
+
+    private static final Logger logger = LoggerFactory.getLogger(WeeklyLessonCounter.class);
+
+    /** 学習回数の降順、同数の場合はユーザーID昇順 */
+    private static final Comparator<Entry> RANKING_ORDER =
+            Comparator.comparingLong(Entry::lessons).reversed().thenComparingLong(Entry::userId);
+
+    private final WeeklyLessonsRepository weeklyLessonsRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final Object lock = new Object();
+    private LocalDate weekStart;
+    private final Map<Long, Long> counts = new HashMap<>();
+    private final NavigableSet<Entry> ranking = new TreeSet<>(RANKING_ORDER);
+
+    // 読み込み直しを1つずつ実行する
+    private final Object reloadLock = new Object();
+    // 読み込み直し中の対象週と、その間にコミットされた加算後の値（ユーザーID → 学習回数）
+    private LocalDate reloadingWeek;
+    private final Map<Long, Long> observedDuringReload = new HashMap<>();
+
+    /**
+     * ユーザーの今週の学習回数
+     */
+    public record Entry(Long userId, long lessons) {
+    }
+
+    public WeeklyLessonCounter(WeeklyLessonsRepository weeklyLessonsRepository,
+                               PlatformTransactionManager transactionManager) {
+        this.weeklyLessonsRepository = weeklyLessonsRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * 学習回数を1加算（呼び出し元のトランザクション内でDBを更新し、コミット後に加算後の値をメモリへ反映）
+     * @param userId ユーザーID
+     */
+    public void increment(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDate week = WeeklyLessons.weekStartOf(now);
+        weeklyLessonsRepository.incrementLessons(userId, week, now);
+        // 行ロックを保持しているため、同じトランザクション内で読んだ値がこの加算のコミット時点の値になる
+        Long lessons = weeklyLessonsRepository.findLessons(userId, week);
+        if (lessons == null) {
+            return;
+        }
+        afterCommit(() -> observe(userId, week, lessons));
+    }
+
+    /**
+     * 新規ユーザーの今週の行を作成（学習回数0でランキングに表示する）
+     * @param weeklyLessons 保存前のエンティティ
+     */
+    public void register(WeeklyLessons weeklyLessons) {
+        WeeklyLessons saved = weeklyLessonsRepository.save(weeklyLessons);
+        Long userId = saved.getUser().getId();
+        LocalDate week = saved.getWeekStart();
+        afterCommit(() -> observe(userId, week, 0L));
+    }
+
+    /**
+     * 今週の上位を取得
+     * @param limit 取得件数
+     * @return 学習回数の降順リスト
+     */
+    public List<Entry> getTop(int limit) {
+        ensureCurrentWeek();
+        synchronized (lock) {
+            List<Entry> top = new ArrayList<>(Math.min(limit, ranking.size()));
+            for (Entry entry : ranking) {
+                if (top.size() >= limit) {
+                    break;
+                }
+                top.add(entry);
+            }
+            return top;
+        }
+    }
+
+    /**
+     * 指定ユーザーの今週の学習回数を順位順で取得（行が存在するユーザーのみ）
+     * @param userIds ユーザーIDのリスト
+     * @param limit 取得件数
+     * @return 学習回数の降順リスト
+     */
+    public List<Entry> getRanking(Collection<Long> userIds, int limit) {
+        ensureCurrentWeek();
+        List<Entry> entries = new ArrayList<>();
+        synchronized (lock) {
+            for (Long userId : new HashSet<>(userIds)) {
+                Long lessons = counts.get(userId);
+                if (lessons != null) {
+                    entries.add(new Entry(userId, lessons));
+                }
+            }
+        }
+        entries.sort(RANKING_ORDER);
+        return entries.size() > limit ? entries.subList(0, limit) : entries;
+    }
+
+    /**
+     * 週の切り替え
+     * 未移行の行に集計週を設定し、前週以前の行を一括でアーカイブしてから今週分を読み込み直す
+     * 未移行の行に同じユーザー×週の行がある場合は、学習回数を合計して1行にまとめてから集計週を設定する
+     * （一意制約違反で週切り替え・起動が失敗しないように）
+     */
+    public void rollover() {
+        LocalDate currentWeek = WeeklyLessons.weekStartOf(LocalDateTime.now());
+        long start = System.currentTimeMillis();
+        int[] updated = transactionTemplate.execute(status -> {
+            weeklyLessonsRepository.mergeLegacyIntoWeek();
+            int merged = weeklyLessonsRepository.deleteLegacyMergedIntoWeek();
+            weeklyLessonsRepository.mergeLegacyDuplicates();
+            merged += weeklyLessonsRepository.deleteLegacyDuplicates();
+            return new int[]{
+                    merged,
+                    weeklyLessonsRepository.backfillWeekStart(),
+                    weeklyLessonsRepository.archiveBefore(currentWeek)
+            };
+        });
+        reload(currentWeek);
+        logger.info("週間学習回数の週切り替え: weekStart={}, merged={}, backfilled={}, archived={}, elapsedMs={}",
+                currentWeek, updated[0], updated[1], updated[2], System.currentTimeMillis() - start);
+    }
+
+    /**
+     * 今週分をDBから読み込み直す（他インスタンスでの加算を反映するため定期実行）
+     */
+    @Scheduled(fixedDelay = 300_000, initialDelay = 300_000)
+    public void refresh() {
+        reload(WeeklyLessons.weekStartOf(LocalDateTime.now()));
+    }
+
+    private void ensureCurrentWeek() {
+        LocalDate currentWeek = WeeklyLessons.weekStartOf(LocalDateTime.now());
+        synchronized (lock) {
+            if (currentWeek.equals(weekStart)) {
+                return;
+            }
+        }
+        reload(currentWeek);
+    }
+
+    /**
+     * 今週分をDBから読み込み直す
+     * 読み込み中にコミットされた加算後の値は、読み込み結果に含まれていない可能性があるため大きい方を採用する
+     */
+    private void reload(LocalDate week) {
+        synchronized (reloadLock) {
+            synchronized (lock) {
+                reloadingWeek = week;
+                observedDuringReload.clear();
+            }
+            try {
+                List<Object[]> rows = transactionTemplate.execute(status -> weeklyLessonsRepository.findCountsByWeekStart(week));
+                synchronized (lock) {
+                    weekStart = week;
+                    counts.clear();
+                    ranking.clear();
+                    for (Object[] row : rows) {
+                        put((Long) row[0], ((Number) row[1]).longValue());
+                    }
+                    observedDuringReload.forEach(this::putIfGreater);
+                }
+                logger.debug("今週の学習回数を読み込み: weekStart={}, users={}", week, rows.size());
+            } finally {
+                synchronized (lock) {
+                    reloadingWeek = null;
+                    observedDuringReload.clear();
+                }
+            }
+        }
+    }
+
+    /**
+     * コミット済みの学習回数をメモリへ反映（コミット後に呼び出す）
+     * @param lessons 加算後の学習回数（新規作成時は0）
+     */
+    private void observe(Long userId, LocalDate week, long lessons) {
+        synchronized (lock) {
+            if (week.equals(reloadingWeek)) {
+                observedDuringReload.merge(userId, lessons, Math::max);
+            }
+            if (week.equals(weekStart)) {
+                putIfGreater(userId, lessons);
+            }
+        }
+    }
+
+    /** lockを保持した状態で呼び出す */
+    private void putIfGreater(Long userId, long lessons) {
+        Long current = counts.get(userId);
+        if (current == null || current < lessons) {
+            put(userId, lessons);
+        }
+    }
+
+    /** lockを保持した状態で呼び出す */
+    private void put(Long userId, long lessons) {
+        Long previous = counts.put(userId, lessons);
+        if (previous != null) {
+            ranking.remove(new Entry(userId, previous));
+        }
+        ranking.add(new Entry(userId, lessons));
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
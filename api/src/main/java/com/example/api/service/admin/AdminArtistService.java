@@ -29,6 +29,12 @@ public class AdminArtistService {
     @Autowired
     private ArtistRepository artistRepository;
 
+    @Autowired
+    private AdminBulkUpdater adminBulkUpdater;
+
+    @Autowired
+    private AdminSearchIndex adminSearchIndex;
+
     @Autowired
     private ArtistGenreRepository artistGenreRepository;
 
@@ -44,6 +50,8 @@ public class AdminArtistService {
         Map<String, Object> params = new HashMap<>();
 
         if (artistName != null && !artistName.isEmpty()) {
+            fromClause.append(adminSearchIndex.candidateClause(
+                    AdminSearchIndex.Field.ARTIST_NAME, artistName, "a.artist_id", "artistNameIds", params));
             fromClause.append(" AND a.artist_name LIKE :artistName");
             params.put("artistName", "%" + artistName + "%");
         }
@@ -153,28 +161,12 @@ public class AdminArtistService {
 
     @Transactional
     public int enableArtists(List<Long> ids) {
-        int count = 0;
-        for (Long id : ids) {
-            artistRepository.findById(id).ifPresent(a -> {
-                a.setIsActive(true);
-                artistRepository.save(a);
-            });
-            count++;
-        }
-        return count;
+        return adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.ARTIST, "is_active", true, ids);
     }
 
     @Transactional
     public int disableArtists(List<Long> ids) {
-        int count = 0;
-        for (Long id : ids) {
-            artistRepository.findById(id).ifPresent(a -> {
-                a.setIsActive(false);
-                artistRepository.save(a);
-            });
-            count++;
-        }
-        return count;
+        return adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.ARTIST, "is_active", false, ids);
     }
 
     private void updateFromRequest(Artist artist, AdminArtistRequest request) {
@@ -1,5 +1,6 @@
 package com.example.api.service.admin;
 
+import com.example.api.config.CacheConfig;
 import com.example.api.dto.admin.AdminBadgeRequest;
 import com.example.api.dto.admin.AdminBadgeResponse;
 import com.example.api.entity.Badge;
@@ -10,6 +11,7 @@ import jakarta.persistence.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -29,6 +31,9 @@ public class AdminBadgeService {
     @Autowired
     private BadgeRepository badgeRepository;
 
+    @Autowired
+    private AdminBulkUpdater adminBulkUpdater;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -107,6 +112,7 @@ public class AdminBadgeService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BADGE_CACHE, allEntries = true)
     public AdminBadgeResponse createBadge(AdminBadgeRequest request) {
         Badge badge = new Badge();
         updateFromRequest(badge, request);
@@ -116,6 +122,7 @@ public class AdminBadgeService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BADGE_CACHE, allEntries = true)
     public AdminBadgeResponse updateBadge(Long badgeId, AdminBadgeRequest request) {
         Badge badge = badgeRepository.findById(badgeId)
                 .orElseThrow(() -> new IllegalArgumentException("バッジが見つかりません: " + badgeId));
@@ -126,6 +133,7 @@ public class AdminBadgeService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BADGE_CACHE, allEntries = true)
     public void deleteBadge(Long badgeId) {
         int updated = entityManager.createNativeQuery(
                 "UPDATE badge SET is_deleted = true WHERE badge_id = :badgeId")
@@ -138,6 +146,7 @@ public class AdminBadgeService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BADGE_CACHE, allEntries = true)
     public void restoreBadge(Long badgeId) {
         int updated = entityManager.createNativeQuery(
                 "UPDATE badge SET is_deleted = false WHERE badge_id = :badgeId")
@@ -150,29 +159,15 @@ public class AdminBadgeService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BADGE_CACHE, allEntries = true)
     public int enableBadges(List<Long> ids) {
-        int count = 0;
-        for (Long id : ids) {
-            badgeRepository.findById(id).ifPresent(b -> {
-                b.setActiveFlag(true);
-                badgeRepository.save(b);
-            });
-            count++;
-        }
-        return count;
+        return adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.BADGE, "is_active", true, ids);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.BADGE_CACHE, allEntries = true)
     public int disableBadges(List<Long> ids) {
-        int count = 0;
-        for (Long id : ids) {
-            badgeRepository.findById(id).ifPresent(b -> {
-                b.setActiveFlag(false);
-                badgeRepository.save(b);
-            });
-            count++;
-        }
-        return count;
+        return adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.BADGE, "is_active", false, ids);
     }
 
     private void updateFromRequest(Badge badge, AdminBadgeRequest request) {
@@ -0,0 +1,134 @@
+package com.example.api.service.admin;
+
+import com.example.api.config.CacheConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * 管理画面の一括操作用の更新処理
+ * IDごとに取得・保存を繰り返さず、IDリストを分割して UPDATE ... WHERE id IN (...) で一括更新します
+ * エンティティの@Whereを経由しないため、無効化済みのレコードも対象にできます
+ */
+@Component
+public class AdminBulkUpdater {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminBulkUpdater.class);
+
+    /** 1回のUPDATEで指定するIDの最大数 */
+    private static final int CHUNK_SIZE = 1000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final CacheManager cacheManager;
+    private final AdminSearchIndex adminSearchIndex;
+
+    public AdminBulkUpdater(CacheManager cacheManager, AdminSearchIndex adminSearchIndex) {
+        this.cacheManager = cacheManager;
+        this.adminSearchIndex = adminSearchIndex;
+    }
+
+    /**
+     * 一括更新の対象テーブル
+     * テーブル名・カラム名はSQLに埋め込むため、ここで定義したもののみ使用する
+     */
+    public enum Target {
+        ARTIST("artist", "artist_id", "is_deleted = false", true, true),
+        BADGE("badge", "badge_id", "is_deleted = false", false, false, CacheConfig.BADGE_CACHE),
+        GENRE("genre", "genre_id", "is_deleted = false", false, false, CacheConfig.GENRE_CACHE),
+        QUESTION("question", "question_id", "is_deleted = false", false, true),
+        SONG("song", "song_id", "is_deleted = false", false, true),
+        USER("users", "user_id", null, false, false),
+        VOCABULARY("vocabulary", "vocab_id", "is_deleted = false", true, true, CacheConfig.VOCABULARY_CACHE);
+
+        private final String table;
+        private final String idColumn;
+        private final String condition;
+        private final boolean hasUpdatedAt;
+        private final boolean searchIndexed; // 管理画面検索の索引対象のテーブルかどうか
+        private final String[] dependentCaches;
+
+        Target(String table, String idColumn, String condition, boolean hasUpdatedAt, boolean searchIndexed,
+               String... dependentCaches) {
+            this.table = table;
+            this.idColumn = idColumn;
+            this.condition = condition;
+            this.hasUpdatedAt = hasUpdatedAt;
+            this.searchIndexed = searchIndexed;
+            this.dependentCaches = dependentCaches;
+        }
+    }
+
+    /**
+     * 真偽値カラムを一括更新
+     * @param target 対象テーブル
+     * @param column 更新するカラム名（is_active / ban_flag など固定値のみ）
+     * @param value 設定する値
+     * @param ids 対象IDリスト
+     * @return 更新された行数
+     */
+    public int updateFlag(Target target, String column, boolean value, Collection<? extends Number> ids) {
+        if (ids == null || ids.isEmpty()) {
+            return 0;
+        }
+        long start = System.currentTimeMillis();
+
+        StringBuilder sql = new StringBuilder("UPDATE ").append(target.table)
+                .append(" SET ").append(column).append(" = :value");
+        if (target.hasUpdatedAt) {
+            sql.append(", updated_at = CURRENT_TIMESTAMP");
+        }
+        sql.append(" WHERE ").append(target.idColumn).append(" IN (:ids)");
+        if (target.condition != null) {
+            sql.append(" AND ").append(target.condition);
+        }
+
+        // 保留中の変更を先に反映してから一括更新する
+        entityManager.flush();
+
+        List<? extends Number> distinctIds = new ArrayList<>(new LinkedHashSet<>(ids));
+        int affected = 0;
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            List<? extends Number> chunk = distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size()));
+            affected += entityManager.createNativeQuery(sql.toString())
+                    .setParameter("value", value)
+                    .setParameter("ids", chunk)
+                    .executeUpdate();
+        }
+
+        // 一括更新はエンティティを経由しないため、読み込み済みの状態を破棄する
+        entityManager.clear();
+        evictDependentCaches(target);
+        if (target.searchIndexed) {
+            // エンティティのリスナーを経由しない更新のため、索引を再構築させる（コミット後）
+            adminSearchIndex.invalidate();
+        }
+
+        logger.info("一括更新: table={}, column={}, value={}, requested={}, affected={}, elapsedMs={}",
+                target.table, column, value, distinctIds.size(), affected, System.currentTimeMillis() - start);
+        return affected;
+    }
+
+    /**
+     * 対象テーブルに依存するキャッシュを破棄
+     * キャッシュはトランザクション対応（CacheConfig）のため、トランザクション内の場合はコミット後に破棄される
+     */
+    private void evictDependentCaches(Target target) {
+        for (String cacheName : target.dependentCaches) {
+            Cache cache = cacheManager.getCache(cacheName);
+            if (cache != null) {
+                cache.clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.api.service.admin;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * 管理画面一覧の件数キャッシュ
+ * 検索条件ごとのCOUNT結果を保持し、期限切れの場合は古い値を返しつつバックグラウンドで再集計します
+ */
+@Component
+public class AdminCountCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminCountCache.class);
+
+    /** この時間を過ぎた件数はバックグラウンドで再集計（ミリ秒） */
+    private static final long REFRESH_AFTER_MS = 60_000L;
+
+    /** 保持する検索条件の上限（超えた場合は全破棄） */
+    private static final int MAX_ENTRIES = 500;
+
+    private final ConcurrentHashMap<String, Entry> counts = new ConcurrentHashMap<>();
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "admin-count-refresher"));
+    private final TransactionTemplate readOnlyTransaction;
+
+    /**
+     * 件数の取得方法
+     */
+    public enum CountMode {
+        /** 毎回COUNTを実行 */
+        EXACT,
+        /** キャッシュした件数を使用（概算） */
+        APPROXIMATE,
+        /** 件数を取得しない */
+        NONE;
+
+        public static CountMode parse(String value) {
+            if (value == null || value.isEmpty()) {
+                return EXACT;
+            }
+            try {
+                return valueOf(value.toUpperCase());
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("不正な件数取得モード: " + value);
+            }
+        }
+    }
+
+    private record Entry(long count, long computedAtMillis) {
+    }
+
+    public AdminCountCache(PlatformTransactionManager transactionManager) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+    }
+
+    /**
+     * キャッシュされた件数を取得
+     * 未集計の場合はその場で集計し、期限切れの場合は古い値を返してバックグラウンドで再集計する
+     * @param key 検索条件を表すキー
+     * @param counter 件数の集計処理
+     * @return 件数（概算）
+     */
+    public long get(String key, Supplier<Long> counter) {
+        Entry entry = counts.get(key);
+        if (entry == null) {
+            return compute(key, counter);
+        }
+        if (System.currentTimeMillis() - entry.computedAtMillis() > REFRESH_AFTER_MS && refreshing.add(key)) {
+            refresher.execute(() -> {
+                try {
+                    compute(key, () -> readOnlyTransaction.execute(status -> counter.get()));
+                } catch (Exception e) {
+                    logger.warn("件数の再集計に失敗: key={}", key, e);
+                } finally {
+                    refreshing.remove(key);
+                }
+            });
+        }
+        return entry.count();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private long compute(String key, Supplier<Long> counter) {
+        long count = counter.get();
+        if (counts.size() >= MAX_ENTRIES) {
+            counts.clear();
+        }
+        counts.put(key, new Entry(count, System.currentTimeMillis()));
+        return count;
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.api.service.admin;
 
+import com.example.api.config.CacheConfig;
 import com.example.api.dto.admin.AdminGenreRequest;
 import com.example.api.dto.admin.AdminGenreResponse;
 import com.example.api.entity.Genre;
@@ -10,6 +11,7 @@ import jakarta.persistence.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -28,6 +30,9 @@ public class AdminGenreService {
     @Autowired
     private GenreRepository genreRepository;
 
+    @Autowired
+    private AdminBulkUpdater adminBulkUpdater;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -97,6 +102,7 @@ public class AdminGenreService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GENRE_CACHE, allEntries = true)
     public AdminGenreResponse createGenre(AdminGenreRequest request) {
         Genre genre = new Genre();
         genre.setName(request.getName());
@@ -109,6 +115,7 @@ public class AdminGenreService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GENRE_CACHE, allEntries = true)
     public AdminGenreResponse updateGenre(Long genreId, AdminGenreRequest request) {
         Genre genre = genreRepository.findById(genreId)
                 .orElseThrow(() -> new IllegalArgumentException("ジャンルが見つかりません: " + genreId));
@@ -120,6 +127,7 @@ public class AdminGenreService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GENRE_CACHE, allEntries = true)
     public void deleteGenre(Long genreId) {
         int updated = entityManager.createNativeQuery(
                 "UPDATE genre SET is_deleted = true WHERE genre_id = :genreId")
@@ -132,6 +140,7 @@ public class AdminGenreService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GENRE_CACHE, allEntries = true)
     public void restoreGenre(Long genreId) {
         int updated = entityManager.createNativeQuery(
                 "UPDATE genre SET is_deleted = false WHERE genre_id = :genreId")
@@ -144,29 +153,15 @@ public class AdminGenreService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GENRE_CACHE, allEntries = true)
     public int enableGenres(List<Long> ids) {
-        int count = 0;
-        for (Long id : ids) {
-            genreRepository.findById(id).ifPresent(g -> {
-                g.setIsActive(true);
-                genreRepository.save(g);
-            });
-            count++;
-        }
-        return count;
+        return adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.GENRE, "is_active", true, ids);
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.GENRE_CACHE, allEntries = true)
     public int disableGenres(List<Long> ids) {
-        int count = 0;
-        for (Long id : ids) {
-            genreRepository.findById(id).ifPresent(g -> {
-                g.setIsActive(false);
-                genreRepository.save(g);
-            });
-            count++;
-        }
-        return count;
+        return adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.GENRE, "is_active", false, ids);
     }
 
     private AdminGenreResponse toResponse(Genre genre) {
@@ -0,0 +1,55 @@
+package com.example.api.service.admin;
+
+import org.springframework.data.domain.Sort;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 管理画面一覧のキーセットページング用カーソル
+ * 前ページ最後の行のIDと並び順を不透明な文字列にエンコードします
+ */
+public final class AdminListCursor {
+
+    private static final String VERSION = "k1";
+
+    private AdminListCursor() {
+    }
+
+    /**
+     * カーソルを作成
+     * @param lastId 現在のページ最後の行のID
+     * @param direction 並び順
+     * @return カーソル文字列
+     */
+    public static String encode(long lastId, Sort.Direction direction) {
+        String raw = VERSION + ":" + direction.name() + ":" + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * カーソルを解析
+     * @param cursor カーソル文字列
+     * @param direction 現在の並び順（カーソル作成時と異なる場合はエラー）
+     * @return 前ページ最後の行のID
+     */
+    public static long decode(String cursor, Sort.Direction direction) {
+        String[] parts;
+        try {
+            parts = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8).split(":");
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("カーソルが不正です");
+        }
+        if (parts.length != 3 || !VERSION.equals(parts[0])) {
+            throw new IllegalArgumentException("カーソルが不正です");
+        }
+        if (!direction.name().equals(parts[1])) {
+            throw new IllegalArgumentException("カーソルと並び順が一致しません");
+        }
+        try {
+            return Long.parseLong(parts[2]);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("カーソルが不正です");
+        }
+    }
+}
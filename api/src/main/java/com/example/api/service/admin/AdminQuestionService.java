@@ -24,6 +24,7 @@ import java.time.ZoneId;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -37,6 +38,15 @@ public class AdminQuestionService {
     @Autowired
     private QuestionRepository questionRepository;
 
+    @Autowired
+    private AdminBulkUpdater adminBulkUpdater;
+
+    @Autowired
+    private AdminSearchIndex adminSearchIndex;
+
+    @Autowired
+    private AdminCountCache adminCountCache;
+
     @Autowired
     private SongRepository songRepository;
 
@@ -50,9 +60,11 @@ public class AdminQuestionService {
     public AdminQuestionResponse.ListResponse getQuestions(
             int page, int size, String idSearch, Long artistId, String questionFormat, String language,
             Integer difficultyLevel, Boolean isActive, String questionText, String answer,
-            String songName, String artistName, LocalDateTime addedFrom, LocalDateTime addedTo, String sortDirection) {
+            String songName, String artistName, LocalDateTime addedFrom, LocalDateTime addedTo, String sortDirection,
+            String cursor, String countMode) {
 
         Sort.Direction direction = parseSortDirection(sortDirection);
+        AdminCountCache.CountMode mode = AdminCountCache.CountMode.parse(countMode);
 
         StringBuilder fromClause = new StringBuilder(
                 " FROM question q " +
@@ -79,18 +91,26 @@ public class AdminQuestionService {
             params.put("language", language);
         }
         if (questionText != null && !questionText.isEmpty()) {
+            fromClause.append(adminSearchIndex.candidateClause(
+                    AdminSearchIndex.Field.QUESTION_TEXT, questionText, "q.question_id", "questionTextIds", params));
             fromClause.append(" AND q.text LIKE :questionText");
             params.put("questionText", "%" + questionText + "%");
         }
         if (answer != null && !answer.isEmpty()) {
+            fromClause.append(adminSearchIndex.candidateClause(
+                    AdminSearchIndex.Field.QUESTION_ANSWER, answer, "q.question_id", "answerIds", params));
             fromClause.append(" AND q.answer LIKE :answer");
             params.put("answer", "%" + answer + "%");
         }
         if (songName != null && !songName.isEmpty()) {
+            fromClause.append(adminSearchIndex.candidateClause(
+                    AdminSearchIndex.Field.SONG_NAME, songName, "q.song_id", "songNameIds", params));
             fromClause.append(" AND s.songname LIKE :songName");
             params.put("songName", "%" + songName + "%");
         }
         if (artistName != null && !artistName.isEmpty()) {
+            fromClause.append(adminSearchIndex.candidateClause(
+                    AdminSearchIndex.Field.ARTIST_NAME, artistName, "q.artist_id", "artistNameIds", params));
             fromClause.append(" AND a.artist_name LIKE :artistName");
             params.put("artistName", "%" + artistName + "%");
         }
@@ -111,33 +131,61 @@ public class AdminQuestionService {
             params.put("addedTo", addedTo);
         }
 
+        String countSql = "SELECT COUNT(*)" + fromClause;
+
+        // カーソル指定時はOFFSETを使わず、前ページ最後のIDより先から取得（キーセットページング）
+        String keysetClause = "";
+        if (cursor != null && !cursor.isEmpty()) {
+            keysetClause = direction == Sort.Direction.ASC
+                    ? " AND q.question_id > :cursorId" : " AND q.question_id < :cursorId";
+        }
         String orderBy = " ORDER BY q.question_id " + (direction == Sort.Direction.ASC ? "ASC" : "DESC");
         String selectSql = "SELECT q.question_id, q.song_id, q.artist_id, q.text, q.answer, " +
                 "q.complete_sentence, q.question_format, q.difficulty_level, q.language, q.translation_ja, " +
                 "q.audio_url, q.is_active, q.is_deleted, q.adding_at, s.songname, a.artist_name" +
-                fromClause + orderBy;
-        String countSql = "SELECT COUNT(*)" + fromClause;
+                fromClause + keysetClause + orderBy;
 
         Query dataQuery = entityManager.createNativeQuery(selectSql);
-        Query countQuery = entityManager.createNativeQuery(countSql);
-        params.forEach((key, value) -> {
-            dataQuery.setParameter(key, value);
-            countQuery.setParameter(key, value);
-        });
-        dataQuery.setFirstResult(page * size);
-        dataQuery.setMaxResults(size);
+        params.forEach(dataQuery::setParameter);
+        if (!keysetClause.isEmpty()) {
+            dataQuery.setParameter("cursorId", AdminListCursor.decode(cursor, direction));
+        } else {
+            dataQuery.setFirstResult(page * size);
+        }
+        // 次ページの有無を判定するため1件多く取得
+        dataQuery.setMaxResults(size + 1);
 
+        @SuppressWarnings("unchecked")
         List<Object[]> rows = dataQuery.getResultList();
+        boolean hasNext = rows.size() > size;
         List<AdminQuestionResponse> questions = rows.stream()
+                .limit(size)
                 .map(this::toResponse)
                 .collect(Collectors.toList());
 
-        long totalElements = ((Number) countQuery.getSingleResult()).longValue();
-        int totalPages = (int) Math.ceil((double) totalElements / size);
+        long totalElements = -1;
+        if (mode != AdminCountCache.CountMode.NONE) {
+            Supplier<Long> counter = () -> {
+                Query countQuery = entityManager.createNativeQuery(countSql);
+                params.forEach(countQuery::setParameter);
+                return ((Number) countQuery.getSingleResult()).longValue();
+            };
+            totalElements = mode == AdminCountCache.CountMode.APPROXIMATE
+                    ? adminCountCache.get(AdminSearchIndex.countCacheKey("question:", countSql, params), counter)
+                    : counter.get();
+        }
+        int totalPages = totalElements < 0 ? -1 : (int) Math.ceil((double) totalElements / size);
 
-        return new AdminQuestionResponse.ListResponse(
+        AdminQuestionResponse.ListResponse response = new AdminQuestionResponse.ListResponse(
                 questions, page, size, totalElements, totalPages);
+        if (hasNext) {
+            response.setNextCursor(AdminListCursor.encode(
+                    questions.get(questions.size() - 1).getQuestionId(), direction));
+        }
+        response.setTotalApproximate(mode == AdminCountCache.CountMode.APPROXIMATE);
+        return response;
     }
+
     @Transactional(readOnly = true)
     public AdminQuestionResponse getQuestion(Integer questionId) {
         String selectSql = "SELECT q.question_id, q.song_id, q.artist_id, q.text, q.answer, " +
@@ -213,28 +261,14 @@ public class AdminQuestionService {
 
     @Transactional
     public int enableQuestions(List<Integer> ids) {
-        int count = 0;
-        for (Integer id : ids) {
-            questionRepository.findById(id).ifPresent(q -> {
-                q.setIsActive(true);
-                questionRepository.save(q);
-            });
-            count++;
-        }
+        int count = adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.QUESTION, "is_active", true, ids);
         logger.info("問題一括有効化: {} 件", count);
         return count;
     }
 
     @Transactional
     public int disableQuestions(List<Integer> ids) {
-        int count = 0;
-        for (Integer id : ids) {
-            questionRepository.findById(id).ifPresent(q -> {
-                q.setIsActive(false);
-                questionRepository.save(q);
-            });
-            count++;
-        }
+        int count = adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.QUESTION, "is_active", false, ids);
         logger.info("問題一括無効化: {} 件", count);
         return count;
     }
@@ -0,0 +1,489 @@
+package com.example.api.service.admin;
+
+import com.example.api.entity.Artist;
+import com.example.api.entity.Question;
+import com.example.api.entity.Song;
+import com.example.api.entity.Vocabulary;
+import com.example.api.util.CollationUtils;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * 管理画面検索用の転置インデックス（メモリ内）
+ * 問題文・解答・曲名・アーティスト名・単語を2-gramに分割して索引し、
+ * 部分一致検索（LIKE '%...%'）の候補IDを返します
+ * 2-gramのため分かち書きのない日本語・韓国語でも部分一致で検索できます
+ * 索引は候補の絞り込みにのみ使用し、最終的な一致判定はSQL側のLIKEで行います
+ * 候補がLIKEの一致より少なくならないよう、文字はカラムの照合順序（utf8mb4_0900_ai_ci）と同じ同値類に畳み込みます
+ * （大文字小文字・アクセント・全角半角・ß/ss等の展開・ひらがな/カタカナ・小書き・濁点）
+ * 畳み込みを再現できない文字を含む検索は絞り込まず、そのような文字を含む行は常に候補に含めます
+ * 索引はエンティティ経由の更新のみを反映するため、ネイティブSQLでの更新後は再構築が終わるまで索引を使いません
+ * 他インスタンスやSQLの直接実行による更新は定期再構築で取り込み、一定時間再構築されていない索引も使いません
+ * （索引を使わない間はSQL側のLIKEのみで検索します）
+ */
+@Component
+public class AdminSearchIndex {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminSearchIndex.class);
+
+    /** 候補がこれを超える場合は絞り込み効果が薄いため索引を使わない */
+    private static final int MAX_CANDIDATES = 2000;
+
+    /** 候補IDのパラメータ名の接頭辞（件数キャッシュのキーから除外するため） */
+    private static final String CANDIDATE_PARAM_PREFIX = "candidate_";
+
+    /** candidateClauseが追加する条件（件数キャッシュのキーから除外するため） */
+    private static final Pattern CANDIDATE_CLAUSE =
+            Pattern.compile(" AND (?:1 = 0|\\S+ IN \\(:" + CANDIDATE_PARAM_PREFIX + "\\w+\\))");
+
+    /** 再構築時に1回で読み込む行数 */
+    private static final int REBUILD_CHUNK_SIZE = 5000;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private final TransactionTemplate readOnlyTransaction;
+    private final ExecutorService rebuildExecutor = Executors.newSingleThreadExecutor(
+            runnable -> new Thread(runnable, "admin-search-index-rebuild"));
+    private final AtomicBoolean rebuilding = new AtomicBoolean(false);
+    // 無効化による再構築が実行待ちかどうか（連続した無効化を1回の再構築にまとめる）
+    private final AtomicBoolean rebuildQueued = new AtomicBoolean(false);
+    // 無効化の回数（再構築中に無効化された場合は、その結果を使わない）
+    private final AtomicLong invalidations = new AtomicLong();
+    // 索引外の更新を取り込めていない可能性があるため、構築開始からこの時間を過ぎた索引は使わない
+    private final long maxAgeMs;
+
+    // 検索に使用中の索引（初回構築が終わるまで・無効化後はnull）
+    private volatile Map<Field, FieldIndex> current;
+    // 使用中の索引の構築開始時刻（これ以降の更新は索引外の更新を含まない）
+    private volatile long builtAt;
+    // 再構築中の索引（再構築中の更新を反映するため）
+    private volatile Map<Field, FieldIndex> building;
+
+    /**
+     * 索引対象の項目
+     */
+    public enum Field {
+        QUESTION_TEXT,
+        QUESTION_ANSWER,
+        SONG_NAME,
+        ARTIST_NAME,
+        VOCABULARY_WORD
+    }
+
+    /**
+     * 項目ごとの索引
+     * 書き込み（更新・再構築）は同期化し、検索はロックなしで行う
+     */
+    private static final class FieldIndex {
+        private final ConcurrentHashMap<String, Set<Long>> postings = new ConcurrentHashMap<>();
+        private final ConcurrentHashMap<Long, String> texts = new ConcurrentHashMap<>();
+        // 畳み込みを再現できない文字を含む行（常に候補に含める）
+        private final Set<Long> unfoldable = ConcurrentHashMap.newKeySet();
+
+        /**
+         * @param overwrite falseの場合は登録済みのIDを上書きしない（再構築時）
+         */
+        private synchronized void put(long id, String text, boolean overwrite) {
+            String previous = texts.get(id);
+            if (previous != null && !overwrite) {
+                return;
+            }
+            String normalized = CollationUtils.normalize(text);
+            if (previous != null) {
+                if (previous.equals(normalized)) {
+                    return;
+                }
+                removeGrams(id, previous);
+            }
+            texts.put(id, normalized);
+            if (CollationUtils.isFoldable(normalized)) {
+                unfoldable.remove(id);
+            } else {
+                unfoldable.add(id);
+            }
+            for (String gram : grams(normalized)) {
+                postings.computeIfAbsent(gram, key -> ConcurrentHashMap.newKeySet()).add(id);
+            }
+        }
+
+        private synchronized void remove(long id) {
+            String previous = texts.remove(id);
+            unfoldable.remove(id);
+            if (previous != null) {
+                removeGrams(id, previous);
+            }
+        }
+
+        private void removeGrams(long id, String text) {
+            for (String gram : grams(text)) {
+                Set<Long> ids = postings.get(gram);
+                if (ids != null) {
+                    ids.remove(id);
+                    if (ids.isEmpty()) {
+                        postings.remove(gram);
+                    }
+                }
+            }
+        }
+    }
+
+    public AdminSearchIndex(PlatformTransactionManager transactionManager,
+                            @Value("${admin.search-index.max-age-ms:900000}") long maxAgeMs) {
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.maxAgeMs = maxAgeMs;
+    }
+
+    /**
+     * 起動完了後にバックグラウンドで索引を構築
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void buildOnStartup() {
+        rebuildAsync();
+    }
+
+    /**
+     * 索引をバックグラウンドで再構築
+     * @return 再構築を開始した場合true（既に再構築中の場合false）
+     */
+    public boolean rebuildAsync() {
+        if (!rebuilding.compareAndSet(false, true)) {
+            return false;
+        }
+        rebuildExecutor.execute(this::runRebuild);
+        return true;
+    }
+
+    /**
+     * 他インスタンスやSQLの直接実行による更新を取り込むため、定期的に再構築
+     */
+    @Scheduled(fixedDelayString = "${admin.search-index.rebuild-interval-ms:300000}",
+            initialDelayString = "${admin.search-index.rebuild-interval-ms:300000}")
+    public void rebuildPeriodically() {
+        rebuildAsync();
+    }
+
+    /**
+     * 索引を経由しない更新（ネイティブSQLによる一括更新など）の後に呼び出す
+     * 再構築が終わるまで索引を使わず、SQLのLIKEのみで検索する（トランザクション内の場合はコミット後）
+     */
+    public void invalidate() {
+        afterCommit(() -> {
+            synchronized (this) {
+                invalidations.incrementAndGet();
+                current = null;
+            }
+            // 実行中の再構築は無効化前の行を読んでいる可能性があるため、その後にもう一度再構築する
+            if (rebuildQueued.compareAndSet(false, true)) {
+                rebuildExecutor.execute(() -> {
+                    rebuildQueued.set(false);
+                    runRebuild();
+                });
+            }
+        });
+    }
+
+    private void runRebuild() {
+        rebuilding.set(true);
+        try {
+            rebuild();
+        } catch (Exception e) {
+            logger.error("検索インデックスの再構築に失敗", e);
+        } finally {
+            rebuilding.set(false);
+        }
+    }
+
+    /**
+     * 索引の状態
+     * @return 構築済みかどうか、古くなっているかどうか、再構築中かどうか、構築開始時刻、項目ごとの索引件数
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        Map<Field, FieldIndex> index = current;
+        status.put("ready", index != null);
+        status.put("stale", index != null && isStale());
+        status.put("rebuilding", rebuilding.get());
+        if (index != null) {
+            status.put("builtAt", Instant.ofEpochMilli(builtAt).toString());
+            Map<String, Object> fields = new LinkedHashMap<>();
+            index.forEach((field, fieldIndex) -> fields.put(field.name(),
+                    Map.of("documents", fieldIndex.texts.size(), "grams", fieldIndex.postings.size())));
+            status.put("fields", fields);
+        }
+        return status;
+    }
+
+    /**
+     * 部分一致する候補IDを検索
+     * @param field 検索項目
+     * @param query 検索文字列
+     * @return 候補ID（索引が使えない・古い・絞り込めない場合はnull）
+     */
+    public Set<Long> search(Field field, String query) {
+        Map<Field, FieldIndex> index = current;
+        if (index == null || isStale()) {
+            // 索引外の更新を取り込めていない可能性があり、LIKEで一致する行を漏らすおそれがある
+            return null;
+        }
+        if (query == null
+                || query.contains("%") || query.contains("_") || query.contains("\\")) {
+            // LIKEのワイルドカード・エスケープを含む検索は索引では判定できない
+            return null;
+        }
+        String normalized = CollationUtils.normalize(query);
+        if (normalized.length() < 2 || !CollationUtils.isFoldable(normalized)) {
+            // 1文字の検索は2-gramで絞り込めない、畳み込めない文字は照合順序と一致を保証できない
+            return null;
+        }
+        FieldIndex fieldIndex = index.get(field);
+
+        Set<Long> candidates = new HashSet<>(fieldIndex.unfoldable);
+        if (candidates.size() > MAX_CANDIDATES) {
+            return null;
+        }
+        List<Set<Long>> postingLists = new ArrayList<>();
+        for (String gram : grams(normalized)) {
+            Set<Long> ids = fieldIndex.postings.get(gram);
+            if (ids == null) {
+                return candidates;
+            }
+            postingLists.add(ids);
+        }
+        postingLists.sort(Comparator.comparingInt(Set::size));
+
+        for (Long id : postingLists.get(0)) {
+            if (containsInAll(postingLists, id)) {
+                String text = fieldIndex.texts.get(id);
+                if (text != null && text.contains(normalized)) {
+                    candidates.add(id);
+                    if (candidates.size() > MAX_CANDIDATES) {
+                        return null;
+                    }
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * 候補IDでの絞り込み条件を作成（管理画面のネイティブクエリ用）
+     * @param field 検索項目
+     * @param query 検索文字列
+     * @param column 絞り込むIDカラム
+     * @param paramName パラメータ名（接頭辞"candidate_"を付けて登録する）
+     * @param params パラメータ（候補IDを追加する）
+     * @return 追加するWHERE句（索引が使えない場合は空文字）
+     */
+    public String candidateClause(Field field, String query, String column, String paramName,
+                                  Map<String, Object> params) {
+        Set<Long> ids = search(field, query);
+        if (ids == null) {
+            return "";
+        }
+        if (ids.isEmpty()) {
+            return " AND 1 = 0";
+        }
+        String name = CANDIDATE_PARAM_PREFIX + paramName;
+        params.put(name, new ArrayList<>(ids));
+        return " AND " + column + " IN (:" + name + ")";
+    }
+
+    /**
+     * 件数キャッシュのキーを作成
+     * 候補IDによる絞り込みは結果の件数を変えないため、条件・パラメータから除外する
+     * （候補IDが変わるたびに別のキーになり、最大2000件のIDがキーに含まれるのを防ぐ）
+     * @param prefix キーの接頭辞
+     * @param sql 件数取得SQL
+     * @param params パラメータ
+     * @return キー
+     */
+    public static String countCacheKey(String prefix, String sql, Map<String, Object> params) {
+        Map<String, Object> filtered = new TreeMap<>();
+        params.forEach((name, value) -> {
+            if (!name.startsWith(CANDIDATE_PARAM_PREFIX)) {
+                filtered.put(name, value);
+            }
+        });
+        return prefix + CANDIDATE_CLAUSE.matcher(sql).replaceAll("") + filtered;
+    }
+
+    /**
+     * エンティティの保存を索引に反映（トランザクション内の場合はコミット後）
+     * @param entity 保存されたエンティティ
+     */
+    public void onSaved(Object entity) {
+        afterCommit(() -> {
+            if (entity instanceof Question question && question.getQuestionId() != null) {
+                apply(Field.QUESTION_TEXT, question.getQuestionId(), question.getText());
+                apply(Field.QUESTION_ANSWER, question.getQuestionId(), question.getAnswer());
+            } else if (entity instanceof Song song && song.getSongId() != null) {
+                apply(Field.SONG_NAME, song.getSongId(), song.getSongname());
+            } else if (entity instanceof Artist artist && artist.getArtistId() != null) {
+                apply(Field.ARTIST_NAME, artist.getArtistId(), artist.getArtistName());
+            } else if (entity instanceof Vocabulary vocabulary && vocabulary.getVocabId() != null) {
+                apply(Field.VOCABULARY_WORD, vocabulary.getVocabId(), vocabulary.getWord());
+            }
+        });
+    }
+
+    /**
+     * エンティティの削除を索引に反映（トランザクション内の場合はコミット後）
+     * @param entity 削除されたエンティティ
+     */
+    public void onRemoved(Object entity) {
+        afterCommit(() -> {
+            if (entity instanceof Question question && question.getQuestionId() != null) {
+                apply(Field.QUESTION_TEXT, question.getQuestionId(), null);
+                apply(Field.QUESTION_ANSWER, question.getQuestionId(), null);
+            } else if (entity instanceof Song song && song.getSongId() != null) {
+                apply(Field.SONG_NAME, song.getSongId(), null);
+            } else if (entity instanceof Artist artist && artist.getArtistId() != null) {
+                apply(Field.ARTIST_NAME, artist.getArtistId(), null);
+            } else if (entity instanceof Vocabulary vocabulary && vocabulary.getVocabId() != null) {
+                apply(Field.VOCABULARY_WORD, vocabulary.getVocabId(), null);
+            }
+        });
+    }
+
+    private boolean isStale() {
+        return System.currentTimeMillis() - builtAt >= maxAgeMs;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        rebuildExecutor.shutdownNow();
+    }
+
+    void rebuild() {
+        long start = System.currentTimeMillis();
+        long generation = invalidations.get();
+        Map<Field, FieldIndex> next = new EnumMap<>(Field.class);
+        for (Field field : Field.values()) {
+            next.put(field, new FieldIndex());
+        }
+        building = next;
+        try {
+            load(next, "SELECT question_id, text, answer FROM question", "question_id",
+                    Field.QUESTION_TEXT, Field.QUESTION_ANSWER);
+            load(next, "SELECT song_id, songname FROM song", "song_id", Field.SONG_NAME);
+            load(next, "SELECT artist_id, artist_name FROM artist", "artist_id", Field.ARTIST_NAME);
+            load(next, "SELECT vocab_id, word FROM vocabulary", "vocab_id", Field.VOCABULARY_WORD);
+            synchronized (this) {
+                if (invalidations.get() != generation) {
+                    // 読み込み済みの行が無効化の原因になった更新を含まない可能性がある（実行待ちの再構築に任せる）
+                    logger.info("再構築中に索引が無効化されたため、構築結果を破棄しました");
+                    return;
+                }
+                builtAt = start;
+                current = next;
+            }
+        } finally {
+            building = null;
+        }
+        logger.info("検索インデックスを構築しました: {}, elapsedMs={}",
+                getStatus().get("fields"), System.currentTimeMillis() - start);
+    }
+
+    /**
+     * IDの昇順にチャンク単位で読み込んで索引に登録
+     * @param fields SELECTの2列目以降に対応する項目
+     */
+    private void load(Map<Field, FieldIndex> index, String select, String idColumn, Field... fields) {
+        long lastId = 0;
+        while (true) {
+            final long from = lastId;
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = readOnlyTransaction.execute(status -> entityManager
+                    .createNativeQuery(select + " WHERE " + idColumn + " > :lastId ORDER BY " + idColumn)
+                    .setParameter("lastId", from)
+                    .setMaxResults(REBUILD_CHUNK_SIZE)
+                    .getResultList());
+            if (rows == null || rows.isEmpty()) {
+                return;
+            }
+            for (Object[] row : rows) {
+                long id = ((Number) row[0]).longValue();
+                for (int i = 0; i < fields.length; i++) {
+                    Object text = row[i + 1];
+                    if (text != null) {
+                        index.get(fields[i]).put(id, text.toString(), false);
+                    }
+                }
+                lastId = id;
+            }
+        }
+    }
+
+    private void apply(Field field, Number id, String text) {
+        for (Map<Field, FieldIndex> index : Arrays.asList(current, building)) {
+            if (index == null) {
+                continue;
+            }
+            if (text == null) {
+                index.get(field).remove(id.longValue());
+            } else {
+                index.get(field).put(id.longValue(), text, true);
+            }
+        }
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static boolean containsInAll(List<Set<Long>> postingLists, Long id) {
+        for (int i = 1; i < postingLists.size(); i++) {
+            if (!postingLists.get(i).contains(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 2-gramに分割（1文字の場合はその1文字）
+     */
+    static Set<String> grams(String normalized) {
+        Set<String> grams = new HashSet<>();
+        if (normalized.length() == 1) {
+            grams.add(normalized);
+            return grams;
+        }
+        for (int i = 0; i + 2 <= normalized.length(); i++) {
+            grams.add(normalized.substring(i, i + 2));
+        }
+        return grams;
+    }
+}
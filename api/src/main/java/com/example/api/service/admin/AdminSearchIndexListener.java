@@ -0,0 +1,48 @@
+package com.example.api.service.admin;
+
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+
+/**
+ * 検索インデックス更新用のエンティティリスナー
+ * 問題・曲・アーティスト・単語の保存/削除を管理画面検索インデックスに反映します
+ * インデックスの更新に失敗しても保存処理は妨げません
+ */
+public class AdminSearchIndexListener {
+
+    private static final Logger logger = LoggerFactory.getLogger(AdminSearchIndexListener.class);
+
+    // EntityManagerFactory構築時に生成されるため、インデックスは遅延取得する
+    @Autowired
+    private ObjectProvider<AdminSearchIndex> adminSearchIndex;
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(Object entity) {
+        try {
+            AdminSearchIndex index = adminSearchIndex != null ? adminSearchIndex.getIfAvailable() : null;
+            if (index != null) {
+                index.onSaved(entity);
+            }
+        } catch (Exception e) {
+            logger.warn("検索インデックスの更新に失敗: {}", entity.getClass().getSimpleName(), e);
+        }
+    }
+
+    @PostRemove
+    public void onRemoved(Object entity) {
+        try {
+            AdminSearchIndex index = adminSearchIndex != null ? adminSearchIndex.getIfAvailable() : null;
+            if (index != null) {
+                index.onRemoved(entity);
+            }
+        } catch (Exception e) {
+            logger.warn("検索インデックスの更新に失敗: {}", entity.getClass().getSimpleName(), e);
+        }
+    }
+}
@@ -31,6 +31,12 @@ public class AdminSongService {
     @Autowired
     private SongRepository songRepository;
 
+    @Autowired
+    private AdminBulkUpdater adminBulkUpdater;
+
+    @Autowired
+    private AdminSearchIndex adminSearchIndex;
+
     @Autowired
     private ArtistRepository artistRepository;
 
@@ -47,6 +53,8 @@ public class AdminSongService {
         Map<String, Object> params = new HashMap<>();
 
         if (songname != null && !songname.isEmpty()) {
+            fromClause.append(adminSearchIndex.candidateClause(
+                    AdminSearchIndex.Field.SONG_NAME, songname, "s.song_id", "songnameIds", params));
             fromClause.append(" AND s.songname LIKE :songname");
             params.put("songname", "%" + songname + "%");
         }
@@ -55,6 +63,8 @@ public class AdminSongService {
             params.put("songId", idSearch);
         }
         if (artistName != null && !artistName.isEmpty()) {
+            fromClause.append(adminSearchIndex.candidateClause(
+                    AdminSearchIndex.Field.ARTIST_NAME, artistName, "s.aritst_id", "artistNameIds", params));
             fromClause.append(" AND a.artist_name LIKE :artistName");
             params.put("artistName", "%" + artistName + "%");
         }
@@ -157,28 +167,12 @@ public class AdminSongService {
 
     @Transactional
     public int enableSongs(List<Long> ids) {
-        int count = 0;
-        for (Long id : ids) {
-            songRepository.findById(id).ifPresent(s -> {
-                s.setIsActive(true);
-                songRepository.save(s);
-            });
-            count++;
-        }
-        return count;
+        return adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.SONG, "is_active", true, ids);
     }
 
     @Transactional
     public int disableSongs(List<Long> ids) {
-        int count = 0;
-        for (Long id : ids) {
-            songRepository.findById(id).ifPresent(s -> {
-                s.setIsActive(false);
-                songRepository.save(s);
-            });
-            count++;
-        }
-        return count;
+        return adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.SONG, "is_active", false, ids);
     }
 
     private void updateFromRequest(Song song, AdminSongRequest request) {
@@ -8,9 +8,8 @@ import com.example.api.repository.UserRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -19,6 +18,7 @@ import org.springframework.transaction.annotation.Transactional;
 import jakarta.persistence.criteria.Predicate;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -33,6 +33,12 @@ public class AdminUserService {
     @Autowired
     private UserRepository userRepository;
 
+    @Autowired
+    private AdminBulkUpdater adminBulkUpdater;
+
+    @Autowired
+    private AdminCountCache adminCountCache;
+
     /**
      * ユーザー一覧取得（検索・ページング対応）
      */
@@ -44,10 +50,12 @@ public class AdminUserService {
             LocalDateTime offlineFrom, LocalDateTime offlineTo,
             LocalDateTime expiresFrom, LocalDateTime expiresTo,
             LocalDateTime canceledFrom, LocalDateTime canceledTo,
-            String sortDirection) {
+            String sortDirection,
+            String cursor, String countMode) {
 
         Sort.Direction direction = parseSortDirection(sortDirection);
-        Pageable pageable = PageRequest.of(page, size, Sort.by(direction, "id"));
+        AdminCountCache.CountMode mode = AdminCountCache.CountMode.parse(countMode);
+        Sort sort = Sort.by(direction, "id");
 
         Specification<User> spec = (root, query, cb) -> {
             List<Predicate> predicates = new ArrayList<>();
@@ -98,19 +106,50 @@ public class AdminUserService {
             return cb.and(predicates.toArray(new Predicate[0]));
         };
 
-        Page<User> userPage = userRepository.findAll(spec, pageable);
+        // 件数取得はページ取得と分離し、次ページの有無は1件多く取得して判定する
+        List<User> fetched;
+        boolean hasNext;
+        if (cursor != null && !cursor.isEmpty()) {
+            // カーソル指定時はOFFSETを使わず、前ページ最後のIDより先から取得（キーセットページング）
+            long cursorId = AdminListCursor.decode(cursor, direction);
+            Specification<User> keyset = (root, query, cb) -> direction == Sort.Direction.ASC
+                    ? cb.greaterThan(root.get("id"), cursorId)
+                    : cb.lessThan(root.get("id"), cursorId);
+            fetched = userRepository.findBy(spec.and(keyset), q -> q.sortBy(sort).limit(size + 1).all());
+            hasNext = fetched.size() > size;
+        } else {
+            Slice<User> slice = userRepository.findBy(spec, q -> q.slice(PageRequest.of(page, size, sort)));
+            fetched = slice.getContent();
+            hasNext = slice.hasNext();
+        }
 
-        List<AdminUserSummary> users = userPage.getContent().stream()
+        List<AdminUserSummary> users = fetched.stream()
+                .limit(size)
                 .map(this::toUserSummary)
                 .collect(Collectors.toList());
 
-        return new AdminUserListResponse(
+        long totalElements = -1;
+        if (mode == AdminCountCache.CountMode.EXACT) {
+            totalElements = userRepository.count(spec);
+        } else if (mode == AdminCountCache.CountMode.APPROXIMATE) {
+            String key = "user:" + Arrays.asList(id, userUuid, username, email, banFlag, subscribeFlag,
+                    createdFrom, createdTo, offlineFrom, offlineTo, expiresFrom, expiresTo, canceledFrom, canceledTo);
+            totalElements = adminCountCache.get(key, () -> userRepository.count(spec));
+        }
+        int totalPages = totalElements < 0 ? -1 : (int) Math.ceil((double) totalElements / size);
+
+        AdminUserListResponse response = new AdminUserListResponse(
                 users,
                 page,
                 size,
-                userPage.getTotalElements(),
-                userPage.getTotalPages()
+                totalElements,
+                totalPages
         );
+        if (hasNext) {
+            response.setNextCursor(AdminListCursor.encode(users.get(users.size() - 1).getId(), direction));
+        }
+        response.setTotalApproximate(mode == AdminCountCache.CountMode.APPROXIMATE);
+        return response;
     }
 
     /**
@@ -128,14 +167,7 @@ public class AdminUserService {
      */
     @Transactional
     public int freezeUsers(List<Long> userIds) {
-        int count = 0;
-        for (Long userId : userIds) {
-            userRepository.findById(userId).ifPresent(user -> {
-                user.setBanFlag(true);
-                userRepository.save(user);
-            });
-            count++;
-        }
+        int count = adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.USER, "ban_flag", true, userIds);
         logger.info("ユーザー一括停止: {} 件", count);
         return count;
     }
@@ -145,14 +177,7 @@ public class AdminUserService {
      */
     @Transactional
     public int unfreezeUsers(List<Long> userIds) {
-        int count = 0;
-        for (Long userId : userIds) {
-            userRepository.findById(userId).ifPresent(user -> {
-                user.setBanFlag(false);
-                userRepository.save(user);
-            });
-            count++;
-        }
+        int count = adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.USER, "ban_flag", false, userIds);
         logger.info("ユーザー一括解除: {} 件", count);
         return count;
     }
@@ -1,5 +1,6 @@
 package com.example.api.service.admin;
 
+import com.example.api.config.CacheConfig;
 import com.example.api.dto.admin.AdminVocabularyRequest;
 import com.example.api.dto.admin.AdminVocabularyResponse;
 import com.example.api.entity.Vocabulary;
@@ -10,6 +11,7 @@ import jakarta.persistence.Query;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -18,6 +20,7 @@ import java.time.LocalDateTime;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 /**
@@ -31,6 +34,15 @@ public class AdminVocabularyService {
     @Autowired
     private VocabularyRepository vocabularyRepository;
 
+    @Autowired
+    private AdminBulkUpdater adminBulkUpdater;
+
+    @Autowired
+    private AdminSearchIndex adminSearchIndex;
+
+    @Autowired
+    private AdminCountCache adminCountCache;
+
     @PersistenceContext
     private EntityManager entityManager;
 
@@ -39,13 +51,17 @@ public class AdminVocabularyService {
      */
     public AdminVocabularyResponse.ListResponse getVocabularies(
             int page, int size, String idSearch, String word, String partOfSpeech, Boolean isActive,
-            LocalDateTime createdFrom, LocalDateTime createdTo, String sortDirection) {
+            LocalDateTime createdFrom, LocalDateTime createdTo, String sortDirection,
+            String cursor, String countMode) {
 
         Sort.Direction direction = parseSortDirection(sortDirection);
+        AdminCountCache.CountMode mode = AdminCountCache.CountMode.parse(countMode);
         StringBuilder whereClause = new StringBuilder(" FROM vocabulary WHERE 1=1");
         Map<String, Object> params = new HashMap<>();
 
         if (word != null && !word.isEmpty()) {
+            whereClause.append(adminSearchIndex.candidateClause(
+                    AdminSearchIndex.Field.VOCABULARY_WORD, word, "vocab_id", "wordIds", params));
             whereClause.append(" AND word LIKE :word");
             params.put("word", "%" + word + "%");
         }
@@ -70,28 +86,55 @@ public class AdminVocabularyService {
             params.put("createdTo", createdTo);
         }
 
+        // カーソル指定時はOFFSETを使わず、前ページ最後のIDより先から取得（キーセットページング）
+        String keysetClause = "";
+        if (cursor != null && !cursor.isEmpty()) {
+            keysetClause = direction == Sort.Direction.ASC ? " AND vocab_id > :cursorId" : " AND vocab_id < :cursorId";
+        }
         String orderBy = " ORDER BY vocab_id " + (direction == Sort.Direction.ASC ? "ASC" : "DESC");
 
-        Query dataQuery = entityManager.createNativeQuery("SELECT *" + whereClause + orderBy, Vocabulary.class);
+        Query dataQuery = entityManager.createNativeQuery("SELECT *" + whereClause + keysetClause + orderBy, Vocabulary.class);
         params.forEach(dataQuery::setParameter);
-        dataQuery.setFirstResult(page * size);
-        dataQuery.setMaxResults(size);
+        if (!keysetClause.isEmpty()) {
+            dataQuery.setParameter("cursorId", AdminListCursor.decode(cursor, direction));
+        } else {
+            dataQuery.setFirstResult(page * size);
+        }
+        // 次ページの有無を判定するため1件多く取得
+        dataQuery.setMaxResults(size + 1);
 
         @SuppressWarnings("unchecked")
         List<Vocabulary> vocabResults = dataQuery.getResultList();
+        boolean hasNext = vocabResults.size() > size;
 
-        Query countQuery = entityManager.createNativeQuery("SELECT COUNT(*)" + whereClause);
-        params.forEach(countQuery::setParameter);
-        Number totalElements = (Number) countQuery.getSingleResult();
+        long totalElements = -1;
+        if (mode != AdminCountCache.CountMode.NONE) {
+            String countSql = "SELECT COUNT(*)" + whereClause;
+            Supplier<Long> counter = () -> {
+                Query countQuery = entityManager.createNativeQuery(countSql);
+                params.forEach(countQuery::setParameter);
+                return ((Number) countQuery.getSingleResult()).longValue();
+            };
+            totalElements = mode == AdminCountCache.CountMode.APPROXIMATE
+                    ? adminCountCache.get(AdminSearchIndex.countCacheKey("vocabulary:", countSql, params), counter)
+                    : counter.get();
+        }
 
         List<AdminVocabularyResponse> vocabularies = vocabResults.stream()
+            .limit(size)
             .map(this::toResponse)
             .collect(Collectors.toList());
 
-        int totalPages = (int) Math.ceil(totalElements.doubleValue() / size);
+        int totalPages = totalElements < 0 ? -1 : (int) Math.ceil((double) totalElements / size);
 
-        return new AdminVocabularyResponse.ListResponse(
-            vocabularies, page, size, totalElements.longValue(), totalPages);
+        AdminVocabularyResponse.ListResponse response = new AdminVocabularyResponse.ListResponse(
+            vocabularies, page, size, totalElements, totalPages);
+        if (hasNext) {
+            response.setNextCursor(AdminListCursor.encode(
+                vocabularies.get(vocabularies.size() - 1).getVocabId(), direction));
+        }
+        response.setTotalApproximate(mode == AdminCountCache.CountMode.APPROXIMATE);
+        return response;
     }
 
     /**
@@ -116,6 +159,7 @@ public class AdminVocabularyService {
      * 単語作成
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VOCABULARY_CACHE, allEntries = true)
     public AdminVocabularyResponse createVocabulary(AdminVocabularyRequest request) {
         Vocabulary vocab = new Vocabulary();
         updateFromRequest(vocab, request);
@@ -128,6 +172,7 @@ public class AdminVocabularyService {
      * 単語更新
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VOCABULARY_CACHE, allEntries = true)
     public AdminVocabularyResponse updateVocabulary(Integer vocabId, AdminVocabularyRequest request) {
         Vocabulary vocab = findVocabularyIncludingInactive(vocabId);
         updateFromRequest(vocab, request);
@@ -140,6 +185,7 @@ public class AdminVocabularyService {
      * 単語削除（論理削除）
      */
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VOCABULARY_CACHE, allEntries = true)
     public void deleteVocabulary(Integer vocabId) {
         int updated = entityManager.createNativeQuery(
                 "UPDATE vocabulary SET is_deleted = true WHERE vocab_id = :vocabId")
@@ -152,6 +198,7 @@ public class AdminVocabularyService {
     }
 
     @Transactional
+    @CacheEvict(cacheNames = CacheConfig.VOCABULARY_CACHE, allEntries = true)
     public void restoreVocabulary(Integer vocabId) {
         int updated = entityManager.createNativeQuery(
                 "UPDATE vocabulary SET is_deleted = false WHERE vocab_id = :vocabId")
@@ -168,13 +215,7 @@ public class AdminVocabularyService {
      */
     @Transactional
     public int enableVocabularies(List<Integer> ids) {
-        int count = 0;
-        for (Integer id : ids) {
-            Vocabulary vocab = findVocabularyIncludingInactive(id);
-            vocab.setIsActive(true);
-            vocabularyRepository.save(vocab);
-            count++;
-        }
+        int count = adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.VOCABULARY, "is_active", true, ids);
         logger.info("単語一括有効化: {} 件", count);
         return count;
     }
@@ -184,13 +225,7 @@ public class AdminVocabularyService {
      */
     @Transactional
     public int disableVocabularies(List<Integer> ids) {
-        int count = 0;
-        for (Integer id : ids) {
-            Vocabulary vocab = findVocabularyIncludingInactive(id);
-            vocab.setIsActive(false);
-            vocabularyRepository.save(vocab);
-            count++;
-        }
+        int count = adminBulkUpdater.updateFlag(AdminBulkUpdater.Target.VOCABULARY, "is_active", false, ids);
         logger.info("単語一括無効化: {} 件", count);
         return count;
     }
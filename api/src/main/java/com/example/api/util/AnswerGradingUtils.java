@@ -0,0 +1,176 @@
+package com.example.api.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * 回答判定ユーティリティクラス
+ * 正解は問題の読み込み時に一度だけ正規化しておき、ユーザーの回答と比較します
+ *
+ * 正規化の内容:
+ * - Unicode NFKC（全角英数字・半角カタカナ・半角ハングルなどの幅を統一）
+ * - 小文字に変換
+ * - アポストロフィを除去（"don't" と "dont"、"don’t" を同一視）
+ * - 記号・空白を単語区切りとし、連続する区切りを半角スペース1つにまとめる（前後の区切りは除去）
+ */
+public class AnswerGradingUtils {
+
+    private AnswerGradingUtils() {
+    }
+
+    /**
+     * テキストを判定用に正規化
+     *
+     * @param text 正解またはユーザーの回答
+     * @return 正規化されたテキスト（nullの場合は空文字）
+     */
+    public static String normalize(String text) {
+        if (text == null || text.isEmpty()) {
+            return "";
+        }
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        StringBuilder normalized = new StringBuilder(folded.length());
+        boolean pendingSeparator = false;
+        for (int i = 0; i < folded.length(); ) {
+            int codePoint = folded.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isApostrophe(codePoint)) {
+                continue;
+            }
+            if (isWordCodePoint(codePoint)) {
+                if (pendingSeparator && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                pendingSeparator = false;
+                normalized.appendCodePoint(codePoint);
+            } else {
+                pendingSeparator = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * 正規化済みの正解とユーザーの回答を比較
+     * 回答がASCII文字のみの場合は正規化しながら1文字ずつ比較し、文字列を生成しない
+     * それ以外の場合は回答を正規化してから比較する
+     *
+     * @param normalizedAnswer normalize()で正規化済みの正解
+     * @param userAnswer ユーザーの回答
+     * @return 正解の場合true（正規化後の正解が空の場合は常にfalse）
+     */
+    public static boolean matches(String normalizedAnswer, String userAnswer) {
+        if (normalizedAnswer == null || userAnswer == null || normalizedAnswer.isEmpty()) {
+            // 記号のみの正解に空・記号のみの回答が一致しないようにする
+            return false;
+        }
+        int length = normalizedAnswer.length();
+        int position = 0;
+        boolean pendingSeparator = false;
+        for (int i = 0; i < userAnswer.length(); i++) {
+            char c = userAnswer.charAt(i);
+            if (c >= 0x80) {
+                return normalize(userAnswer).equals(normalizedAnswer);
+            }
+            if (c == '\'') {
+                continue;
+            }
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9')) {
+                if (pendingSeparator && position > 0) {
+                    if (position >= length || normalizedAnswer.charAt(position) != ' ') {
+                        return false;
+                    }
+                    position++;
+                }
+                pendingSeparator = false;
+                char lower = (c >= 'A' && c <= 'Z') ? (char) (c + ('a' - 'A')) : c;
+                if (position >= length || normalizedAnswer.charAt(position) != lower) {
+                    return false;
+                }
+                position++;
+            } else {
+                pendingSeparator = true;
+            }
+        }
+        return position == length;
+    }
+
+    /**
+     * 正解とユーザーの回答を比較（正解を都度正規化する）
+     *
+     * @param correctAnswer 正解
+     * @param userAnswer ユーザーの回答
+     * @return 正解の場合true
+     */
+    public static boolean isCorrect(String correctAnswer, String userAnswer) {
+        return matches(normalize(correctAnswer), userAnswer);
+    }
+
+    /**
+     * 正解のうち、ユーザーの回答で聞き取れなかった単語を抽出（単語単位の差分）
+     * 最長共通部分列で単語を対応付けるため、単語の抜け・余分な単語があっても後続の単語はずれない
+     *
+     * @param userAnswer ユーザーの回答
+     * @param correctAnswer 正解
+     * @return 回答と対応しなかった正解の単語（正規化済み、出現順）
+     */
+    public static List<String> findMissedTokens(String userAnswer, String correctAnswer) {
+        String[] userTokens = tokenize(normalize(userAnswer));
+        String[] correctTokens = tokenize(normalize(correctAnswer));
+        if (correctTokens.length == 0) {
+            return List.of();
+        }
+
+        // lcs[i][j] = correctTokens[i..] と userTokens[j..] の最長共通部分列の長さ
+        int[][] lcs = new int[correctTokens.length + 1][userTokens.length + 1];
+        for (int i = correctTokens.length - 1; i >= 0; i--) {
+            for (int j = userTokens.length - 1; j >= 0; j--) {
+                lcs[i][j] = correctTokens[i].equals(userTokens[j])
+                        ? lcs[i + 1][j + 1] + 1
+                        : Math.max(lcs[i + 1][j], lcs[i][j + 1]);
+            }
+        }
+
+        List<String> missed = new ArrayList<>();
+        int i = 0;
+        int j = 0;
+        while (i < correctTokens.length) {
+            if (j < userTokens.length && correctTokens[i].equals(userTokens[j])) {
+                i++;
+                j++;
+            } else if (j < userTokens.length && lcs[i][j + 1] >= lcs[i + 1][j]) {
+                j++;
+            } else {
+                missed.add(correctTokens[i]);
+                i++;
+            }
+        }
+        return missed;
+    }
+
+    /**
+     * 正規化済みテキストを単語に分割
+     */
+    private static String[] tokenize(String normalized) {
+        return normalized.isEmpty() ? new String[0] : normalized.split(" ");
+    }
+
+    private static boolean isApostrophe(int codePoint) {
+        return codePoint == '\'' || codePoint == 0x2018 || codePoint == 0x2019 || codePoint == 0x02BC;
+    }
+
+    /**
+     * 単語を構成する文字（文字・数字・結合文字）かどうか
+     */
+    private static boolean isWordCodePoint(int codePoint) {
+        if (Character.isLetterOrDigit(codePoint)) {
+            return true;
+        }
+        int type = Character.getType(codePoint);
+        return type == Character.NON_SPACING_MARK
+                || type == Character.COMBINING_SPACING_MARK
+                || type == Character.ENCLOSING_MARK;
+    }
+}
@@ -0,0 +1,94 @@
+package com.example.api.util;
+
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * 照合順序ユーティリティクラス
+ * MySQLの照合順序utf8mb4_0900_ai_ci（大文字・小文字、アクセント、かなの種類を区別しない）で
+ * 等しいと判定される文字列を、同じ文字列に畳み込みます
+ * 管理画面の検索索引や単語キャッシュのキーなど、DBの一致判定をアプリ側で再現する場合に使用します
+ */
+public class CollationUtils {
+
+    /** 照合順序上、1文字が複数文字と等しい文字（小文字化・アクセント除去後） */
+    private static final Map<Character, String> EXPANSIONS = Map.of(
+            'ß', "ss", 'æ', "ae", 'œ', "oe", 'ø', "o", 'ł', "l",
+            'đ', "d", 'ħ', "h", 'ŧ', "t", 'ı', "i");
+
+    /** 照合順序上、独立した文字として扱われる記号（そのまま比較してよい） */
+    private static final String SAFE_SYMBOLS = "、。「」『』【】・ー";
+
+    private CollationUtils() {
+    }
+
+    /**
+     * 正規化（照合順序utf8mb4_0900_ai_ciの同値類への畳み込み）
+     * 全角・半角の統一、小文字化、アクセント・濁点除去、ß等の展開、カタカナ→ひらがな、小書き→通常
+     */
+    public static String normalize(String text) {
+        String normalized = Normalizer.normalize(text, Normalizer.Form.NFKC).toLowerCase(Locale.ROOT);
+        String decomposed = Normalizer.normalize(normalized, Normalizer.Form.NFD);
+        StringBuilder folded = new StringBuilder(decomposed.length());
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK
+                    || Character.getType(c) == Character.ENCLOSING_MARK
+                    || Character.getType(c) == Character.COMBINING_SPACING_MARK) {
+                continue;
+            }
+            String expansion = EXPANSIONS.get(c);
+            if (expansion != null) {
+                folded.append(expansion);
+            } else {
+                folded.append(foldKana(c));
+            }
+        }
+        // ハングル音節などを合成し直す
+        return Normalizer.normalize(folded, Normalizer.Form.NFC);
+    }
+
+    /**
+     * カタカナをひらがなに、小書きのかなを通常のかなに変換
+     */
+    private static char foldKana(char c) {
+        if (c >= 'ァ' && c <= 'ヶ') {
+            c = (char) (c - 0x60);
+        }
+        return switch (c) {
+            case 'ぁ', 'ぃ', 'ぅ', 'ぇ', 'ぉ', 'っ', 'ゃ', 'ゅ', 'ょ', 'ゎ' -> (char) (c + 1);
+            case 'ゕ' -> 'か';
+            case 'ゖ' -> 'け';
+            default -> c;
+        };
+    }
+
+    /**
+     * 正規化済みの文字列が、照合順序と同じ同値類に畳み込める文字のみで構成されているか
+     * （ASCII・ひらがな・漢字・ハングル音節・一部の和文記号）
+     */
+    public static boolean isFoldable(String normalized) {
+        for (int i = 0; i < normalized.length(); ) {
+            int cp = normalized.codePointAt(i);
+            i += Character.charCount(cp);
+            if (cp < 0x80 && cp >= 0x20) {
+                continue;
+            }
+            if (cp >= 0x3041 && cp <= 0x3096) {
+                continue;
+            }
+            if (cp >= 0xAC00 && cp <= 0xD7A3) {
+                continue;
+            }
+            if (Character.UnicodeScript.of(cp) == Character.UnicodeScript.HAN && Character.isLetter(cp)) {
+                continue;
+            }
+            if (SAFE_SYMBOLS.indexOf(cp) >= 0) {
+                continue;
+            }
+            return false;
+        }
+        return true;
+    }
+}
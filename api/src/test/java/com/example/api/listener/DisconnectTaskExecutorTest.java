@@ -0,0 +1,101 @@
+package com.example.api.listener;
+
+import com.example.api.service.BattleStateService;
+import com.example.api.service.MatchingQueueService;
+import com.example.api.service.MetricsService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * DisconnectTaskExecutorのテストクラス
+ * 滞留しても登録側を待たせず、同じユーザーの未実行のタスクを破棄せずにまとめることを検証する
+ */
+class DisconnectTaskExecutorTest {
+
+    private SimpleMeterRegistry registry;
+    private DisconnectTaskExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        MetricsService metricsService = new MetricsService(registry, new MatchingQueueService(), new BattleStateService());
+        executor = new DisconnectTaskExecutor(1, 2, metricsService);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdown();
+    }
+
+    /**
+     * レーンを塞ぐタスクを実行させ、解放用のラッチを返す
+     */
+    private CountDownLatch blockLane() throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        executor.execute(0L, "block", () -> {
+            started.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        assertTrue(started.await(10, TimeUnit.SECONDS));
+        return release;
+    }
+
+    private void awaitIdle() throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(1);
+        executor.execute(-1L, "await", done::countDown);
+        assertTrue(done.await(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testExecute_LatestTaskPerUserWins() throws Exception {
+        List<String> executed = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch release = blockLane();
+
+        executor.execute(1L, "leave-queue", () -> executed.add("leave-1"));
+        executor.execute(1L, "disconnect", () -> executed.add("disconnect-1"));
+        executor.execute(1L, "leave-queue", () -> executed.add("leave-2"));
+        executor.execute(2L, "leave-queue", () -> executed.add("user2"));
+        // 実行待ちはユーザーごとに1件
+        assertEquals(2, executor.getBacklogSize());
+
+        release.countDown();
+        awaitIdle();
+
+        // 置き換えたタスクは元の順序で実行される
+        assertEquals(List.of("leave-2", "disconnect-1", "user2"), executed);
+        assertEquals(1.0, registry.get("websocket.disconnect.tasks.coalesced").counter().count());
+        assertEquals(0, executor.getBacklogSize());
+    }
+
+    @Test
+    void testExecute_BacklogBeyondWarnSizeIsNeitherBlockedNorDropped() throws Exception {
+        Set<Long> executed = Collections.synchronizedSet(new HashSet<>());
+        CountDownLatch release = blockLane();
+
+        long start = System.nanoTime();
+        for (long userId = 1; userId <= 100; userId++) {
+            long id = userId;
+            executor.execute(userId, "leave-queue", () -> executed.add(id));
+        }
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        assertEquals(100.0, registry.get("websocket.disconnect.backlog").gauge().value());
+
+        release.countDown();
+        awaitIdle();
+
+        assertEquals(100, executed.size());
+    }
+}
@@ -0,0 +1,264 @@
+package com.example.api.service;
+
+import com.example.api.entity.Result;
+import com.example.api.entity.User;
+import com.example.api.repository.MatchDetailRepository;
+import com.example.api.repository.ResultRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * BattleResultWriterのテストクラス
+ * 反映できない結果がデッドレターへ退避され、後続の結果を止めないこと、
+ * ジャーナルが反映済みのセグメントから削除され、書き込めない場合は登録が失敗することを検証する
+ */
+class BattleResultWriterTest {
+
+    private static final int MAX_ATTEMPTS = 2;
+
+    @TempDir
+    Path journalDirectory;
+
+    @Mock
+    private ResultRepository resultRepository;
+
+    @Mock
+    private MatchDetailRepository matchDetailRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+    // DBに反映されたmatchUuid
+    private final Set<String> applied = new HashSet<>();
+
+    private BattleResultWriter writer;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(resultRepository.findAllByMatchUuidIn(anyCollection())).thenAnswer(invocation -> {
+            List<Result> results = new ArrayList<>();
+            for (String matchUuid : invocation.<Collection<String>>getArgument(0)) {
+                results.add(result(matchUuid, 1L));
+                results.add(result(matchUuid, 2L));
+            }
+            return results;
+        });
+
+        writer = newWriter(8 * 1024 * 1024, 60);
+    }
+
+    private BattleResultWriter newWriter(long segmentBytes, long deadLetterRetentionMinutes) throws Exception {
+        BattleResultWriter writer = new BattleResultWriter(resultRepository, matchDetailRepository,
+                new MatchDetailService(matchDetailRepository, objectMapper, true),
+                transactionManager, objectMapper, journalDirectory.toString(), MAX_ATTEMPTS,
+                segmentBytes, deadLetterRetentionMinutes);
+        writer.init();
+        return writer;
+    }
+
+    /**
+     * ジャーナルのセグメントごとのサイズ
+     */
+    private Map<String, Long> journalFiles() throws Exception {
+        Map<String, Long> files = new TreeMap<>();
+        try (Stream<Path> paths = Files.list(journalDirectory)) {
+            for (Path path : paths.filter(p -> p.getFileName().toString().endsWith(".journal")).toList()) {
+                files.put(path.getFileName().toString(), Files.size(path));
+            }
+        }
+        return files;
+    }
+
+    private Result result(String matchUuid, Long playerId) {
+        User player = new User();
+        player.setId(playerId);
+        Result result = new Result();
+        result.setMatchUuid(matchUuid);
+        result.setPlayer(player);
+        return result;
+    }
+
+    private BattleResultWriter.ResultWrite write(String matchUuid) {
+        BattleResultSummary summary = new BattleResultSummary(3, 1, false);
+        return new BattleResultWriter.ResultWrite(matchUuid, null, Result.OutcomeReason.normal, null, List.of(
+                new BattleResultWriter.PlayerResultWrite(1L, true, 10, 1510, summary),
+                new BattleResultWriter.PlayerResultWrite(2L, false, -10, 1490,
+                        new BattleResultSummary(1, 3, false))));
+    }
+
+    @SuppressWarnings("unchecked")
+    private void saveAllFailsFor(String failingMatchUuid) {
+        when(resultRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            List<Result> results = invocation.getArgument(0);
+            if (results.stream().anyMatch(r -> r.getMatchUuid().equals(failingMatchUuid))) {
+                throw new IllegalStateException("反映できない結果");
+            }
+            results.forEach(r -> applied.add(r.getMatchUuid()));
+            return results;
+        });
+    }
+
+    @Test
+    void testFlush_PoisonWriteIsDeadLettered() throws Exception {
+        saveAllFailsFor("bad");
+        writer.submit(write("bad"));
+        writer.submit(write("good"));
+
+        writer.flush();
+        // 失敗した結果以外は反映される
+        assertEquals(Set.of("good"), applied);
+        assertTrue(writer.isPending("bad"));
+
+        writer.flush();
+        assertFalse(writer.isPending("bad"));
+        assertEquals(0, writer.getBacklogSize());
+        // 退避した結果は再終了処理を防ぐため参照できる
+        assertNotNull(writer.getUnappliedWrite("bad"));
+        assertNull(writer.getUnappliedWrite("good"));
+
+        List<String> deadLetters = Files.readAllLines(journalDirectory.resolve("battle-results.deadletter"));
+        assertEquals(1, deadLetters.size());
+        assertEquals("bad", objectMapper.readValue(deadLetters.get(0), BattleResultWriter.ResultWrite.class).matchUuid());
+        assertEquals(Map.of("battle-results-0.journal", 0L), journalFiles());
+    }
+
+    @Test
+    void testFlush_TransientFailureIsNotCounted() {
+        AtomicInteger failures = new AtomicInteger(MAX_ATTEMPTS + 1);
+        when(resultRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new DataAccessResourceFailureException("DB接続エラー");
+            }
+            List<Result> results = invocation.getArgument(0);
+            results.forEach(r -> applied.add(r.getMatchUuid()));
+            return results;
+        });
+        writer.submit(write("m1"));
+
+        for (int i = 0; i <= MAX_ATTEMPTS; i++) {
+            writer.flush();
+            assertTrue(writer.isPending("m1"));
+        }
+        writer.flush();
+
+        assertEquals(Set.of("m1"), applied);
+        assertNull(writer.getUnappliedWrite("m1"));
+        assertFalse(Files.exists(journalDirectory.resolve("battle-results.deadletter")));
+    }
+
+    @Test
+    void testFlush_MissingResultRowIsNotCountedAsApplied() {
+        saveAllFailsFor("none");
+        when(resultRepository.findAllByMatchUuidIn(anyCollection())).thenAnswer(invocation -> {
+            List<Result> results = new ArrayList<>();
+            for (String matchUuid : invocation.<Collection<String>>getArgument(0)) {
+                if (!matchUuid.equals("missing")) {
+                    results.add(result(matchUuid, 1L));
+                    results.add(result(matchUuid, 2L));
+                }
+            }
+            return results;
+        });
+        writer.submit(write("missing"));
+        writer.submit(write("good"));
+
+        writer.flush();
+        assertEquals(Set.of("good"), applied);
+        assertTrue(writer.isPending("missing"));
+
+        writer.flush();
+        assertFalse(writer.isPending("missing"));
+        assertNotNull(writer.getUnappliedWrite("missing"));
+        assertTrue(Files.exists(journalDirectory.resolve("battle-results.deadletter")));
+    }
+
+    @Test
+    void testSubmit_JournalFailureFailsSubmit() {
+        writer.shutdown();
+
+        assertThrows(UncheckedIOException.class, () -> writer.submit(write("m1")));
+        assertFalse(writer.isPending("m1"));
+        assertEquals(0, writer.getBacklogSize());
+    }
+
+    @Test
+    void testJournal_SealedSegmentIsDeletedOnceApplied() throws Exception {
+        writer.shutdown();
+        writer = newWriter(1, 60);
+        AtomicInteger failures = new AtomicInteger(1);
+        when(resultRepository.saveAll(anyList())).thenAnswer(invocation -> {
+            if (failures.getAndDecrement() > 0) {
+                throw new DataAccessResourceFailureException("DB接続エラー");
+            }
+            List<Result> results = invocation.getArgument(0);
+            results.forEach(r -> applied.add(r.getMatchUuid()));
+            return results;
+        });
+
+        // 反映待ちが残ったまま上限サイズを超えたセグメントは切り替えられる
+        writer.submit(write("m1"));
+        writer.flush();
+        assertTrue(writer.isPending("m1"));
+        writer.submit(write("m2"));
+        Map<String, Long> files = journalFiles();
+        assertEquals(Set.of("battle-results-1.journal", "battle-results-2.journal"), files.keySet());
+        assertTrue(files.values().stream().allMatch(size -> size > 0));
+
+        // 全件反映されたセグメントは削除され、書き込み中のセグメントは切り詰められる
+        writer.flush();
+        assertEquals(Set.of("m1", "m2"), applied);
+        assertEquals(Map.of("battle-results-2.journal", 0L), journalFiles());
+    }
+
+    @Test
+    void testInit_ReplaysUnappliedSegments() throws Exception {
+        when(resultRepository.saveAll(anyList())).thenThrow(new DataAccessResourceFailureException("DB接続エラー"));
+        writer.submit(write("m1"));
+        writer.shutdown();
+
+        BattleResultWriter restarted = newWriter(8 * 1024 * 1024, 60);
+
+        assertTrue(restarted.isPending("m1"));
+        assertEquals(1, restarted.getBacklogSize());
+        assertEquals(Set.of("battle-results-0.journal", "battle-results-1.journal"), journalFiles().keySet());
+    }
+
+    @Test
+    void testFlush_DeadLetterIsReleasedAfterRetention() throws Exception {
+        writer.shutdown();
+        writer = newWriter(8 * 1024 * 1024, 0);
+        saveAllFailsFor("bad");
+        writer.submit(write("bad"));
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            writer.flush();
+        }
+        assertFalse(writer.isPending("bad"));
+
+        Thread.sleep(5);
+        writer.flush();
+
+        assertNull(writer.getUnappliedWrite("bad"));
+    }
+}
@@ -0,0 +1,261 @@
+package com.example.api.service;
+
+import com.example.api.dto.battle.QuestionResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * BattleStateServiceのテストクラス
+ * ユーザーID・ルームIDの二次インデックスが対戦状態と一致すること、
+ * 再接続時の差分再送・イベント履歴のあふれ・スナップショットの版管理と不変性を検証する
+ */
+class BattleStateServiceTest {
+
+    private BattleStateService battleStateService;
+
+    @BeforeEach
+    void setUp() {
+        battleStateService = new BattleStateService();
+    }
+
+    @Test
+    void testGetMatchUuidByUserId_RankMatch() {
+        battleStateService.createBattle("m1", 1L, 2L, "english", List.of());
+
+        assertEquals("m1", battleStateService.getMatchUuidByUserId(1L));
+        assertEquals("m1", battleStateService.getMatchUuidByUserId(2L));
+        assertTrue(battleStateService.isUserInRankBattle(1L));
+        assertNull(battleStateService.getMatchUuidByUserId(3L));
+
+        battleStateService.finishBattle("m1");
+        assertFalse(battleStateService.isUserInRankBattle(1L));
+
+        battleStateService.removeBattle("m1");
+        assertEquals(0, battleStateService.getIndexedUserCount());
+    }
+
+    @Test
+    void testGetMatchUuidByRoomId_OnlyInProgress() {
+        battleStateService.createRoomBattle("r1", 1L, 2L, "english", List.of(), 5, 10L);
+
+        // 開始前は対象外
+        assertNull(battleStateService.getMatchUuidByRoomId(10L));
+        assertNull(battleStateService.getMatchUuidByUserId(1L));
+
+        battleStateService.startBattle("r1");
+        assertEquals("r1", battleStateService.getMatchUuidByRoomId(10L));
+
+        battleStateService.removeBattle("r1");
+        assertNull(battleStateService.getMatchUuidByRoomId(10L));
+        assertEquals(0, battleStateService.getIndexedRoomCount());
+    }
+
+    @Test
+    void testRemoveOldBattle_KeepsNewerIndexEntry() {
+        battleStateService.createBattle("old", 1L, 2L, "english", List.of());
+        battleStateService.createBattle("new", 1L, 3L, "english", List.of());
+
+        battleStateService.removeBattle("old");
+
+        assertEquals("new", battleStateService.getMatchUuidByUserId(1L));
+        assertEquals("new", battleStateService.getMatchUuidByUserId(3L));
+        assertNull(battleStateService.getMatchUuidByUserId(2L));
+    }
+
+    @Test
+    void testRemoveNewerBattle_KeepsOlderLiveBattleIndexed() {
+        battleStateService.createBattle("old", 1L, 2L, "english", List.of());
+        battleStateService.createBattle("new", 1L, 3L, "english", List.of());
+        assertEquals("new", battleStateService.getMatchUuidByUserId(1L));
+
+        battleStateService.removeBattle("new");
+
+        // 古い対戦はまだ進行中のため、ユーザー1からも引ける
+        assertEquals("old", battleStateService.getMatchUuidByUserId(1L));
+        assertEquals("old", battleStateService.getMatchUuidByUserId(2L));
+        assertNull(battleStateService.getMatchUuidByUserId(3L));
+        assertEquals(2, battleStateService.getIndexedUserCount());
+
+        battleStateService.removeBattle("old");
+        assertEquals(0, battleStateService.getIndexedUserCount());
+    }
+
+    @Test
+    void testConcurrentCreateAndRemove_IndexesStayConsistent() throws Exception {
+        int threads = 8;
+        int battlesPerThread = 500;
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<List<String>>> futures = new ArrayList<>();
+
+        for (int t = 0; t < threads; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                Random random = new Random(thread);
+                List<String> kept = new ArrayList<>();
+                for (int i = 0; i < battlesPerThread; i++) {
+                    String matchUuid = "t" + thread + "-" + i;
+                    // ユーザー・ルームIDはスレッド間で重複させる
+                    long player1 = random.nextInt(200);
+                    long player2 = 200 + random.nextInt(200);
+                    if (i % 2 == 0) {
+                        battleStateService.createBattle(matchUuid, player1, player2, "english", List.of());
+                    } else {
+                        battleStateService.createRoomBattle(matchUuid, player1, player2, "english", List.of(),
+                                5, (long) random.nextInt(100));
+                        battleStateService.startBattle(matchUuid);
+                    }
+                    if (random.nextBoolean()) {
+                        battleStateService.removeBattle(matchUuid);
+                    } else {
+                        kept.add(matchUuid);
+                    }
+                }
+                return kept;
+            }));
+        }
+        start.countDown();
+        Set<String> kept = new HashSet<>();
+        for (Future<List<String>> future : futures) {
+            kept.addAll(future.get(30, TimeUnit.SECONDS));
+        }
+        executor.shutdown();
+
+        assertEquals(kept.size(), battleStateService.getActiveBattleCount());
+
+        // インデックスから引いた結果が、残っている対戦状態の中に存在すること
+        Set<Long> usersInBattle = new HashSet<>();
+        Set<Long> roomsInBattle = new HashSet<>();
+        for (String matchUuid : kept) {
+            BattleStateService.BattleState state = battleStateService.getBattle(matchUuid);
+            if (state.isRoomMatch()) {
+                roomsInBattle.add(state.getRoomId());
+            } else {
+                usersInBattle.add(state.getPlayer1Id());
+                usersInBattle.add(state.getPlayer2Id());
+            }
+        }
+        for (long userId = 0; userId < 400; userId++) {
+            String matchUuid = battleStateService.getMatchUuidByUserId(userId);
+            if (matchUuid == null) {
+                continue;
+            }
+            BattleStateService.BattleState state = battleStateService.getBattle(matchUuid);
+            assertNotNull(state, "userId=" + userId);
+            assertTrue(state.isParticipant(userId));
+            assertFalse(state.isRoomMatch());
+        }
+        for (long roomId = 0; roomId < 100; roomId++) {
+            String matchUuid = battleStateService.getMatchUuidByRoomId(roomId);
+            if (matchUuid == null) {
+                continue;
+            }
+            assertEquals(roomId, battleStateService.getBattle(matchUuid).getRoomId());
+        }
+
+        // インデックスが指す対戦は全て残っている対戦のみ（削除済みの対戦を指すエントリが残らない）
+        assertTrue(battleStateService.getIndexedUserCount() <= usersInBattle.size());
+        assertTrue(battleStateService.getIndexedRoomCount() <= roomsInBattle.size());
+
+        // 全て削除するとインデックスも空になる
+        for (String matchUuid : kept) {
+            battleStateService.removeBattle(matchUuid);
+        }
+        assertEquals(0, battleStateService.getIndexedUserCount());
+        assertEquals(0, battleStateService.getIndexedRoomCount());
+    }
+
+    private Map<String, Object> questionMessage(QuestionResponse question) {
+        Map<String, Object> message = new HashMap<>();
+        message.put("type", "question");
+        message.put("question", question);
+        return message;
+    }
+
+    private QuestionResponse question(int roundNumber) {
+        return new QuestionResponse(roundNumber, "text" + roundNumber, "FILL_IN_BLANK", null, null,
+                "song", "artist", roundNumber, 10, 30000L, 0L, null);
+    }
+
+    @Test
+    void testEventsSince_ReplaysMissedEvents() {
+        battleStateService.createBattle("m1", 1L, 2L, "english", List.of());
+        battleStateService.startBattle("m1");
+        for (int round = 1; round <= 3; round++) {
+            battleStateService.recordEvent("m1", "question", questionMessage(question(round)));
+        }
+        long lastSeen = battleStateService.getEventsSince("m1", 0).events().get(0).sequence();
+
+        BattleStateService.BattleReplay replay = battleStateService.getEventsSince("m1", lastSeen);
+
+        assertFalse(replay.resyncRequired());
+        assertEquals(List.of(lastSeen + 1, lastSeen + 2),
+                replay.events().stream().map(BattleStateService.BattleEvent::sequence).toList());
+        assertEquals(3, ((Map<?, ?>) replay.events().get(1).payload().get("question")).get("roundNumber"));
+        assertEquals(lastSeen + 2, replay.snapshot().getSequence());
+        assertTrue(battleStateService.getEventsSince("m1", lastSeen + 2).events().isEmpty());
+        assertNull(battleStateService.getEventsSince("missing", 0));
+    }
+
+    @Test
+    void testEventsSince_OverflowRequiresResync() {
+        battleStateService.createBattle("m1", 1L, 2L, "english", List.of());
+        long before = battleStateService.getSnapshot("m1").getSequence();
+        int events = BattleStateService.EVENT_LOG_CAPACITY + 5;
+        for (int round = 1; round <= events; round++) {
+            battleStateService.recordEvent("m1", "question", questionMessage(question(round)));
+        }
+
+        // 破棄済みのイベントより前からの再送はスナップショットから復元させる
+        BattleStateService.BattleReplay stale = battleStateService.getEventsSince("m1", before);
+        assertTrue(stale.resyncRequired());
+        assertTrue(stale.events().isEmpty());
+        assertEquals(before + events, stale.snapshot().getSequence());
+
+        // 保持している範囲からの再送は差分を返す
+        long oldestKept = before + events - BattleStateService.EVENT_LOG_CAPACITY + 1;
+        BattleStateService.BattleReplay kept = battleStateService.getEventsSince("m1", oldestKept - 1);
+        assertFalse(kept.resyncRequired());
+        assertEquals(BattleStateService.EVENT_LOG_CAPACITY, kept.events().size());
+        assertEquals(oldestKept, kept.events().get(0).sequence());
+    }
+
+    @Test
+    void testSnapshot_VersionedAndDeeplyImmutable() {
+        battleStateService.createBattle("m1", 1L, 2L, "english", List.of());
+        BattleStateService.BattleSnapshot created = battleStateService.getSnapshot("m1");
+
+        battleStateService.startBattle("m1");
+        BattleStateService.BattleSnapshot started = battleStateService.getSnapshot("m1");
+        assertEquals(created.getSequence() + 1, started.getSequence());
+        assertEquals("WAITING_FOR_PLAYERS", created.getView().get("status"));
+        assertEquals("IN_PROGRESS", started.getView().get("status"));
+
+        QuestionResponse sent = question(1);
+        Map<String, Object> message = questionMessage(sent);
+        battleStateService.recordEvent("m1", "question", message);
+        BattleStateService.BattleSnapshot asked = battleStateService.getSnapshot("m1");
+        assertEquals(started.getSequence() + 1, asked.getSequence());
+        assertEquals(asked.getSequence(), message.get("sequence"));
+        assertNull(started.getView().get("question"));
+
+        // 送信後にメッセージやDTOを書き換えても、記録済みのスナップショット・イベントは変わらない
+        sent.setText("changed");
+        message.put("type", "changed");
+        Map<?, ?> questionView = (Map<?, ?>) asked.getView().get("question");
+        assertEquals("text1", questionView.get("text"));
+        BattleStateService.BattleEvent event = battleStateService.getEventsSince("m1", started.getSequence()).events().get(0);
+        assertEquals("question", event.payload().get("type"));
+        assertEquals("text1", ((Map<?, ?>) event.payload().get("question")).get("text"));
+
+        assertThrows(UnsupportedOperationException.class, () -> asked.getView().put("status", "FINISHED"));
+        assertThrows(UnsupportedOperationException.class, () -> questionView.remove("text"));
+        assertThrows(UnsupportedOperationException.class, () -> event.payload().put("type", "changed"));
+    }
+}
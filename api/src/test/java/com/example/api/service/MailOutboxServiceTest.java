@@ -0,0 +1,228 @@
+package com.example.api.service;
+
+import com.example.api.entity.MailOutbox;
+import com.example.api.repository.MailOutboxRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mail.MailSendException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.mail.javamail.JavaMailSender;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * MailOutboxServiceのテストクラス
+ * 送信の確保と処理期限、一部失敗時の再試行と指数バックオフ、送信期限による打ち切り、削除とメトリクスをDB（H2）で検証する
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:mailoutbox;MODE=MySQL;DATABASE_TO_LOWER=TRUE;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MailOutboxServiceTest {
+
+    private static final int MAX_ATTEMPTS = 3;
+
+    @Autowired
+    private MailOutboxRepository mailOutboxRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JavaMailSender mailSender;
+    private SimpleMeterRegistry registry;
+    private MailOutboxService service;
+
+    // 送信に失敗させる宛先
+    private final Set<String> failingAddresses = new HashSet<>();
+    // 送信された宛先
+    private final List<String> sentAddresses = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mailOutboxRepository.deleteAll();
+        mailSender = mock(JavaMailSender.class);
+        doAnswer(invocation -> {
+            Map<Object, Exception> failures = new LinkedHashMap<>();
+            for (Object argument : invocation.getArguments()) {
+                SimpleMailMessage message = (SimpleMailMessage) argument;
+                String to = message.getTo()[0];
+                if (failingAddresses.contains(to)) {
+                    failures.put(message, new IllegalStateException("550 mailbox unavailable: " + to));
+                } else {
+                    sentAddresses.add(to);
+                }
+            }
+            if (!failures.isEmpty()) {
+                throw new MailSendException(failures);
+            }
+            return null;
+        }).when(mailSender).send(any(SimpleMailMessage[].class));
+
+        registry = new SimpleMeterRegistry();
+        service = new MailOutboxService(mailOutboxRepository, mailSender, transactionManager, registry,
+                "noreply@example.com", 1, 10, MAX_ATTEMPTS, 24);
+    }
+
+    private MailOutbox enqueue(String to, LocalDateTime expiresAt) {
+        return mailOutboxRepository.save(new MailOutbox(to, "subject", "body", expiresAt));
+    }
+
+    private MailOutbox reload(MailOutbox mail) {
+        return mailOutboxRepository.findById(mail.getMailId()).orElse(null);
+    }
+
+    private double deliveries(String outcome) {
+        return registry.get("mail.outbox.deliveries").tag("outcome", outcome).counter().count();
+    }
+
+    private double queue(String status) {
+        return registry.get("mail.outbox.queue").tag("status", status).gauge().value();
+    }
+
+    @Test
+    void testClaimDue_LeaseHidesMailUntilExpired() {
+        MailOutbox mail = enqueue("a@example.com", null);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<MailOutbox> claimed = service.claimDue(now, 10);
+        assertEquals(1, claimed.size());
+        assertEquals(1, claimed.get(0).getAttempts());
+
+        // 処理期限までは他のワーカーから確保されない
+        assertTrue(service.claimDue(now.plusSeconds(60), 10).isEmpty());
+
+        // 送信結果が記録されないまま処理期限を過ぎた場合は再度確保される
+        List<MailOutbox> reclaimed = service.claimDue(now.plusSeconds(301), 10);
+        assertEquals(List.of(mail.getMailId()), reclaimed.stream().map(MailOutbox::getMailId).toList());
+        assertEquals(2, reclaimed.get(0).getAttempts());
+    }
+
+    @Test
+    void testSendChunk_PartialFailureRetriesOnlyFailedMailWithBackoff() {
+        MailOutbox ok = enqueue("ok@example.com", null);
+        MailOutbox bad = enqueue("bad@example.com", null);
+        failingAddresses.add("bad@example.com");
+
+        LocalDateTime before = LocalDateTime.now();
+        service.sendChunk(service.claimDue(before, 10));
+
+        assertEquals(List.of("ok@example.com"), sentAddresses);
+        assertEquals(MailOutbox.Status.SENT, reload(ok).getStatus());
+        MailOutbox retried = reload(bad);
+        assertEquals(MailOutbox.Status.PENDING, retried.getStatus());
+        assertTrue(retried.getLastError().contains("550"));
+        // 1回目の失敗は30秒後に再試行
+        long delay = ChronoUnit.SECONDS.between(before, retried.getNextAttemptAt());
+        assertTrue(delay >= 30 && delay <= 31, "delay=" + delay);
+
+        // 2回目の失敗は60秒後に再試行
+        LocalDateTime second = retried.getNextAttemptAt();
+        service.sendChunk(service.claimDue(second, 10));
+        MailOutbox retriedAgain = reload(bad);
+        assertEquals(2, retriedAgain.getAttempts());
+        long secondDelay = ChronoUnit.SECONDS.between(LocalDateTime.now(), retriedAgain.getNextAttemptAt());
+        assertTrue(secondDelay >= 59 && secondDelay <= 60, "delay=" + secondDelay);
+
+        assertEquals(1.0, deliveries("sent"));
+        assertEquals(2.0, deliveries("retried"));
+        assertEquals(0.0, deliveries("failed"));
+    }
+
+    @Test
+    void testSendChunk_FailsAfterMaxAttempts() {
+        MailOutbox bad = enqueue("bad@example.com", null);
+        failingAddresses.add("bad@example.com");
+
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < MAX_ATTEMPTS; i++) {
+            now = now.plusHours(1);
+            service.sendChunk(service.claimDue(now, 10));
+        }
+
+        assertEquals(MailOutbox.Status.FAILED, reload(bad).getStatus());
+        assertTrue(service.claimDue(now.plusHours(1), 10).isEmpty());
+        assertEquals(2.0, deliveries("retried"));
+        assertEquals(1.0, deliveries("failed"));
+    }
+
+    @Test
+    void testSendChunk_ExpiringMailIsNotRetriedPastExpiry() {
+        // 再試行（30秒後）が送信期限を過ぎるメール
+        MailOutbox code = enqueue("code@example.com", LocalDateTime.now().plusSeconds(10));
+        failingAddresses.add("code@example.com");
+
+        service.sendChunk(service.claimDue(LocalDateTime.now(), 10));
+
+        assertEquals(MailOutbox.Status.FAILED, reload(code).getStatus());
+        assertEquals(1.0, deliveries("failed"));
+    }
+
+    @Test
+    void testClaimDue_ExpiredMailIsNotSent() {
+        enqueue("code@example.com", LocalDateTime.now().plusMinutes(10));
+
+        assertTrue(service.claimDue(LocalDateTime.now().plusMinutes(11), 10).isEmpty());
+    }
+
+    @Test
+    void testPurge_DeletesExpiredAndOldFinishedMail() {
+        MailOutbox expired = enqueue("expired@example.com", LocalDateTime.now().minusMinutes(1));
+        MailOutbox oldSent = enqueue("old@example.com", null);
+        MailOutbox recentSent = enqueue("recent@example.com", null);
+        MailOutbox pending = enqueue("pending@example.com", null);
+        // 送信期限切れを除く先頭2件（oldSent, recentSent）を送信済みにする
+        service.sendChunk(service.claimDue(LocalDateTime.now(), 2));
+        assertEquals(MailOutbox.Status.SENT, reload(recentSent).getStatus());
+        new JdbcTemplate(dataSource).update("UPDATE mail_outbox SET created_at = ? WHERE mail_id = ?",
+                LocalDateTime.now().minusHours(25), oldSent.getMailId());
+
+        assertEquals(2, service.purge());
+
+        assertNull(reload(expired));
+        assertNull(reload(oldSent));
+        assertNotNull(reload(recentSent));
+        assertNotNull(reload(pending));
+        assertEquals(1.0, registry.get("mail.outbox.purged").tag("reason", "expired").counter().count());
+        assertEquals(1.0, registry.get("mail.outbox.purged").tag("reason", "finished").counter().count());
+    }
+
+    @Test
+    void testRefreshGauges() {
+        enqueue("a@example.com", null);
+        enqueue("b@example.com", null);
+        MailOutbox failed = enqueue("c@example.com", null);
+        failed.setStatus(MailOutbox.Status.FAILED);
+        mailOutboxRepository.save(failed);
+
+        service.refreshGauges();
+
+        assertEquals(2.0, queue("pending"));
+        assertEquals(1.0, queue("failed"));
+        assertEquals(0.0, queue("in_flight"));
+    }
+}
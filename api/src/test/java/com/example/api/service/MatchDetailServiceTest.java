@@ -0,0 +1,125 @@
+package com.example.api.service;
+
+import com.example.api.entity.MatchDetail;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MatchDetailServiceのテストクラス
+ * 対戦詳細の符号化・復号と、旧形式（JSON列）からの読み込みを検証する
+ */
+class MatchDetailServiceTest {
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private MatchDetailService.Detail sampleDetail() {
+        List<MatchDetailService.QuestionEntry> questions = List.of(
+                new MatchDetailService.QuestionEntry(10, "I ___ you", "love", "FILL_IN_THE_BLANK", null),
+                new MatchDetailService.QuestionEntry(11, "listen", "miss", "LISTENING", "I miss you"));
+        List<MatchDetailService.RoundEntry> rounds = List.of(
+                new MatchDetailService.RoundEntry(1, 10, 1L, false, null, List.of(
+                        new MatchDetailService.AnswerEntry(1L, "love", true, 1200L),
+                        new MatchDetailService.AnswerEntry(2L, "like", false, 3400L))));
+        return new MatchDetailService.Detail(questions, rounds,
+                new MatchDetailService.Format("Rank", 3, 5, false, null));
+    }
+
+    @Test
+    void testEncodeDecode_Compressed() {
+        MatchDetailService service = new MatchDetailService(null, objectMapper, true);
+        MatchDetailService.Detail detail = sampleDetail();
+
+        MatchDetail entity = service.encode("m1", detail);
+
+        assertEquals(MatchDetailService.CURRENT_FORMAT_VERSION, entity.getFormatVersion());
+        assertTrue(entity.getCompressed());
+        assertEquals(detail, service.decode(entity));
+    }
+
+    @Test
+    void testEncodeDecode_Uncompressed() {
+        MatchDetailService service = new MatchDetailService(null, objectMapper, false);
+        MatchDetailService.Detail detail = sampleDetail();
+
+        MatchDetail entity = service.encode("m1", detail);
+
+        assertFalse(entity.getCompressed());
+        assertEquals(entity.getRawSize(), entity.getPayload().length);
+        assertEquals(detail, service.decode(entity));
+    }
+
+    @Test
+    void testDecode_UnsupportedVersion() {
+        MatchDetailService service = new MatchDetailService(null, objectMapper, true);
+        MatchDetail entity = service.encode("m1", sampleDetail());
+        entity.setFormatVersion(99);
+
+        assertThrows(IllegalStateException.class, () -> service.decode(entity));
+    }
+
+    @Test
+    void testFromLegacy() {
+        MatchDetailService service = new MatchDetailService(null, objectMapper, true);
+
+        Map<String, Object> question = new HashMap<>();
+        question.put("questionId", 11);
+        question.put("text", "listen");
+        question.put("answer", "miss");
+        question.put("questionFormat", "LISTENING");
+        question.put("completeSentence", "I miss you");
+        Map<String, Object> useQuestion = Map.of("questions", List.of(question));
+
+        // playerInfo形式のラウンド
+        Map<String, Object> round1 = new HashMap<>();
+        round1.put("roundNumber", 1);
+        round1.put("questionId", 11);
+        round1.put("winnerId", 2);
+        round1.put("isNoCount", false);
+        round1.put("playerInfo", Map.of(
+                "1", Map.of("answer", "I kiss you", "isCorrect", false, "responseTimeMs", 5000),
+                "2", Map.of("answer", "I miss you", "isCorrect", true, "responseTimeMs", 4000)));
+        // answers形式（旧々形式）のラウンド、winnerId=0は勝者なし
+        Map<String, Object> round2 = new HashMap<>();
+        round2.put("winnerId", 0);
+        round2.put("answers", Map.of("1", Map.of("answer", "a", "isCorrect", false)));
+        Map<String, Object> resultDetail = Map.of("rounds", List.of(round1, round2), "myWins", 0);
+
+        Map<String, Object> resultFormat = Map.of("format", "Room", "winsRequired", 5, "maxRounds", 10,
+                "isRoomMatch", true, "roomId", 7);
+
+        MatchDetailService.Detail detail = service.fromLegacy(useQuestion, resultDetail, resultFormat);
+
+        assertEquals(1, detail.questions().size());
+        assertEquals("I miss you", detail.questions().get(0).completeSentence());
+
+        assertEquals(2, detail.rounds().size());
+        MatchDetailService.RoundEntry first = detail.rounds().get(0);
+        assertEquals(2L, first.winnerId());
+        assertEquals("I kiss you", first.answerOf(1L).answer());
+        assertTrue(first.answerOf(2L).correct());
+        assertEquals(4000L, first.answerOf(2L).responseTimeMs());
+
+        MatchDetailService.RoundEntry second = detail.rounds().get(1);
+        assertEquals(2, second.roundNumber());
+        assertNull(second.winnerId());
+        assertEquals("a", second.answerOf(1L).answer());
+        assertNull(second.answerOf(2L));
+
+        assertEquals(new MatchDetailService.Format("Room", 5, 10, true, 7L), detail.format());
+    }
+
+    @Test
+    void testFromLegacy_Empty() {
+        MatchDetailService service = new MatchDetailService(null, objectMapper, true);
+
+        MatchDetailService.Detail detail = service.fromLegacy(null, null, null);
+
+        assertTrue(detail.questions().isEmpty());
+        assertTrue(detail.rounds().isEmpty());
+        assertNull(detail.format());
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * MetricsServiceのテストクラス
+ * キュー長・対戦数のゲージとタイムアウト・期限切れセッション削除のカウンタが登録・更新されることを検証する
+ */
+class MetricsServiceTest {
+
+    private SimpleMeterRegistry registry;
+    private MatchingQueueService matchingQueueService;
+    private BattleStateService battleStateService;
+    private MetricsService metricsService;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        matchingQueueService = new MatchingQueueService();
+        battleStateService = new BattleStateService();
+        metricsService = new MetricsService(registry, matchingQueueService, battleStateService);
+    }
+
+    private double gauge(String name, String tagKey, String tagValue) {
+        return registry.get(name).tag(tagKey, tagValue).gauge().value();
+    }
+
+    @Test
+    void testRefreshGauges_QueueSizeByLanguage() {
+        matchingQueueService.addToQueue(1L, 1500, "english");
+        matchingQueueService.addToQueue(2L, 1500, "english");
+        matchingQueueService.addToQueue(3L, 1500, "korean");
+        metricsService.refreshGauges();
+
+        assertEquals(2.0, gauge("battle.matching.queue.size", "language", "english"));
+        assertEquals(1.0, gauge("battle.matching.queue.size", "language", "korean"));
+
+        // 空になった言語も0として出力する
+        matchingQueueService.removeFromQueue(3L);
+        metricsService.refreshGauges();
+        assertEquals(0.0, gauge("battle.matching.queue.size", "language", "korean"));
+    }
+
+    @Test
+    void testRefreshGauges_ActiveBattlesByStatus() {
+        battleStateService.createBattle("m1", 1L, 2L, "english", List.of());
+        battleStateService.createBattle("m2", 3L, 4L, "english", List.of());
+        battleStateService.finishBattle("m2");
+        metricsService.refreshGauges();
+
+        assertEquals(1.0, gauge("battle.active", "status", "waiting_for_players"));
+        assertEquals(0.0, gauge("battle.active", "status", "in_progress"));
+        assertEquals(1.0, gauge("battle.active", "status", "finished"));
+    }
+
+    @Test
+    void testCountTimeouts() {
+        metricsService.countTimeouts(MetricsService.TimeoutPhase.ANSWER_PHASE, 2);
+        metricsService.countTimeouts(MetricsService.TimeoutPhase.ANSWER_PHASE, 0);
+
+        assertEquals(2.0, registry.get("battle.timeouts").tag("phase", "answer_phase").counter().count());
+        assertEquals(0.0, registry.get("battle.timeouts").tag("phase", "round_result").counter().count());
+    }
+
+    @Test
+    void testCountSessionCleanupBatch() {
+        metricsService.countSessionCleanupBatch(500, 120);
+        metricsService.countSessionCleanupBatch(37, 0);
+
+        assertEquals(2.0, registry.get("session.cleanup.batches").counter().count());
+        assertEquals(537.0, registry.get("session.cleanup.deleted").counter().count());
+        assertEquals(120.0, registry.get("session.cleanup.offline.users").counter().count());
+    }
+}
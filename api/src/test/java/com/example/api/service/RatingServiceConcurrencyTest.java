@@ -0,0 +1,121 @@
+package com.example.api.service;
+
+import com.example.api.entity.Rate;
+import com.example.api.entity.User;
+import com.example.api.repository.RateRepository;
+import com.example.api.repository.UserRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * RatingServiceの同時更新テストクラス
+ * 同じ2人の対戦結果を並行して反映し、加算が失われず、返した変動量とDBの最終レートが一致することをDB（H2）で検証する
+ */
+@DataJpaTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:rating;MODE=MySQL;DATABASE_TO_LOWER=TRUE;LOCK_TIMEOUT=120000;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.show-sql=false"
+})
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import(RatingService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class RatingServiceConcurrencyTest {
+
+    private static final int SEASON = 1;
+
+    @Autowired
+    private RatingService ratingService;
+
+    @Autowired
+    private RateRepository rateRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private Long player1;
+    private Long player2;
+
+    @BeforeEach
+    void setUp() {
+        rateRepository.deleteAll();
+        userRepository.deleteAll();
+        player1 = createUser("player1").getId();
+        player2 = createUser("player2").getId();
+    }
+
+    private User createUser(String name) {
+        User user = new User();
+        user.setUsername(name);
+        user.setMailaddress(name + "@example.com");
+        user.setPassword("password");
+        user.setCreatedAt(LocalDateTime.now());
+        return userRepository.save(user);
+    }
+
+    @Test
+    void testConcurrentFinalization_NoLostUpdates() throws Exception {
+        int matches = 100;
+        Map<Long, AtomicLong> reportedChanges = Map.of(player1, new AtomicLong(), player2, new AtomicLong());
+        List<RatingService.RatingOutcome> outcomes = Collections.synchronizedList(new ArrayList<>());
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+
+        for (int i = 0; i < matches; i++) {
+            // 勝者を入れ替えながら同じ2人の対戦を同時に終了させる
+            Long winnerId = i % 3 == 0 ? player2 : player1;
+            Long loserId = winnerId.equals(player1) ? player2 : player1;
+            futures.add(executor.submit(() -> {
+                start.await();
+                RatingService.RatingOutcome outcome = transactionTemplate.execute(status ->
+                        ratingService.applyMatchResult(winnerId, loserId, SEASON));
+                outcomes.add(outcome);
+                reportedChanges.get(winnerId).addAndGet(outcome.winnerRateChange());
+                reportedChanges.get(loserId).addAndGet(outcome.loserRateChange());
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(180, TimeUnit.SECONDS);
+        }
+        executor.shutdown();
+
+        // 返した結果は更新前 + 変動量 = 更新後で整合する
+        for (RatingService.RatingOutcome outcome : outcomes) {
+            assertEquals(outcome.winnerOldRate() + outcome.winnerRateChange(), outcome.winnerNewRate());
+            assertEquals(outcome.loserOldRate() + outcome.loserRateChange(), outcome.loserNewRate());
+        }
+        // 最終レート = 初期値 + 返した変動量の合計（更新の取りこぼしがない）
+        Map<Long, Integer> finalRates = new HashMap<>();
+        for (Rate rate : rateRepository.findBySeasonAndUserIds(SEASON, List.of(player1, player2))) {
+            finalRates.put(rate.getUser().getId(), rate.getRate());
+        }
+        assertEquals(RatingService.INITIAL_RATE + reportedChanges.get(player1).get(), (long) finalRates.get(player1));
+        assertEquals(RatingService.INITIAL_RATE + reportedChanges.get(player2).get(), (long) finalRates.get(player2));
+        assertEquals(matches, outcomes.size());
+    }
+}
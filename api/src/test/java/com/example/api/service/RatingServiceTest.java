@@ -0,0 +1,130 @@
+package com.example.api.service;
+
+import com.example.api.entity.Rate;
+import com.example.api.entity.User;
+import com.example.api.repository.RateRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.mockito.invocation.InvocationOnMock;
+
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * RatingServiceのテストクラス
+ * rateテーブルをメモリ上で再現し、変動量の計算と下限の扱いを検証する
+ * （同時更新で加算が失われないことはRatingServiceConcurrencyTestでDBを使って検証する）
+ */
+class RatingServiceTest {
+
+    private static final int SEASON = 1;
+
+    @Mock
+    private RateRepository rateRepository;
+
+    private RatingService ratingService;
+
+    // user_id → rate / last_change（SEASONのみ）
+    private final Map<Long, Integer> table = new ConcurrentHashMap<>();
+    private final Map<Long, Integer> lastChanges = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        ratingService = new RatingService(rateRepository);
+
+        when(rateRepository.insertIfAbsent(anyLong(), anyLong(), eq(SEASON), anyInt(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    int initialRate = invocation.getArgument(3);
+                    int inserted = 0;
+                    for (Long userId : List.of(invocation.<Long>getArgument(0), invocation.<Long>getArgument(1))) {
+                        if (table.putIfAbsent(userId, initialRate) == null) {
+                            inserted++;
+                        }
+                    }
+                    return inserted;
+                });
+
+        when(rateRepository.findBySeasonAndUserIds(eq(SEASON), anyList())).thenAnswer(this::findRates);
+
+        when(rateRepository.applyDeltas(eq(SEASON), anyLong(), anyInt(), anyLong(), anyInt(), anyInt(), any(LocalDateTime.class)))
+                .thenAnswer(invocation -> {
+                    int minRate = invocation.getArgument(5);
+                    applyDelta(invocation.getArgument(1), invocation.getArgument(2), minRate);
+                    applyDelta(invocation.getArgument(3), invocation.getArgument(4), minRate);
+                    return 2;
+                });
+    }
+
+    @Test
+    void testApplyMatchResult_EqualRates() {
+        RatingService.RatingOutcome outcome = ratingService.applyMatchResult(1L, 2L, SEASON);
+
+        assertEquals(1500, outcome.winnerOldRate());
+        assertEquals(16, outcome.winnerRateChange());
+        assertEquals(-16, outcome.loserRateChange());
+        assertEquals(1516, outcome.winnerNewRate());
+        assertEquals(1484, outcome.loserNewRate());
+    }
+
+    @Test
+    void testApplyMatchResult_ClampedAtMinRate() {
+        table.put(1L, RatingService.MIN_RATE + 5);
+        table.put(2L, RatingService.MIN_RATE + 5);
+
+        RatingService.RatingOutcome outcome = ratingService.applyMatchResult(1L, 2L, SEASON);
+
+        assertEquals(RatingService.MIN_RATE, outcome.loserNewRate());
+        assertEquals(-5, outcome.loserRateChange());
+    }
+
+    @Test
+    void testApplyMatchResult_ReportsAppliedChange() {
+        table.put(1L, 1400);
+        table.put(2L, 1600);
+
+        RatingService.RatingOutcome outcome = ratingService.applyMatchResult(1L, 2L, SEASON);
+
+        assertEquals(1400, outcome.winnerOldRate());
+        assertEquals(1600, outcome.loserOldRate());
+        assertEquals(outcome.winnerNewRate() - outcome.winnerOldRate(), outcome.winnerRateChange());
+        assertEquals(outcome.loserNewRate() - outcome.loserOldRate(), outcome.loserRateChange());
+        assertEquals(1400 + outcome.winnerRateChange(), table.get(1L));
+        // 行が既に存在する場合は作成しない
+        verify(rateRepository, never()).insertIfAbsent(anyLong(), anyLong(), anyInt(), anyInt(), any(LocalDateTime.class));
+    }
+
+    private void applyDelta(Long userId, int delta, int minRate) {
+        int current = table.get(userId);
+        int next = Math.max(minRate, current + delta);
+        table.put(userId, next);
+        lastChanges.put(userId, next - current);
+    }
+
+    private List<Rate> findRates(InvocationOnMock invocation) {
+        List<Rate> rates = new ArrayList<>();
+        for (Long userId : invocation.<List<Long>>getArgument(1)) {
+            Integer value = table.get(userId);
+            if (value != null) {
+                rates.add(rate(userId, value));
+            }
+        }
+        return rates;
+    }
+
+    private Rate rate(Long userId, int value) {
+        User user = new User();
+        user.setId(userId);
+        Rate rate = new Rate(user, SEASON);
+        rate.setRate(value);
+        rate.setLastChange(lastChanges.get(userId));
+        return rate;
+    }
+}
@@ -0,0 +1,132 @@
+package com.example.api.service;
+
+import com.example.api.config.CacheConfig;
+import com.example.api.entity.Vocabulary;
+import com.example.api.repository.UserVocabularyRepository;
+import com.example.api.repository.VocabularyRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * VocabularyLookupServiceのテストクラス
+ * キャッシュヒット時・ネガティブキャッシュ時にDBを検索しないこと、
+ * 照合順序で一致した表記の異なる行を要求された単語の結果として返すことを検証する
+ */
+class VocabularyLookupServiceTest {
+
+    @Mock
+    private VocabularyRepository vocabularyRepository;
+
+    @Mock
+    private UserVocabularyRepository userVocabularyRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private VocabularyLookupService lookupService;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        lookupService = new VocabularyLookupService(vocabularyRepository, userVocabularyRepository,
+                new ConcurrentMapCacheManager(CacheConfig.VOCABULARY_CACHE), transactionManager, 100, 1000);
+
+        when(vocabularyRepository.findByWordIn(anyCollection())).thenAnswer(invocation -> {
+            List<Vocabulary> found = new ArrayList<>();
+            for (String word : invocation.<Collection<String>>getArgument(0)) {
+                if (word.equals("love") || word.equals("miss")) {
+                    found.add(vocabulary(word));
+                }
+            }
+            return found;
+        });
+    }
+
+    private Vocabulary vocabulary(String word) {
+        return Vocabulary.builder().word(word).build();
+    }
+
+    private Vocabulary vocabulary(int vocabId, String word) {
+        return Vocabulary.builder().vocabId(vocabId).word(word).build();
+    }
+
+    @Test
+    void testFindAll_CachesHitsAndMisses() {
+        Map<String, Vocabulary> first = lookupService.findAll(List.of("love", "miss", "zzz"));
+        Map<String, Vocabulary> second = lookupService.findAll(List.of("love", "miss", "zzz"));
+
+        assertEquals(Set.of("love", "miss"), first.keySet());
+        assertEquals(first, second);
+        verify(vocabularyRepository, times(1)).findByWordIn(anyCollection());
+    }
+
+    @Test
+    void testFindAll_RowMatchedByCollationIsReturnedForRequestedWord() {
+        // utf8mb4_0900_ai_ciでは"hello"・"HÉLLO"が"Hello"の行と一致する
+        when(vocabularyRepository.findByWordIn(anyCollection())).thenReturn(List.of(vocabulary(3, "Hello")));
+
+        Map<String, Vocabulary> found = lookupService.findAll(List.of("hello", "HÉLLO"));
+
+        assertEquals(Set.of("hello", "HÉLLO"), found.keySet());
+        assertEquals(3, found.get("hello").getVocabId());
+        // 別の表記もネガティブキャッシュではなく同じ行としてキャッシュから返す
+        assertEquals(3, lookupService.find("Héllo").getVocabId());
+        verify(vocabularyRepository, times(1)).findByWordIn(anyCollection());
+    }
+
+    @Test
+    void testPut_CoversWordsEqualUnderCollation() {
+        assertNull(lookupService.find("Zzz"));
+
+        lookupService.put(vocabulary(9, "zzz"));
+
+        assertEquals(9, lookupService.find("ZZZ").getVocabId());
+        verify(vocabularyRepository, times(1)).findByWordIn(anyCollection());
+    }
+
+    @Test
+    void testFind_UnfoldableWordIsNotNegativelyCached() {
+        assertNull(lookupService.find("þórr"));
+        assertNull(lookupService.find("þórr"));
+
+        verify(vocabularyRepository, times(2)).findByWordIn(anyCollection());
+    }
+
+    @Test
+    void testFind_NegativeCache() {
+        assertNull(lookupService.find("zzz"));
+        assertNull(lookupService.find("zzz"));
+
+        verify(vocabularyRepository, times(1)).findByWordIn(anyCollection());
+    }
+
+    @Test
+    void testPut_OverridesNegativeCache() {
+        assertNull(lookupService.find("zzz"));
+
+        lookupService.put(vocabulary("zzz"));
+
+        assertEquals("zzz", lookupService.find("zzz").getWord());
+        verify(vocabularyRepository, times(1)).findByWordIn(anyCollection());
+    }
+
+    @Test
+    void testEvict() {
+        assertNotNull(lookupService.find("love"));
+
+        lookupService.evict("love");
+
+        assertNotNull(lookupService.find("love"));
+        verify(vocabularyRepository, times(2)).findByWordIn(anyCollection());
+    }
+}
@@ -0,0 +1,117 @@
+package com.example.api.service;
+
+import com.example.api.entity.WeeklyLessons;
+import com.example.api.repository.WeeklyLessonsRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * WeeklyLessonCounterのテストクラス
+ * 読み込み直しと同時にコミットされた加算が、取りこぼされず二重にも数えられないこと、
+ * 週切り替えで未移行の重複行をまとめてから集計週を設定することを検証する
+ */
+class WeeklyLessonCounterTest {
+
+    @Mock
+    private WeeklyLessonsRepository weeklyLessonsRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private WeeklyLessonCounter counter;
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        counter = new WeeklyLessonCounter(weeklyLessonsRepository, transactionManager);
+    }
+
+    private LocalDate currentWeek() {
+        return WeeklyLessons.weekStartOf(LocalDateTime.now());
+    }
+
+    private List<Object[]> rows(long user1Lessons, long user2Lessons) {
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[]{1L, user1Lessons});
+        rows.add(new Object[]{2L, user2Lessons});
+        return rows;
+    }
+
+    private Map<Long, Long> lessonsByUser() {
+        Map<Long, Long> lessons = new HashMap<>();
+        for (WeeklyLessonCounter.Entry entry : counter.getTop(10)) {
+            lessons.put(entry.userId(), entry.lessons());
+        }
+        return lessons;
+    }
+
+    @Test
+    void testReload_IncrementCommittedAfterSnapshotIsKept() {
+        when(weeklyLessonsRepository.findLessons(eq(1L), any())).thenReturn(6L);
+        when(weeklyLessonsRepository.findCountsByWeekStart(currentWeek())).thenAnswer(invocation -> {
+            // 読み込み結果（5回）より後にコミットされた加算
+            counter.increment(1L);
+            return rows(5, 3);
+        });
+
+        counter.refresh();
+
+        assertEquals(Map.of(1L, 6L, 2L, 3L), lessonsByUser());
+    }
+
+    @Test
+    void testReload_IncrementAlreadyInSnapshotIsNotCountedTwice() {
+        when(weeklyLessonsRepository.findLessons(eq(1L), any())).thenReturn(5L);
+        when(weeklyLessonsRepository.findCountsByWeekStart(currentWeek())).thenAnswer(invocation -> {
+            // 読み込み結果（5回）に含まれている加算のコミット後処理が遅れて届く
+            counter.increment(1L);
+            return rows(5, 3);
+        });
+
+        counter.refresh();
+
+        assertEquals(Map.of(1L, 5L, 2L, 3L), lessonsByUser());
+    }
+
+    @Test
+    void testIncrement_AppliesCommittedValue() {
+        when(weeklyLessonsRepository.findCountsByWeekStart(currentWeek())).thenReturn(rows(5, 3));
+        counter.refresh();
+
+        when(weeklyLessonsRepository.findLessons(eq(2L), any())).thenReturn(7L);
+        counter.increment(2L);
+
+        assertEquals(Map.of(1L, 5L, 2L, 7L), lessonsByUser());
+        assertEquals(2L, counter.getTop(1).get(0).userId());
+    }
+
+    @Test
+    void testRollover_MergesLegacyDuplicatesBeforeBackfill() {
+        when(weeklyLessonsRepository.findCountsByWeekStart(currentWeek())).thenReturn(rows(5, 3));
+
+        counter.rollover();
+
+        InOrder inOrder = inOrder(weeklyLessonsRepository);
+        inOrder.verify(weeklyLessonsRepository).mergeLegacyIntoWeek();
+        inOrder.verify(weeklyLessonsRepository).deleteLegacyMergedIntoWeek();
+        inOrder.verify(weeklyLessonsRepository).mergeLegacyDuplicates();
+        inOrder.verify(weeklyLessonsRepository).deleteLegacyDuplicates();
+        inOrder.verify(weeklyLessonsRepository).backfillWeekStart();
+        inOrder.verify(weeklyLessonsRepository).archiveBefore(currentWeek());
+        assertEquals(Map.of(1L, 5L, 2L, 3L), lessonsByUser());
+    }
+}
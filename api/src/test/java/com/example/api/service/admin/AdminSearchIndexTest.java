@@ -0,0 +1,189 @@
+package com.example.api.service.admin;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+/**
+ * AdminSearchIndexのテストクラス
+ * 索引の候補がutf8mb4_0900_ai_ciのLIKEで一致する行を漏らさないこと、件数キャッシュのキーに候補IDが含まれないこと、
+ * 無効化後・古くなった索引では絞り込まずLIKEのみで検索することを検証する
+ */
+class AdminSearchIndexTest {
+
+    /**
+     * utf8mb4_0900_ai_ciで LIKE '%query%' が一致する組み合わせ（text, query）
+     */
+    private static final String[][] LIKE_MATCHES = {
+            {"Hello World", "WORLD"},
+            {"Café del Mar", "cafe"},
+            {"ｶﾞｷﾞ", "がぎ"},
+            {"アイシテル", "あいして"},
+            {"あいしてる", "アイシテ"},
+            {"ガッコウ", "かつこう"},
+            {"ぱぴぷ", "ハヒフ"},
+            {"ヴァイオリン", "うあい"},
+            {"Straße", "strasse"},
+            {"strasse", "STRAẞE"},
+            {"Æsir", "aesir"},
+            {"Œuvre", "oeu"},
+            {"Ørsted", "orsted"},
+            {"Łódź", "lodz"},
+            {"사랑해요", "랑해"},
+            {"夜に駆ける", "に駆け"},
+            {"ＡＢＣ１２３", "abc12"},
+    };
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private AdminSearchIndex index;
+    private final Map<Long, String> songNames = new LinkedHashMap<>();
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(entityManager.createNativeQuery(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            Query query = mock(Query.class);
+            when(query.setParameter(anyString(), any())).thenAnswer(setParameter -> {
+                long lastId = ((Number) setParameter.getArgument(1)).longValue();
+                List<Object[]> rows = new ArrayList<>();
+                if (sql.contains("FROM song")) {
+                    songNames.forEach((id, name) -> {
+                        if (id > lastId) {
+                            rows.add(new Object[]{id, name});
+                        }
+                    });
+                }
+                when(query.getResultList()).thenReturn(rows);
+                return query;
+            });
+            when(query.setMaxResults(anyInt())).thenReturn(query);
+            return query;
+        });
+
+        index = newIndex(600000);
+    }
+
+    private AdminSearchIndex newIndex(long maxAgeMs) {
+        AdminSearchIndex newIndex = new AdminSearchIndex(transactionManager, maxAgeMs);
+        ReflectionTestUtils.setField(newIndex, "entityManager", entityManager);
+        return newIndex;
+    }
+
+    private void build(String... names) {
+        for (String name : names) {
+            songNames.put((long) songNames.size() + 1, name);
+        }
+        index.rebuild();
+    }
+
+    @Test
+    void testGrams() {
+        assertEquals(Set.of("ab", "bc", "cd"), AdminSearchIndex.grams("abcd"));
+        assertEquals(Set.of("あい"), AdminSearchIndex.grams("あい"));
+        assertEquals(Set.of("a"), AdminSearchIndex.grams("a"));
+    }
+
+    @Test
+    void testSearch_NotReady() {
+        assertNull(index.search(AdminSearchIndex.Field.SONG_NAME, "love"));
+    }
+
+    @Test
+    void testSearch_NarrowsCandidates() {
+        build("Love Story", "Lovely Day", "Shape of You");
+
+        assertEquals(Set.of(1L, 2L), index.search(AdminSearchIndex.Field.SONG_NAME, "LOVE"));
+        assertEquals(Set.of(3L), index.search(AdminSearchIndex.Field.SONG_NAME, "of y"));
+        assertEquals(Set.of(), index.search(AdminSearchIndex.Field.SONG_NAME, "zzz"));
+        // ワイルドカード・1文字・畳み込めない文字は絞り込まない
+        assertNull(index.search(AdminSearchIndex.Field.SONG_NAME, "lo%"));
+        assertNull(index.search(AdminSearchIndex.Field.SONG_NAME, "l"));
+        assertNull(index.search(AdminSearchIndex.Field.SONG_NAME, "þór"));
+    }
+
+    @Test
+    void testSearch_UnfoldableRowsAreAlwaysCandidates() {
+        build("Þórr", "Love Story");
+
+        assertEquals(Set.of(1L, 2L), index.search(AdminSearchIndex.Field.SONG_NAME, "love"));
+        assertEquals(Set.of(1L), index.search(AdminSearchIndex.Field.SONG_NAME, "zzz"));
+    }
+
+    @Test
+    void testSearch_MatchesLikeOracle() {
+        for (String[] match : LIKE_MATCHES) {
+            build(match[0]);
+        }
+        for (int i = 0; i < LIKE_MATCHES.length; i++) {
+            String query = LIKE_MATCHES[i][1];
+            Set<Long> candidates = index.search(AdminSearchIndex.Field.SONG_NAME, query);
+            assertNotNull(candidates, query);
+            assertTrue(candidates.contains((long) i + 1),
+                    "LIKEで一致する行が候補に含まれない: " + LIKE_MATCHES[i][0] + " / " + query);
+        }
+    }
+
+    @Test
+    void testCandidateClause_ExcludedFromCountCacheKey() {
+        build("Love Story", "Lovely Day");
+        Map<String, Object> params = new HashMap<>();
+        params.put("languageCode", "en");
+        String sql = "SELECT COUNT(*) FROM song s WHERE s.language = :languageCode"
+                + index.candidateClause(AdminSearchIndex.Field.SONG_NAME, "love", "s.song_id", "songNameIds", params)
+                + " AND s.songname LIKE :songName";
+
+        assertTrue(sql.contains("IN (:candidate_songNameIds)"));
+        assertEquals("song:SELECT COUNT(*) FROM song s WHERE s.language = :languageCode AND s.songname LIKE :songName{languageCode=en}",
+                AdminSearchIndex.countCacheKey("song:", sql, params));
+        assertEquals(AdminSearchIndex.countCacheKey("song:", sql, params),
+                AdminSearchIndex.countCacheKey("song:", sql.replace(
+                        " AND s.song_id IN (:candidate_songNameIds)", " AND 1 = 0"), Map.of("languageCode", "en")));
+    }
+
+    @Test
+    void testSearch_StaleIndexIsNotUsed() {
+        index = newIndex(0);
+        build("Love Story", "Lovely Day");
+
+        assertNull(index.search(AdminSearchIndex.Field.SONG_NAME, "love"));
+        assertEquals(Boolean.TRUE, index.getStatus().get("stale"));
+        assertEquals("", index.candidateClause(AdminSearchIndex.Field.SONG_NAME, "love", "s.song_id", "songNameIds",
+                new HashMap<>()));
+    }
+
+    @Test
+    void testInvalidate_FallsBackToLikeUntilRebuilt() throws Exception {
+        build("Love Story");
+        // ネイティブSQLで追加された行（索引には反映されない）
+        songNames.put(2L, "Lovely Day");
+
+        index.invalidate();
+
+        assertNull(index.search(AdminSearchIndex.Field.SONG_NAME, "love"));
+        long deadline = System.currentTimeMillis() + 5000;
+        while (!Boolean.TRUE.equals(index.getStatus().get("ready")) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Set.of(1L, 2L), index.search(AdminSearchIndex.Field.SONG_NAME, "love"));
+        index.shutdown();
+    }
+}
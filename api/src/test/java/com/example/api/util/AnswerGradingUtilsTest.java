@@ -0,0 +1,96 @@
+package com.example.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * AnswerGradingUtilsのテストクラス
+ */
+class AnswerGradingUtilsTest {
+
+    @Test
+    void testNormalize() {
+        assertEquals("hello world", AnswerGradingUtils.normalize("  Hello,   World! "));
+        assertEquals("dont stop", AnswerGradingUtils.normalize("Don’t stop"));
+
+        // 全角英数字・全角スペース
+        assertEquals("abc 123", AnswerGradingUtils.normalize("ＡＢＣ　１２３"));
+
+        // 半角カタカナ
+        assertEquals("カタカナ", AnswerGradingUtils.normalize("ｶﾀｶﾅ"));
+
+        // ハングル
+        assertEquals("사랑해", AnswerGradingUtils.normalize("사랑해。"));
+
+        // 空文字
+        assertEquals("", AnswerGradingUtils.normalize(""));
+        assertEquals("", AnswerGradingUtils.normalize(null));
+        assertEquals("", AnswerGradingUtils.normalize("!?"));
+    }
+
+    @Test
+    void testMatches_AsciiAnswer() {
+        String normalized = AnswerGradingUtils.normalize("I don't want to miss a thing");
+
+        assertTrue(AnswerGradingUtils.matches(normalized, "I don't want to miss a thing"));
+        assertTrue(AnswerGradingUtils.matches(normalized, "  i dont want to miss a thing. "));
+        assertTrue(AnswerGradingUtils.matches(normalized, "I don't want to, miss a thing!!"));
+
+        assertFalse(AnswerGradingUtils.matches(normalized, "I don't want to miss a"));
+        assertFalse(AnswerGradingUtils.matches(normalized, "I don't want to miss a thing too"));
+        assertFalse(AnswerGradingUtils.matches(normalized, "Idon't want to miss a thing"));
+        assertFalse(AnswerGradingUtils.matches(normalized, ""));
+        assertFalse(AnswerGradingUtils.matches(normalized, null));
+    }
+
+    @Test
+    void testMatches_NonAsciiAnswer() {
+        assertTrue(AnswerGradingUtils.matches(AnswerGradingUtils.normalize("Love"), "ＬＯＶＥ"));
+        assertTrue(AnswerGradingUtils.matches(AnswerGradingUtils.normalize("don't"), "don’t"));
+        assertTrue(AnswerGradingUtils.matches(AnswerGradingUtils.normalize("アイ"), "ｱｲ"));
+        assertFalse(AnswerGradingUtils.matches(AnswerGradingUtils.normalize("アイ"), "あい"));
+    }
+
+    @Test
+    void testMatches_ConsistentWithNormalize() {
+        String[] answers = {"Hello", "hello world", " a-b ", "it's", "x__y", "1 2 3", "--", "Ünïcode"};
+        for (String correct : answers) {
+            String normalized = AnswerGradingUtils.normalize(correct);
+            for (String user : answers) {
+                assertEquals(!normalized.isEmpty() && normalized.equals(AnswerGradingUtils.normalize(user)),
+                        AnswerGradingUtils.matches(normalized, user), correct + " / " + user);
+            }
+        }
+    }
+
+    @Test
+    void testMatches_EmptyNormalizedAnswer() {
+        String normalized = AnswerGradingUtils.normalize("--");
+        assertEquals("", normalized);
+        assertFalse(AnswerGradingUtils.matches(normalized, ""));
+        assertFalse(AnswerGradingUtils.matches(normalized, "!?"));
+        assertFalse(AnswerGradingUtils.isCorrect("...", ""));
+    }
+
+    @Test
+    void testFindMissedTokens() {
+        // 単語の抜けがあっても後続の単語はずれない
+        assertEquals(List.of("want"),
+                AnswerGradingUtils.findMissedTokens("I don't to miss a thing", "I don't want to miss a thing"));
+
+        // 余分な単語は無視
+        assertEquals(List.of(),
+                AnswerGradingUtils.findMissedTokens("oh I don't want to miss a thing", "I don't want to miss a thing"));
+
+        // 聞き間違い
+        assertEquals(List.of("miss"),
+                AnswerGradingUtils.findMissedTokens("I don't want to kiss a thing", "I don't want to miss a thing"));
+
+        // 空回答は正解の全単語
+        assertEquals(List.of("close", "your", "eyes"), AnswerGradingUtils.findMissedTokens("", "Close your eyes"));
+        assertEquals(List.of(), AnswerGradingUtils.findMissedTokens("anything", null));
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.api.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * CollationUtilsのテストクラス
+ * utf8mb4_0900_ai_ciで等しい文字列が同じ文字列に畳み込まれること、再現していない文字を判別できることを検証する
+ */
+class CollationUtilsTest {
+
+    @Test
+    void testNormalize() {
+        assertEquals("cafe", CollationUtils.normalize("CAFÉ"));
+        assertEquals("abc123", CollationUtils.normalize("ＡＢＣ１２３"));
+        assertEquals("strasse", CollationUtils.normalize("Straße"));
+        assertEquals("aesir", CollationUtils.normalize("Æsir"));
+        assertEquals("かき", CollationUtils.normalize("ｶﾞｷﾞ"));
+        assertEquals("かつこう", CollationUtils.normalize("ガッコウ"));
+        assertEquals("はひふ", CollationUtils.normalize("パピプ"));
+        assertEquals("あいう", CollationUtils.normalize("ァィゥ"));
+        assertEquals("사랑", CollationUtils.normalize("사랑"));
+    }
+
+    @Test
+    void testIsFoldable() {
+        assertTrue(CollationUtils.isFoldable(CollationUtils.normalize("Love Song 2024")));
+        assertTrue(CollationUtils.isFoldable(CollationUtils.normalize("夜に駆ける「アイドル」")));
+        assertTrue(CollationUtils.isFoldable(CollationUtils.normalize("사랑해요")));
+        // 照合順序での扱いを再現していない文字
+        assertFalse(CollationUtils.isFoldable(CollationUtils.normalize("Þór")));
+        assertFalse(CollationUtils.isFoldable(CollationUtils.normalize("λόγος")));
+        assertFalse(CollationUtils.isFoldable(CollationUtils.normalize("a\u200Bb")));
+    }
+}